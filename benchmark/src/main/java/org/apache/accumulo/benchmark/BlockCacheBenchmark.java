@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.accumulo.core.conf.ConfigurationCopy;
+import org.apache.accumulo.core.conf.DefaultConfiguration;
+import org.apache.accumulo.core.conf.Property;
+import org.apache.accumulo.core.file.blockfile.cache.impl.BlockCacheConfiguration;
+import org.apache.accumulo.core.file.blockfile.cache.impl.BlockCacheManagerFactory;
+import org.apache.accumulo.core.file.blockfile.cache.lru.LruBlockCacheManager;
+import org.apache.accumulo.core.file.blockfile.cache.offheap.OffHeapBlockCacheManager;
+import org.apache.accumulo.core.file.blockfile.cache.tinylfu.TinyLfuBlockCacheManager;
+import org.apache.accumulo.core.spi.cache.BlockCache;
+import org.apache.accumulo.core.spi.cache.BlockCacheManager;
+import org.apache.accumulo.core.spi.cache.CacheEntry;
+import org.apache.accumulo.core.spi.cache.CacheType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks lookups and inserts against the block cache implementations. The number of blocks
+ * accessed can be set larger than what fits in the cache to include the cost of misses and
+ * eviction. Run with {@code -t} to measure contention between scan threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class BlockCacheBenchmark {
+
+  public enum CacheImpl {
+    @SuppressWarnings("deprecation")
+    LRU(LruBlockCacheManager.class.getName()),
+    TINYLFU(TinyLfuBlockCacheManager.class.getName()),
+    OFFHEAP(OffHeapBlockCacheManager.class.getName());
+
+    private final String className;
+
+    CacheImpl(String className) {
+      this.className = className;
+    }
+  }
+
+  @Param({"LRU", "TINYLFU", "OFFHEAP"})
+  public CacheImpl impl;
+
+  @Param({"1024"})
+  public int blockSize;
+
+  @Param({"10000"})
+  public int cacheBlocks;
+
+  @Param({"5000", "20000"})
+  public int accessedBlocks;
+
+  private BlockCacheManager manager;
+  private BlockCache cache;
+  private String[] names;
+  private byte[] data;
+
+  @Setup
+  public void setup() throws ReflectiveOperationException {
+    ConfigurationCopy cc = new ConfigurationCopy(DefaultConfiguration.getInstance());
+    cc.set(Property.GENERAL_CACHE_MANAGER_IMPL, impl.className);
+    cc.set(Property.TSERV_DEFAULT_BLOCKSIZE, Integer.toString(blockSize));
+    cc.set(Property.TSERV_INDEXCACHE_SIZE, Long.toString((long) blockSize * cacheBlocks));
+    manager = BlockCacheManagerFactory.getInstance(cc);
+    manager.start(BlockCacheConfiguration.forTabletServer(cc));
+    cache = manager.getBlockCache(CacheType.INDEX);
+
+    data = new byte[blockSize];
+    names = new String[accessedBlocks];
+    for (int i = 0; i < accessedBlocks; i++) {
+      names[i] = "hdfs://nn/accumulo/tables/1/t-0001/F" + i + ".rf_" + i * 31L;
+      cache.cacheBlock(names[i], data);
+    }
+  }
+
+  @TearDown
+  public void teardown() {
+    manager.stop();
+  }
+
+  @Benchmark
+  public CacheEntry getBlock() {
+    return cache.getBlock(names[ThreadLocalRandom.current().nextInt(accessedBlocks)]);
+  }
+
+  @Benchmark
+  public CacheEntry getOrCacheBlock() {
+    String name = names[ThreadLocalRandom.current().nextInt(accessedBlocks)];
+    CacheEntry entry = cache.getBlock(name);
+    if (entry == null) {
+      entry = cache.cacheBlock(name, data);
+    }
+    return entry;
+  }
+}
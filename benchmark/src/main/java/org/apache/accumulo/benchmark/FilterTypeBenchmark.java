@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.benchmark;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.accumulo.core.bloomfilter.DynamicBloomFilter;
+import org.apache.accumulo.core.bloomfilter.XorFilter;
+import org.apache.accumulo.core.file.BloomFilterLayer;
+import org.apache.hadoop.util.bloom.Key;
+import org.apache.hadoop.util.hash.Hash;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the bloom filter types that table.bloom.type can select. The build benchmark adds the
+ * keys of one file to a filter and serializes it, the same work the bloom filter layer does when a
+ * file is written. The size of each filter is printed when the benchmark starts. The probe
+ * benchmarks test keys that are in the filter and keys that are not. The bloom filter is sized with
+ * the default table.bloom.size and table.bloom.error.rate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FilterTypeBenchmark {
+
+  private static final int BLOOM_SIZE = 1_048_576;
+  private static final double ERROR_RATE = 0.005;
+
+  @Param({"bloom", "xor"})
+  public String type;
+
+  @Param({"10000", "1000000"})
+  public int keys;
+
+  private Key[] present;
+  private Key[] absent;
+  private DynamicBloomFilter bloomFilter;
+  private XorFilter xorFilter;
+  private int next = 0;
+
+  @Setup
+  public void setup() throws IOException {
+    present = new Key[keys];
+    absent = new Key[keys];
+    for (int i = 0; i < keys; i++) {
+      present[i] = new Key(String.format("row_%010d", i * 2).getBytes(UTF_8));
+      absent[i] = new Key(String.format("row_%010d", i * 2 + 1).getBytes(UTF_8));
+    }
+    int bytes = build();
+    // JMH has no way to report a size, so it is printed with the output of the run
+    System.out.printf("%n%s filter for %,d keys: %,d bytes, %.2f bits per key%n", type, keys, bytes,
+        bytes * 8.0 / keys);
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int build() throws IOException {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(baos);
+    if (type.equals("xor")) {
+      long[] hashes = new long[keys];
+      for (int i = 0; i < keys; i++) {
+        hashes[i] = XorFilter.hash(present[i]);
+      }
+      xorFilter = XorFilter.build(hashes, keys);
+      xorFilter.write(out);
+    } else {
+      // the same sizing the bloom filter layer uses
+      int vectorSize = (int) Math.ceil(-BloomFilterLayer.HASH_COUNT * BLOOM_SIZE
+          / Math.log(1.0 - Math.pow(ERROR_RATE, 1.0 / BloomFilterLayer.HASH_COUNT)));
+      bloomFilter = new DynamicBloomFilter(vectorSize, BloomFilterLayer.HASH_COUNT,
+          Hash.MURMUR_HASH, BLOOM_SIZE);
+      for (Key key : present) {
+        bloomFilter.add(key);
+      }
+      bloomFilter.write(out);
+    }
+    out.close();
+    return baos.size();
+  }
+
+  private boolean probe(Key key) {
+    return type.equals("xor") ? xorFilter.membershipTest(key) : bloomFilter.membershipTest(key);
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public boolean probePresent() {
+    next = (next + 1) % keys;
+    return probe(present[next]);
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public boolean probeAbsent() {
+    next = (next + 1) % keys;
+    return probe(absent[next]);
+  }
+}
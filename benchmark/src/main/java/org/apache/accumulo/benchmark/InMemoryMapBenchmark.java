@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.accumulo.core.conf.ConfigurationCopy;
+import org.apache.accumulo.core.conf.DefaultConfiguration;
+import org.apache.accumulo.core.conf.Property;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Mutation;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.tserver.InMemoryMap;
+import org.apache.accumulo.tserver.InMemoryMap.MemoryIterator;
+import org.apache.accumulo.tserver.memory.NativeMapLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks writing batches of mutations to an {@link InMemoryMap} and scanning it with a
+ * {@link MemoryIterator}, for each in memory map implementation. The native map is loaded from the
+ * directory set by the {@code accumulo.native.lib.path} system property, its trials fail when the
+ * library can not be loaded instead of measuring another implementation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InMemoryMapBenchmark {
+
+  @Param({"default", "native", "offheap"})
+  public String mapType;
+
+  @Param({"100000"})
+  public int rows;
+
+  @Param({"4"})
+  public int columns;
+
+  @Param({"100"})
+  public int batchSize;
+
+  @Param({"100"})
+  public int entriesPerScan;
+
+  private final Value value = new Value(new byte[50]);
+
+  private ConfigurationCopy config;
+  private InMemoryMap scanMap;
+  private MemoryIterator iterator;
+  private InMemoryMap writeMap;
+  private long writeRow;
+
+  @Setup
+  public void setup() throws IOException {
+    boolean nativeMap = mapType.equals("native");
+    if (nativeMap) {
+      String libPath = System.getProperty("accumulo.native.lib.path");
+      if (libPath == null) {
+        throw new IllegalStateException(
+            "Set accumulo.native.lib.path to the directory of the native library to run the"
+                + " native map benchmarks");
+      }
+      NativeMapLoader.loadForTest(List.of(Path.of(libPath).toFile()), () -> {
+        throw new IllegalStateException("Unable to load the native library from " + libPath);
+      });
+    }
+    config = new ConfigurationCopy(DefaultConfiguration.getInstance());
+    config.set(Property.TSERV_NATIVEMAP_ENABLED, Boolean.toString(mapType.equals("native")));
+    config.set(Property.TSERV_OFFHEAP_MAP_ENABLED, Boolean.toString(mapType.equals("offheap")));
+
+    // the context is only used when dumping the map to a file, which this does not do
+    scanMap = new InMemoryMap(config, null, TableId.of("bench"));
+    if (nativeMap && !scanMap.getMapType().equals(InMemoryMap.TYPE_NATIVE_MAP_WRAPPER)) {
+      throw new IllegalStateException("Expected a native map but created " + scanMap.getMapType());
+    }
+    for (int r = 0; r < rows; r += batchSize) {
+      scanMap.mutate(newBatch(r), batchSize * columns);
+    }
+    iterator = scanMap.skvIterator(null);
+  }
+
+  @Setup(Level.Iteration)
+  public void setupWriteMap() {
+    writeMap = new InMemoryMap(config, null, TableId.of("bench"));
+    writeRow = 0;
+  }
+
+  @TearDown(Level.Iteration)
+  public void teardownWriteMap() {
+    writeMap.delete(0);
+  }
+
+  @TearDown
+  public void teardown() {
+    iterator.close();
+    scanMap.delete(0);
+  }
+
+  private List<Mutation> newBatch(long firstRow) {
+    List<Mutation> batch = new ArrayList<>(batchSize);
+    for (long r = firstRow; r < firstRow + batchSize; r++) {
+      Mutation m = new Mutation(String.format("row_%010d", r));
+      for (int c = 0; c < columns; c++) {
+        m.put("family", "qualifier_" + c, value);
+      }
+      batch.add(m);
+    }
+    return batch;
+  }
+
+  @Benchmark
+  public void mutate() {
+    writeMap.mutate(newBatch(writeRow), batchSize * columns);
+    writeRow += batchSize;
+  }
+
+  @Benchmark
+  public void seekAndScan(Blackhole bh) throws IOException {
+    int row = ThreadLocalRandom.current().nextInt(rows);
+    iterator.seek(new Range(new Key(String.format("row_%010d", row)), null), Set.of(), false);
+    for (int i = 0; i < entriesPerScan && iterator.hasTop(); i++) {
+      bh.consume(iterator.getTopKey());
+      bh.consume(iterator.getTopValue());
+      iterator.next();
+    }
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.accumulo.core.data.Key;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link Key#compareTo(Key)} for keys that first differ in each part of the key.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KeyBenchmark {
+
+  @Param({"16", "128"})
+  public int fieldLength;
+
+  private Key key;
+  private Key sameKey;
+  private Key rowDiffers;
+  private Key familyDiffers;
+  private Key qualifierDiffers;
+  private Key timestampDiffers;
+
+  @Setup
+  public void setup() {
+    String row = "r".repeat(fieldLength);
+    String fam = "f".repeat(fieldLength);
+    String qual = "q".repeat(fieldLength);
+    String vis = "v".repeat(fieldLength);
+
+    key = new Key(row, fam, qual, vis, 10);
+    sameKey = new Key(row, fam, qual, vis, 10);
+    rowDiffers = new Key(row.substring(1) + "s", fam, qual, vis, 10);
+    familyDiffers = new Key(row, fam.substring(1) + "g", qual, vis, 10);
+    qualifierDiffers = new Key(row, fam, qual.substring(1) + "r", vis, 10);
+    timestampDiffers = new Key(row, fam, qual, vis, 9);
+  }
+
+  @Benchmark
+  public int compareEqual() {
+    return key.compareTo(sameKey);
+  }
+
+  @Benchmark
+  public int compareRowDiffers() {
+    return key.compareTo(rowDiffers);
+  }
+
+  @Benchmark
+  public int compareFamilyDiffers() {
+    return key.compareTo(familyDiffers);
+  }
+
+  @Benchmark
+  public int compareQualifierDiffers() {
+    return key.compareTo(qualifierDiffers);
+  }
+
+  @Benchmark
+  public int compareTimestampDiffers() {
+    return key.compareTo(timestampDiffers);
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.accumulo.core.data.Mutation;
+import org.apache.accumulo.core.data.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks building, serializing and deserializing {@link Mutation}s as done when sending
+ * mutations to a tablet server and writing them to a write ahead log.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MutationBenchmark {
+
+  @Param({"1", "10", "100"})
+  public int columns;
+
+  @Param({"64"})
+  public int valueSize;
+
+  private Value value;
+  private byte[] serialized;
+  private ByteArrayOutputStream buffer;
+
+  @Setup
+  public void setup() throws IOException {
+    value = new Value(new byte[valueSize]);
+    buffer = new ByteArrayOutputStream();
+    Mutation m = newMutation();
+    m.write(new DataOutputStream(buffer));
+    serialized = buffer.toByteArray();
+  }
+
+  private Mutation newMutation() {
+    Mutation m = new Mutation("row_000000000001");
+    for (int c = 0; c < columns; c++) {
+      m.put("family", "qualifier_" + c, value);
+    }
+    return m;
+  }
+
+  @Benchmark
+  public int serialize() throws IOException {
+    buffer.reset();
+    newMutation().write(new DataOutputStream(buffer));
+    return buffer.size();
+  }
+
+  @Benchmark
+  public int deserialize() throws IOException {
+    Mutation m = new Mutation();
+    m.readFields(new DataInputStream(new ByteArrayInputStream(serialized)));
+    return m.getUpdates().size();
+  }
+
+  @Benchmark
+  public byte[] toThrift() {
+    return newMutation().toThrift().getData();
+  }
+}
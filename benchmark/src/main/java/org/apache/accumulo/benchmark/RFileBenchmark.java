@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.accumulo.core.conf.ConfigurationCopy;
+import org.apache.accumulo.core.conf.DefaultConfiguration;
+import org.apache.accumulo.core.conf.Property;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.file.FileOperations;
+import org.apache.accumulo.core.file.FileSKVIterator;
+import org.apache.accumulo.core.file.FileSKVWriter;
+import org.apache.accumulo.core.file.rfile.RFile;
+import org.apache.accumulo.core.metadata.UnreferencedTabletFile;
+import org.apache.accumulo.core.spi.crypto.NoCryptoServiceFactory;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks seeking in and reading from an RFile on the local file system. The file is written
+ * once per trial and then read with a single reader, so after warmup the blocks are served from the
+ * operating system page cache and the measurement is dominated by decompression, index traversal
+ * and key decoding.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RFileBenchmark {
+
+  @Param({"none", "gz"})
+  public String compression;
+
+  @Param({"1000000"})
+  public int rows;
+
+  @Param({"100"})
+  public int entriesPerScan;
+
+  private java.nio.file.Path tempDir;
+  private FileSKVIterator reader;
+
+  private static Key rowKey(int row) {
+    return new Key(String.format("row_%010d", row), "family", "qualifier");
+  }
+
+  @Setup
+  public void setup() throws IOException {
+    ConfigurationCopy acuconf = new ConfigurationCopy(DefaultConfiguration.getInstance());
+    acuconf.set(Property.TABLE_FILE_COMPRESSION_TYPE, compression);
+    Configuration conf = new Configuration();
+    FileSystem fs = FileSystem.getLocal(conf);
+
+    tempDir = Files.createTempDirectory("rfile-benchmark");
+    var file = UnreferencedTabletFile.of(fs,
+        new Path(tempDir.resolve("bench." + RFile.EXTENSION).toAbsolutePath().toString()));
+
+    try (FileSKVWriter writer = FileOperations.getInstance().newWriterBuilder()
+        .forFile(file, fs, conf, NoCryptoServiceFactory.NONE).withTableConfiguration(acuconf)
+        .build()) {
+      writer.startDefaultLocalityGroup();
+      Value value = new Value(new byte[50]);
+      for (int r = 0; r < rows; r++) {
+        writer.append(rowKey(r), value);
+      }
+    }
+
+    reader = FileOperations.getInstance().newReaderBuilder()
+        .forFile(file, fs, conf, NoCryptoServiceFactory.NONE).withTableConfiguration(acuconf)
+        .build();
+  }
+
+  @TearDown
+  public void teardown() throws IOException {
+    reader.close();
+    try (var files = Files.walk(tempDir)) {
+      for (var p : files.sorted((a, b) -> b.compareTo(a)).toList()) {
+        Files.delete(p);
+      }
+    }
+  }
+
+  @Benchmark
+  public Key seek() throws IOException {
+    reader.seek(new Range(rowKey(ThreadLocalRandom.current().nextInt(rows)), null), Set.of(),
+        false);
+    return reader.getTopKey();
+  }
+
+  @Benchmark
+  public void seekAndScan(Blackhole bh) throws IOException {
+    reader.seek(new Range(rowKey(ThreadLocalRandom.current().nextInt(rows)), null), Set.of(),
+        false);
+    for (int i = 0; i < entriesPerScan && reader.hasTop(); i++) {
+      bh.consume(reader.getTopKey());
+      bh.consume(reader.getTopValue());
+      reader.next();
+    }
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.accumulo.core.conf.ConfigurationCopy;
+import org.apache.accumulo.core.conf.DefaultConfiguration;
+import org.apache.accumulo.core.conf.Property;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.file.FileOperations;
+import org.apache.accumulo.core.file.FileSKVIterator;
+import org.apache.accumulo.core.file.FileSKVWriter;
+import org.apache.accumulo.core.file.blockfile.cache.impl.BlockCacheConfiguration;
+import org.apache.accumulo.core.file.blockfile.cache.impl.BlockCacheManagerFactory;
+import org.apache.accumulo.core.file.blockfile.cache.tinylfu.TinyLfuBlockCacheManager;
+import org.apache.accumulo.core.file.blockfile.impl.BasicCacheProvider;
+import org.apache.accumulo.core.file.rfile.RFile;
+import org.apache.accumulo.core.metadata.UnreferencedTabletFile;
+import org.apache.accumulo.core.spi.cache.BlockCacheManager;
+import org.apache.accumulo.core.spi.cache.CacheType;
+import org.apache.accumulo.core.spi.crypto.NoCryptoServiceFactory;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks seeking within the cached data blocks of an RFile, comparing files written with and
+ * without restart points in their data blocks. All the blocks of the file fit in the data cache, so
+ * after warmup each seek is a lookup in the index followed by a search within a block. Without
+ * restart points the search reads keys from the start of the block, or from the block index that is
+ * built for blocks that are read many times.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RFileBlockSeekBenchmark {
+
+  @Param({"0", "16", "32"})
+  public int restartInterval;
+
+  @Param({"64K", "1M"})
+  public String blockSize;
+
+  @Param({"200000"})
+  public int rows;
+
+  private java.nio.file.Path tempDir;
+  private BlockCacheManager manager;
+  private FileSKVIterator reader;
+
+  private static Key rowKey(int row) {
+    return new Key(String.format("row_%010d", row), "family", "qualifier");
+  }
+
+  @Setup
+  public void setup() throws IOException, ReflectiveOperationException {
+    ConfigurationCopy acuconf = new ConfigurationCopy(DefaultConfiguration.getInstance());
+    // without compression the block size is the size of the blocks in the cache
+    acuconf.set(Property.TABLE_FILE_COMPRESSION_TYPE, "none");
+    acuconf.set(Property.TABLE_FILE_COMPRESSED_BLOCK_SIZE, blockSize);
+    acuconf.set(Property.TABLE_FILE_BLOCK_RESTART_INTERVAL, Integer.toString(restartInterval));
+    acuconf.set(Property.GENERAL_CACHE_MANAGER_IMPL, TinyLfuBlockCacheManager.class.getName());
+    acuconf.set(Property.TSERV_DATACACHE_SIZE, "256M");
+    acuconf.set(Property.TSERV_INDEXCACHE_SIZE, "64M");
+    Configuration conf = new Configuration();
+    FileSystem fs = FileSystem.getLocal(conf);
+
+    tempDir = Files.createTempDirectory("rfile-block-seek-benchmark");
+    var file = UnreferencedTabletFile.of(fs,
+        new Path(tempDir.resolve("bench." + RFile.EXTENSION).toAbsolutePath().toString()));
+
+    try (FileSKVWriter writer = FileOperations.getInstance().newWriterBuilder()
+        .forFile(file, fs, conf, NoCryptoServiceFactory.NONE).withTableConfiguration(acuconf)
+        .build()) {
+      writer.startDefaultLocalityGroup();
+      Value value = new Value(new byte[50]);
+      for (int r = 0; r < rows; r++) {
+        writer.append(rowKey(r), value);
+      }
+    }
+
+    manager = BlockCacheManagerFactory.getInstance(acuconf);
+    manager.start(BlockCacheConfiguration.forTabletServer(acuconf));
+    reader = FileOperations.getInstance().newReaderBuilder()
+        .forFile(file, fs, conf, NoCryptoServiceFactory.NONE).withTableConfiguration(acuconf)
+        .withCacheProvider(new BasicCacheProvider(manager.getBlockCache(CacheType.INDEX),
+            manager.getBlockCache(CacheType.DATA)))
+        .build();
+  }
+
+  @TearDown
+  public void teardown() throws IOException {
+    reader.close();
+    manager.stop();
+    try (var files = Files.walk(tempDir)) {
+      for (var p : files.sorted((a, b) -> b.compareTo(a)).toList()) {
+        Files.delete(p);
+      }
+    }
+  }
+
+  @Benchmark
+  public Key seek() throws IOException {
+    reader.seek(new Range(rowKey(ThreadLocalRandom.current().nextInt(rows)), null), Set.of(),
+        false);
+    return reader.getTopKey();
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.accumulo.core.data.ArrayByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.file.rfile.RelativeKey;
+import org.apache.accumulo.core.file.rfile.RelativeKey.SkippR;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks decoding the relative keys of a single RFile data block, both by reading every key and
+ * by skipping to a key near the end of the block with {@link RelativeKey#fastSkip}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RelativeKeyBenchmark {
+
+  @Param({"1000"})
+  public int entries;
+
+  @Param({"4"})
+  public int columnsPerRow;
+
+  private byte[] block;
+  private Key seekKey;
+
+  @Setup
+  public void setup() throws IOException {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(baos);
+    Value value = new Value(new byte[32]);
+    Key prev = null;
+    for (int i = 0; i < entries; i++) {
+      Key k = new Key(String.format("row_%08d", i / columnsPerRow), "family",
+          String.format("qual_%04d", i % columnsPerRow), "", 1);
+      new RelativeKey(prev, k).write(out);
+      value.write(out);
+      prev = k;
+    }
+    out.close();
+    block = baos.toByteArray();
+    int target = entries - entries / 10;
+    seekKey = new Key(String.format("row_%08d", target / columnsPerRow));
+  }
+
+  @Benchmark
+  public void readAll(Blackhole bh) throws IOException {
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(block));
+    RelativeKey rk = new RelativeKey();
+    Value value = new Value();
+    for (int i = 0; i < entries; i++) {
+      rk.readFields(in);
+      value.readFields(in);
+      bh.consume(rk.getKey());
+    }
+  }
+
+  @Benchmark
+  public SkippR fastSkip() throws IOException {
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(block));
+    return RelativeKey.fastSkip(in, seekKey, new ArrayByteSequence(new byte[64], 0, 0), new Key(),
+        null, entries);
+  }
+}
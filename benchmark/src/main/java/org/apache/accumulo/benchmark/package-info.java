@@ -0,0 +1,31 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+/**
+ * JMH microbenchmarks for read and write hot paths. Build the module and run the benchmarks with
+ * the JMH runner, for example:
+ *
+ * <pre>
+ * mvn -pl benchmark -am install -DskipTests
+ * java -cp "benchmark/target/classes:$(cat classpath.txt)" org.openjdk.jmh.Main KeyBenchmark
+ * </pre>
+ *
+ * where classpath.txt is produced by {@code mvn -pl benchmark dependency:build-classpath
+ * -Dmdep.outputFile=classpath.txt}. Run the same benchmarks against two builds to compare them.
+ */
+package org.apache.accumulo.benchmark;
@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.bloomfilter;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.hadoop.util.bloom.Key;
+
+import com.google.common.hash.Hashing;
+
+/**
+ * An xor filter with 8 bit fingerprints, as described in "Xor Filters: Faster and Smaller Than
+ * Bloom and Cuckoo Filters" by Graf and Lemire. The filter is built once from all of its keys and
+ * can not have keys added to it afterwards. It uses about 9.84 bits per key for a false positive
+ * rate of about 0.4%, where a bloom filter needs about 11 bits per key for the same rate, and a
+ * membership test always reads three bytes.
+ */
+public class XorFilter {
+
+  private static final int MAX_ATTEMPTS = 100;
+
+  private final long seed;
+  private final int blockLength;
+  private final byte[] fingerprints;
+
+  private XorFilter(long seed, int blockLength, byte[] fingerprints) {
+    this.seed = seed;
+    this.blockLength = blockLength;
+    this.fingerprints = fingerprints;
+  }
+
+  /**
+   * @return the 64 bit hash of a key that the filter is built from and tested with
+   */
+  public static long hash(Key key) {
+    return Hashing.murmur3_128().hashBytes(key.getBytes()).asLong();
+  }
+
+  /**
+   * Builds a filter for a set of key hashes.
+   *
+   * @param hashes the hashes of the keys, which may contain duplicates and is sorted in place
+   * @param length the number of hashes in the array to use
+   */
+  public static XorFilter build(long[] hashes, int length) {
+    Arrays.sort(hashes, 0, length);
+    int size = 0;
+    for (int i = 0; i < length; i++) {
+      if (size == 0 || hashes[size - 1] != hashes[i]) {
+        hashes[size++] = hashes[i];
+      }
+    }
+
+    int capacity = 32 + (int) Math.ceil(1.23 * size);
+    int blockLength = capacity / 3;
+    int arrayLength = blockLength * 3;
+
+    long[] xorMask = new long[arrayLength];
+    int[] count = new int[arrayLength];
+    int[] queue = new int[arrayLength];
+    long[] stackHash = new long[size];
+    int[] stackIndex = new int[size];
+
+    long seedState = 0x9E3779B97F4A7C15L;
+    for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+      seedState += 0x9E3779B97F4A7C15L;
+      long seed = mix(seedState);
+      Arrays.fill(xorMask, 0);
+      Arrays.fill(count, 0);
+
+      for (int i = 0; i < size; i++) {
+        long h = mix(hashes[i] + seed);
+        for (int hi = 0; hi < 3; hi++) {
+          int index = index(h, hi, blockLength);
+          xorMask[index] ^= h;
+          count[index]++;
+        }
+      }
+
+      // peel the keys that are the only key at one of their positions, until none are left
+      int queueSize = 0;
+      for (int i = 0; i < arrayLength; i++) {
+        if (count[i] == 1) {
+          queue[queueSize++] = i;
+        }
+      }
+      int stackSize = 0;
+      while (queueSize > 0) {
+        int index = queue[--queueSize];
+        if (count[index] != 1) {
+          continue;
+        }
+        long h = xorMask[index];
+        stackHash[stackSize] = h;
+        stackIndex[stackSize] = index;
+        stackSize++;
+        for (int hi = 0; hi < 3; hi++) {
+          int other = index(h, hi, blockLength);
+          xorMask[other] ^= h;
+          if (--count[other] == 1) {
+            queue[queueSize++] = other;
+          }
+        }
+      }
+
+      if (stackSize == size) {
+        // assign fingerprints in the reverse of the order the keys were peeled
+        byte[] fingerprints = new byte[arrayLength];
+        for (int i = stackSize - 1; i >= 0; i--) {
+          long h = stackHash[i];
+          fingerprints[stackIndex[i]] = (byte) (fingerprint(h)
+              ^ fingerprints[index(h, 0, blockLength)] ^ fingerprints[index(h, 1, blockLength)]
+              ^ fingerprints[index(h, 2, blockLength)]);
+        }
+        return new XorFilter(seed, blockLength, fingerprints);
+      }
+    }
+    throw new IllegalStateException("Unable to build xor filter for " + size + " keys");
+  }
+
+  public boolean membershipTest(long hash) {
+    long h = mix(hash + seed);
+    return (byte) (fingerprint(h) ^ fingerprints[index(h, 0, blockLength)]
+        ^ fingerprints[index(h, 1, blockLength)] ^ fingerprints[index(h, 2, blockLength)]) == 0;
+  }
+
+  public boolean membershipTest(Key key) {
+    return membershipTest(hash(key));
+  }
+
+  /**
+   * @return the size of the filter in bytes
+   */
+  public int getSize() {
+    return fingerprints.length;
+  }
+
+  public void write(DataOutput out) throws IOException {
+    out.writeLong(seed);
+    out.writeInt(blockLength);
+    out.write(fingerprints);
+  }
+
+  public static XorFilter read(DataInput in) throws IOException {
+    long seed = in.readLong();
+    int blockLength = in.readInt();
+    byte[] fingerprints = new byte[blockLength * 3];
+    in.readFully(fingerprints);
+    return new XorFilter(seed, blockLength, fingerprints);
+  }
+
+  private static long mix(long h) {
+    // the murmur3 finalizer
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+
+  private static int index(long h, int hi, int blockLength) {
+    long r = Long.rotateLeft(h, hi * 21);
+    return (int) (((r & 0xffffffffL) * blockLength) >>> 32) + hi * blockLength;
+  }
+
+  private static int fingerprint(long h) {
+    return (int) (h ^ (h >>> 32));
+  }
+}
@@ -26,6 +26,7 @@ import static java.util.Objects.requireNonNull;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.MINUTES;
 import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.apache.accumulo.core.util.threads.ThreadPoolNames.CLIENT_TABLET_CACHE_REFRESH_POOL;
 import static org.apache.accumulo.core.util.threads.ThreadPoolNames.CONDITIONAL_WRITER_CLEANUP_POOL;
 import static org.apache.accumulo.core.util.threads.ThreadPoolNames.SCANNER_READ_AHEAD_POOL;
 
@@ -48,6 +49,7 @@ import java.util.TreeMap;
 import java.util.UUID;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -68,6 +70,7 @@ import org.apache.accumulo.core.client.BatchWriterConfig;
 import org.apache.accumulo.core.client.ConditionalWriter;
 import org.apache.accumulo.core.client.ConditionalWriterConfig;
 import org.apache.accumulo.core.client.Durability;
+import org.apache.accumulo.core.client.InvalidTabletHostingRequestException;
 import org.apache.accumulo.core.client.MultiTableBatchWriter;
 import org.apache.accumulo.core.client.NamespaceNotFoundException;
 import org.apache.accumulo.core.client.Scanner;
@@ -87,6 +90,7 @@ import org.apache.accumulo.core.conf.Property;
 import org.apache.accumulo.core.data.InstanceId;
 import org.apache.accumulo.core.data.KeyValue;
 import org.apache.accumulo.core.data.NamespaceId;
+import org.apache.accumulo.core.data.Range;
 import org.apache.accumulo.core.data.ResourceGroupId;
 import org.apache.accumulo.core.data.TableId;
 import org.apache.accumulo.core.fate.zookeeper.ZooUtil;
@@ -170,6 +174,7 @@ public class ClientContext implements AccumuloClient {
 
   private final AtomicBoolean scannerReadAheadPoolCreated = new AtomicBoolean(false);
   private final AtomicBoolean cleanupThreadPoolCreated = new AtomicBoolean(false);
+  private final AtomicBoolean tabletCacheRefreshPoolCreated = new AtomicBoolean(false);
   private final AtomicBoolean thriftTransportPoolCreated = new AtomicBoolean(false);
   protected final AtomicBoolean closed = new AtomicBoolean();
 
@@ -180,6 +185,8 @@ public class ClientContext implements AccumuloClient {
   private final Supplier<InstanceOperations> instanceops;
   private final Supplier<ThreadPools> clientThreadPools;
   private final Supplier<ThreadPoolExecutor> cleanupThreadPool;
+  private final Supplier<ThreadPoolExecutor> tabletCacheRefreshPool;
+  private final ClientTabletCacheMetrics tabletCacheMetrics = new ClientTabletCacheMetrics();
   private final Supplier<ThreadPoolExecutor> scannerReadaheadPool;
   private MeterRegistry micrometer;
   private Caches caches;
@@ -310,6 +317,9 @@ public class ClientContext implements AccumuloClient {
     cleanupThreadPool =
         memoize(() -> clientThreadPools.get().getPoolBuilder(CONDITIONAL_WRITER_CLEANUP_POOL)
             .numCoreThreads(1).withTimeOut(3L, SECONDS).build());
+    tabletCacheRefreshPool =
+        memoize(() -> clientThreadPools.get().getPoolBuilder(CLIENT_TABLET_CACHE_REFRESH_POOL)
+            .numCoreThreads(1).withTimeOut(3L, SECONDS).build());
     creds = memoize(() -> new Credentials(info.getPrincipal(), info.getAuthenticationToken()));
     batchWriterConfig = memoize(() -> getBatchWriterConfig(getClientProperties()));
     conditionalWriterConfig = memoize(() -> getConditionalWriterConfig(getClientProperties()));
@@ -363,6 +373,12 @@ public class ClientContext implements AccumuloClient {
     this.cleanupThreadPool.get().execute(r);
   }
 
+  private void executeTabletCacheRefreshTask(Runnable r) {
+    ensureOpen();
+    tabletCacheRefreshPoolCreated.set(true);
+    this.tabletCacheRefreshPool.get().execute(r);
+  }
+
   /**
    * @return ThreadPools instance optionally configured with client UncaughtExceptionHandler
    */
@@ -964,6 +980,10 @@ public class ClientContext implements AccumuloClient {
         log.debug("Closing Cleanup ThreadPool");
         cleanupThreadPool.get().shutdown(); // wait for shutdown tasks to execute
       }
+      if (tabletCacheRefreshPoolCreated.get()) {
+        log.debug("Closing Tablet Location Cache Refresh ThreadPool");
+        tabletCacheRefreshPool.get().shutdownNow();
+      }
       if (zooCacheCreated.get()) {
         log.debug("Closing ZooCache");
         zooCache.get().close();
@@ -1205,6 +1225,13 @@ public class ClientContext implements AccumuloClient {
     ensureOpen();
     this.micrometer = micrometer;
     getCaches();
+    if (micrometer != null) {
+      tabletCacheMetrics.registerMetrics(micrometer);
+    }
+  }
+
+  public ClientTabletCacheMetrics getTabletLocationCacheMetrics() {
+    return tabletCacheMetrics;
   }
 
   public synchronized Caches getCaches() {
@@ -1284,12 +1311,28 @@ public class ClientContext implements AccumuloClient {
             return new RootClientTabletCache(lockChecker);
           }
           var mlo = new MetadataCachedTabletObtainer();
+          var props = getClientProperties();
+          Executor refreshExecutor = ClientProperty.TABLET_LOCATION_CACHE_REFRESH.getBoolean(props)
+              ? this::executeTabletCacheRefreshTask : null;
           if (SystemTables.METADATA.tableId().equals(tableId)) {
             return new ClientTabletCacheImpl(SystemTables.METADATA.tableId(),
-                getTabletLocationCache(SystemTables.ROOT.tableId()), mlo, lockChecker);
+                getTabletLocationCache(SystemTables.ROOT.tableId()), mlo, lockChecker,
+                tabletCacheMetrics, this, refreshExecutor);
           } else {
-            return new ClientTabletCacheImpl(tableId,
-                getTabletLocationCache(SystemTables.METADATA.tableId()), mlo, lockChecker);
+            var cache = new ClientTabletCacheImpl(tableId,
+                getTabletLocationCache(SystemTables.METADATA.tableId()), mlo, lockChecker,
+                tabletCacheMetrics, this, refreshExecutor);
+            if (ClientProperty.TABLET_LOCATION_CACHE_PREFETCH.getBoolean(props)) {
+              executeTabletCacheRefreshTask(() -> {
+                try {
+                  cache.prefetch(this, new Range());
+                } catch (AccumuloException | AccumuloSecurityException | TableNotFoundException
+                    | InvalidTabletHostingRequestException | RuntimeException e) {
+                  log.debug("Failed to prefetch tablet locations for table {}", tableId, e);
+                }
+              });
+            }
+            return cache;
           }
         });
   }
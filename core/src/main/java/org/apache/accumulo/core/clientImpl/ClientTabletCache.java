@@ -159,6 +159,15 @@ public abstract class ClientTabletCache {
         .addRange(binnedRanges, cachedTablet, range)), LocationNeed.REQUIRED);
   }
 
+  /**
+   * Reads the locations of all tablets that overlap the range using as few metadata lookups as
+   * possible and adds them to the cache, so later calls to find tablets in the range do not need to
+   * do a metadata lookup for each tablet. Tablets in the range are not hosted by this method. This
+   * is a best effort, locations that can not be read are looked up later when needed.
+   */
+  public void prefetch(ClientContext context, Range range) throws AccumuloException,
+      AccumuloSecurityException, TableNotFoundException, InvalidTabletHostingRequestException {}
+
   public abstract void invalidateCache(KeyExtent failedExtent);
 
   public abstract void invalidateCache(Collection<KeyExtent> keySet);
@@ -32,8 +32,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.NavigableMap;
+import java.util.Set;
 import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
@@ -145,6 +149,12 @@ public class ClientTabletCacheImpl extends ClientTabletCache {
 
   private final LockMap<KeyExtent> lookupLocks = new LockMap<>();
 
+  private final ClientTabletCacheMetrics metrics;
+  private final ClientContext refreshContext;
+  private final Executor refreshExecutor;
+  private final Set<KeyExtent> pendingRefresh = ConcurrentHashMap.newKeySet();
+  private final AtomicBoolean refreshScheduled = new AtomicBoolean(false);
+
   public interface CachedTabletObtainer {
     /**
      * @return null when unable to read information successfully
@@ -208,10 +218,25 @@ public class ClientTabletCacheImpl extends ClientTabletCache {
 
   public ClientTabletCacheImpl(TableId tableId, ClientTabletCache parent, CachedTabletObtainer tlo,
       TabletServerLockChecker tslc) {
+    this(tableId, parent, tlo, tslc, new ClientTabletCacheMetrics(), null, null);
+  }
+
+  /**
+   * @param metrics counts the metadata lookups done by this cache
+   * @param refreshContext the client used to read invalidated tablets in the background
+   * @param refreshExecutor runs the background reads of invalidated tablets, or null to only read
+   *        tablets when they are needed
+   */
+  public ClientTabletCacheImpl(TableId tableId, ClientTabletCache parent, CachedTabletObtainer tlo,
+      TabletServerLockChecker tslc, ClientTabletCacheMetrics metrics, ClientContext refreshContext,
+      Executor refreshExecutor) {
     this.tableId = tableId;
     this.parent = parent;
     this.tabletObtainer = tlo;
     this.lockChecker = tslc;
+    this.metrics = metrics;
+    this.refreshContext = refreshContext;
+    this.refreshExecutor = refreshExecutor;
 
     this.lastTabletRow = new Text(tableId.canonical());
     lastTabletRow.append(new byte[] {'<'}, 0, 1);
@@ -480,9 +505,85 @@ public class ClientTabletCacheImpl extends ClientTabletCache {
     return failures;
   }
 
+  @Override
+  public void prefetch(ClientContext context, Range range) throws AccumuloException,
+      AccumuloSecurityException, TableNotFoundException, InvalidTabletHostingRequestException {
+    Text row = range.isInfiniteStartKey() ? new Text() : range.getStartKey().getRow();
+    Text stopRow = range.isInfiniteStopKey() ? null : range.getEndKey().getRow();
+    boolean skipRow = false;
+    LockCheckerSession lcSession = new LockCheckerSession();
+
+    while (true) {
+      Text metadataRow = new Text(tableId.canonical());
+      metadataRow.append(new byte[] {';'}, 0, 1);
+      metadataRow.append(row.getBytes(), 0, row.getLength());
+      if (skipRow) {
+        metadataRow.append(new byte[] {0}, 0, 1);
+      }
+
+      CachedTablet ptl = parent.findTablet(context, metadataRow, false, LocationNeed.REQUIRED);
+      if (ptl == null) {
+        return;
+      }
+
+      // each lookup reads as many tablets as fit in a single metadata scan batch
+      KeyExtent last;
+      try (var unused = lookupLocks.lock(ptl.getExtent())) {
+        last = lookupTablet(context, lcSession, ptl, metadataRow);
+      }
+
+      if (last == null || last.endRow() == null
+          || (stopRow != null && last.endRow().compareTo(stopRow) >= 0)) {
+        return;
+      }
+      row = last.endRow();
+      skipRow = true;
+    }
+  }
+
+  /**
+   * Reads the locations of an invalidated tablet in the background, when configured, so the next
+   * request for it does not have to wait on a metadata lookup.
+   */
+  private void scheduleRefresh(KeyExtent extent) {
+    if (refreshExecutor == null || !extent.tableId().equals(tableId)) {
+      return;
+    }
+    pendingRefresh.add(extent);
+    if (refreshScheduled.compareAndSet(false, true)) {
+      try {
+        refreshExecutor.execute(this::refreshInvalidated);
+      } catch (RejectedExecutionException e) {
+        refreshScheduled.set(false);
+      }
+    }
+  }
+
+  private void refreshInvalidated() {
+    refreshScheduled.set(false);
+    List<KeyExtent> extents = new ArrayList<>(pendingRefresh);
+    extents.forEach(pendingRefresh::remove);
+
+    for (KeyExtent extent : extents) {
+      // another thread may have already looked up the tablets since they were invalidated
+      Text row = extent.prevEndRow() == null ? new Text() : rowAfterPrevRow(extent);
+      if (findTabletInCache(row) != null) {
+        continue;
+      }
+      try {
+        prefetch(refreshContext, extent.toDataRange());
+        metrics.incrementRefreshes();
+      } catch (AccumuloException | AccumuloSecurityException | TableNotFoundException
+          | InvalidTabletHostingRequestException | RuntimeException e) {
+        log.debug("Failed to refresh tablet locations for {}", extent, e);
+      }
+    }
+  }
+
   @Override
   public void invalidateCache(KeyExtent failedExtent) {
     removeOverlapping(metaCache, failedExtent);
+    scheduleRefresh(failedExtent);
     if (log.isTraceEnabled()) {
       log.trace("Invalidated extent={}", failedExtent);
     }
@@ -490,7 +591,10 @@ public class ClientTabletCacheImpl extends ClientTabletCache {
 
   @Override
   public void invalidateCache(Collection<KeyExtent> keySet) {
-    keySet.forEach(extent -> removeOverlapping(metaCache, extent));
+    keySet.forEach(extent -> {
+      removeOverlapping(metaCache, extent);
+      scheduleRefresh(extent);
+    });
     if (log.isTraceEnabled()) {
       log.trace("Invalidated {} cache entries for table {}", keySet.size(), tableId);
     }
@@ -700,9 +804,13 @@ public class ClientTabletCacheImpl extends ClientTabletCache {
     }
   }
 
-  private void lookupTablet(ClientContext context, LockCheckerSession lcSession, CachedTablet ptl,
-      Text metadataRow) throws AccumuloSecurityException, AccumuloException, TableNotFoundException,
-      InvalidTabletHostingRequestException {
+  /**
+   * @return the extent of the last tablet read, or null if no tablets were read
+   */
+  private KeyExtent lookupTablet(ClientContext context, LockCheckerSession lcSession,
+      CachedTablet ptl, Text metadataRow) throws AccumuloSecurityException, AccumuloException,
+      TableNotFoundException, InvalidTabletHostingRequestException {
+    metrics.incrementMetadataLookups();
     CachedTablets cachedTablets =
         tabletObtainer.lookupTablet(context, ptl, metadataRow, lastTabletRow);
     if (cachedTablets == null) {
@@ -715,6 +823,7 @@ public class ClientTabletCacheImpl extends ClientTabletCache {
         // System.out.println("er "+er+" ltr "+lastTabletRow);
         ptl = parent.findTablet(context, er, true, LocationNeed.REQUIRED);
         if (ptl != null) {
+          metrics.incrementMetadataLookups();
           cachedTablets = tabletObtainer.lookupTablet(context, ptl, metadataRow, lastTabletRow);
           if (cachedTablets == null) {
             parent.invalidateCache(ptl.getExtent());
@@ -728,13 +837,14 @@ public class ClientTabletCacheImpl extends ClientTabletCache {
     }
 
     if (cachedTablets == null) {
-      return;
+      return null;
     }
 
     // cannot assume the list contains contiguous key extents... so it is probably
     // best to deal with each extent individually
 
     Text lastEndRow = null;
+    KeyExtent lastExtent = null;
     for (CachedTablet cachedTablet : cachedTablets.getCachedTablets()) {
 
       KeyExtent ke = cachedTablet.getExtent();
@@ -751,9 +861,11 @@ public class ClientTabletCacheImpl extends ClientTabletCache {
 
       // save endRow for next iteration
       lastEndRow = locToCache.getExtent().endRow();
+      lastExtent = locToCache.getExtent();
 
       updateCache(locToCache, lcSession);
     }
+    return lastExtent;
   }
 
   private void updateCache(CachedTablet cachedTablet, LockCheckerSession lcSession) {
@@ -858,7 +970,9 @@ public class ClientTabletCacheImpl extends ClientTabletCache {
   private CachedTablet lookupTabletLocationAndCheckLock(ClientContext context, Text row,
       LockCheckerSession lcSession, CachedTablet before) throws AccumuloException,
       AccumuloSecurityException, TableNotFoundException, InvalidTabletHostingRequestException {
+    long start = System.nanoTime();
     lookupTablet(context, row, lcSession, before);
+    metrics.addMiss(System.nanoTime() - start);
     return lcSession.checkLock(findTabletInCache(row));
   }
 
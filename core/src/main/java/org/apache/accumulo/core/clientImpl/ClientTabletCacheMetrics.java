@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.clientImpl;
+
+import static org.apache.accumulo.core.metrics.Metric.TABLET_LOCATION_CACHE_METADATA_LOOKUPS;
+import static org.apache.accumulo.core.metrics.Metric.TABLET_LOCATION_CACHE_MISS_TIME;
+import static org.apache.accumulo.core.metrics.Metric.TABLET_LOCATION_CACHE_REFRESHES;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.accumulo.core.metrics.MetricsProducer;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Counts the metadata lookups done by the tablet location caches of a client.
+ */
+public class ClientTabletCacheMetrics implements MetricsProducer {
+
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder missTimeNanos = new LongAdder();
+  private final LongAdder metadataLookups = new LongAdder();
+  private final LongAdder refreshes = new LongAdder();
+
+  void addMiss(long nanos) {
+    misses.increment();
+    missTimeNanos.add(nanos);
+  }
+
+  void incrementMetadataLookups() {
+    metadataLookups.increment();
+  }
+
+  void incrementRefreshes() {
+    refreshes.increment();
+  }
+
+  /**
+   * @return the number of times a tablet was not in the cache and had to be looked up
+   */
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  /**
+   * @return the total time spent looking up tablets that were not in the cache
+   */
+  public long getMissTimeNanos() {
+    return missTimeNanos.sum();
+  }
+
+  /**
+   * @return the number of reads of the metadata table done to find tablet locations
+   */
+  public long getMetadataLookupCount() {
+    return metadataLookups.sum();
+  }
+
+  /**
+   * @return the number of invalidated ranges that were read again in the background
+   */
+  public long getRefreshCount() {
+    return refreshes.sum();
+  }
+
+  @Override
+  public void registerMetrics(MeterRegistry registry) {
+    FunctionTimer
+        .builder(TABLET_LOCATION_CACHE_MISS_TIME.getName(), this,
+            ClientTabletCacheMetrics::getMissCount, ClientTabletCacheMetrics::getMissTimeNanos,
+            TimeUnit.NANOSECONDS)
+        .description(TABLET_LOCATION_CACHE_MISS_TIME.getDescription()).register(registry);
+    FunctionCounter
+        .builder(TABLET_LOCATION_CACHE_METADATA_LOOKUPS.getName(), this,
+            ClientTabletCacheMetrics::getMetadataLookupCount)
+        .description(TABLET_LOCATION_CACHE_METADATA_LOOKUPS.getDescription()).register(registry);
+    FunctionCounter
+        .builder(TABLET_LOCATION_CACHE_REFRESHES.getName(), this,
+            ClientTabletCacheMetrics::getRefreshCount)
+        .description(TABLET_LOCATION_CACHE_REFRESHES.getDescription()).register(registry);
+  }
+}
@@ -98,6 +98,12 @@ public class SyncingClientTabletCache extends ClientTabletCache {
     return syncLocator().binRanges(context, ranges, binnedRanges);
   }
 
+  @Override
+  public void prefetch(ClientContext context, Range range) throws AccumuloException,
+      AccumuloSecurityException, TableNotFoundException, InvalidTabletHostingRequestException {
+    syncLocator().prefetch(context, range);
+  }
+
   @Override
   public void invalidateCache(KeyExtent failedExtent) {
     syncLocator().invalidateCache(failedExtent);
@@ -25,15 +25,21 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 import org.apache.accumulo.access.Access;
 import org.apache.accumulo.access.AccessEvaluator;
+import org.apache.accumulo.access.InvalidAccessExpressionException;
+import org.apache.accumulo.access.ParsedAccessExpression;
 import org.apache.accumulo.core.data.ArrayByteSequence;
 import org.apache.accumulo.core.security.AuthorizationContainer;
 import org.apache.accumulo.core.security.Authorizations;
 
+import com.google.common.base.Preconditions;
+
 /**
  * All Accumulo Access APIs are String based. Accumulo's legacy APIs for access control are all
  * based on byte[]. This class maps those legacy byte[] based APIs to use the Accumulo Access string
@@ -122,4 +128,206 @@ public class BytesAccess {
         .contains(new ArrayByteSequence(authString.getBytes(ISO_8859_1)));
     return new BytesEvaluator(ACCESS.newEvaluator(authorizer));
   }
+
+  /**
+   * An access expression reduced to the ids its authorizations have in an
+   * {@link AuthorizationDictionary}, so it can be evaluated against a set of authorizations with a
+   * few bitwise operations instead of being parsed again.
+   */
+  public static class CompiledExpression {
+
+    private final boolean and;
+    // authorizations that are not in the dictionary have an id of -1, and are never held
+    private final int[] authorizationIds;
+    private final CompiledExpression[] children;
+
+    private CompiledExpression(boolean and, int[] authorizationIds, CompiledExpression[] children) {
+      this.and = and;
+      this.authorizationIds = authorizationIds;
+      this.children = children;
+    }
+
+    private static boolean isSet(long[] bits, int id) {
+      return id >= 0 && (id >>> 6) < bits.length && (bits[id >>> 6] & (1L << id)) != 0;
+    }
+
+    boolean canAccess(long[] bits) {
+      if (and) {
+        for (int id : authorizationIds) {
+          if (!isSet(bits, id)) {
+            return false;
+          }
+        }
+        for (CompiledExpression child : children) {
+          if (!child.canAccess(bits)) {
+            return false;
+          }
+        }
+        return true;
+      } else {
+        for (int id : authorizationIds) {
+          if (isSet(bits, id)) {
+            return true;
+          }
+        }
+        for (CompiledExpression child : children) {
+          if (child.canAccess(bits)) {
+            return true;
+          }
+        }
+        return false;
+      }
+    }
+  }
+
+  /**
+   * Evaluates compiled expressions against one or more sets of authorizations. When there is more
+   * than one set, an expression must be satisfied by every set.
+   */
+  public static class CompiledEvaluator {
+
+    private final AuthorizationDictionary dictionary;
+    private final long[][] authorizationBits;
+    private final BytesEvaluator fallback;
+
+    private CompiledEvaluator(AuthorizationDictionary dictionary, long[][] authorizationBits,
+        BytesEvaluator fallback) {
+      this.dictionary = dictionary;
+      this.authorizationBits = authorizationBits;
+      this.fallback = fallback;
+    }
+
+    /**
+     * @return false if some of the authorizations did not fit in the dictionary, in which case
+     *         compiled expressions can not be evaluated
+     */
+    public boolean isCompiled() {
+      return fallback == null;
+    }
+
+    /**
+     * @throws InvalidAccessExpressionException if the expression can not be parsed
+     */
+    public boolean canAccess(byte[] expression) {
+      if (fallback != null) {
+        return fallback.canAccess(expression);
+      }
+      return canAccess(dictionary.compile(expression));
+    }
+
+    /**
+     * @param compiled an expression compiled with the dictionary this evaluator was created from
+     */
+    public boolean canAccess(CompiledExpression compiled) {
+      Preconditions.checkState(fallback == null, "Authorizations are not in the dictionary");
+      for (long[] bits : authorizationBits) {
+        if (!compiled.canAccess(bits)) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  /**
+   * Assigns each authorization a small integer id, used as its bit in the sets of authorizations
+   * that compiled expressions are evaluated against. Ids are never reassigned, so expressions and
+   * evaluators created at different times from the same dictionary can be used together. Once the
+   * dictionary is full, new authorizations in expressions compile to authorizations that are never
+   * held, and evaluators for new authorizations fall back to parsing each expression.
+   */
+  public static class AuthorizationDictionary {
+
+    private final ConcurrentHashMap<String,Integer> ids = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger();
+    private final int maxSize;
+
+    public AuthorizationDictionary(int maxSize) {
+      this.maxSize = maxSize;
+    }
+
+    private int id(String authorization) {
+      Integer id = ids.get(authorization);
+      if (id != null) {
+        return id;
+      }
+      if (nextId.get() >= maxSize) {
+        return -1;
+      }
+      return ids.computeIfAbsent(authorization, auth -> nextId.getAndIncrement());
+    }
+
+    private CompiledExpression compile(ParsedAccessExpression parsed) {
+      switch (parsed.getType()) {
+        case EMPTY:
+          return new CompiledExpression(true, new int[0], new CompiledExpression[0]);
+        case AUTHORIZATION:
+          return new CompiledExpression(true,
+              new int[] {id(ACCESS.unquote(parsed.getExpression()))}, new CompiledExpression[0]);
+        case AND:
+        case OR:
+          List<Integer> authorizationIds = new ArrayList<>();
+          List<CompiledExpression> children = new ArrayList<>();
+          for (ParsedAccessExpression child : parsed.getChildren()) {
+            if (child.getType() == ParsedAccessExpression.ExpressionType.AUTHORIZATION) {
+              authorizationIds.add(id(ACCESS.unquote(child.getExpression())));
+            } else {
+              children.add(compile(child));
+            }
+          }
+          return new CompiledExpression(
+              parsed.getType() == ParsedAccessExpression.ExpressionType.AND,
+              authorizationIds.stream().mapToInt(Integer::intValue).toArray(),
+              children.toArray(new CompiledExpression[0]));
+        default:
+          throw new IllegalStateException("Unknown expression type " + parsed.getType());
+      }
+    }
+
+    /**
+     * @throws InvalidAccessExpressionException if the expression can not be parsed
+     */
+    public CompiledExpression compile(byte[] expression) {
+      return compile(ACCESS.newParsedExpression(new String(expression, ISO_8859_1)));
+    }
+
+    /**
+     * @return the bits of the authorizations, or null if some of them are not in the dictionary
+     */
+    private long[] toBits(Authorizations auths) {
+      List<byte[]> bytesAuths = auths.getAuthorizations();
+      int[] authIds = new int[bytesAuths.size()];
+      int maxId = -1;
+      for (int i = 0; i < authIds.length; i++) {
+        authIds[i] = id(new String(bytesAuths.get(i), ISO_8859_1));
+        if (authIds[i] < 0) {
+          return null;
+        }
+        maxId = Math.max(maxId, authIds[i]);
+      }
+      // empty when there are no authorizations
+      long[] bits = new long[(maxId + Long.SIZE) / Long.SIZE];
+      for (int authId : authIds) {
+        bits[authId >>> 6] |= 1L << authId;
+      }
+      return bits;
+    }
+
+    public CompiledEvaluator newEvaluator(Authorizations auths) {
+      return newEvaluator(List.of(auths));
+    }
+
+    public CompiledEvaluator newEvaluator(Collection<Authorizations> authsSet) {
+      long[][] bits = new long[authsSet.size()][];
+      int i = 0;
+      for (Authorizations auths : authsSet) {
+        bits[i] = toBits(auths);
+        if (bits[i] == null) {
+          return new CompiledEvaluator(this, null, BytesAccess.newEvaluator(authsSet));
+        }
+        i++;
+      }
+      return new CompiledEvaluator(this, bits, null);
+    }
+  }
 }
@@ -110,6 +110,17 @@ public enum ClientProperty {
           + "system. This property is only used by the bulk import API introduced in 2.0.0.",
       "2.0.0", false),
 
+  // Tablet location cache
+  TABLET_LOCATION_CACHE_PREFETCH("tablet.location.cache.prefetch", "false", PropertyType.BOOLEAN,
+      "When true, the locations of all the tablets of a table are read in the background when the"
+          + " client first uses the table, instead of one metadata lookup at a time as tablets are"
+          + " needed.",
+      "4.0.0", false),
+  TABLET_LOCATION_CACHE_REFRESH("tablet.location.cache.refresh", "false", PropertyType.BOOLEAN,
+      "When true, the locations of tablets that are removed from the client's cache, because a"
+          + " tablet moved or was split, are read again in the background.",
+      "4.0.0", false),
+
   // SSL
   SSL_ENABLED("ssl.enabled", "false", "Enable SSL for client RPC"),
   SSL_KEYSTORE_PASSWORD("ssl.keystore.password", "", "Password used to encrypt keystore"),
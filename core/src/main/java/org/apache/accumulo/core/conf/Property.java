@@ -403,6 +403,14 @@ public enum Property {
   GENERAL_SERVER_WAL_SORT_BUFFER_SIZE("general.server.wal.sort.buffer.size", "10%",
       PropertyType.MEMORY, "The amount of memory to use when sorting logs during recovery.",
       "4.0.0"),
+  GENERAL_SERVER_WAL_SORT_WRITE_THREADS("general.server.wal.sort.write.threads", "0",
+      PropertyType.COUNT,
+      "The number of threads per log sort used to sort and write buffers of a log while the log"
+          + " continues to be read. Each thread may hold a buffer, so a log sort can use up to"
+          + " this many buffers plus one of memory, each sized by"
+          + " general.server.wal.sort.buffer.size. Zero reads, sorts and writes each buffer in"
+          + " turn in the thread sorting the log.",
+      "4.0.0"),
 
   // properties that are specific to manager server behavior
   MANAGER_PREFIX("manager.", null, PropertyType.PREFIX,
@@ -423,11 +431,26 @@ public enum Property {
       PropertyType.TIMEDURATION,
       "Time to wait between scanning tablet states to identify tablets that need to be assigned, un-assigned, migrated, etc.",
       "2.1.2"),
+  MANAGER_TABLET_GROUP_WATCHER_INCREMENTAL("manager.tablet.watcher.incremental.enabled", "false",
+      PropertyType.BOOLEAN, """
+          When true, changes that only affect known tablets, such as tablets unassigned from dead \
+          tablet servers and balancer migrations, are handled by scanning the metadata of just \
+          those tablets instead of starting another full scan of the data level. Full scans still \
+          run every %s and when the set of tablet servers or the manager state changes.
+          """.formatted(MANAGER_TABLET_GROUP_WATCHER_INTERVAL.getKey()), "4.0.0"),
   MANAGER_TABLET_GROUP_WATCHER_SCAN_THREADS("manager.tablet.watcher.scan.threads.max", "8",
       PropertyType.COUNT,
       "Maximum number of threads the TabletGroupWatcher will use in its BatchScanner to"
           + " look for tablets that need maintenance.",
       "2.1.4"),
+  MANAGER_TABLET_GROUP_WATCHER_PIPELINE("manager.tablet.watcher.pipeline.enabled", "false",
+      PropertyType.BOOLEAN, """
+          When true, the TabletGroupWatcher hands each full chunk of assignments and unassignments \
+          to a background thread and keeps consuming the results of its metadata scan while that \
+          chunk is applied, instead of pausing the scan. At most one chunk per scan is in flight \
+          at a time. The metadata scan itself is spread across the metadata tablet servers using \
+          up to %s threads.
+          """.formatted(MANAGER_TABLET_GROUP_WATCHER_SCAN_THREADS.getKey()), "4.0.0"),
   MANAGER_TABLET_REFRESH_MINTHREADS("manager.tablet.refresh.threads.minimum", "10",
       PropertyType.COUNT,
       """
@@ -539,6 +562,16 @@ public enum Property {
           maximum value of 60m.
           """.formatted(MANAGER_FATE_USER_CONFIG.getKey(), MANAGER_FATE_META_CONFIG.getKey()),
       "4.0.0"),
+  MANAGER_FATE_VIRTUAL_THREADS_ENABLED("manager.fate.virtual.threads.enabled", "false",
+      PropertyType.BOOLEAN, """
+          When true, FATE transactions run on virtual threads. The pool sizes in %s and %s \
+          then limit how many transactions of those operations run concurrently instead of how \
+          many platform threads are created, so they can be set much higher for operations that \
+          mostly wait on metadata and ZooKeeper. Requires Java 21 or later, platform threads are \
+          used otherwise. Changing this restarts the FATE pools once their running transactions \
+          finish their current step.
+          """.formatted(MANAGER_FATE_USER_CONFIG.getKey(), MANAGER_FATE_META_CONFIG.getKey()),
+      "4.0.0"),
   MANAGER_STATUS_THREAD_POOL_SIZE("manager.status.threadpool.size", "0", PropertyType.COUNT,
       "The number of threads to use when fetching the tablet server status for balancing.  Zero "
           + "indicates an unlimited number of threads will be used.",
@@ -683,6 +716,37 @@ public enum Property {
       "Specifies the size of the cache for RFile index blocks.", "1.3.5"),
   TSERV_SUMMARYCACHE_SIZE("tserver.cache.summary.size", "10%", PropertyType.MEMORY,
       "Specifies the size of the cache for summary data on each tablet server.", "2.0.0"),
+  TSERV_SCAN_READ_AHEAD_BLOCKS("tserver.scan.readahead.blocks", "0", PropertyType.COUNT, """
+      The number of RFile data blocks to read into the data cache ahead of a scan that is \
+      reading blocks sequentially, so the scan does not have to wait on I/O when it moves \
+      to the next block. Only scans that use the data cache read ahead. Zero disables \
+      reading ahead.
+      """, "4.0.0"),
+  TSERV_SCAN_READ_AHEAD_THRESHOLD("tserver.scan.readahead.threshold", "2", PropertyType.COUNT,
+      "The number of consecutive RFile data blocks a scan must read before it starts reading"
+          + " blocks ahead. See `tserver.scan.readahead.blocks`.",
+      "4.0.0"),
+  TSERV_SCAN_READ_AHEAD_THREADS("tserver.scan.readahead.threads", "8", PropertyType.COUNT,
+      "The number of threads used to read RFile data blocks ahead of scans. When these threads"
+          + " fall behind, scans stop reading ahead until they catch up.",
+      "4.0.0"),
+  TSERV_SCAN_VISIBILITY_CACHE_SIZE("tserver.scan.visibility.cache.size", "100000",
+      PropertyType.COUNT, """
+          The number of column visibility decisions, for a set of authorizations and a column \
+          visibility, that are cached and shared by all the scans on a tablet or scan server. \
+          Zero disables the shared cache, leaving each scan with its own small cache.
+          """, "4.0.0"),
+  TSERV_SCAN_LOOKUP_LOAD_MAX("tserver.scan.lookup.load.max", "0", PropertyType.BYTES,
+      "When a batch scan looks up multiple ranges in a tablet, the data blocks the ranges need from"
+          + " each file are read into the data cache before the lookup starts, up to this many"
+          + " compressed bytes per file. Blocks close together in a file are read with a single"
+          + " vectored read instead of one read per block. Zero disables this.",
+      "4.0.0"),
+  TSERV_SCAN_LOOKUP_LOAD_GAP("tserver.scan.lookup.load.gap", "64K", PropertyType.BYTES,
+      "When reading the data blocks a batch scan lookup needs, blocks that are no more than this"
+          + " many bytes apart in a file are read with a single read. See "
+          + "tserver.scan.lookup.load.max.",
+      "4.0.0"),
   TSERV_CLIENTPORT("tserver.port.client", "9800-9899", PropertyType.PORT,
       "The port used for handling client connections on the tablet servers.", "1.3.5"),
   TSERV_TOTAL_MUTATION_QUEUE_MAX("tserver.total.mutation.queue.max", "5%", PropertyType.MEMORY,
@@ -725,14 +789,29 @@ public enum Property {
       "An off-heap in-memory data store for accumulo implemented in c++ that increases"
           + " the amount of data accumulo can hold in memory and avoids Java GC pauses.",
       "1.3.5"),
+  TSERV_OFFHEAP_MAP_ENABLED("tserver.memory.maps.offheap.enabled", "false", PropertyType.BOOLEAN,
+      """
+          An off-heap in-memory data store implemented in Java that, like the native map, \
+          avoids Java GC pauses but needs no native library. It is used when %s is disabled \
+          or the native map can not be created. The JVM option -XX:MaxDirectMemorySize must \
+          allow for `tserver.memory.maps.max` plus any other direct memory the tablet server uses.
+          """.formatted(TSERV_NATIVEMAP_ENABLED.getKey()), "4.0.0"),
+  TSERV_MEMORY_MAP_CONCURRENT_WRITES("tserver.memory.maps.concurrent.writes.enabled", "false",
+      PropertyType.BOOLEAN,
+      "When enabled, batches of mutations written to the same tablet are inserted into its"
+          + " in-memory map concurrently instead of one batch at a time. Writes still become"
+          + " visible to scans in the order they started and no partial mutation is ever"
+          + " visible. This helps hot tablets receiving data from many clients. Changes take"
+          + " effect for in-memory maps created after the change.",
+      "4.0.0"),
   TSERV_MAXMEM("tserver.memory.maps.max", "33%", PropertyType.MEMORY, """
       Maximum amount of memory that can be used to buffer data written to a \
       tablet server. There are two other properties that can effectively limit \
       memory usage `table.compaction.minor.logs.threshold` and \
       `tserver.wal.max.size`. Ensure that `table.compaction.minor.logs.threshold` \
       * `tserver.wal.max.size` >= this property. This map is created in off-heap \
-      memory when %s is enabled.
-      """.formatted(TSERV_NATIVEMAP_ENABLED.name()), "1.3.5"),
+      memory when %s or %s is enabled.
+      """.formatted(TSERV_NATIVEMAP_ENABLED.name(), TSERV_OFFHEAP_MAP_ENABLED.name()), "1.3.5"),
   TSERV_SESSION_MAXIDLE("tserver.session.idle.max", "1m", PropertyType.TIMEDURATION,
       "When a tablet server's SimpleTimer thread triggers to check idle"
           + " sessions, this configurable option will be used to evaluate scan sessions"
@@ -768,6 +847,13 @@ public enum Property {
       PropertyType.TIMEDURATION,
       "Max time for the thrift client handler to wait for scan results before timing out.",
       "2.1.0"),
+  TSERV_SCAN_RESULTS_READ_AHEAD("tserver.scan.results.readahead", "1", PropertyType.COUNT, """
+      The most batches of results a scan reads ahead of the client, once the client has read \
+      enough batches for the scan to start reading ahead. Each batch read ahead is read after \
+      the one before it, while the client is still receiving earlier batches, so a client on \
+      a slow network does not wait for the next batch to be read after each request. Batches \
+      read ahead are held in memory until the client asks for them.
+      """, "4.0.0"),
   TSERV_MIGRATE_MAXCONCURRENT("tserver.migrations.concurrent.max", "1", PropertyType.COUNT,
       "The maximum number of concurrent tablet migrations for a tablet server.", "1.3.5"),
   TSERV_MINC_MAXCONCURRENT("tserver.compaction.minor.concurrent.max", "4", PropertyType.COUNT,
@@ -827,6 +913,21 @@ public enum Property {
       "Use the SYNC_BLOCK create flag to sync WAL writes to disk. Prevents"
           + " problems recovering from sudden system resets.",
       "1.5.0"),
+  TSERV_WAL_GROUP_COMMIT_WAIT_MAX("tserver.wal.group.commit.wait.max.micros", "0",
+      PropertyType.COUNT, """
+          The maximum number of microseconds the write-ahead log syncing thread will \
+          wait for more writes before it syncs or flushes, so that concurrent writers \
+          can share a single sync. The wait adapts to the recently observed sync latency \
+          and is never more than half of it, and no wait happens while writes are not \
+          arriving concurrently. Zero disables waiting.
+          """, "4.0.0"),
+  TSERV_WAL_GROUP_COMMIT_BYTES_MIN("tserver.wal.group.commit.bytes.min", "64K", PropertyType.BYTES,
+      """
+          When the write-ahead log syncing thread is waiting for more writes, it stops \
+          waiting and syncs once at least this much data has been written since the \
+          last sync. Zero means the wait is only bounded by time. See \
+          `tserver.wal.group.commit.wait.max.micros`.
+          """, "4.0.0"),
   TSERV_ASSIGNMENT_DURATION_WARNING("tserver.assignment.duration.warning", "10m",
       PropertyType.TIMEDURATION,
       "The amount of time an assignment can run before the server will print a"
@@ -884,6 +985,18 @@ public enum Property {
       "1.3.5"),
   GC_CANDIDATE_BATCH_SIZE("gc.candidate.batch.size", "50%", PropertyType.MEMORY,
       "The amount of memory used as the batch size for garbage collection.", "2.1.0"),
+  GC_REFERENCE_SCAN_SINGLE_PASS("gc.reference.scan.single.pass", "false", PropertyType.BOOLEAN,
+      "When the deletion candidates do not fit in the memory set by gc.candidate.batch.size, sort"
+          + " them in gc.spill.dir and scan the references once, instead of scanning all the"
+          + " references again for each batch of candidates. A bloom filter of all the"
+          + " candidates, about ten bits for each one, is kept in memory while the references"
+          + " are scanned.",
+      "4.0.0"),
+  GC_SPILL_DIR("gc.spill.dir", "", PropertyType.PATH,
+      "The local directory used to sort deletion candidates and references when"
+          + " gc.reference.scan.single.pass is enabled. When empty, the java.io.tmpdir"
+          + " directory is used.",
+      "4.0.0"),
   GC_CYCLE_START("gc.cycle.start", "30s", PropertyType.TIMEDURATION,
       "Time to wait before attempting to garbage collect any old RFiles or write-ahead logs.",
       "1.3.5"),
@@ -897,6 +1010,11 @@ public enum Property {
       "The number of threads used to delete write-ahead logs and recovery files.", "2.1.4"),
   GC_DELETE_THREADS("gc.threads.delete", "16", PropertyType.COUNT,
       "The number of threads used to delete RFiles.", "1.3.5"),
+  GC_REFERENCE_SCAN_THREADS("gc.threads.reference.scan", "1", PropertyType.COUNT,
+      "The number of threads used to read file references from the metadata table. When more than"
+          + " one, the user tablets in the metadata table are split into ranges of whole tables that"
+          + " are read concurrently.",
+      "4.0.0"),
   GC_SAFEMODE("gc.safemode", "false", PropertyType.BOOLEAN,
       "Provides listing of files to be deleted but does not delete any files.", "2.1.0"),
   GC_USE_FULL_COMPACTION("gc.post.metadata.action", "flush", PropertyType.GC_POST_ACTION, """
@@ -1123,6 +1241,14 @@ public enum Property {
       PropertyType.BYTES,
       "The maximum size of index blocks in RFiles before they are compressed and written.",
       "1.4.0"),
+  TABLE_FILE_BLOCK_RESTART_INTERVAL("table.file.compress.blocksize.restarts", "32",
+      PropertyType.COUNT, """
+          The number of key/values between restart points in RFile data blocks. The key at a \
+          restart point is written in full instead of relative to the key before it, and the \
+          block records where each restart point is, so a seek can binary search the restart \
+          points of a cached block instead of reading every key before the one it wants. \
+          Smaller intervals make seeks faster and files larger. Zero disables restart points.
+          """, "4.0.0"),
   TABLE_FILE_BLOCK_SIZE("table.file.blocksize", "0B", PropertyType.BYTES,
       "The HDFS block size used when writing RFiles. When set to 0B, the"
           + " value/defaults of HDFS property 'dfs.block.size' will be used.",
@@ -1175,6 +1301,32 @@ public enum Property {
       "1.3.5"),
   TABLE_BLOOM_SIZE("table.bloom.size", "1048576", PropertyType.COUNT,
       "Bloom filter size, as number of keys.", "1.3.5"),
+  TABLE_BLOOM_TYPE("table.bloom.type", "bloom", PropertyType.BLOOM_FILTER_TYPE, """
+      The type of filter written to new files when bloom filters are enabled. 'bloom' \
+      writes a dynamic bloom filter that grows as keys are added, sized by table.bloom.size \
+      and table.bloom.error.rate. 'xor' writes an xor filter that is built from all the \
+      bloom filter keys when the file is closed. An xor filter is sized for the keys in the \
+      file and uses about 9.8 bits per key for a false positive rate of about 0.4%, so it \
+      does not use table.bloom.size or table.bloom.error.rate. Without partitions the file \
+      writer holds an 8 byte hash for each distinct key until the file is closed, in an \
+      array that can be up to twice that size, and building the filter then allocates about \
+      33 more bytes per distinct key. This peaks at about 40 to 50 bytes per distinct key, \
+      so closing a file with 100 million distinct keys needs 4 to 5 GB of memory. Setting \
+      table.bloom.partition.size writes an xor filter for each partition, which bounds this \
+      memory by the partition size, plus about 1.2 bytes per distinct key for the finished \
+      partitions that are written when the file is closed.
+      """, "4.0.0"),
+  TABLE_BLOOM_PARTITION_SIZE("table.bloom.partition.size", "0", PropertyType.COUNT,
+      """
+          The number of distinct bloom filter keys in each partition of a partitioned bloom \
+          filter, for either table.bloom.type. A partitioned bloom filter is split into ranges \
+          of the sorted keys in the file, and a lookup only reads the partition for the key it \
+          is looking for. Partitions are read on demand through the index cache, so the memory used for bloom filters \
+          follows the keys that are looked up instead of the size of every open file. Zero \
+          writes a single bloom filter for the file, which is read completely when the file \
+          is first checked.
+          """,
+      "4.0.0"),
   TABLE_BLOOM_ERRORRATE("table.bloom.error.rate", "0.5%", PropertyType.FRACTION,
       "Bloom filter error rate.", "1.3.5"),
   TABLE_BLOOM_KEY_FUNCTOR("table.bloom.key.functor",
@@ -1421,6 +1573,16 @@ public enum Property {
   COMPACTION_COORDINATOR_DEAD_COMPACTOR_CHECK_INTERVAL(
       "compaction.coordinator.compactor.dead.check.interval", "5m", PropertyType.TIMEDURATION,
       "The interval at which to check for dead compactors.", "2.1.0"),
+  COMPACTION_COORDINATOR_JOB_WAIT_TIME("compaction.coordinator.job.wait.time", "0s",
+      PropertyType.TIMEDURATION,
+      "The maximum amount of time the coordinator will hold a compactor's request for a job when"
+          + " the compactor's group has no queued work. The request is answered as soon as a job"
+          + " is queued for the group, so compactors start work without waiting for their next"
+          + " check. When this is greater than zero, compactors do not sleep between empty"
+          + " requests beyond compactor.wait.time.job.min. Each held request occupies a manager"
+          + " RPC thread and the wait is capped at half of general.rpc.timeout. Zero disables"
+          + " holding requests.",
+      "4.0.0"),
   GENERAL_AMPLE_CONDITIONAL_WRITER_THREADS_MAX("general.ample.conditional.writer.threads.max", "8",
       PropertyType.COUNT,
       "The maximum number of threads for the shared ConditionalWriter used by Ample.", "4.0.0");
@@ -1731,9 +1893,11 @@ public enum Property {
       TSERV_SCAN_RESULTS_MAX_TIMEOUT, TSERV_MINC_MAXCONCURRENT, TSERV_THREADCHECK,
       TSERV_LOG_BUSY_TABLETS_COUNT, TSERV_LOG_BUSY_TABLETS_INTERVAL, TSERV_WAL_SORT_MAX_CONCURRENT,
       TSERV_SLOW_FILEPERMIT_MILLIS, TSERV_WAL_BLOCKSIZE, TSERV_CLIENTPORT, TSERV_DATACACHE_SIZE,
-      TSERV_INDEXCACHE_SIZE, TSERV_SUMMARYCACHE_SIZE, TSERV_DEFAULT_BLOCKSIZE, TSERV_MINTHREADS,
-      TSERV_MINTHREADS_TIMEOUT, TSERV_NATIVEMAP_ENABLED, TSERV_MAXMEM, TSERV_SCAN_MAX_OPENFILES,
-      TSERV_ONDEMAND_UNLOADER_INTERVAL, TSERV_GROUP_NAME,
+      TSERV_INDEXCACHE_SIZE, TSERV_SUMMARYCACHE_SIZE, TSERV_SCAN_READ_AHEAD_BLOCKS,
+      TSERV_SCAN_READ_AHEAD_THRESHOLD, TSERV_SCAN_READ_AHEAD_THREADS,
+      TSERV_SCAN_VISIBILITY_CACHE_SIZE, TSERV_DEFAULT_BLOCKSIZE, TSERV_MINTHREADS,
+      TSERV_MINTHREADS_TIMEOUT, TSERV_NATIVEMAP_ENABLED, TSERV_OFFHEAP_MAP_ENABLED, TSERV_MAXMEM,
+      TSERV_SCAN_MAX_OPENFILES, TSERV_ONDEMAND_UNLOADER_INTERVAL, TSERV_GROUP_NAME,
 
       // GC options
       GC_CANDIDATE_BATCH_SIZE, GC_CYCLE_START, GC_PORT,
@@ -145,6 +145,8 @@ public enum PropertyType {
   GC_POST_ACTION("gc_post_action", in(true, null, "none", "flush", "compact"),
       "One of 'none', 'flush', or 'compact'."),
 
+  BLOOM_FILTER_TYPE("bloom filter type", in(false, "bloom", "xor"), "One of 'bloom' or 'xor'."),
+
   STRING("string", x -> true,
       "An arbitrary string of characters whose format is unspecified and"
           + " interpreted based on the context of the property to which it applies."),
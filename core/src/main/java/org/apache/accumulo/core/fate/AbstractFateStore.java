@@ -31,11 +31,14 @@ import java.time.Duration;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -99,6 +102,19 @@ public abstract class AbstractFateStore<T> implements FateStore<T> {
   // This is incremented each time a transaction is unreserved that was runnable
   private final SignalCount unreservedRunnableCount = new SignalCount();
 
+  // How often runnable() scans the store for runnable transactions when its index could be used,
+  // to find transactions that became runnable without this store instance seeing it
+  static final Duration FULL_SCAN_INTERVAL = Duration.ofSeconds(5);
+
+  // Runnable transactions that are not reserved by this store instance, as of the last time the
+  // store was scanned and the updates made through this store instance since then. This lets
+  // runnable() find work without scanning the store each time it is called.
+  private final Map<FateId,FateIdStatus> runnableIndex = new ConcurrentHashMap<>();
+  private volatile Set<FatePartition> indexedPartitions = Set.of();
+  private volatile CountDownTimer nextFullScan = CountDownTimer.startNew(Duration.ZERO);
+  // Set when a transaction may have become runnable without being added to the index
+  private final AtomicBoolean fullScanNeeded = new AtomicBoolean(true);
+
   // Keeps track of the number of concurrent callers to waitForStatusChange()
   private final AtomicInteger concurrentStatusChangeCallers = new AtomicInteger(0);
 
@@ -175,42 +191,46 @@ public abstract class AbstractFateStore<T> implements FateStore<T> {
       final long beforeCount = unreservedRunnableCount.getCount();
       final boolean beforeDeferredOverflow = deferredOverflow.get();
 
-      try (Stream<FateIdStatus> inProgress = getTransactions(partitions, IN_PROGRESS_SET);
-          Stream<FateIdStatus> other = getTransactions(partitions, OTHER_RUNNABLE_SET)) {
-        // read the in progress transaction first and then everything else in order to process those
-        // first
-        var transactions = Stream.concat(inProgress, other);
-        transactions.filter(fateIdStatus -> isRunnable(fateIdStatus.getStatus()))
-            .filter(fateIdStatus -> {
-              var fateId = fateIdStatus.getFateId();
-              var deferredTime = deferred.get(fateId);
-              if (deferredTime != null) {
-                if (deferredTime.isExpired()) {
-                  deferred.remove(fateId);
-                } else {
-                  return false;
-                }
-              }
-              return fateIdStatus.getFateReservation().isEmpty();
-            }).forEach(fateIdStatus -> {
-              seen.incrementAndGet();
-              idConsumer.accept(fateIdStatus);
-            });
+      // Only scan the store when the index may be missing transactions, otherwise find the
+      // runnable transactions in the index.
+      final boolean fullScan = deferredOverflow.get() || nextFullScan.isExpired()
+          || !partitions.equals(indexedPartitions) || fullScanNeeded.get();
+      if (fullScan) {
+        scanRunnable(partitions, fateIdStatus -> {
+          seen.incrementAndGet();
+          idConsumer.accept(fateIdStatus);
+        });
+      } else {
+        // hand out the in progress transactions first, like a scan of the store does
+        for (EnumSet<TStatus> statuses : List.of(IN_PROGRESS_SET, OTHER_RUNNABLE_SET)) {
+          runnableIndex.values().stream()
+              .filter(fateIdStatus -> statuses.contains(fateIdStatus.getStatus()))
+              .filter(fateIdStatus -> partitions.stream()
+                  .anyMatch(partition -> partition.contains(fateIdStatus.getFateId())))
+              .filter(fateIdStatus -> !isDeferred(fateIdStatus.getFateId()))
+              .forEach(fateIdStatus -> {
+                seen.incrementAndGet();
+                idConsumer.accept(fateIdStatus);
+              });
+        }
       }
 
       // If deferredOverflow was previously marked true then the deferred map
       // would have been cleared and seen.get() should be greater than 0 as there would
-      // be a lot of transactions to process in the previous run, so we won't be sleeping here
-      if (seen.get() == 0) {
+      // be a lot of transactions to process in the previous run, so we won't be sleeping here.
+      // Transactions from the index are still in it after they were handed out, so wait for them
+      // to be reserved or for another transaction to become runnable before looking again.
+      if (seen.get() == 0 || !fullScan) {
         if (beforeCount == unreservedRunnableCount.getCount()) {
-          long waitTime = 5000;
+          long waitTime = nextFullScan.timeLeft(TimeUnit.MILLISECONDS);
           synchronized (deferred) {
             deferred.keySet().removeIf(
                 fateId -> partitions.stream().noneMatch(partition -> partition.contains(fateId)));
             if (!deferred.isEmpty()) {
-              waitTime = deferred.values().stream()
-                  .mapToLong(countDownTimer -> countDownTimer.timeLeft(TimeUnit.MILLISECONDS)).min()
-                  .getAsLong();
+              waitTime = Math.min(waitTime,
+                  deferred.values().stream()
+                      .mapToLong(countDownTimer -> countDownTimer.timeLeft(TimeUnit.MILLISECONDS))
+                      .min().getAsLong());
             }
           }
 
@@ -231,6 +251,93 @@ public abstract class AbstractFateStore<T> implements FateStore<T> {
     }
   }
 
+  /**
+   * Scans the store for runnable transactions in the partitions and replaces the index entries for
+   * the partitions with what was found.
+   */
+  private void scanRunnable(Set<FatePartition> partitions, Consumer<FateIdStatus> idConsumer) {
+    fullScanNeeded.set(false);
+    nextFullScan = CountDownTimer.startNew(FULL_SCAN_INTERVAL);
+
+    // entries that were in the index before the scan, an entry that is replaced while scanning was
+    // added by a transaction being unreserved and is kept even if the scan did not see it
+    Map<FateId,FateIdStatus> before = new HashMap<>();
+    runnableIndex.forEach((fateId, fateIdStatus) -> {
+      if (partitions.stream().anyMatch(partition -> partition.contains(fateId))) {
+        before.put(fateId, fateIdStatus);
+      }
+    });
+
+    Set<FateId> found = new HashSet<>();
+    try (Stream<FateIdStatus> inProgress = getTransactions(partitions, IN_PROGRESS_SET);
+        Stream<FateIdStatus> other = getTransactions(partitions, OTHER_RUNNABLE_SET)) {
+      // read the in progress transaction first and then everything else in order to process those
+      // first
+      var transactions = Stream.concat(inProgress, other);
+      transactions.filter(fateIdStatus -> isRunnable(fateIdStatus.getStatus()))
+          .filter(fateIdStatus -> fateIdStatus.getFateReservation().isEmpty())
+          .forEach(fateIdStatus -> {
+            var fateId = fateIdStatus.getFateId();
+            found.add(fateId);
+            // add to the index before handing it out, so that it is removed if it is reserved
+            runnableIndex.put(fateId, new IndexedFateIdStatus(fateId, fateIdStatus.getStatus(),
+                fateIdStatus.getFateOperation()));
+            if (!isDeferred(fateId)) {
+              idConsumer.accept(fateIdStatus);
+            }
+          });
+    }
+
+    before.forEach((fateId, fateIdStatus) -> {
+      if (!found.contains(fateId)) {
+        runnableIndex.remove(fateId, fateIdStatus);
+      }
+    });
+    indexedPartitions = partitions;
+  }
+
+  private boolean isDeferred(FateId fateId) {
+    var deferredTime = deferred.get(fateId);
+    if (deferredTime != null) {
+      if (deferredTime.isExpired()) {
+        deferred.remove(fateId);
+      } else {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * The status of a runnable transaction that is kept in the index.
+   */
+  private static class IndexedFateIdStatus extends FateIdStatusBase {
+    private final TStatus status;
+    private final Optional<Fate.FateOperation> fateOp;
+
+    private IndexedFateIdStatus(FateId fateId, TStatus status,
+        Optional<Fate.FateOperation> fateOp) {
+      super(fateId);
+      this.status = status;
+      this.fateOp = fateOp;
+    }
+
+    @Override
+    public Optional<FateReservation> getFateReservation() {
+      return Optional.empty();
+    }
+
+    @Override
+    public TStatus getStatus() {
+      return status;
+    }
+
+    @Override
+    public Optional<Fate.FateOperation> getFateOperation() {
+      return fateOp;
+    }
+  }
+
   @Override
   public Stream<FateIdStatus> list() {
     return getTransactions(EnumSet.allOf(TStatus.class));
@@ -314,16 +421,21 @@ public abstract class AbstractFateStore<T> implements FateStore<T> {
 
     protected TStatus observedStatus = null;
 
+    // the index entry of the transaction when it was reserved, used to add it back when unreserved
+    private final FateIdStatus indexedStatus;
+
     protected AbstractFateTxStoreImpl(FateId fateId) {
       this.fateId = fateId;
       this.deleted = false;
       this.reservation = null;
+      this.indexedStatus = null;
     }
 
     protected AbstractFateTxStoreImpl(FateId fateId, FateReservation reservation) {
       this.fateId = fateId;
       this.deleted = false;
       this.reservation = Objects.requireNonNull(reservation);
+      this.indexedStatus = runnableIndex.remove(fateId);
     }
 
     protected boolean isReserved() {
@@ -392,8 +504,20 @@ public abstract class AbstractFateStore<T> implements FateStore<T> {
 
       unreserve();
 
-      if (observedStatus != null && isRunnable(observedStatus)) {
+      if (observedStatus != null && isRunnable(observedStatus) && !deleted) {
+        if (indexedStatus != null) {
+          runnableIndex.put(fateId,
+              new IndexedFateIdStatus(fateId, observedStatus, indexedStatus.getFateOperation()));
+        } else {
+          // the fate operation of the transaction is not known, so let the next call to runnable
+          // find it in the store
+          fullScanNeeded.set(true);
+        }
         unreservedRunnableCount.increment();
+      } else {
+        // a scan that read the transaction before it was reserved may have put it back in the
+        // index, do not hand out a transaction that is no longer runnable or was deleted
+        runnableIndex.remove(fateId);
       }
     }
 
@@ -432,6 +556,7 @@ public abstract class AbstractFateStore<T> implements FateStore<T> {
 
   @Override
   public void seeded() {
+    fullScanNeeded.set(true);
     unreservedRunnableCount.increment();
   }
 
@@ -48,6 +48,7 @@ import org.apache.accumulo.core.conf.Property;
 import org.apache.accumulo.core.logging.FateLogger;
 import org.apache.accumulo.core.manager.thrift.TFateOperation;
 import org.apache.accumulo.core.util.threads.ThreadPools;
+import org.apache.accumulo.core.util.threads.Threads;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -156,6 +157,7 @@ public class Fate<T> extends FateClient<T> {
   private class FatePoolsWatcher implements Runnable {
     private final T environment;
     private final AccumuloConfiguration conf;
+    private boolean warnedNoVirtualThreads = false;
 
     private FatePoolsWatcher(T environment, AccumuloConfiguration conf) {
       this.environment = environment;
@@ -169,6 +171,7 @@ public class Fate<T> extends FateClient<T> {
       final var poolConfigs = getPoolConfigurations(conf, store.type());
       final var idleCheckIntervalMillis =
           conf.getTimeInMillis(Property.MANAGER_FATE_IDLE_CHECK_INTERVAL);
+      final boolean virtualThreads = useVirtualThreads();
 
       // shutdown task: shutdown fate executors whose set of fate operations are no longer present
       // in the config
@@ -178,9 +181,11 @@ public class Fate<T> extends FateClient<T> {
           var fateExecutor = fateExecutorsIter.next();
 
           // if this fate executors set of fate ops is no longer present in the config OR
-          // this fate executor was renamed in the config
-          if (!poolConfigs.containsKey(fateExecutor.getFateOps()) || !poolConfigs
-              .get(fateExecutor.getFateOps()).getKey().equals(fateExecutor.getName())) {
+          // this fate executor was renamed in the config OR
+          // the config changed whether fate executors use virtual threads
+          if (!poolConfigs.containsKey(fateExecutor.getFateOps())
+              || !poolConfigs.get(fateExecutor.getFateOps()).getKey().equals(fateExecutor.getName())
+              || fateExecutor.usesVirtualThreads() != virtualThreads) {
             if (!fateExecutor.isShutdown()) {
               log.debug(
                   "[{}] The config for {} has changed invalidating {}. Gracefully shutting down "
@@ -209,11 +214,12 @@ public class Fate<T> extends FateClient<T> {
         int poolSize = fateExecNameAndPoolSize.getValue();
         synchronized (fateExecutors) {
           if (fateExecutors.stream().noneMatch(
-              fe -> fe.getFateOps().equals(fateOps) && fe.getName().equals(fateExecutorName))) {
-            log.debug("[{}] Adding FateExecutor for {} with {} threads", store.type(), fateOps,
-                poolSize);
-            var fateExecutor =
-                new FateExecutor<>(Fate.this, environment, fateOps, poolSize, fateExecutorName);
+              fe -> fe.getFateOps().equals(fateOps) && fe.getName().equals(fateExecutorName)
+                  && fe.usesVirtualThreads() == virtualThreads)) {
+            log.debug("[{}] Adding FateExecutor for {} with {} {} threads", store.type(), fateOps,
+                poolSize, virtualThreads ? "virtual" : "platform");
+            var fateExecutor = new FateExecutor<>(Fate.this, environment, fateOps, poolSize,
+                fateExecutorName, virtualThreads);
             fateExecutors.add(fateExecutor);
             fateExecutor.setPartitions(currentPartitions);
           }
@@ -230,6 +236,23 @@ public class Fate<T> extends FateClient<T> {
         }
       }
     }
+
+    private boolean useVirtualThreads() {
+      if (!conf.getBoolean(Property.MANAGER_FATE_VIRTUAL_THREADS_ENABLED)) {
+        return false;
+      }
+      if (!Threads.virtualThreadsSupported()) {
+        if (!warnedNoVirtualThreads) {
+          log.warn(
+              "[{}] {} is set, but virtual threads require Java 21 or later. Using platform "
+                  + "threads.",
+              store.type(), Property.MANAGER_FATE_VIRTUAL_THREADS_ENABLED.getKey());
+          warnedNoVirtualThreads = true;
+        }
+        return false;
+      }
+      return true;
+    }
   }
 
   /**
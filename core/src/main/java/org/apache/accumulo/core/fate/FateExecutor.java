@@ -37,11 +37,10 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.LinkedTransferQueue;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TransferQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
@@ -75,7 +74,7 @@ public class FateExecutor<T> {
   private final T environment;
   private final Fate<T> fate;
   private final Thread workFinder;
-  private final TransferQueue<FateId> workQueue;
+  private final SynchronousQueue<FateId> workQueue;
   private final AtomicInteger idleWorkerCount;
   private final String name;
   private final String poolName;
@@ -85,9 +84,19 @@ public class FateExecutor<T> {
   private final ConcurrentLinkedQueue<Integer> idleCountHistory = new ConcurrentLinkedQueue<>();
   private final FateExecutorMetrics<T> fateExecutorMetrics;
   private final AtomicReference<Set<FatePartition>> partitions = new AtomicReference<>(Set.of());
+  private final boolean virtualThreads;
 
   public FateExecutor(Fate<T> fate, T environment, Set<Fate.FateOperation> fateOps, int poolSize,
       String name) {
+    this(fate, environment, fateOps, poolSize, name, false);
+  }
+
+  /**
+   * @param virtualThreads when true the TransactionRunners run on virtual threads and the pool size
+   *        only limits how many transactions for 'fateOps' run concurrently
+   */
+  public FateExecutor(Fate<T> fate, T environment, Set<Fate.FateOperation> fateOps, int poolSize,
+      String name, boolean virtualThreads) {
     final FateInstanceType type = fate.getStore().type();
     final String typeStr = type.name().toLowerCase();
     final String poolName =
@@ -97,12 +106,13 @@ public class FateExecutor<T> {
     this.fate = fate;
     this.environment = environment;
     this.fateOps = Collections.unmodifiableSet(fateOps);
-    this.workQueue = new LinkedTransferQueue<>();
+    this.workQueue = new SynchronousQueue<>();
     this.runningTxRunners = Collections.synchronizedSet(new HashSet<>());
     this.name = name;
     this.poolName = poolName;
+    this.virtualThreads = virtualThreads;
     this.transactionExecutor = ThreadPools.getServerThreadPools().getPoolBuilder(poolName)
-        .numCoreThreads(poolSize).build();
+        .numCoreThreads(poolSize).useVirtualThreads(virtualThreads).build();
     this.idleWorkerCount = new AtomicInteger(0);
     this.fateExecutorMetrics =
         new FateExecutorMetrics<T>(type, poolName, runningTxRunners, idleWorkerCount);
@@ -213,7 +223,6 @@ public class FateExecutor<T> {
   }
 
   private int getIdleWorkerCount() {
-    // This could call workQueue.getWaitingConsumerCount() if other code use poll with timeout
     return idleWorkerCount.get();
   }
 
@@ -228,6 +237,10 @@ public class FateExecutor<T> {
     return fateOps;
   }
 
+  protected boolean usesVirtualThreads() {
+    return virtualThreads;
+  }
+
   public FateExecutorMetrics<T> getFateExecutorMetrics() {
     return fateExecutorMetrics;
   }
@@ -339,12 +352,12 @@ public class FateExecutor<T> {
                 || txCancelledWhileNew(status, fateOp)) {
               while (keepRunning.getAsBoolean() && !isShutdown()) {
                 try {
-                  // The reason for calling transfer instead of queueing is avoid rescanning the
-                  // storage layer and adding the same thing over and over. For example if all
-                  // threads were busy, the queue size was 100, and there are three runnable things
-                  // in the store. Do not want to keep scanning the store adding those same 3
-                  // runnable things until the queue is full.
-                  if (workQueue.tryTransfer(fateIdStatus.getFateId(), 100, MILLISECONDS)) {
+                  // The reason for handing off to an idle worker instead of queueing is to avoid
+                  // rescanning the storage layer and adding the same thing over and over. For
+                  // example if all threads were busy, the queue size was 100, and there are three
+                  // runnable things in the store. Do not want to keep scanning the store adding
+                  // those same 3 runnable things until the queue is full.
+                  if (workQueue.offer(fateIdStatus.getFateId(), 100, MILLISECONDS)) {
                     break;
                   }
                 } catch (InterruptedException e) {
@@ -394,11 +407,11 @@ public class FateExecutor<T> {
       idleWorkerCount.getAndIncrement();
       try {
         while (fate.getKeepRunning().get() && !stop.get()) {
-          // Because of JDK-8301341 can not use poll w/ timeout until JDK 21+
-          FateId unreservedFateId = workQueue.poll();
+          // Block until the work finder hands off a transaction. This uses a SynchronousQueue
+          // because of JDK-8301341, LinkedTransferQueue can not use poll w/ timeout until JDK 21+
+          FateId unreservedFateId = workQueue.poll(100, MILLISECONDS);
 
           if (unreservedFateId == null) {
-            Thread.sleep(1);
             continue;
           }
           var optionalopStore = fate.getStore().tryReserve(unreservedFateId);
@@ -682,7 +695,8 @@ public class FateExecutor<T> {
 
   @Override
   public String toString() {
-    return String.format("FateExecutor:{FateOps=%s,Name=%s,PoolSize:%s,TransactionRunners:%s}",
-        fateOps, name, runningTxRunners.size(), runningTxRunners);
+    return String.format(
+        "FateExecutor:{FateOps=%s,Name=%s,PoolSize:%s,VirtualThreads:%s,TransactionRunners:%s}",
+        fateOps, name, runningTxRunners.size(), virtualThreads, runningTxRunners);
   }
 }
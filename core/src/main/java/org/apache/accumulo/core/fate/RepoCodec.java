@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.fate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+
+import org.apache.accumulo.core.metrics.MetricsProducer;
+
+/**
+ * Encodes the {@link Repo} objects that a fate store persists. A repo that implements
+ * {@link BinaryRepo} is written in a compact binary form, any other repo is written with Java
+ * serialization. Both forms can always be decoded, so transactions stored before a repo class
+ * implemented {@link BinaryRepo} can still be read.
+ *
+ * <p>
+ * The binary form is a version byte, the name of the repo class, and then whatever the repo writes.
+ * Java serialization always starts with the byte 0xAC, which is never used as a version.
+ */
+public class RepoCodec {
+
+  public static final String REPO_TAG_KEY = "repo";
+  public static final String CODEC_TAG_KEY = "codec";
+
+  private static final byte VERSION_1 = 1;
+  private static final byte JAVA_SERIALIZATION = (byte) 0xAC;
+
+  private static final ClassValue<Constructor<?>> CONSTRUCTORS = new ClassValue<>() {
+    @Override
+    protected Constructor<?> computeValue(Class<?> type) {
+      try {
+        Constructor<?> constructor = type.getDeclaredConstructor(DataInput.class);
+        constructor.setAccessible(true);
+        return constructor;
+      } catch (NoSuchMethodException e) {
+        throw new IllegalStateException(type.getName() + " implements "
+            + BinaryRepo.class.getSimpleName() + " but has no constructor that reads it", e);
+      }
+    }
+  };
+
+  private static final RepoCodecMetrics METRICS = new RepoCodecMetrics();
+
+  private RepoCodec() {}
+
+  /**
+   * @return the producer of the encode and decode metrics, registered by servers that run fate
+   */
+  public static MetricsProducer getMetrics() {
+    return METRICS;
+  }
+
+  public static byte[] encode(Object repo) {
+    long start = System.nanoTime();
+    byte[] bytes = write(repo);
+    long elapsed = System.nanoTime() - start;
+
+    METRICS.recordEncode(repoName(repo), codecName(bytes), elapsed, bytes.length);
+    return bytes;
+  }
+
+  public static Object decode(byte[] bytes) {
+    long start = System.nanoTime();
+    Object repo = read(bytes);
+    long elapsed = System.nanoTime() - start;
+
+    METRICS.recordDecode(repoName(repo), codecName(bytes), elapsed);
+    return repo;
+  }
+
+  /**
+   * Encodes a repo without recording metrics, used for repos that wrap other repos.
+   */
+  static byte[] write(Object repo) {
+    if (!isBinary(repo)) {
+      return AbstractFateStore.serialize(repo);
+    }
+
+    try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(baos)) {
+      out.writeByte(VERSION_1);
+      out.writeUTF(repo.getClass().getName());
+      ((BinaryRepo) repo).writeTo(out);
+      out.flush();
+      return baos.toByteArray();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Decodes a repo without recording metrics, used for repos that wrap other repos.
+   */
+  static Object read(byte[] bytes) {
+    if (bytes == null || bytes.length == 0) {
+      throw new IllegalStateException("Empty repo encoding");
+    }
+    switch (bytes[0]) {
+      case JAVA_SERIALIZATION:
+        return AbstractFateStore.deserialize(bytes);
+      case VERSION_1:
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+          in.readByte();
+          // do not initialize the class until it is known to be a binary repo
+          Class<?> type = Class.forName(in.readUTF(), false, RepoCodec.class.getClassLoader());
+          if (!BinaryRepo.class.isAssignableFrom(type)) {
+            throw new IllegalStateException(
+                type.getName() + " does not implement " + BinaryRepo.class.getSimpleName());
+          }
+          return CONSTRUCTORS.get(type).newInstance(in);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        } catch (InvocationTargetException e) {
+          if (e.getCause() instanceof IOException) {
+            throw new UncheckedIOException((IOException) e.getCause());
+          }
+          throw new IllegalStateException(e.getCause());
+        } catch (ReflectiveOperationException e) {
+          throw new IllegalStateException(e);
+        }
+      default:
+        throw new IllegalStateException("Unknown repo encoding " + bytes[0]);
+    }
+  }
+
+  private static boolean isBinary(Object repo) {
+    if (repo instanceof TraceRepo) {
+      // only use the binary form for the trace info when the wrapped repo can use it too
+      return ((TraceRepo<?>) repo).getWrapped() instanceof BinaryRepo;
+    }
+    return repo instanceof BinaryRepo;
+  }
+
+  private static String repoName(Object repo) {
+    if (repo instanceof TraceRepo) {
+      repo = ((TraceRepo<?>) repo).getWrapped();
+    }
+    return repo.getClass().getSimpleName();
+  }
+
+  private static String codecName(byte[] bytes) {
+    return bytes[0] == JAVA_SERIALIZATION ? "java" : "binary";
+  }
+}
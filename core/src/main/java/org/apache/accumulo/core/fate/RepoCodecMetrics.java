@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.fate;
+
+import static org.apache.accumulo.core.fate.RepoCodec.CODEC_TAG_KEY;
+import static org.apache.accumulo.core.fate.RepoCodec.REPO_TAG_KEY;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.accumulo.core.metrics.Metric;
+import org.apache.accumulo.core.metrics.MetricsProducer;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records the time taken to encode and decode fate repos and the size of the encoded repos. Nothing
+ * is recorded until a server registers these metrics, so processes that only read fate stores, like
+ * the shell and admin tools, do not record anything.
+ */
+public class RepoCodecMetrics implements MetricsProducer {
+
+  private record MeterKey(String repo, String codec) {
+  }
+
+  private record Meters(Timer encodeTime, Timer decodeTime, DistributionSummary size) {
+  }
+
+  private volatile MeterRegistry registry = null;
+  private final Map<MeterKey,Meters> meters = new ConcurrentHashMap<>();
+
+  RepoCodecMetrics() {}
+
+  @Override
+  public void registerMetrics(MeterRegistry registry) {
+    meters.clear();
+    this.registry = registry;
+  }
+
+  void recordEncode(String repo, String codec, long nanos, int size) {
+    Meters m = getMeters(repo, codec);
+    if (m != null) {
+      m.encodeTime().record(nanos, TimeUnit.NANOSECONDS);
+      m.size().record(size);
+    }
+  }
+
+  void recordDecode(String repo, String codec, long nanos) {
+    Meters m = getMeters(repo, codec);
+    if (m != null) {
+      m.decodeTime().record(nanos, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  private Meters getMeters(String repo, String codec) {
+    MeterRegistry reg = registry;
+    if (reg == null) {
+      return null;
+    }
+    return meters.computeIfAbsent(new MeterKey(repo, codec),
+        key -> new Meters(
+            Timer.builder(Metric.FATE_REPO_ENCODE_TIME.getName())
+                .description(Metric.FATE_REPO_ENCODE_TIME.getDescription())
+                .tags(REPO_TAG_KEY, key.repo(), CODEC_TAG_KEY, key.codec()).register(reg),
+            Timer.builder(Metric.FATE_REPO_DECODE_TIME.getName())
+                .description(Metric.FATE_REPO_DECODE_TIME.getDescription())
+                .tags(REPO_TAG_KEY, key.repo(), CODEC_TAG_KEY, key.codec()).register(reg),
+            DistributionSummary.builder(Metric.FATE_REPO_SIZE.getName())
+                .description(Metric.FATE_REPO_SIZE.getDescription()).baseUnit("bytes")
+                .tags(REPO_TAG_KEY, key.repo(), CODEC_TAG_KEY, key.codec()).register(reg)));
+  }
+}
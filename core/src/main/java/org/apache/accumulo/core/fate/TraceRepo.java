@@ -18,13 +18,20 @@
  */
 package org.apache.accumulo.core.fate;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
 import org.apache.accumulo.core.clientImpl.thrift.TInfo;
 import org.apache.accumulo.core.trace.TraceUtil;
 
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.context.Scope;
 
-public class TraceRepo<T> implements Repo<T> {
+public class TraceRepo<T> implements Repo<T>, BinaryRepo {
 
   private static final String ID_ATTR = "accumulo.fate.id";
   private static final String DELAY_ATTR = "accumulo.fate.delay";
@@ -39,6 +46,34 @@ public class TraceRepo<T> implements Repo<T> {
     tinfo = TraceUtil.traceInfo();
   }
 
+  @SuppressWarnings("unchecked")
+  @SuppressFBWarnings(value = "CT_CONSTRUCTOR_THROW",
+      justification = "the constructor reads an encoded repo, which can fail")
+  TraceRepo(DataInput in) throws IOException {
+    int size = in.readInt();
+    Map<String,String> headers = new HashMap<>();
+    for (int i = 0; i < size; i++) {
+      headers.put(in.readUTF(), in.readUTF());
+    }
+    tinfo = new TInfo(headers);
+    byte[] wrapped = new byte[in.readInt()];
+    in.readFully(wrapped);
+    repo = (Repo<T>) RepoCodec.read(wrapped);
+  }
+
+  @Override
+  public void writeTo(DataOutput out) throws IOException {
+    Map<String,String> headers = tinfo.getHeaders() == null ? Map.of() : tinfo.getHeaders();
+    out.writeInt(headers.size());
+    for (Map.Entry<String,String> header : headers.entrySet()) {
+      out.writeUTF(header.getKey());
+      out.writeUTF(header.getValue());
+    }
+    byte[] wrapped = RepoCodec.write(repo);
+    out.writeInt(wrapped.length);
+    out.write(wrapped);
+  }
+
   private static void setAttributes(FateId fateId, Span span) {
     if (span.isRecording()) {
       span.setAttribute(ID_ATTR, fateId.canonical());
@@ -18,7 +18,6 @@
  */
 package org.apache.accumulo.core.fate.user;
 
-import static org.apache.accumulo.core.fate.AbstractFateStore.serialize;
 import static org.apache.accumulo.core.fate.user.UserFateStore.getRow;
 import static org.apache.accumulo.core.fate.user.UserFateStore.getRowId;
 import static org.apache.accumulo.core.fate.user.UserFateStore.invertRepo;
@@ -44,6 +43,7 @@ import org.apache.accumulo.core.fate.FateKey;
 import org.apache.accumulo.core.fate.FateStore;
 import org.apache.accumulo.core.fate.ReadOnlyFateStore.TStatus;
 import org.apache.accumulo.core.fate.Repo;
+import org.apache.accumulo.core.fate.RepoCodec;
 import org.apache.accumulo.core.fate.user.schema.FateSchema.RepoColumnFamily;
 import org.apache.accumulo.core.fate.user.schema.FateSchema.TxAdminColumnFamily;
 import org.apache.accumulo.core.fate.user.schema.FateSchema.TxColumnFamily;
@@ -192,7 +192,7 @@ public class FateMutatorImpl<T> implements FateMutator<T> {
     final Text cq = invertRepo(position);
     // ensure this repo is not already set
     mutation.addCondition(new Condition(RepoColumnFamily.NAME, cq));
-    mutation.put(RepoColumnFamily.NAME, cq, new Value(serialize(repo)));
+    mutation.put(RepoColumnFamily.NAME, cq, new Value(RepoCodec.encode(repo)));
     return this;
   }
 
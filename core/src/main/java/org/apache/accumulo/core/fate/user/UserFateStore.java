@@ -60,6 +60,7 @@ import org.apache.accumulo.core.fate.FateKey;
 import org.apache.accumulo.core.fate.FatePartition;
 import org.apache.accumulo.core.fate.ReadOnlyRepo;
 import org.apache.accumulo.core.fate.Repo;
+import org.apache.accumulo.core.fate.RepoCodec;
 import org.apache.accumulo.core.fate.StackOverflowException;
 import org.apache.accumulo.core.fate.user.schema.FateSchema.RepoColumnFamily;
 import org.apache.accumulo.core.fate.user.schema.FateSchema.TxAdminColumnFamily;
@@ -554,7 +555,7 @@ public class UserFateStore<T> extends AbstractFateStore<T> {
         scanner.fetchColumnFamily(RepoColumnFamily.NAME);
         return scanner.stream().map(e -> {
           @SuppressWarnings("unchecked")
-          var repo = (Repo<T>) deserialize(e.getValue().get());
+          var repo = (Repo<T>) RepoCodec.decode(e.getValue().get());
           return repo;
         }).findFirst().orElse(null);
       });
@@ -569,7 +570,7 @@ public class UserFateStore<T> extends AbstractFateStore<T> {
         scanner.fetchColumnFamily(RepoColumnFamily.NAME);
         return scanner.stream().map(e -> {
           @SuppressWarnings("unchecked")
-          var repo = (ReadOnlyRepo<T>) deserialize(e.getValue().get());
+          var repo = (ReadOnlyRepo<T>) RepoCodec.decode(e.getValue().get());
           return repo;
         }).collect(Collectors.toList());
       });
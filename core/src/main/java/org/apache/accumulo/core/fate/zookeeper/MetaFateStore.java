@@ -58,6 +58,7 @@ import org.apache.accumulo.core.fate.FateKey;
 import org.apache.accumulo.core.fate.FatePartition;
 import org.apache.accumulo.core.fate.ReadOnlyRepo;
 import org.apache.accumulo.core.fate.Repo;
+import org.apache.accumulo.core.fate.RepoCodec;
 import org.apache.accumulo.core.fate.StackOverflowException;
 import org.apache.accumulo.core.fate.zookeeper.ZooUtil.NodeExistsPolicy;
 import org.apache.accumulo.core.zookeeper.ZooSession;
@@ -758,7 +759,7 @@ public class MetaFateStore<T> extends AbstractFateStore<T> {
         int length = buffer.readInt();
         Preconditions.checkArgument(length > 0);
         @SuppressWarnings("unchecked")
-        var repo = (Repo<T>) deserialize(buffer.readNBytes(length));
+        var repo = (Repo<T>) RepoCodec.decode(buffer.readNBytes(length));
         deque.add(repo);
       }
 
@@ -810,7 +811,7 @@ public class MetaFateStore<T> extends AbstractFateStore<T> {
         dos.writeInt(repoDeque.size());
         // iterates from top/first/head to bottom/last/tail
         for (Repo<T> repo : repoDeque) {
-          serializedRepo = AbstractFateStore.serialize(repo);
+          serializedRepo = RepoCodec.encode(repo);
           dos.writeInt(serializedRepo.length);
           dos.write(serializedRepo);
         }
@@ -24,13 +24,17 @@ import static org.apache.accumulo.core.util.threads.ThreadPoolNames.BLOOM_LOADER
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.accumulo.core.bloomfilter.DynamicBloomFilter;
+import org.apache.accumulo.core.bloomfilter.XorFilter;
 import org.apache.accumulo.core.classloader.ClassLoaderUtil;
 import org.apache.accumulo.core.conf.AccumuloConfiguration;
 import org.apache.accumulo.core.conf.Property;
@@ -58,6 +62,7 @@ public class BloomFilterLayer {
 
   private static final Logger LOG = LoggerFactory.getLogger(BloomFilterLayer.class);
   public static final String BLOOM_FILE_NAME = "acu_bloom";
+  public static final String XOR_FILTER_NAME = "acu_xor_filter";
   public static final int HASH_COUNT = 5;
 
   private static ExecutorService loadThreadPool = null;
@@ -76,6 +81,10 @@ public class BloomFilterLayer {
 
   public static final class Writer implements FileSKVWriter {
     private DynamicBloomFilter bloomFilter;
+    private BloomFilterPartitions.Builder partitions;
+    // the hashes of the keys for an xor filter, which is built when the file is closed
+    private long[] xorHashes;
+    private int xorHashCount;
     private int numKeys;
     private int vectorSize;
 
@@ -99,10 +108,23 @@ public class BloomFilterLayer {
       // max. error rate.
       // Our desired error rate is by default 0.005, i.e. 0.5%
       double errorRate = acuconf.getFraction(Property.TABLE_BLOOM_ERRORRATE);
-      vectorSize = (int) Math
-          .ceil(-HASH_COUNT * numKeys / Math.log(1.0 - Math.pow(errorRate, 1.0 / HASH_COUNT)));
-      bloomFilter = new DynamicBloomFilter(vectorSize, HASH_COUNT,
-          Hash.parseHashType(acuconf.get(Property.TABLE_BLOOM_HASHTYPE)), numKeys);
+      int hashType = Hash.parseHashType(acuconf.get(Property.TABLE_BLOOM_HASHTYPE));
+      int partitionSize = acuconf.getCount(Property.TABLE_BLOOM_PARTITION_SIZE);
+      if (acuconf.get(Property.TABLE_BLOOM_TYPE).equalsIgnoreCase("xor")) {
+        if (partitionSize > 0) {
+          // only the hashes of the keys in one partition are held to build its xor filter
+          partitions = new BloomFilterPartitions.Builder(partitionSize);
+        } else {
+          xorHashes = new long[1024];
+        }
+      } else if (partitionSize > 0) {
+        // each partition is sized for its own keys
+        partitions = new BloomFilterPartitions.Builder(partitionSize,
+            vectorSize(partitionSize, errorRate), hashType);
+      } else {
+        vectorSize = vectorSize(numKeys, errorRate);
+        bloomFilter = new DynamicBloomFilter(vectorSize, HASH_COUNT, hashType, numKeys);
+      }
 
       /**
        * load KeyFunctor
@@ -128,12 +150,30 @@ public class BloomFilterLayer {
 
     }
 
+    private static int vectorSize(int numKeys, double errorRate) {
+      return (int) Math
+          .ceil(-HASH_COUNT * numKeys / Math.log(1.0 - Math.pow(errorRate, 1.0 / HASH_COUNT)));
+    }
+
     @Override
     public synchronized void append(org.apache.accumulo.core.data.Key key, Value val)
         throws IOException {
       writer.append(key, val);
       Key bloomKey = transformer.transform(key);
-      if (bloomKey.getBytes().length > 0) {
+      if (xorHashes != null) {
+        if (bloomKey.getBytes().length > 0) {
+          long hash = XorFilter.hash(bloomKey);
+          // consecutive keys often have the same bloom key, duplicates are removed when building
+          if (xorHashCount == 0 || xorHashes[xorHashCount - 1] != hash) {
+            if (xorHashCount == xorHashes.length) {
+              xorHashes = Arrays.copyOf(xorHashes, xorHashes.length * 2);
+            }
+            xorHashes[xorHashCount++] = hash;
+          }
+        }
+      } else if (partitions != null) {
+        partitions.add(key, bloomKey);
+      } else if (bloomKey.getBytes().length > 0) {
         bloomFilter.add(bloomKey);
       }
     }
@@ -145,11 +185,24 @@ public class BloomFilterLayer {
         return;
       }
 
-      DataOutputStream out = writer.createMetaStore(BLOOM_FILE_NAME);
-      out.writeUTF(transformer.getClass().getName());
-      bloomFilter.write(out);
-      out.flush();
-      out.close();
+      if (xorHashes != null) {
+        XorFilter xorFilter = XorFilter.build(xorHashes, xorHashCount);
+        xorHashes = null;
+        DataOutputStream out = writer.createMetaStore(XOR_FILTER_NAME);
+        out.writeUTF(transformer.getClass().getName());
+        xorFilter.write(out);
+        out.close();
+      } else if (partitions != null) {
+        DataOutputStream out = writer.createMetaStore(partitions.getName());
+        out.writeUTF(transformer.getClass().getName());
+        partitions.write(writer, out);
+      } else {
+        DataOutputStream out = writer.createMetaStore(BLOOM_FILE_NAME);
+        out.writeUTF(transformer.getClass().getName());
+        bloomFilter.write(out);
+        out.flush();
+        out.close();
+      }
       writer.close();
       length = writer.getLength();
       closed = true;
@@ -188,7 +241,13 @@ public class BloomFilterLayer {
 
   static class BloomFilterLoader {
 
+    // the meta blocks a file may store its filter in, in the order they are looked for
+    private static final List<String> FILTER_NAMES = List.of(BloomFilterPartitions.PARTITIONS_NAME,
+        BloomFilterPartitions.XOR_PARTITIONS_NAME, XOR_FILTER_NAME, BLOOM_FILE_NAME);
+
     private volatile DynamicBloomFilter bloomFilter;
+    private volatile BloomFilterPartitions partitions;
+    private volatile XorFilter xorFilter;
     private int loadRequest = 0;
     private int loadThreshold = 1;
     private final int maxLoadThreads;
@@ -213,8 +272,20 @@ public class BloomFilterLayer {
         DataInputStream in = null;
 
         try {
-          in = reader.getMetaStore(BLOOM_FILE_NAME);
-          DynamicBloomFilter tmpBloomFilter = new DynamicBloomFilter();
+          String filterName = null;
+          for (String name : FILTER_NAMES) {
+            try {
+              in = reader.getMetaStore(name);
+              filterName = name;
+              break;
+            } catch (NoSuchMetaStoreException nsme) {
+              // look for the next type of filter
+            }
+          }
+          if (in == null) {
+            // file does not have a bloom filter, ignore it
+            return;
+          }
 
           // check for closed again after open but before reading the bloom filter in
           if (closed) {
@@ -230,15 +301,26 @@ public class BloomFilterLayer {
               ClassLoaderUtil.loadClass(context, ClassName, KeyFunctor.class);
           transformer = clazz.getDeclaredConstructor().newInstance();
 
+          if (filterName.equals(BloomFilterPartitions.PARTITIONS_NAME)
+              || filterName.equals(BloomFilterPartitions.XOR_PARTITIONS_NAME)) {
+            // only reads where the partitions start, the partitions are read when they are used
+            partitions = BloomFilterPartitions.read(reader, filterName, in);
+            return;
+          }
+
+          if (filterName.equals(XOR_FILTER_NAME)) {
+            xorFilter = XorFilter.read(in);
+            return;
+          }
+
           /**
            * read in bloom filter
            */
 
+          DynamicBloomFilter tmpBloomFilter = new DynamicBloomFilter();
           tmpBloomFilter.readFields(in);
           // only set the bloom filter after it is fully constructed
           bloomFilter = tmpBloomFilter;
-        } catch (NoSuchMetaStoreException nsme) {
-          // file does not have a bloom filter, ignore it
         } catch (IOException ioe) {
           if (closed) {
             LOG.debug("Can't open BloomFilter, file closed : {}", ioe.getMessage());
@@ -311,10 +393,10 @@ public class BloomFilterLayer {
      * @param range range of keys to check
      * @return false iff key doesn't exist, true if key probably exists.
      */
-    boolean probablyHasKey(Range range) {
-      if (bloomFilter == null) {
+    boolean probablyHasKey(Range range) throws IOException {
+      if (!isLoaded()) {
         initiateLoad(maxLoadThreads);
-        if (bloomFilter == null) {
+        if (!isLoaded()) {
           return true;
         }
       }
@@ -325,9 +407,21 @@ public class BloomFilterLayer {
         return true;
       }
 
+      BloomFilterPartitions p = partitions;
+      if (p != null) {
+        return p.probablyHasKey(range, bloomKey);
+      }
+      XorFilter xf = xorFilter;
+      if (xf != null) {
+        return xf.membershipTest(bloomKey);
+      }
       return bloomFilter.membershipTest(bloomKey);
     }
 
+    private boolean isLoaded() {
+      return bloomFilter != null || partitions != null || xorFilter != null;
+    }
+
     public void close() {
       this.closed = true;
     }
@@ -435,5 +529,21 @@ public class BloomFilterLayer {
     public void setCacheProvider(CacheProvider cacheProvider) {
       reader.setCacheProvider(cacheProvider);
     }
+
+    @Override
+    public void loadBlocks(List<Range> ranges, Collection<ByteSequence> columnFamilies,
+        boolean inclusive, long maxBytes, long maxGap) throws IOException {
+      // only load blocks for the ranges that seek will not skip
+      List<Range> rangesToLoad = new ArrayList<>(ranges.size());
+      for (Range range : ranges) {
+        if (bfl.probablyHasKey(range)) {
+          rangesToLoad.add(range);
+        }
+      }
+
+      if (!rangesToLoad.isEmpty()) {
+        reader.loadBlocks(rangesToLoad, columnFamilies, inclusive, maxBytes, maxGap);
+      }
+    }
   }
 }
@@ -0,0 +1,307 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.file;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.apache.accumulo.core.bloomfilter.BloomFilter;
+import org.apache.accumulo.core.bloomfilter.XorFilter;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.file.blockfile.cache.impl.ClassSize;
+import org.apache.accumulo.core.file.blockfile.impl.CachableBlockFile.CachedBlockRead;
+import org.apache.accumulo.core.spi.cache.CacheEntry.Weighable;
+
+/**
+ * A bloom filter split into partitions over ranges of the sorted keys in a file, so that a lookup
+ * only reads the partition that could contain its key. The first key of each partition is stored in
+ * a small meta block that is read when the bloom filter is loaded and kept as a flat array, which a
+ * lookup binary searches. There is no further index level over these keys, since there is one per
+ * partition and they are small next to the partitions. Each partition is stored in its own meta
+ * block and read when it is first needed, through the index cache when the file has one.
+ *
+ * <p>
+ * The partitions are either bloom filters or xor filters. An xor filter can only be built once all
+ * of its keys are known, so partitioning also bounds the memory used to write an xor filter to the
+ * hashes of the keys in one partition, instead of the hashes of every key in the file.
+ *
+ * <p>
+ * A partition only ends where the bloom filter key changes, so all the keys in a file that map to
+ * the same bloom filter key are in the same partition.
+ */
+class BloomFilterPartitions {
+
+  static final String PARTITIONS_NAME = "acu_bloom_partitions";
+  static final String XOR_PARTITIONS_NAME = "acu_xor_partitions";
+  private static final String PARTITION_PREFIX = "acu_bloom_partition_";
+  private static final String XOR_PARTITION_PREFIX = "acu_xor_partition_";
+
+  /**
+   * Builds the partitions of a bloom filter as sorted keys are appended to a file.
+   */
+  static class Builder {
+    private final int partitionSize;
+    private final int vectorSize;
+    private final int hashType;
+    private final boolean xor;
+
+    private final List<Key> firstKeys = new ArrayList<>();
+    private final List<byte[]> partitions = new ArrayList<>();
+
+    private boolean started = false;
+    private BloomFilter partition = null;
+    // the hashes of the keys in the current partition, when the partitions are xor filters
+    private long[] xorHashes = null;
+    private int partitionKeys = 0;
+    private byte[] lastBloomKey = null;
+
+    /**
+     * Creates a builder for a bloom filter that is partitioned into bloom filters.
+     */
+    Builder(int partitionSize, int vectorSize, int hashType) {
+      this.partitionSize = partitionSize;
+      this.vectorSize = vectorSize;
+      this.hashType = hashType;
+      this.xor = false;
+    }
+
+    /**
+     * Creates a builder for a filter that is partitioned into xor filters.
+     */
+    Builder(int partitionSize) {
+      this.partitionSize = partitionSize;
+      this.vectorSize = 0;
+      this.hashType = 0;
+      this.xor = true;
+    }
+
+    /**
+     * @return the name of the meta block that lists the partitions
+     */
+    String getName() {
+      return xor ? XOR_PARTITIONS_NAME : PARTITIONS_NAME;
+    }
+
+    void add(Key key, org.apache.hadoop.util.bloom.Key bloomKey) throws IOException {
+      byte[] bytes = bloomKey.getBytes();
+      boolean changed = !Arrays.equals(bytes, lastBloomKey);
+      if (!started || (changed && partitionKeys >= partitionSize)) {
+        finishPartition();
+        if (xor) {
+          if (xorHashes == null) {
+            xorHashes = new long[Math.min(partitionSize, 1024)];
+          }
+        } else {
+          partition = new BloomFilter(vectorSize, BloomFilterLayer.HASH_COUNT, hashType);
+        }
+        partitionKeys = 0;
+        firstKeys.add(new Key(key));
+        started = true;
+      }
+
+      if (changed) {
+        lastBloomKey = bytes;
+        if (bytes.length > 0) {
+          if (xor) {
+            // the array is reused for each partition and never holds more than a partition
+            if (partitionKeys == xorHashes.length) {
+              xorHashes = Arrays.copyOf(xorHashes, Math.min(xorHashes.length * 2, partitionSize));
+            }
+            xorHashes[partitionKeys] = XorFilter.hash(bloomKey);
+          } else {
+            partition.add(bloomKey);
+          }
+          partitionKeys++;
+        }
+      }
+    }
+
+    private void finishPartition() throws IOException {
+      if (started) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(baos)) {
+          if (xor) {
+            XorFilter.build(xorHashes, partitionKeys).write(out);
+          } else {
+            partition.write(out);
+          }
+        }
+        partitions.add(baos.toByteArray());
+        partition = null;
+        started = false;
+      }
+    }
+
+    /**
+     * Writes the partitions as meta blocks, after the key functor has been written to the meta
+     * block that lists them.
+     */
+    void write(FileSKVWriter writer, DataOutputStream partitionsOut) throws IOException {
+      finishPartition();
+
+      partitionsOut.writeInt(firstKeys.size());
+      for (Key firstKey : firstKeys) {
+        firstKey.write(partitionsOut);
+      }
+      partitionsOut.close();
+
+      String prefix = xor ? XOR_PARTITION_PREFIX : PARTITION_PREFIX;
+      for (int i = 0; i < partitions.size(); i++) {
+        try (DataOutputStream out = writer.createMetaStore(prefix + i)) {
+          out.write(partitions.get(i));
+        }
+      }
+    }
+  }
+
+  /**
+   * A partition stored with its cached meta block.
+   */
+  private static class Partition implements Weighable {
+    // one of these is set, depending on the type of the partitions
+    private final BloomFilter filter;
+    private final XorFilter xorFilter;
+
+    private Partition(BloomFilter filter, XorFilter xorFilter) {
+      this.filter = filter;
+      this.xorFilter = xorFilter;
+    }
+
+    private static Partition read(DataInputStream in, boolean xor) {
+      try {
+        if (xor) {
+          return new Partition(null, XorFilter.read(in));
+        }
+        BloomFilter filter = new BloomFilter();
+        filter.readFields(in);
+        return new Partition(filter, null);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    private boolean membershipTest(org.apache.hadoop.util.bloom.Key bloomKey) {
+      return xorFilter != null ? xorFilter.membershipTest(bloomKey)
+          : filter.membershipTest(bloomKey);
+    }
+
+    @Override
+    public int weight() {
+      return ClassSize.OBJECT + 3 * ClassSize.REFERENCE + ClassSize.ARRAY
+          + (xorFilter != null ? xorFilter.getSize() : filter.getVectorSize() / Byte.SIZE);
+    }
+  }
+
+  private final FileSKVIterator reader;
+  private final Key[] firstKeys;
+  private final boolean xor;
+  // partitions read from a file that has no index cache
+  private final AtomicReferenceArray<Partition> uncached;
+
+  private BloomFilterPartitions(FileSKVIterator reader, Key[] firstKeys, boolean xor) {
+    this.reader = reader;
+    this.firstKeys = firstKeys;
+    this.xor = xor;
+    this.uncached = new AtomicReferenceArray<>(firstKeys.length);
+  }
+
+  /**
+   * @param name the name of the meta block listing the partitions, which is
+   *        {@link #PARTITIONS_NAME} or {@link #XOR_PARTITIONS_NAME}
+   * @param in the meta block listing the partitions, positioned after the key functor
+   */
+  static BloomFilterPartitions read(FileSKVIterator reader, String name, DataInput in)
+      throws IOException {
+    Key[] firstKeys = new Key[in.readInt()];
+    for (int i = 0; i < firstKeys.length; i++) {
+      firstKeys[i] = new Key();
+      firstKeys[i].readFields(in);
+    }
+    return new BloomFilterPartitions(reader, firstKeys, name.equals(XOR_PARTITIONS_NAME));
+  }
+
+  /**
+   * @param range a range that only contains keys that map to the bloom filter key
+   * @return false iff no key in the range is in the file, true if a key probably is
+   */
+  boolean probablyHasKey(Range range, org.apache.hadoop.util.bloom.Key bloomKey)
+      throws IOException {
+    // the keys in the range are in the last partition that starts before the range, or in a
+    // partition that starts in the range
+    int low = 0;
+    int high = firstKeys.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (range.beforeStartKey(firstKeys[mid])) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+
+    for (int i = Math.max(low - 1, 0); i < firstKeys.length; i++) {
+      if (i >= low && range.afterEndKey(firstKeys[i])) {
+        break;
+      }
+      if (getPartition(i).membershipTest(bloomKey)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private Partition getPartition(int i) throws IOException {
+    Partition partition = uncached.get(i);
+    if (partition != null) {
+      return partition;
+    }
+
+    try (DataInputStream in =
+        reader.getMetaStore((xor ? XOR_PARTITION_PREFIX : PARTITION_PREFIX) + i)) {
+      if (in instanceof CachedBlockRead cachedBlock && cachedBlock.isIndexable()) {
+        boolean[] created = {false};
+        partition = cachedBlock.getIndex(() -> {
+          created[0] = true;
+          return Partition.read(cachedBlock, xor);
+        });
+        if (partition != null) {
+          if (created[0]) {
+            cachedBlock.indexWeightChanged();
+          }
+          return partition;
+        }
+      }
+
+      partition = Partition.read(in, xor);
+      uncached.set(i, partition);
+      return partition;
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+}
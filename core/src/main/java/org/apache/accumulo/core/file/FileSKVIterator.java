@@ -20,8 +20,11 @@ package org.apache.accumulo.core.file;
 
 import java.io.DataInputStream;
 import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 
+import org.apache.accumulo.core.data.ByteSequence;
 import org.apache.accumulo.core.data.Range;
 import org.apache.accumulo.core.dataImpl.KeyExtent;
 import org.apache.accumulo.core.file.blockfile.impl.CacheProvider;
@@ -126,6 +129,19 @@ public interface FileSKVIterator extends InterruptibleIterator, AutoCloseable {
 
   void setCacheProvider(CacheProvider cacheProvider);
 
+  /**
+   * Reads the data blocks that seeking to each of the given ranges will need into the data cache,
+   * using as few reads as possible. Files that can not do this ignore the call.
+   *
+   * @param ranges sorted, non overlapping ranges that are about to be seeked
+   * @param columnFamilies the column families that will be passed to seek
+   * @param inclusive the inclusiveness that will be passed to seek
+   * @param maxBytes the maximum number of compressed bytes to read
+   * @param maxGap blocks that are no more than this many bytes apart are read with a single read
+   */
+  default void loadBlocks(List<Range> ranges, Collection<ByteSequence> columnFamilies,
+      boolean inclusive, long maxBytes, long maxGap) throws IOException {}
+
   @Override
   void close() throws IOException;
 }
@@ -23,6 +23,21 @@ import org.apache.accumulo.core.spi.cache.BlockCache;
 import org.apache.accumulo.core.spi.cache.CacheType;
 
 public class BlockCacheUtil {
+
+  /**
+   * Prefix of the names of blocks that caches must only keep in memory. Readers of encrypted files
+   * use it, because blocks are cached after they are decrypted and must not be written to local
+   * disk.
+   */
+  public static final String MEMORY_ONLY_PREFIX = "!mem!";
+
+  /**
+   * @return true if the named block must not be stored outside of memory
+   */
+  public static boolean isMemoryOnly(String blockName) {
+    return blockName.startsWith(MEMORY_ONLY_PREFIX);
+  }
+
   public static BlockCache instrument(CacheType type, BlockCache cache) {
     if (cache == null) {
       return null;
@@ -48,6 +48,11 @@ public class InstrumentedBlockCache implements BlockCache {
     return blockCache.getBlock(blockName);
   }
 
+  @Override
+  public boolean containsBlock(String blockName) {
+    return blockCache.containsBlock(blockName);
+  }
+
   private final class CountingLoader implements Loader {
 
     private final Loader loader;
@@ -46,6 +46,11 @@ public class NoopCache implements BlockCache {
     return null;
   }
 
+  @Override
+  public boolean containsBlock(String blockName) {
+    return false;
+  }
+
   @Override
   public long getMaxHeapSize() {
     return getMaxSize();
@@ -279,6 +279,11 @@ public final class LruBlockCache extends SynchronousLoadingBlockCache
     return wrap(cb);
   }
 
+  @Override
+  public boolean containsBlock(String blockName) {
+    return map.containsKey(blockName);
+  }
+
   @Override
   protected CacheEntry getBlockNoStats(String blockName) {
     CachedBlock cb = map.get(blockName);
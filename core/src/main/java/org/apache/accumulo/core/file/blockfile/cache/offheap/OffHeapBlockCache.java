@@ -0,0 +1,429 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.file.blockfile.cache.offheap;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.apache.accumulo.core.conf.ConfigurationTypeHelper;
+import org.apache.accumulo.core.file.blockfile.cache.impl.ClassSize;
+import org.apache.accumulo.core.file.blockfile.cache.lru.SynchronousLoadingBlockCache;
+import org.apache.accumulo.core.spi.cache.BlockCacheManager.Configuration;
+import org.apache.accumulo.core.spi.cache.CacheEntry;
+import org.apache.accumulo.core.spi.cache.CacheEntry.Weighable;
+import org.apache.accumulo.core.spi.cache.CacheType;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * A block cache that stores blocks in direct memory outside of the Java heap, so that much larger
+ * caches can be used without long GC pauses. The JVM must be allowed enough direct memory for the
+ * cache, see {@code -XX:MaxDirectMemorySize}.
+ *
+ * <p>
+ * Memory is allocated in slabs as the cache fills. Each slab is given to a size class and split
+ * into chunks of that size, and a block is stored in the smallest chunk that fits it. When a size
+ * class has no free chunk and no more slabs can be allocated, it evicts one of its own blocks using
+ * the CLOCK algorithm. Blocks larger than a slab are not cached.
+ *
+ * <p>
+ * Blocks are copied onto the heap each time they are read from the cache. The indexes Accumulo
+ * builds for frequently read blocks are kept on the heap, up to a configured size.
+ */
+public final class OffHeapBlockCache extends SynchronousLoadingBlockCache {
+
+  public static final String PROPERTY_PREFIX = "offheap";
+
+  public static final String SLAB_SIZE_PROPERTY = "slab.size";
+  public static final String INDEX_HEAP_SIZE_PROPERTY = "index.heap.size";
+
+  public static final long DEFAULT_SLAB_SIZE = 4 * 1024 * 1024;
+  public static final long DEFAULT_INDEX_HEAP_SIZE = 64 * 1024 * 1024;
+
+  private static final int MIN_CHUNK_SIZE = 1024;
+  private static final double CHUNK_GROWTH_FACTOR = 1.25;
+
+  // heap used for each cached block, the block object and its map entry and key
+  private static final int BLOCK_OVERHEAD = ClassSize.OBJECT + 6 * ClassSize.REFERENCE
+      + ClassSize.ATOMIC_INTEGER + ClassSize.CONCURRENT_HASHMAP_ENTRY + ClassSize.STRING + 128;
+
+  private final ConcurrentHashMap<String,Block> map = new ConcurrentHashMap<>();
+  private final int[] chunkSizes;
+  private final SizeClass[] sizeClasses;
+  private final int slabSize;
+  private final int maxSlabs;
+  private final AtomicInteger slabsAllocated = new AtomicInteger();
+  private final long maxSize;
+  private final long maxIndexHeapSize;
+  private final AtomicLong indexHeapSize = new AtomicLong();
+  private final long maxHeapSize;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder requests = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  public OffHeapBlockCache(Configuration conf, CacheType type) {
+    Map<String,String> props = conf.getProperties(PROPERTY_PREFIX, type);
+    long slabSize = getBytes(props, SLAB_SIZE_PROPERTY, DEFAULT_SLAB_SIZE);
+    Preconditions.checkArgument(slabSize >= MIN_CHUNK_SIZE && slabSize <= Integer.MAX_VALUE,
+        "Invalid slab size %s", slabSize);
+    this.slabSize = (int) slabSize;
+    this.maxSize = conf.getMaxSize(type);
+    this.maxSlabs = (int) Math.max(1, Math.min(Integer.MAX_VALUE, maxSize / slabSize));
+    this.maxIndexHeapSize = getBytes(props, INDEX_HEAP_SIZE_PROPERTY, DEFAULT_INDEX_HEAP_SIZE);
+
+    List<Integer> sizes = new ArrayList<>();
+    long size = MIN_CHUNK_SIZE;
+    while (size < slabSize) {
+      sizes.add((int) size);
+      // keep chunks 8 byte aligned
+      size = (((long) (size * CHUNK_GROWTH_FACTOR)) + 7) & ~7L;
+    }
+    sizes.add(this.slabSize);
+    this.chunkSizes = sizes.stream().mapToInt(Integer::intValue).toArray();
+    this.sizeClasses = new SizeClass[chunkSizes.length];
+    for (int i = 0; i < chunkSizes.length; i++) {
+      sizeClasses[i] = new SizeClass(chunkSizes[i]);
+    }
+
+    long maxBlocks = Math.max(1, maxSize / Math.max(MIN_CHUNK_SIZE, conf.getBlockSize()));
+    this.maxHeapSize = maxIndexHeapSize + maxBlocks * BLOCK_OVERHEAD;
+  }
+
+  private static long getBytes(Map<String,String> props, String property, long defaultValue) {
+    String value = props.get(property);
+    return value == null ? defaultValue : ConfigurationTypeHelper.getFixedMemoryAsBytes(value);
+  }
+
+  /**
+   * A block stored in a chunk of a slab. The cache holds one reference to the block and each read
+   * of the block holds another while it copies the block. The chunk is only reused once all
+   * references are released, so a block is never overwritten while it is being read.
+   */
+  private final class Block {
+
+    private final String blockName;
+    private final SizeClass sizeClass;
+    private final int chunk;
+    private final ByteBuffer slab;
+    private final int offset;
+    private final int length;
+    private final AtomicInteger references = new AtomicInteger(1);
+    private volatile boolean accessed = false;
+    private Weighable index;
+    private int indexWeight;
+
+    Block(String blockName, SizeClass sizeClass, int chunk, ByteBuffer slab, int offset,
+        int length) {
+      this.blockName = blockName;
+      this.sizeClass = sizeClass;
+      this.chunk = chunk;
+      this.slab = slab;
+      this.offset = offset;
+      this.length = length;
+    }
+
+    boolean retain() {
+      while (true) {
+        int count = references.get();
+        if (count == 0) {
+          return false;
+        }
+        if (references.compareAndSet(count, count + 1)) {
+          return true;
+        }
+      }
+    }
+
+    void release() {
+      if (references.decrementAndGet() == 0) {
+        synchronized (this) {
+          indexHeapSize.addAndGet(-indexWeight);
+          index = null;
+          indexWeight = 0;
+        }
+        sizeClass.free(chunk);
+      }
+    }
+
+    /**
+     * @return a copy of the block or null if it was evicted
+     */
+    byte[] read() {
+      if (!retain()) {
+        return null;
+      }
+      try {
+        byte[] buffer = new byte[length];
+        slab.get(offset, buffer, 0, length);
+        return buffer;
+      } finally {
+        release();
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    synchronized <T extends Weighable> T getIndex(Supplier<T> supplier) {
+      if (index == null && references.get() > 0 && indexHeapSize.get() < maxIndexHeapSize) {
+        index = supplier.get();
+        indexWeight = index.weight();
+        indexHeapSize.addAndGet(indexWeight);
+      }
+      return (T) index;
+    }
+
+    synchronized void indexWeightChanged() {
+      if (index != null) {
+        int weight = index.weight();
+        indexHeapSize.addAndGet(weight - indexWeight);
+        indexWeight = weight;
+      }
+    }
+  }
+
+  /**
+   * The chunks of one size, and the blocks stored in them.
+   */
+  private final class SizeClass {
+
+    private final int chunkSize;
+    private final int chunksPerSlab;
+    private final List<ByteBuffer> slabs = new ArrayList<>();
+    private final List<Block> blocks = new ArrayList<>();
+    private final ArrayDeque<Integer> freeChunks = new ArrayDeque<>();
+    private int clockHand = 0;
+
+    SizeClass(int chunkSize) {
+      this.chunkSize = chunkSize;
+      this.chunksPerSlab = slabSize / chunkSize;
+    }
+
+    /**
+     * @return a block for the data, which the caller must write, or null if no memory is available
+     */
+    synchronized Block allocate(String blockName, int length) {
+      if (freeChunks.isEmpty() && !addSlab()) {
+        evict();
+      }
+
+      Integer chunk = freeChunks.poll();
+      if (chunk == null) {
+        return null;
+      }
+
+      Block block = new Block(blockName, this, chunk, slabs.get(chunk / chunksPerSlab),
+          (chunk % chunksPerSlab) * chunkSize, length);
+      blocks.set(chunk, block);
+      return block;
+    }
+
+    private boolean addSlab() {
+      int allocated = slabsAllocated.get();
+      while (allocated < maxSlabs) {
+        if (slabsAllocated.compareAndSet(allocated, allocated + 1)) {
+          slabs.add(ByteBuffer.allocateDirect(slabSize));
+          for (int i = 0; i < chunksPerSlab; i++) {
+            freeChunks.add(blocks.size());
+            blocks.add(null);
+          }
+          return true;
+        }
+        allocated = slabsAllocated.get();
+      }
+      return false;
+    }
+
+    /**
+     * Evicts blocks that were not accessed since the clock hand last passed them, until a chunk is
+     * free. Gives up after two passes, which can happen when the blocks are still being read.
+     */
+    private void evict() {
+      for (int i = 0; i < blocks.size() * 2 && freeChunks.isEmpty(); i++) {
+        Block block = blocks.get(clockHand);
+        clockHand = (clockHand + 1) % blocks.size();
+        if (block == null) {
+          continue;
+        }
+        if (block.accessed) {
+          block.accessed = false;
+        } else if (map.remove(block.blockName, block)) {
+          evictions.increment();
+          block.release();
+        }
+      }
+    }
+
+    synchronized void free(int chunk) {
+      blocks.set(chunk, null);
+      freeChunks.push(chunk);
+    }
+  }
+
+  private SizeClass getSizeClass(int length) {
+    int index = Arrays.binarySearch(chunkSizes, length);
+    if (index < 0) {
+      index = -index - 1;
+    }
+    return index < sizeClasses.length ? sizeClasses[index] : null;
+  }
+
+  @Override
+  public CacheEntry cacheBlock(String blockName, byte[] buf) {
+    Block existing = map.get(blockName);
+    if (existing != null) {
+      existing.accessed = true;
+      return new OffHeapCacheEntry(existing, buf);
+    }
+
+    SizeClass sizeClass = getSizeClass(buf.length);
+    Block block = sizeClass == null ? null : sizeClass.allocate(blockName, buf.length);
+    if (block == null) {
+      // too large or no memory available, so hand the data back without caching it
+      return new OffHeapCacheEntry(null, buf);
+    }
+
+    block.slab.put(block.offset, buf, 0, buf.length);
+    existing = map.putIfAbsent(blockName, block);
+    if (existing != null) {
+      block.release();
+      block = existing;
+    }
+    return new OffHeapCacheEntry(block, buf);
+  }
+
+  @Override
+  public CacheEntry getBlock(String blockName) {
+    requests.increment();
+    CacheEntry entry = getBlockNoStats(blockName);
+    if (entry != null) {
+      hits.increment();
+    }
+    return entry;
+  }
+
+  @Override
+  public boolean containsBlock(String blockName) {
+    return map.containsKey(blockName);
+  }
+
+  @Override
+  protected CacheEntry getBlockNoStats(String blockName) {
+    Block block = map.get(blockName);
+    if (block == null) {
+      return null;
+    }
+
+    byte[] buffer = block.read();
+    if (buffer == null) {
+      return null;
+    }
+    block.accessed = true;
+    return new OffHeapCacheEntry(block, buffer);
+  }
+
+  @Override
+  protected int getMaxEntrySize() {
+    return slabSize;
+  }
+
+  @Override
+  public long getMaxHeapSize() {
+    return maxHeapSize;
+  }
+
+  @Override
+  public long getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * @return the number of bytes of direct memory allocated by this cache
+   */
+  public long getDirectMemoryUsed() {
+    return (long) slabsAllocated.get() * slabSize;
+  }
+
+  @Override
+  public Stats getStats() {
+    return new Stats() {
+      @Override
+      public long hitCount() {
+        return hits.sum();
+      }
+
+      @Override
+      public long requestCount() {
+        return requests.sum();
+      }
+
+      @Override
+      public long evictionCount() {
+        return evictions.sum();
+      }
+    };
+  }
+
+  /**
+   * Removes all blocks from the cache. Direct memory is released once nothing references it.
+   */
+  public void clear() {
+    map.forEach((blockName, block) -> {
+      if (map.remove(blockName, block)) {
+        block.release();
+      }
+    });
+  }
+
+  private static class OffHeapCacheEntry implements CacheEntry {
+
+    private final Block block;
+    private final byte[] buffer;
+
+    OffHeapCacheEntry(Block block, byte[] buffer) {
+      this.block = block;
+      this.buffer = buffer;
+    }
+
+    @Override
+    public byte[] getBuffer() {
+      return buffer;
+    }
+
+    @Override
+    public <T extends Weighable> T getIndex(Supplier<T> supplier) {
+      return block == null ? null : block.getIndex(supplier);
+    }
+
+    @Override
+    public void indexWeightChanged() {
+      if (block != null) {
+        block.indexWeightChanged();
+      }
+    }
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.file.blockfile.cache.offheap;
+
+import org.apache.accumulo.core.spi.cache.BlockCacheManager;
+import org.apache.accumulo.core.spi.cache.CacheType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates caches that store blocks outside of the Java heap. The following properties can be set
+ * for all caches, for example {@code tserver.cache.config.offheap.default.slab.size}, or for one
+ * cache type, for example {@code tserver.cache.config.offheap.data.slab.size}.
+ *
+ * <ul>
+ * <li>{@value OffHeapBlockCache#SLAB_SIZE_PROPERTY} the size of the direct memory buffers the cache
+ * allocates, which is also the largest block that can be cached, defaults to 4M</li>
+ * <li>{@value OffHeapBlockCache#INDEX_HEAP_SIZE_PROPERTY} the heap used for indexes of cached
+ * blocks, defaults to 64M</li>
+ * </ul>
+ *
+ * @see OffHeapBlockCache
+ */
+public class OffHeapBlockCacheManager extends BlockCacheManager {
+
+  private static final Logger LOG = LoggerFactory.getLogger(OffHeapBlockCacheManager.class);
+
+  @Override
+  protected OffHeapBlockCache createCache(Configuration conf, CacheType type) {
+    LOG.info("Creating {} cache with configuration {}", type, conf);
+    return new OffHeapBlockCache(conf, type);
+  }
+
+  @Override
+  public void stop() {
+    for (CacheType type : CacheType.values()) {
+      if (getBlockCache(type) instanceof OffHeapBlockCache cache) {
+        cache.clear();
+      }
+    }
+    super.stop();
+  }
+
+}
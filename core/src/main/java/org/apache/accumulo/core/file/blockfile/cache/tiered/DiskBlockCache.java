@@ -0,0 +1,443 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.file.blockfile.cache.tiered;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import org.apache.accumulo.core.spi.cache.BlockCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stores blocks in segment files in a local directory. Blocks are appended to the newest segment,
+ * and once the segments exceed the configured size the oldest segment is deleted with all of its
+ * blocks. Each segment has an index file written when the segment is full, so the cache keeps its
+ * contents when the server restarts. A segment without an index, which was being written when the
+ * server stopped, is read to rebuild its index.
+ *
+ * <p>
+ * Each block has a checksum that is verified when the block is read. A block that does not match
+ * its checksum is treated as a miss.
+ */
+final class DiskBlockCache implements Closeable {
+
+  private static final Logger log = LoggerFactory.getLogger(DiskBlockCache.class);
+
+  private static final String SEGMENT_SUFFIX = ".seg";
+  private static final String INDEX_SUFFIX = ".idx";
+  private static final String LOCK_FILE = "lock";
+
+  // name length, data length, checksum
+  private static final int HEADER_SIZE = 12;
+
+  private final Path dir;
+  private final long maxSize;
+  private final long segmentSize;
+  private final FileChannel lockChannel;
+  private final FileLock lock;
+
+  private final ConcurrentHashMap<String,Location> index = new ConcurrentHashMap<>();
+  private final ArrayDeque<Segment> segments = new ArrayDeque<>();
+  private Segment active = null;
+  private long nextSegmentId = 0;
+  private long totalSize = 0;
+  private boolean closed = false;
+
+  private final LongAdder requests = new LongAdder();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private final LongAdder reads = new LongAdder();
+  private final LongAdder readTime = new LongAdder();
+
+  private record Location(Segment segment, long offset, int length, int checksum) {
+  }
+
+  private static final class Segment {
+    private final Path dataPath;
+    private final Path indexPath;
+    private final List<String> blocks = new ArrayList<>();
+    private volatile FileChannel channel;
+    private volatile boolean deleted = false;
+    private long size = 0;
+
+    Segment(Path dir, long id) throws IOException {
+      this.dataPath = dir.resolve(String.format("%016x", id) + SEGMENT_SUFFIX);
+      this.indexPath = dir.resolve(String.format("%016x", id) + INDEX_SUFFIX);
+      this.channel = open();
+    }
+
+    private FileChannel open() throws IOException {
+      return FileChannel.open(dataPath, StandardOpenOption.CREATE, StandardOpenOption.READ,
+          StandardOpenOption.WRITE);
+    }
+
+    byte[] read(long offset, int length) throws IOException {
+      FileChannel readChannel = channel;
+      try {
+        return readFully(readChannel, offset, length);
+      } catch (ClosedChannelException e) {
+        // an interrupted reader closes the channel for every reader, so open it again once
+        synchronized (this) {
+          if (deleted) {
+            throw e;
+          }
+          if (channel == readChannel) {
+            channel = open();
+          }
+        }
+        return readFully(channel, offset, length);
+      }
+    }
+
+    void write(long offset, ByteBuffer buffer) throws IOException {
+      while (buffer.hasRemaining()) {
+        offset += channel.write(buffer, offset);
+      }
+    }
+
+    synchronized void delete() throws IOException {
+      deleted = true;
+      channel.close();
+      Files.deleteIfExists(indexPath);
+      Files.deleteIfExists(dataPath);
+    }
+  }
+
+  private static byte[] readFully(FileChannel channel, long offset, int length) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(length);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, offset + buffer.position()) < 0) {
+        throw new EOFException();
+      }
+    }
+    return buffer.array();
+  }
+
+  private static int checksum(byte[] data) {
+    CRC32C crc = new CRC32C();
+    crc.update(data, 0, data.length);
+    return (int) crc.getValue();
+  }
+
+  DiskBlockCache(Path dir, long maxSize, long segmentSize) throws IOException {
+    this.dir = dir;
+    this.maxSize = maxSize;
+    this.segmentSize = segmentSize;
+
+    Files.createDirectories(dir);
+    lockChannel = FileChannel.open(dir.resolve(LOCK_FILE), StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE);
+    FileLock fileLock;
+    try {
+      fileLock = lockChannel.tryLock();
+    } catch (OverlappingFileLockException e) {
+      // held by another cache in this process
+      fileLock = null;
+    }
+    lock = fileLock;
+    if (lock == null) {
+      lockChannel.close();
+      throw new IllegalStateException("Block cache directory " + dir + " is in use");
+    }
+
+    TreeSet<Long> segmentIds = new TreeSet<>();
+    try (Stream<Path> files = Files.list(dir)) {
+      files.forEach(file -> {
+        String name = file.getFileName().toString();
+        if (name.endsWith(SEGMENT_SUFFIX)) {
+          try {
+            segmentIds.add(
+                Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()), 16));
+          } catch (NumberFormatException e) {
+            log.warn("Ignoring unexpected file {} in block cache directory", file);
+          }
+        }
+      });
+    }
+
+    for (long id : segmentIds) {
+      Segment segment = new Segment(dir, id);
+      if (!readIndex(segment)) {
+        recover(segment);
+        writeIndex(segment);
+      }
+      segments.add(segment);
+      totalSize += segment.size;
+      nextSegmentId = id + 1;
+    }
+    evict();
+
+    log.info("Opened block cache directory {} with {} blocks in {} segments", dir, index.size(),
+        segments.size());
+  }
+
+  /**
+   * @return false if the segment has no index or its index could not be read
+   */
+  private boolean readIndex(Segment segment) {
+    if (!Files.exists(segment.indexPath)) {
+      return false;
+    }
+
+    List<String> names = new ArrayList<>();
+    List<Location> locations = new ArrayList<>();
+    long size;
+    try (DataInputStream in =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(segment.indexPath)))) {
+      int count = in.readInt();
+      for (int i = 0; i < count; i++) {
+        names.add(in.readUTF());
+        locations.add(new Location(segment, in.readLong(), in.readInt(), in.readInt()));
+      }
+      size = in.readLong();
+    } catch (IOException e) {
+      log.warn("Failed to read block cache index {}, reading its segment instead",
+          segment.indexPath, e);
+      return false;
+    }
+
+    for (int i = 0; i < names.size(); i++) {
+      index.put(names.get(i), locations.get(i));
+    }
+    segment.blocks.addAll(names);
+    segment.size = size;
+    return true;
+  }
+
+  /**
+   * Rebuilds the index of a segment by reading its blocks, stopping at the first block that was not
+   * completely written.
+   */
+  private void recover(Segment segment) throws IOException {
+    long fileSize = segment.channel.size();
+    long offset = 0;
+    try {
+      while (offset + HEADER_SIZE <= fileSize) {
+        ByteBuffer header = ByteBuffer.wrap(readFully(segment.channel, offset, HEADER_SIZE));
+        int nameLength = header.getInt();
+        int length = header.getInt();
+        int checksum = header.getInt();
+        long dataOffset = offset + HEADER_SIZE + nameLength;
+        if (nameLength < 0 || length < 0 || dataOffset + length > fileSize) {
+          break;
+        }
+        String name =
+            new String(readFully(segment.channel, offset + HEADER_SIZE, nameLength), UTF_8);
+        if (checksum(readFully(segment.channel, dataOffset, length)) != checksum) {
+          break;
+        }
+        index.put(name, new Location(segment, dataOffset, length, checksum));
+        segment.blocks.add(name);
+        offset = dataOffset + length;
+      }
+    } catch (EOFException e) {
+      // the remainder of the segment was not written
+    }
+    segment.size = offset;
+    segment.channel.truncate(offset);
+  }
+
+  private void writeIndex(Segment segment) throws IOException {
+    Path tmp = dir.resolve(segment.indexPath.getFileName() + ".tmp");
+    try (DataOutputStream out =
+        new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+      List<String> names = new ArrayList<>();
+      List<Location> locations = new ArrayList<>();
+      for (String name : segment.blocks) {
+        Location location = index.get(name);
+        if (location != null && location.segment == segment) {
+          names.add(name);
+          locations.add(location);
+        }
+      }
+      out.writeInt(names.size());
+      for (int i = 0; i < names.size(); i++) {
+        Location location = locations.get(i);
+        out.writeUTF(names.get(i));
+        out.writeLong(location.offset);
+        out.writeInt(location.length);
+        out.writeInt(location.checksum);
+      }
+      out.writeLong(segment.size);
+    }
+    Files.move(tmp, segment.indexPath, StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  boolean contains(String blockName) {
+    return index.containsKey(blockName);
+  }
+
+  /**
+   * @return the block or null if it is not in the cache or could not be read
+   */
+  byte[] get(String blockName) {
+    requests.increment();
+    Location location = index.get(blockName);
+    if (location == null) {
+      return null;
+    }
+
+    long start = System.nanoTime();
+    byte[] data;
+    try {
+      data = location.segment.read(location.offset, location.length);
+    } catch (IOException e) {
+      if (!location.segment.deleted) {
+        log.debug("Failed to read block {} from {}", blockName, location.segment.dataPath, e);
+      }
+      return null;
+    } finally {
+      reads.increment();
+      readTime.add(System.nanoTime() - start);
+    }
+
+    if (checksum(data) != location.checksum) {
+      log.warn("Block {} in {} does not match its checksum", blockName, location.segment.dataPath);
+      index.remove(blockName, location);
+      return null;
+    }
+    hits.increment();
+    return data;
+  }
+
+  /**
+   * Adds the block to the cache unless it is already cached or does not fit in a segment.
+   */
+  synchronized void put(String blockName, byte[] data) throws IOException {
+    byte[] name = blockName.getBytes(UTF_8);
+    long recordSize = HEADER_SIZE + name.length + data.length;
+    if (closed || index.containsKey(blockName) || recordSize > segmentSize) {
+      return;
+    }
+
+    if (active == null || active.size + recordSize > segmentSize) {
+      if (active != null) {
+        writeIndex(active);
+      }
+      active = new Segment(dir, nextSegmentId++);
+      segments.add(active);
+    }
+
+    int checksum = checksum(data);
+    ByteBuffer buffer = ByteBuffer.allocate((int) recordSize);
+    buffer.putInt(name.length).putInt(data.length).putInt(checksum).put(name).put(data).flip();
+    long offset = active.size;
+    active.write(offset, buffer);
+
+    index.put(blockName,
+        new Location(active, offset + HEADER_SIZE + name.length, data.length, checksum));
+    active.blocks.add(blockName);
+    active.size += recordSize;
+    totalSize += recordSize;
+    evict();
+  }
+
+  private void evict() throws IOException {
+    while (totalSize > maxSize && segments.size() > 1) {
+      Segment segment = segments.remove();
+      for (String blockName : segment.blocks) {
+        Location location = index.get(blockName);
+        if (location != null && location.segment == segment && index.remove(blockName, location)) {
+          evictions.increment();
+        }
+      }
+      totalSize -= segment.size;
+      segment.delete();
+    }
+  }
+
+  synchronized long getSize() {
+    return totalSize;
+  }
+
+  long getReadCount() {
+    return reads.sum();
+  }
+
+  long getReadTimeNanos() {
+    return readTime.sum();
+  }
+
+  BlockCache.Stats getStats() {
+    return new BlockCache.Stats() {
+      @Override
+      public long hitCount() {
+        return hits.sum();
+      }
+
+      @Override
+      public long requestCount() {
+        return requests.sum();
+      }
+
+      @Override
+      public long evictionCount() {
+        return evictions.sum();
+      }
+    };
+  }
+
+  /**
+   * Writes the index of the segment being written and closes all files.
+   */
+  @Override
+  public synchronized void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try {
+      if (active != null) {
+        writeIndex(active);
+      }
+      for (Segment segment : segments) {
+        segment.channel.close();
+      }
+    } finally {
+      lock.release();
+      lockChannel.close();
+    }
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.file.blockfile.cache.tiered;
+
+/**
+ * Estimates how often blocks were requested recently using a count-min sketch with small counters.
+ * All counters are halved once the number of increments reaches ten times the width of the sketch,
+ * so blocks that were popular long ago lose their count.
+ *
+ * <p>
+ * Updates are not synchronized. Concurrent updates can be lost, which only makes the estimates
+ * slightly low.
+ */
+final class FrequencySketch {
+
+  private static final int MAX_COUNT = 15;
+  private static final int[] SEEDS = {0x97cb3127, 0xb7c2b17d, 0x4d2f1e0b, 0x2f9e3c65};
+
+  private final byte[][] counters;
+  private final int mask;
+  private final int sampleSize;
+  private int additions = 0;
+
+  FrequencySketch(int expectedEntries) {
+    int width = Integer.highestOneBit(Math.max(16, Math.min(expectedEntries, 1 << 24)) - 1) << 1;
+    this.counters = new byte[SEEDS.length][width];
+    this.mask = width - 1;
+    this.sampleSize = 10 * width;
+  }
+
+  private int index(int hash, int row) {
+    int h = (hash + SEEDS[row]) * SEEDS[row];
+    h ^= h >>> 16;
+    return h & mask;
+  }
+
+  private static int spread(String key) {
+    int h = key.hashCode() * 0x85ebca6b;
+    h ^= h >>> 13;
+    h *= 0xc2b2ae35;
+    return h ^ (h >>> 16);
+  }
+
+  /**
+   * Records a request for the key.
+   *
+   * @return the estimated number of requests for the key, including this one
+   */
+  int increment(String key) {
+    int hash = spread(key);
+    int min = MAX_COUNT;
+    boolean added = false;
+    for (int row = 0; row < counters.length; row++) {
+      int i = index(hash, row);
+      int count = counters[row][i];
+      if (count < MAX_COUNT) {
+        counters[row][i] = (byte) ++count;
+        added = true;
+      }
+      min = Math.min(min, count);
+    }
+
+    if (added && ++additions >= sampleSize) {
+      reset();
+    }
+    return min;
+  }
+
+  /**
+   * @return the estimated number of requests for the key
+   */
+  int frequency(String key) {
+    int hash = spread(key);
+    int min = MAX_COUNT;
+    for (int row = 0; row < counters.length; row++) {
+      min = Math.min(min, counters[row][index(hash, row)]);
+    }
+    return min;
+  }
+
+  private void reset() {
+    for (byte[] row : counters) {
+      for (int i = 0; i < row.length; i++) {
+        row[i] = (byte) (row[i] >>> 1);
+      }
+    }
+    additions = additions / 2;
+  }
+}
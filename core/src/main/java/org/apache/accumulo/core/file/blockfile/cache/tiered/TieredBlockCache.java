@@ -0,0 +1,382 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.file.blockfile.cache.tiered;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.apache.accumulo.core.util.threads.ThreadPoolNames.BLOCK_CACHE_L2_WRITER_POOL;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.accumulo.core.conf.ConfigurationTypeHelper;
+import org.apache.accumulo.core.file.blockfile.cache.BlockCacheUtil;
+import org.apache.accumulo.core.file.blockfile.cache.offheap.OffHeapBlockCache;
+import org.apache.accumulo.core.file.blockfile.cache.tinylfu.TinyLfuBlockCache;
+import org.apache.accumulo.core.spi.cache.BlockCache;
+import org.apache.accumulo.core.spi.cache.BlockCacheManager.Configuration;
+import org.apache.accumulo.core.spi.cache.CacheEntry;
+import org.apache.accumulo.core.spi.cache.CacheType;
+import org.apache.accumulo.core.util.threads.ThreadPools;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * A block cache with two tiers. The first tier is a memory cache and the second tier stores blocks
+ * in a local directory, so blocks evicted from memory can be read again without going to the file
+ * system holding the files, which is slow when that is an object store.
+ *
+ * <p>
+ * A block is written to the second tier once it has been requested
+ * {@value #L2_ADMISSION_FREQUENCY_PROPERTY} times recently, so blocks that are read once by a large
+ * scan do not push out blocks that are read often. Blocks are written in the background, and are
+ * not written at all when the writes fall behind.
+ *
+ * <p>
+ * Blocks are cached after they are decrypted. Blocks of encrypted files are named with
+ * {@link BlockCacheUtil#MEMORY_ONLY_PREFIX} and are only kept in the first tier, so the second tier
+ * never writes the plaintext of encrypted files to local disk.
+ */
+public final class TieredBlockCache implements BlockCache {
+
+  private static final Logger log = LoggerFactory.getLogger(TieredBlockCache.class);
+
+  public static final String PROPERTY_PREFIX = "tiered";
+
+  public static final String L1_OFFHEAP_PROPERTY = "l1.offheap";
+  public static final String L2_DIR_PROPERTY = "l2.dir";
+  public static final String L2_SIZE_PROPERTY = "l2.size";
+  public static final String L2_SEGMENT_SIZE_PROPERTY = "l2.segment.size";
+  public static final String L2_ADMISSION_FREQUENCY_PROPERTY = "l2.admission.frequency";
+
+  public static final long DEFAULT_L2_SIZE = 10L * 1024 * 1024 * 1024;
+  public static final long DEFAULT_L2_SEGMENT_SIZE = 64 * 1024 * 1024;
+  public static final int DEFAULT_L2_ADMISSION_FREQUENCY = 2;
+
+  public static final String CACHE_TYPE_TAG_KEY = "cache.type";
+  public static final String TIER_TAG_KEY = "tier";
+
+  // heap used for each block in the second tier, its location and map entry and key
+  private static final int L2_ENTRY_OVERHEAD = 200;
+
+  private final BlockCache l1;
+  private final DiskBlockCache l2;
+  private final FrequencySketch sketch;
+  private final int admissionFrequency;
+  private final ThreadPoolExecutor writer;
+  private final Set<String> pendingWrites = ConcurrentHashMap.newKeySet();
+  private final long maxHeapSize;
+
+  private final LongAdder requests = new LongAdder();
+  private final LongAdder hits = new LongAdder();
+
+  public TieredBlockCache(Configuration conf, CacheType type) {
+    Map<String,String> props = conf.getProperties(PROPERTY_PREFIX, type);
+    String dir = props.get(L2_DIR_PROPERTY);
+    Preconditions.checkArgument(dir != null && !dir.isBlank(), "%s must be set for %s cache",
+        L2_DIR_PROPERTY, type);
+    long l2Size = getBytes(props, L2_SIZE_PROPERTY, DEFAULT_L2_SIZE);
+    long segmentSize = getBytes(props, L2_SEGMENT_SIZE_PROPERTY, DEFAULT_L2_SEGMENT_SIZE);
+    this.admissionFrequency = Integer.parseInt(props.getOrDefault(L2_ADMISSION_FREQUENCY_PROPERTY,
+        Integer.toString(DEFAULT_L2_ADMISSION_FREQUENCY)));
+
+    if (Boolean.parseBoolean(props.get(L1_OFFHEAP_PROPERTY))) {
+      this.l1 = new OffHeapBlockCache(conf, type);
+    } else {
+      this.l1 = new TinyLfuBlockCache(conf, type);
+    }
+
+    try {
+      this.l2 = new DiskBlockCache(Path.of(dir, type.name().toLowerCase()), l2Size, segmentSize);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    long l2Blocks = l2Size / Math.max(1024, conf.getBlockSize());
+    this.sketch = new FrequencySketch((int) Math.min(Integer.MAX_VALUE, l2Blocks));
+    this.maxHeapSize = l1.getMaxHeapSize() + l2Blocks * L2_ENTRY_OVERHEAD;
+
+    // writing to the second tier is optional, so reject work instead of queueing it
+    this.writer = ThreadPools.getServerThreadPools().getPoolBuilder(BLOCK_CACHE_L2_WRITER_POOL)
+        .numCoreThreads(1).withTimeOut(60L, SECONDS).withQueue(new ArrayBlockingQueue<>(64))
+        .build();
+  }
+
+  private static long getBytes(Map<String,String> props, String property, long defaultValue) {
+    String value = props.get(property);
+    return value == null ? defaultValue : ConfigurationTypeHelper.getFixedMemoryAsBytes(value);
+  }
+
+  /**
+   * Writes a block to the second tier in the background if it has been requested often enough.
+   */
+  private void admit(String blockName, byte[] data, int frequency) {
+    if (frequency < admissionFrequency || l2.contains(blockName) || !pendingWrites.add(blockName)) {
+      return;
+    }
+
+    try {
+      writer.execute(() -> {
+        try {
+          l2.put(blockName, data);
+        } catch (IOException e) {
+          log.debug("Failed to write block {} to local cache", blockName, e);
+        } finally {
+          pendingWrites.remove(blockName);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      pendingWrites.remove(blockName);
+    }
+  }
+
+  /**
+   * Checks the second tier before calling the loader, and offers what the loader loads to the
+   * second tier.
+   */
+  private class L2Loader implements Loader {
+
+    private final String blockName;
+    private final Loader loader;
+    private final int frequency;
+    private boolean called = false;
+    private boolean l2Hit = false;
+
+    L2Loader(String blockName, Loader loader, int frequency) {
+      this.blockName = blockName;
+      this.loader = loader;
+      this.frequency = frequency;
+    }
+
+    @Override
+    public Map<String,Loader> getDependencies() {
+      Map<String,Loader> dependencies = loader.getDependencies();
+      if (dependencies.isEmpty()) {
+        return dependencies;
+      }
+      Map<String,Loader> wrapped = new HashMap<>();
+      dependencies.forEach((name, dependency) -> wrapped.put(name,
+          new L2Loader(name, dependency, sketch.frequency(name))));
+      return wrapped;
+    }
+
+    @Override
+    public byte[] load(int maxSize, Map<String,byte[]> dependencies) {
+      called = true;
+      byte[] data = l2.get(blockName);
+      if (data != null && data.length <= maxSize) {
+        l2Hit = true;
+        return data;
+      }
+
+      data = loader.load(maxSize, dependencies);
+      if (data != null) {
+        admit(blockName, data, frequency);
+      }
+      return data;
+    }
+  }
+
+  private CacheEntry countHit(CacheEntry entry) {
+    if (entry != null) {
+      hits.increment();
+    }
+    return entry;
+  }
+
+  /**
+   * Counts a hit for blocks that are only kept in the first tier when the first tier does not need
+   * to load them.
+   */
+  private class MemoryOnlyLoader implements Loader {
+
+    private final Loader loader;
+    private boolean loaded = false;
+
+    MemoryOnlyLoader(Loader loader) {
+      this.loader = loader;
+    }
+
+    @Override
+    public Map<String,Loader> getDependencies() {
+      return loader.getDependencies();
+    }
+
+    @Override
+    public byte[] load(int maxSize, Map<String,byte[]> dependencies) {
+      loaded = true;
+      return loader.load(maxSize, dependencies);
+    }
+  }
+
+  @Override
+  public CacheEntry cacheBlock(String blockName, byte[] buf) {
+    CacheEntry entry = l1.cacheBlock(blockName, buf);
+    if (BlockCacheUtil.isMemoryOnly(blockName)) {
+      return entry;
+    }
+    admit(blockName, buf, sketch.frequency(blockName));
+    return entry;
+  }
+
+  @Override
+  public boolean containsBlock(String blockName) {
+    return l1.containsBlock(blockName)
+        || (!BlockCacheUtil.isMemoryOnly(blockName) && l2.contains(blockName));
+  }
+
+  @Override
+  public CacheEntry getBlock(String blockName) {
+    requests.increment();
+    if (BlockCacheUtil.isMemoryOnly(blockName)) {
+      return countHit(l1.getBlock(blockName));
+    }
+    int frequency = sketch.increment(blockName);
+    CacheEntry entry = l1.getBlock(blockName);
+    if (entry != null) {
+      hits.increment();
+      admit(blockName, entry.getBuffer(), frequency);
+      return entry;
+    }
+
+    byte[] data = l2.get(blockName);
+    if (data == null) {
+      return null;
+    }
+    hits.increment();
+    return l1.cacheBlock(blockName, data);
+  }
+
+  @Override
+  public CacheEntry getBlock(String blockName, Loader loader) {
+    requests.increment();
+    if (BlockCacheUtil.isMemoryOnly(blockName)) {
+      MemoryOnlyLoader memoryOnlyLoader = new MemoryOnlyLoader(loader);
+      CacheEntry entry = l1.getBlock(blockName, memoryOnlyLoader);
+      return memoryOnlyLoader.loaded ? entry : countHit(entry);
+    }
+    int frequency = sketch.increment(blockName);
+    L2Loader l2Loader = new L2Loader(blockName, loader, frequency);
+    CacheEntry entry = l1.getBlock(blockName, l2Loader);
+    if (entry != null && !l2Loader.called) {
+      hits.increment();
+      admit(blockName, entry.getBuffer(), frequency);
+    } else if (l2Loader.l2Hit) {
+      hits.increment();
+    }
+    return entry;
+  }
+
+  @Override
+  public long getMaxHeapSize() {
+    return maxHeapSize;
+  }
+
+  @Override
+  public long getMaxSize() {
+    return l1.getMaxSize();
+  }
+
+  /**
+   * @return the hits, requests and evictions of either tier
+   */
+  @Override
+  public Stats getStats() {
+    Stats l1Stats = l1.getStats();
+    Stats l2Stats = l2.getStats();
+    return new Stats() {
+      @Override
+      public long hitCount() {
+        return hits.sum();
+      }
+
+      @Override
+      public long requestCount() {
+        return requests.sum();
+      }
+
+      @Override
+      public long evictionCount() {
+        return l1Stats.evictionCount() + l2Stats.evictionCount();
+      }
+    };
+  }
+
+  public Stats getL1Stats() {
+    return l1.getStats();
+  }
+
+  public Stats getL2Stats() {
+    return l2.getStats();
+  }
+
+  /**
+   * @return the number of blocks read from the second tier, including reads that failed
+   */
+  public long getL2ReadCount() {
+    return l2.getReadCount();
+  }
+
+  /**
+   * @return the total time spent reading blocks from the second tier
+   */
+  public long getL2ReadTimeNanos() {
+    return l2.getReadTimeNanos();
+  }
+
+  /**
+   * @return the bytes of blocks stored in the second tier
+   */
+  public long getL2Size() {
+    return l2.getSize();
+  }
+
+  /**
+   * Stops writing to the second tier and closes its files. Blocks already stored in the second tier
+   * can be read when the cache is created again using the same directory.
+   */
+  public void close() {
+    writer.shutdown();
+    try {
+      if (!writer.awaitTermination(10, SECONDS)) {
+        log.warn("Timed out waiting for blocks to be written to local cache");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    try {
+      l2.close();
+    } catch (IOException e) {
+      log.warn("Failed to close local block cache", e);
+    }
+    if (l1 instanceof OffHeapBlockCache offHeap) {
+      offHeap.clear();
+    }
+  }
+}
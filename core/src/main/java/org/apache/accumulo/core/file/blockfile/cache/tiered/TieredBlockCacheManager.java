@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.file.blockfile.cache.tiered;
+
+import org.apache.accumulo.core.spi.cache.BlockCacheManager;
+import org.apache.accumulo.core.spi.cache.CacheType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates caches that keep blocks in memory and in a local directory. The following properties can
+ * be set for all caches, for example {@code tserver.cache.config.tiered.default.l2.dir}, or for one
+ * cache type, for example {@code tserver.cache.config.tiered.data.l2.size}.
+ *
+ * <ul>
+ * <li>{@value TieredBlockCache#L2_DIR_PROPERTY} the local directory for the second tier, required.
+ * Each cache type uses a subdirectory, and a directory can only be used by one server at a
+ * time.</li>
+ * <li>{@value TieredBlockCache#L2_SIZE_PROPERTY} the size of the second tier, defaults to 10G</li>
+ * <li>{@value TieredBlockCache#L2_SEGMENT_SIZE_PROPERTY} the size of the files the second tier
+ * writes and evicts, which is also the largest block it can store, defaults to 64M</li>
+ * <li>{@value TieredBlockCache#L2_ADMISSION_FREQUENCY_PROPERTY} the number of recent requests
+ * before a block is written to the second tier, defaults to 2</li>
+ * <li>{@value TieredBlockCache#L1_OFFHEAP_PROPERTY} if true the first tier is an
+ * {@link org.apache.accumulo.core.file.blockfile.cache.offheap.OffHeapBlockCache}, otherwise a
+ * {@link org.apache.accumulo.core.file.blockfile.cache.tinylfu.TinyLfuBlockCache}. The first tier
+ * is configured with the properties of that cache.</li>
+ * </ul>
+ *
+ * <p>
+ * Blocks are cached after they are decrypted. To avoid writing the plaintext of encrypted tables to
+ * local disk, blocks read from files of tables with a crypto service configured are only kept in
+ * the memory tier.
+ *
+ * @see TieredBlockCache
+ */
+public class TieredBlockCacheManager extends BlockCacheManager {
+
+  private static final Logger LOG = LoggerFactory.getLogger(TieredBlockCacheManager.class);
+
+  @Override
+  protected TieredBlockCache createCache(Configuration conf, CacheType type) {
+    LOG.info("Creating {} cache with configuration {}", type, conf);
+    return new TieredBlockCache(conf, type);
+  }
+
+  @Override
+  public void stop() {
+    for (CacheType type : CacheType.values()) {
+      if (getBlockCache(type) instanceof TieredBlockCache cache) {
+        cache.close();
+      }
+    }
+    super.stop();
+  }
+
+}
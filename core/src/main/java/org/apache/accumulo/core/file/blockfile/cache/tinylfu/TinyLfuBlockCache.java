@@ -96,6 +96,11 @@ public final class TinyLfuBlockCache implements BlockCache {
     return wrap(blockName, cache.getIfPresent(blockName));
   }
 
+  @Override
+  public boolean containsBlock(String blockName) {
+    return cache.policy().getIfPresentQuietly(blockName) != null;
+  }
+
   @Override
   public CacheEntry cacheBlock(String blockName, byte[] buffer) {
     return wrap(blockName, cache.asMap().compute(blockName, (key, block) -> {
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.file.blockfile.impl;
+
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Loads data blocks into the data cache ahead of a sequential scan. Once a scan has read
+ * {@link #getThreshold()} consecutive data blocks, the next {@link #getBlocks()} blocks are read on
+ * the executor so that the scan finds them in the cache instead of waiting on I/O.
+ */
+public class BlockReadAhead {
+
+  private static final Logger log = LoggerFactory.getLogger(BlockReadAhead.class);
+
+  public interface BlockLoad {
+    void load() throws IOException;
+  }
+
+  private final Executor executor;
+  private final int threshold;
+  private final int blocks;
+
+  private final AtomicLong issued = new AtomicLong();
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong wasted = new AtomicLong();
+
+  /**
+   * @param executor runs block loads, should reject work when it is too busy rather than queue
+   *        without bound
+   * @param threshold the number of consecutive blocks a scan must read before reading ahead
+   * @param blocks the number of blocks to read ahead, zero disables reading ahead
+   */
+  public BlockReadAhead(Executor executor, int threshold, int blocks) {
+    this.executor = executor;
+    this.threshold = threshold;
+    this.blocks = blocks;
+  }
+
+  public int getThreshold() {
+    return threshold;
+  }
+
+  public int getBlocks() {
+    return blocks;
+  }
+
+  /**
+   * @return false if the executor is too busy to take the load, in which case nothing was done
+   */
+  public boolean submit(BlockLoad blockLoad) {
+    try {
+      executor.execute(() -> {
+        try {
+          blockLoad.load();
+        } catch (IOException | RuntimeException e) {
+          // the scan will read the block itself and report any problem
+          log.debug("Failed to read ahead data block", e);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      return false;
+    }
+    issued.incrementAndGet();
+    return true;
+  }
+
+  /**
+   * Records that a scan read a block that had been read ahead.
+   */
+  public void hit() {
+    hits.incrementAndGet();
+  }
+
+  /**
+   * Records that a block was read ahead, but the scan never read it.
+   */
+  public void wasted() {
+    wasted.incrementAndGet();
+  }
+
+  public long getIssued() {
+    return issued.get();
+  }
+
+  public long getHits() {
+    return hits.get();
+  }
+
+  public long getWasted() {
+    return wasted.get();
+  }
+}
@@ -18,34 +18,46 @@
  */
 package org.apache.accumulo.core.file.blockfile.impl;
 
+import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.DataInputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
 import org.apache.accumulo.core.file.FileOperations;
-import org.apache.accumulo.core.file.rfile.BlockIndex;
+import org.apache.accumulo.core.file.blockfile.cache.BlockCacheUtil;
 import org.apache.accumulo.core.file.rfile.bcfile.BCFile;
 import org.apache.accumulo.core.file.rfile.bcfile.BCFile.Reader.BlockReader;
 import org.apache.accumulo.core.file.rfile.bcfile.MetaBlockDoesNotExist;
 import org.apache.accumulo.core.spi.cache.BlockCache;
 import org.apache.accumulo.core.spi.cache.BlockCache.Loader;
 import org.apache.accumulo.core.spi.cache.CacheEntry;
+import org.apache.accumulo.core.spi.cache.CacheEntry.Weighable;
 import org.apache.accumulo.core.spi.cache.CacheType;
 import org.apache.accumulo.core.spi.crypto.CryptoService;
+import org.apache.accumulo.core.spi.crypto.NoCryptoService;
 import org.apache.accumulo.core.trace.ScanInstrumentation;
 import org.apache.accumulo.core.util.CountingInputStream;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileRange;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.Seekable;
+import org.apache.hadoop.util.functional.FutureIO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -158,9 +170,11 @@ public class CachableBlockFile {
   public static class Reader implements Closeable {
     // private BCFile.Reader _bc;
     private final String cacheId;
+    // the prefix of the names of this file's blocks in the block caches
+    private final String blockCacheId;
     private CacheProvider cacheProvider;
     private Cache<String,Long> fileLenCache = null;
-    private volatile InputStream fin = null;
+    private volatile FSDataInputStream fin = null;
     private boolean closed = false;
     private final Configuration conf;
     private final CryptoService cryptoService;
@@ -245,7 +259,7 @@ public class CachableBlockFile {
       Supplier<byte[]> cachedMetadataSupplier = () -> {
         BlockCache _iCache = cacheProvider.getIndexCache();
         if (_iCache != null) {
-          CacheEntry mce = _iCache.getBlock(cacheId + ROOT_BLOCK_NAME, new BCFileLoader());
+          CacheEntry mce = _iCache.getBlock(blockCacheId + ROOT_BLOCK_NAME, new BCFileLoader());
           if (mce != null) {
             return mce.getBuffer();
           }
@@ -350,15 +364,25 @@ public class CachableBlockFile {
       abstract String getBlockId();
 
       private final boolean loadingMetaBlock;
+      private boolean readingAhead = false;
 
       public BaseBlockLoader(boolean loadingMetaBlock) {
         this.loadingMetaBlock = loadingMetaBlock;
       }
 
+      /**
+       * Loading a block ahead of a scan should never open the file, because the scan may have
+       * already closed it.
+       */
+      BaseBlockLoader readingAhead() {
+        this.readingAhead = true;
+        return this;
+      }
+
       @Override
       public Map<String,Loader> getDependencies() {
         if (bcfr.get() == null && loadingMetaBlock) {
-          String _lookup = cacheId + ROOT_BLOCK_NAME;
+          String _lookup = blockCacheId + ROOT_BLOCK_NAME;
           return Collections.singletonMap(_lookup, new BCFileLoader());
         }
         return Collections.emptyMap();
@@ -370,8 +394,11 @@ public class CachableBlockFile {
         try {
           BCFile.Reader reader = bcfr.get();
           if (reader == null) {
+            if (readingAhead) {
+              return null;
+            }
             if (loadingMetaBlock) {
-              byte[] serializedMetadata = dependencies.get(cacheId + ROOT_BLOCK_NAME);
+              byte[] serializedMetadata = dependencies.get(blockCacheId + ROOT_BLOCK_NAME);
               reader = getBCFile(() -> serializedMetadata);
             } else {
               reader = getBCFile();
@@ -404,6 +431,10 @@ public class CachableBlockFile {
       this.cacheProvider = b.cacheProvider;
       this.conf = b.hadoopConf;
       this.cryptoService = Objects.requireNonNull(b.cryptoService);
+      // blocks are cached decrypted, so keep the blocks of encrypted files out of any cache tier
+      // that writes to local disk
+      this.blockCacheId = cryptoService instanceof NoCryptoService ? cacheId
+          : BlockCacheUtil.MEMORY_ONLY_PREFIX + cacheId;
     }
 
     /**
@@ -413,7 +444,7 @@ public class CachableBlockFile {
     public CachedBlockRead getMetaBlock(String blockName) throws IOException {
       BlockCache _iCache = cacheProvider.getIndexCache();
       if (_iCache != null) {
-        String _lookup = this.cacheId + "M" + blockName;
+        String _lookup = blockCacheId + "M" + blockName;
         try {
           CacheEntry ce = _iCache.getBlock(_lookup, new MetaBlockLoader(blockName));
           if (ce != null) {
@@ -439,7 +470,7 @@ public class CachableBlockFile {
         throws IOException {
       BlockCache _iCache = cacheProvider.getIndexCache();
       if (_iCache != null) {
-        String _lookup = this.cacheId + "R" + offset;
+        String _lookup = blockCacheId + "R" + offset;
         CacheEntry ce =
             _iCache.getBlock(_lookup, new RawBlockLoader(offset, compressedSize, rawSize, true));
         if (ce != null) {
@@ -463,7 +494,7 @@ public class CachableBlockFile {
     public CachedBlockRead getDataBlock(int blockIndex) throws IOException {
       BlockCache _dCache = cacheProvider.getDataCache();
       if (_dCache != null) {
-        String _lookup = this.cacheId + "O" + blockIndex;
+        String _lookup = blockCacheId + "O" + blockIndex;
         CacheEntry ce = _dCache.getBlock(_lookup, new OffsetBlockLoader(blockIndex, false));
         if (ce != null) {
           return new CachedBlockRead(ce, ce.getBuffer());
@@ -479,7 +510,7 @@ public class CachableBlockFile {
         throws IOException {
       BlockCache _dCache = cacheProvider.getDataCache();
       if (_dCache != null) {
-        String _lookup = this.cacheId + "R" + offset;
+        String _lookup = blockCacheId + "R" + offset;
         CacheEntry ce =
             _dCache.getBlock(_lookup, new RawBlockLoader(offset, compressedSize, rawSize, false));
         if (ce != null) {
@@ -492,6 +523,184 @@ public class CachableBlockFile {
       return new CachedBlockRead(_currBlock);
     }
 
+    /**
+     * Asynchronously reads a data block into the data cache so that a later call to
+     * {@link #getDataBlock(int)} does not wait on I/O. The read does nothing if there is no data
+     * cache, the block is already cached, or this reader is closed by then.
+     *
+     * @return false if the read ahead executor was too busy to take the read
+     */
+    public boolean readAheadDataBlock(BlockReadAhead readAhead, int blockIndex) {
+      return readAheadDataBlock(readAhead, blockCacheId + "O" + blockIndex,
+          new OffsetBlockLoader(blockIndex, false).readingAhead());
+    }
+
+    /**
+     * Asynchronously reads a data block into the data cache so that a later call to
+     * {@link #getDataBlock(long, long, long)} does not wait on I/O. The read does nothing if there
+     * is no data cache, the block is already cached, or this reader is closed by then.
+     *
+     * @return false if the read ahead executor was too busy to take the read
+     */
+    public boolean readAheadDataBlock(BlockReadAhead readAhead, long offset, long compressedSize,
+        long rawSize) {
+      return readAheadDataBlock(readAhead, blockCacheId + "R" + offset,
+          new RawBlockLoader(offset, compressedSize, rawSize, false).readingAhead());
+    }
+
+    private boolean readAheadDataBlock(BlockReadAhead readAhead, String lookup, Loader loader) {
+      BlockCache _dCache = cacheProvider.getDataCache();
+      if (_dCache == null) {
+        return false;
+      }
+      return readAhead.submit(() -> {
+        if (bcfr.get() != null && !_dCache.containsBlock(lookup)) {
+          _dCache.getBlock(lookup, loader);
+        }
+      });
+    }
+
+    /**
+     * The location of a data block in the file.
+     */
+    public record DataBlock(long offset, long compressedSize, long rawSize) {
+    }
+
+    /**
+     * Reads the given data blocks into the data cache so that later calls to
+     * {@link #getDataBlock(long, long, long)} for them do not wait on I/O. Blocks that are no more
+     * than {@code maxGap} bytes apart in the file are read with a single read, and the reads are
+     * issued together as one vectored read. Blocks that are already cached are not read. Does
+     * nothing if there is no data cache that blocks can be added to.
+     */
+    public void loadDataBlocks(Collection<DataBlock> blocks, long maxGap) throws IOException {
+      BlockCache _dCache = cacheProvider.getDataCache();
+      if (_dCache == null || _dCache instanceof OpportunisticBlockCache) {
+        return;
+      }
+
+      List<DataBlock> toRead = new ArrayList<>(blocks.size());
+      for (DataBlock block : blocks) {
+        if (block.rawSize() <= MAX_ARRAY_SIZE
+            && !_dCache.containsBlock(blockCacheId + "R" + block.offset())) {
+          toRead.add(block);
+        }
+      }
+
+      if (toRead.isEmpty()) {
+        return;
+      }
+
+      toRead.sort(Comparator.comparingLong(DataBlock::offset));
+
+      // group blocks that are close together in the file into one range of the file
+      List<FileRange> fileRanges = new ArrayList<>();
+      List<DataBlock> rangeBlocks = new ArrayList<>();
+      long rangeStart = toRead.get(0).offset();
+      long rangeEnd = rangeStart;
+      for (DataBlock block : toRead) {
+        long blockEnd = block.offset() + block.compressedSize();
+        if (block.offset() - rangeEnd > maxGap || blockEnd - rangeStart > MAX_ARRAY_SIZE) {
+          fileRanges.add(
+              FileRange.createFileRange(rangeStart, (int) (rangeEnd - rangeStart), rangeBlocks));
+          rangeBlocks = new ArrayList<>();
+          rangeStart = block.offset();
+        }
+        rangeBlocks.add(block);
+        rangeEnd = Math.max(rangeEnd, blockEnd);
+      }
+      fileRanges
+          .add(FileRange.createFileRange(rangeStart, (int) (rangeEnd - rangeStart), rangeBlocks));
+
+      BCFile.Reader reader = getBCFile();
+      FSDataInputStream fsIn = fin;
+      if (fsIn == null) {
+        // another thread opened the file and has not set the stream yet
+        return;
+      }
+      // other readers of the file seek the stream while holding its lock
+      synchronized (fsIn) {
+        fsIn.readVectored(fileRanges, ByteBuffer::allocate);
+        for (FileRange fileRange : fileRanges) {
+          FutureIO.awaitFuture(fileRange.getData());
+        }
+      }
+
+      for (FileRange fileRange : fileRanges) {
+        ByteBuffer data = FutureIO.awaitFuture(fileRange.getData());
+        var rangeIn = new FileRangeInputStream(data, fileRange.getOffset());
+        @SuppressWarnings("unchecked")
+        List<DataBlock> fileRangeBlocks = (List<DataBlock>) fileRange.getReference();
+        for (DataBlock block : fileRangeBlocks) {
+          try (BlockReader blockReader = reader.getDataBlock(rangeIn, block.offset(),
+              block.compressedSize(), block.rawSize())) {
+            byte[] b = new byte[(int) block.rawSize()];
+            blockReader.readFully(b);
+            _dCache.cacheBlock(blockCacheId + "R" + block.offset(), b);
+          }
+        }
+      }
+    }
+
+    /**
+     * Bytes read from a range of a file, seeked using offsets in the file. The buffer returned by a
+     * vectored read may be a slice of a larger array, as it is for checksummed file systems, so
+     * only the bytes between its position and limit are read.
+     */
+    static class FileRangeInputStream extends ByteArrayInputStream implements Seekable {
+
+      private final long offset;
+      private final int start;
+
+      FileRangeInputStream(ByteBuffer data, long offset) {
+        this(toArray(data), data.hasArray() ? data.arrayOffset() + data.position() : 0,
+            data.remaining(), offset);
+      }
+
+      private FileRangeInputStream(byte[] buf, int start, int length, long offset) {
+        super(buf, start, length);
+        this.start = start;
+        this.offset = offset;
+      }
+
+      private static byte[] toArray(ByteBuffer data) {
+        if (data.hasArray()) {
+          return data.array();
+        }
+        byte[] copy = new byte[data.remaining()];
+        data.duplicate().get(copy);
+        return copy;
+      }
+
+      @Override
+      public synchronized void seek(long position) throws IOException {
+        long length = count - start;
+        if (position < offset || position > offset + length) {
+          throw new EOFException("Position " + position + " is outside of file range " + offset
+              + "-" + (offset + length));
+        }
+        pos = start + (int) (position - offset);
+      }
+
+      @Override
+      public synchronized long getPos() {
+        return offset + pos - start;
+      }
+
+      @Override
+      public boolean seekToNewSource(long targetPos) {
+        return false;
+      }
+    }
+
+    /**
+     * @return how to read data blocks ahead of sequential scans, or null if scans should not read
+     *         ahead
+     */
+    public BlockReadAhead getReadAhead() {
+      return cacheProvider.getReadAhead();
+    }
+
     private void incrementCacheBypass(CacheType cacheType) {
       ScanInstrumentation.get().incrementCacheBypass(cacheType);
     }
@@ -573,7 +782,7 @@ public class CachableBlockFile {
       return seekableInput.getBuffer();
     }
 
-    public BlockIndex getIndex(Supplier<BlockIndex> indexSupplier) {
+    public <T extends Weighable> T getIndex(Supplier<T> indexSupplier) {
       return cb.getIndex(indexSupplier);
     }
 
@@ -26,4 +26,12 @@ public interface CacheProvider {
   BlockCache getDataCache();
 
   BlockCache getIndexCache();
+
+  /**
+   * @return how to read data blocks ahead of sequential scans, or null if scans should not read
+   *         ahead
+   */
+  default BlockReadAhead getReadAhead() {
+    return null;
+  }
 }
@@ -39,6 +39,11 @@ public class OpportunisticBlockCache implements BlockCache {
     return cache.getBlock(blockName);
   }
 
+  @Override
+  public boolean containsBlock(String blockName) {
+    return cache.containsBlock(blockName);
+  }
+
   @Override
   public CacheEntry getBlock(String blockName, Loader loader) {
     return cache.getBlock(blockName);
@@ -29,9 +29,10 @@ public final class ScanCacheProvider implements CacheProvider {
 
   private final BlockCache indexCache;
   private final BlockCache dataCache;
+  private final BlockReadAhead readAhead;
 
   public ScanCacheProvider(AccumuloConfiguration tableConfig, ScanDispatch dispatch,
-      BlockCache indexCache, BlockCache dataCache) {
+      BlockCache indexCache, BlockCache dataCache, BlockReadAhead readAhead) {
 
     var loggingIndexCache = BlockCacheUtil.instrument(CacheType.INDEX, indexCache);
     var loggingDataCache = BlockCacheUtil.instrument(CacheType.DATA, dataCache);
@@ -71,6 +72,15 @@ public final class ScanCacheProvider implements CacheProvider {
       default:
         throw new IllegalStateException();
     }
+
+    // blocks read ahead are handed to the scan through the data cache, so only read ahead when
+    // the scan can add blocks to it
+    if (readAhead != null && readAhead.getBlocks() > 0 && this.dataCache != null
+        && !(this.dataCache instanceof OpportunisticBlockCache)) {
+      this.readAhead = readAhead;
+    } else {
+      this.readAhead = null;
+    }
   }
 
   @Override
@@ -82,4 +92,9 @@ public final class ScanCacheProvider implements CacheProvider {
   public BlockCache getIndexCache() {
     return indexCache;
   }
+
+  @Override
+  public BlockReadAhead getReadAhead() {
+    return readAhead;
+  }
 }
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.file.rfile;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.List;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.PartialKey;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.file.blockfile.impl.CachableBlockFile.CachedBlockRead;
+import org.apache.accumulo.core.file.rfile.MultiLevelIndex.IndexEntry;
+
+/**
+ * Restart points in the data blocks of an RFile. Every restart interval entries the key is written
+ * in full instead of relative to the key before it, so a block can be read starting at any restart
+ * point. The trailer of each data block lists the offset of each restart point after the first key
+ * in the block, followed by the restart interval and the number of offsets.
+ *
+ * <pre>
+ * [entries][offset 1]...[offset n][interval][n]
+ * </pre>
+ */
+class BlockRestarts {
+
+  private static final int TRAILER_SIZE = 2 * Integer.BYTES;
+
+  private BlockRestarts() {}
+
+  static class RestartPoint {
+    final Key key;
+    final Value value;
+    // the position of the entry in the block, starting at zero
+    final int entry;
+
+    private RestartPoint(Key key, Value value, int entry) {
+      this.key = key;
+      this.value = value;
+      this.entry = entry;
+    }
+  }
+
+  static void writeTrailer(DataOutput out, List<Integer> offsets, int interval) throws IOException {
+    for (int offset : offsets) {
+      out.writeInt(offset);
+    }
+    out.writeInt(interval);
+    out.writeInt(offsets.size());
+  }
+
+  private static Key readKey(CachedBlockRead block, int offset) throws IOException {
+    block.seek(offset);
+    RelativeKey rk = new RelativeKey();
+    rk.readFields(block);
+    return rk.getKey();
+  }
+
+  /**
+   * Finds the last restart point whose row, column family and column qualifier sort before the seek
+   * key, comparing the same parts of the key that {@link RelativeKey#fastSkip} compares.
+   *
+   * @return null if the block has no restart points or none are before the seek key, otherwise the
+   *         restart point with the block positioned after its value
+   */
+  static RestartPoint seek(CachedBlockRead block, IndexEntry indexEntry, Key seekKey)
+      throws IOException {
+    int blockSize = (int) indexEntry.getRawSize();
+    block.seek(blockSize - TRAILER_SIZE);
+    int interval = block.readInt();
+    int count = block.readInt();
+    int offsetsStart = blockSize - TRAILER_SIZE - count * Integer.BYTES;
+    // only use restart points that have an entry after them, so reading from a restart point
+    // always reads at least one more entry and knows the key before the one it stops at
+    if (interval > 0) {
+      count = Math.min(count, (indexEntry.getNumEntries() - 2) / interval);
+    }
+    if (count <= 0) {
+      block.seek(0);
+      return null;
+    }
+
+    int low = 0;
+    int high = count - 1;
+    int found = -1;
+    int foundOffset = -1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      block.seek(offsetsStart + mid * Integer.BYTES);
+      int offset = block.readInt();
+      if (readKey(block, offset).compareTo(seekKey, PartialKey.ROW_COLFAM_COLQUAL) < 0) {
+        found = mid;
+        foundOffset = offset;
+        low = mid + 1;
+      } else {
+        high = mid - 1;
+      }
+    }
+
+    if (found == -1) {
+      block.seek(0);
+      return null;
+    }
+
+    Key key = readKey(block, foundOffset);
+    Value value = new Value();
+    value.readFields(block);
+    // the first restart point is after the first key in the block
+    return new RestartPoint(key, value, (found + 1) * interval);
+  }
+}
@@ -27,6 +27,7 @@ import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -56,10 +57,13 @@ import org.apache.accumulo.core.dataImpl.KeyExtent;
 import org.apache.accumulo.core.file.FileSKVIterator;
 import org.apache.accumulo.core.file.FileSKVWriter;
 import org.apache.accumulo.core.file.NoSuchMetaStoreException;
+import org.apache.accumulo.core.file.blockfile.impl.BlockReadAhead;
 import org.apache.accumulo.core.file.blockfile.impl.CachableBlockFile;
 import org.apache.accumulo.core.file.blockfile.impl.CachableBlockFile.CachableBuilder;
+import org.apache.accumulo.core.file.blockfile.impl.CachableBlockFile.Reader.DataBlock;
 import org.apache.accumulo.core.file.blockfile.impl.CacheProvider;
 import org.apache.accumulo.core.file.rfile.BlockIndex.BlockIndexEntry;
+import org.apache.accumulo.core.file.rfile.BlockRestarts.RestartPoint;
 import org.apache.accumulo.core.file.rfile.MultiLevelIndex.IndexEntry;
 import org.apache.accumulo.core.file.rfile.MultiLevelIndex.Reader.IndexIterator;
 import org.apache.accumulo.core.file.rfile.RelativeKey.SkippR;
@@ -96,6 +100,12 @@ public class RFile {
 
   private static final int RINDEX_MAGIC = 0x20637474;
 
+  static final int RINDEX_VER_9 = 9; // Added restart points to data blocks. Every restart interval
+                                     // entries the key is written in full, and a trailer at the
+                                     // end of each data block lists the offsets of the restart
+                                     // points. Seeks within a cached block binary search the
+                                     // restart points instead of reading every key from the start
+                                     // of the block.
   static final int RINDEX_VER_8 = 8; // Added sample storage. There is a sample locality group for
                                      // each locality group. Sample are built using a Sampler and
                                      // sampler configuration. The Sampler and its configuration are
@@ -438,6 +448,8 @@ public class RFile {
 
     private final long blockSize;
     private final long maxBlockSize;
+    private final int restartInterval;
+    private final List<Integer> restartOffsets = new ArrayList<>();
     private int entries = 0;
 
     private LocalityGroupMetadata currentLocalityGroup = null;
@@ -453,10 +465,12 @@ public class RFile {
     private double averageKeySize = 0;
 
     LocalityGroupWriter(BCFile.Writer fileWriter, long blockSize, long maxBlockSize,
-        LocalityGroupMetadata currentLocalityGroup, SampleLocalityGroupWriter sample) {
+        int restartInterval, LocalityGroupMetadata currentLocalityGroup,
+        SampleLocalityGroupWriter sample) {
       this.fileWriter = fileWriter;
       this.blockSize = blockSize;
       this.maxBlockSize = maxBlockSize;
+      this.restartInterval = restartInterval;
       this.currentLocalityGroup = currentLocalityGroup;
       this.sample = sample;
     }
@@ -516,7 +530,13 @@ public class RFile {
         }
       }
 
-      RelativeKey rk = new RelativeKey(lastKeyInBlock, key);
+      Key relativeTo = lastKeyInBlock;
+      if (restartInterval > 0 && entries > 0 && entries % restartInterval == 0) {
+        restartOffsets.add((int) blockWriter.getRawSize());
+        relativeTo = null;
+      }
+
+      RelativeKey rk = new RelativeKey(relativeTo, key);
 
       rk.write(blockWriter);
       value.write(blockWriter);
@@ -530,6 +550,10 @@ public class RFile {
     }
 
     private void closeBlock(Key key, boolean lastBlock) throws IOException {
+      if (restartInterval > 0) {
+        BlockRestarts.writeTrailer(blockWriter, restartOffsets, restartInterval);
+        restartOffsets.clear();
+      }
       blockWriter.close();
 
       if (lastBlock) {
@@ -570,6 +594,7 @@ public class RFile {
     private final long blockSize;
     private final long maxBlockSize;
     private final int indexBlockSize;
+    private final int restartInterval;
 
     private final ArrayList<LocalityGroupMetadata> localityGroups = new ArrayList<>();
     private final ArrayList<LocalityGroupMetadata> sampleGroups = new ArrayList<>();
@@ -595,9 +620,17 @@ public class RFile {
 
     public Writer(BCFile.Writer bfw, int blockSize, int indexBlockSize,
         SamplerConfigurationImpl samplerConfig, Sampler sampler) {
+      this(bfw, blockSize, indexBlockSize,
+          DefaultConfiguration.getInstance().getCount(Property.TABLE_FILE_BLOCK_RESTART_INTERVAL),
+          samplerConfig, sampler);
+    }
+
+    public Writer(BCFile.Writer bfw, int blockSize, int indexBlockSize, int restartInterval,
+        SamplerConfigurationImpl samplerConfig, Sampler sampler) {
       this.blockSize = blockSize;
       this.maxBlockSize = (long) (blockSize * MAX_BLOCK_MULTIPLIER);
       this.indexBlockSize = indexBlockSize;
+      this.restartInterval = restartInterval;
       this.fileWriter = bfw;
       previousColumnFamilies = new HashSet<>();
       this.samplerConfig = samplerConfig;
@@ -616,7 +649,8 @@ public class RFile {
       BlockAppender mba = fileWriter.prepareMetaBlock("RFile.index");
 
       mba.writeInt(RINDEX_MAGIC);
-      mba.writeInt(RINDEX_VER_8);
+      // without restart points the data blocks have no trailer, so are the same as version 8
+      mba.writeInt(restartInterval > 0 ? RINDEX_VER_9 : RINDEX_VER_8);
 
       if (currentLocalityGroup != null) {
         localityGroups.add(currentLocalityGroup);
@@ -720,12 +754,11 @@ public class RFile {
 
       SampleLocalityGroupWriter sampleWriter = null;
       if (sampler != null) {
-        sampleWriter = new SampleLocalityGroupWriter(
-            new LocalityGroupWriter(fileWriter, blockSize, maxBlockSize, sampleLocalityGroup, null),
-            sampler);
+        sampleWriter = new SampleLocalityGroupWriter(new LocalityGroupWriter(fileWriter, blockSize,
+            maxBlockSize, restartInterval, sampleLocalityGroup, null), sampler);
       }
-      lgWriter = new LocalityGroupWriter(fileWriter, blockSize, maxBlockSize, currentLocalityGroup,
-          sampleWriter);
+      lgWriter = new LocalityGroupWriter(fileWriter, blockSize, maxBlockSize, restartInterval,
+          currentLocalityGroup, sampleWriter);
     }
 
     @Override
@@ -799,6 +832,10 @@ public class RFile {
     public void close() throws IOException {
       closed = true;
       hasTop = false;
+      while (!readAheadBlocks.isEmpty()) {
+        readAheadBlocks.pollFirst();
+        readAhead.wasted();
+      }
       if (currBlock != null) {
         currBlock.close();
       }
@@ -814,6 +851,10 @@ public class RFile {
     private Range range = null;
     private boolean hasTop = false;
     private AtomicBoolean interruptFlag;
+    // indexes of blocks read ahead that this reader has not read yet, in increasing order
+    private final ArrayDeque<Integer> readAheadBlocks = new ArrayDeque<>();
+    private BlockReadAhead readAhead = null;
+    private int sequentialBlocks = 0;
 
     @Override
     public Key getTopKey() {
@@ -846,6 +887,13 @@ public class RFile {
       }
 
       if (entriesLeft == 0) {
+        if (iiter.hasPrevious() && range.afterEndKey(iiter.peekPrevious().getKey())) {
+          // the index shows that no key after this block is in the range, so do not read the next
+          // block just to find a key past the end of the range
+          hasTop = false;
+          return;
+        }
+
         currBlock.close();
         if (metricsGatherer != null) {
           metricsGatherer.startBlock();
@@ -861,6 +909,7 @@ public class RFile {
             hasTop = true;
           }
 
+          dataBlockRead(iiter.previousIndex(), true);
         } else {
           rk = null;
           val = null;
@@ -898,6 +947,120 @@ public class RFile {
 
     }
 
+    /**
+     * Accounts for blocks read ahead of this reader and, once enough consecutive blocks have been
+     * read, reads more blocks ahead. Must be called after the index iterator has moved past the
+     * block that was just read and checkRange was set for it.
+     */
+    private void dataBlockRead(int blockIndex, boolean sequential) {
+      while (!readAheadBlocks.isEmpty() && readAheadBlocks.peekFirst() <= blockIndex) {
+        if (readAheadBlocks.pollFirst() == blockIndex) {
+          readAhead.hit();
+        } else {
+          // the reader skipped over the block
+          readAhead.wasted();
+        }
+      }
+
+      sequentialBlocks = sequential ? sequentialBlocks + 1 : 1;
+
+      BlockReadAhead currentReadAhead = reader.getReadAhead();
+      if (currentReadAhead == null || sequentialBlocks < currentReadAhead.getThreshold()
+          || checkRange) {
+        // when checkRange is set this block is the last one the range needs
+        return;
+      }
+
+      if (currentReadAhead != readAhead) {
+        while (!readAheadBlocks.isEmpty()) {
+          readAheadBlocks.pollFirst();
+          readAhead.wasted();
+        }
+        readAhead = currentReadAhead;
+      }
+
+      int lastReadAhead =
+          readAheadBlocks.isEmpty() ? blockIndex : Math.max(blockIndex, readAheadBlocks.peekLast());
+      int moved = 0;
+      try {
+        while (iiter.hasNext() && iiter.nextIndex() <= blockIndex + readAhead.getBlocks()) {
+          IndexEntry indexEntry = iiter.next();
+          moved++;
+          int index = iiter.previousIndex();
+          if (index > lastReadAhead) {
+            boolean submitted;
+            if (version == RINDEX_VER_3 || version == RINDEX_VER_4) {
+              submitted = reader.readAheadDataBlock(readAhead, startBlock + index);
+            } else {
+              submitted = reader.readAheadDataBlock(readAhead, indexEntry.getOffset(),
+                  indexEntry.getCompressedSize(), indexEntry.getRawSize());
+            }
+            if (!submitted) {
+              break;
+            }
+            readAheadBlocks.addLast(index);
+          }
+
+          if (range.afterEndKey(indexEntry.getKey())) {
+            // the range does not need any blocks after this one
+            break;
+          }
+        }
+      } finally {
+        for (; moved > 0; moved--) {
+          iiter.previous();
+        }
+      }
+    }
+
+    /**
+     * Adds the data blocks that seeking this locality group to each of the ranges will read,
+     * stopping once the blocks added reach the given number of compressed bytes.
+     *
+     * @return the number of compressed bytes that can still be added
+     */
+    private long addDataBlocks(List<Range> ranges, Map<Long,DataBlock> blocks, long maxBytes)
+        throws IOException {
+      if (blockCount == 0 || version == RINDEX_VER_3 || version == RINDEX_VER_4) {
+        // older files do not have block offsets in the index
+        return maxBytes;
+      }
+
+      for (Range range : ranges) {
+        if (range.afterEndKey(firstKey)) {
+          continue;
+        }
+
+        Key startKey = range.getStartKey();
+        IndexIterator rangeIter = index.lookup(startKey == null ? new Key() : startKey);
+
+        // if the index contains the same key multiple times, then the range starts at the earliest
+        // index entry containing the key
+        while (rangeIter.hasNext() && rangeIter.hasPrevious()
+            && rangeIter.peekPrevious().getKey().equals(rangeIter.peek().getKey())) {
+          rangeIter.previous();
+        }
+
+        while (rangeIter.hasNext()) {
+          IndexEntry indexEntry = rangeIter.next();
+          if (!blocks.containsKey(indexEntry.getOffset())) {
+            if (indexEntry.getCompressedSize() > maxBytes) {
+              return 0;
+            }
+            maxBytes -= indexEntry.getCompressedSize();
+            blocks.put(indexEntry.getOffset(), new DataBlock(indexEntry.getOffset(),
+                indexEntry.getCompressedSize(), indexEntry.getRawSize()));
+          }
+
+          if (range.afterEndKey(indexEntry.getKey())) {
+            break;
+          }
+        }
+      }
+
+      return maxBytes;
+    }
+
     @Override
     public void seek(Range range, Collection<ByteSequence> columnFamilies, boolean inclusive)
         throws IOException {
@@ -986,13 +1149,28 @@ public class RFile {
           // because if only forward seeks are being done, then there is no benefit to building
           // and index for the block... could consider using the index if it exist but not
           // causing the build of an index... doing this could slow down some use cases and
-          // and speed up others.
+          // and speed up others. Restart points cost nothing to use, so skip ahead to one when
+          // it is past the current position.
 
           final var valbs = new ArrayByteSequence(new byte[64], 0, 0);
+          Key currKey = getTopKey();
+          int skipEntries = entriesLeft;
+          if (currBlock.isIndexable() && version == RINDEX_VER_9) {
+            IndexEntry indexEntry = iiter.peekPrevious();
+            int position = currBlock.getPosition();
+            RestartPoint restart = BlockRestarts.seek(currBlock, indexEntry, startKey);
+            if (restart != null && restart.entry > indexEntry.getNumEntries() - entriesLeft - 1) {
+              valbs.reset(restart.value.get(), 0, restart.value.getSize());
+              skipEntries = indexEntry.getNumEntries() - restart.entry - 1;
+              currKey = restart.key;
+            } else {
+              currBlock.seek(position);
+            }
+          }
           SkippR skippr =
-              RelativeKey.fastSkip(currBlock, startKey, valbs, prevKey, getTopKey(), entriesLeft);
+              RelativeKey.fastSkip(currBlock, startKey, valbs, prevKey, currKey, skipEntries);
           if (skippr.skipped > 0) {
-            entriesLeft -= skippr.skipped;
+            entriesLeft = skipEntries - skippr.skipped;
             val = new Value(valbs.toArray());
             prevKey = skippr.prevKey;
             rk = skippr.rk;
@@ -1050,11 +1228,26 @@ public class RFile {
             hasTop = true;
           }
 
+          dataBlockRead(iiter.previousIndex(), false);
+
           final var valbs = new ArrayByteSequence(new byte[64], 0, 0);
 
           Key currKey = null;
 
-          if (currBlock.isIndexable()) {
+          boolean restarted = false;
+          if (currBlock.isIndexable() && version == RINDEX_VER_9) {
+            RestartPoint restart = BlockRestarts.seek(currBlock, indexEntry, startKey);
+            if (restart != null) {
+              // positioned after the value of the restart key, which is before the start key
+              val = restart.value;
+              valbs.reset(val.get(), 0, val.getSize());
+              entriesLeft = indexEntry.getNumEntries() - restart.entry - 1;
+              currKey = restart.key;
+              restarted = true;
+            }
+          }
+
+          if (!restarted && currBlock.isIndexable()) {
             BlockIndex blockIndex = BlockIndex.getIndex(currBlock, indexEntry);
             if (blockIndex != null) {
               BlockIndexEntry bie = blockIndex.seekBlock(startKey, currBlock);
@@ -1204,8 +1397,8 @@ public class RFile {
         if (magic != RINDEX_MAGIC) {
           throw new IOException("Did not see expected magic number, saw " + magic);
         }
-        if (ver != RINDEX_VER_8 && ver != RINDEX_VER_7 && ver != RINDEX_VER_6 && ver != RINDEX_VER_4
-            && ver != RINDEX_VER_3) {
+        if (ver != RINDEX_VER_9 && ver != RINDEX_VER_8 && ver != RINDEX_VER_7 && ver != RINDEX_VER_6
+            && ver != RINDEX_VER_4 && ver != RINDEX_VER_3) {
           throw new IOException("Did not see expected version, saw " + ver);
         }
 
@@ -1224,7 +1417,7 @@ public class RFile {
 
         readers = currentReaders;
 
-        if (ver == RINDEX_VER_8 && mb.readBoolean()) {
+        if ((ver == RINDEX_VER_9 || ver == RINDEX_VER_8) && mb.readBoolean()) {
           sampleReaders = new LocalityGroupReader[size];
 
           for (int i = 0; i < size; i++) {
@@ -1499,6 +1692,13 @@ public class RFile {
       return getSample(this.samplerConfig);
     }
 
+    /**
+     * @return the version of the RFile index the file was written with
+     */
+    int getRFileVersion() {
+      return rfileVersion;
+    }
+
     public void printInfo(boolean includeIndexDetails) throws IOException {
 
       System.out.printf("%-24s : %d\n", "RFile Version", rfileVersion);
@@ -1548,6 +1748,21 @@ public class RFile {
       reader.setCacheProvider(cacheProvider);
     }
 
+    @Override
+    public void loadBlocks(List<Range> ranges, Collection<ByteSequence> columnFamilies,
+        boolean inclusive, long maxBytes, long maxGap) throws IOException {
+      Map<Long,DataBlock> blocks = new HashMap<>();
+      long remaining = maxBytes;
+      for (LocalityGroup lg : LocalityGroupIterator.getLocalityGroups(lgContext, columnFamilies,
+          inclusive)) {
+        remaining = ((LocalityGroupReader) lg).addDataBlocks(ranges, blocks, remaining);
+      }
+
+      if (!blocks.isEmpty()) {
+        reader.loadDataBlocks(blocks.values(), maxGap);
+      }
+    }
+
     @Override
     public long estimateOverlappingEntries(KeyExtent extent) throws IOException {
       long totalEntries = 0;
@@ -1738,6 +1953,20 @@ public class RFile {
       reader.seek(range, columnFamilies, inclusive);
     }
 
+    @Override
+    public void loadBlocks(List<Range> ranges, Collection<ByteSequence> columnFamilies,
+        boolean inclusive, long maxBytes, long maxGap) throws IOException {
+      List<Range> clipped = new ArrayList<>(ranges.size());
+      for (Range range : ranges) {
+        range = fence.clip(range, true);
+        if (range != null) {
+          clipped.add(range);
+        }
+      }
+
+      reader.loadBlocks(clipped, columnFamilies, inclusive, maxBytes, maxGap);
+    }
+
     @Override
     public FencedReader deepCopy(IteratorEnvironment env) {
       return new FencedReader(reader.deepCopy(env), fence);
@@ -113,6 +113,7 @@ public class RFileOperations extends FileOperations {
     Preconditions.checkArgument((indexBlockSize < Integer.MAX_VALUE && indexBlockSize > 0),
         "table.file.compress.blocksize.index must be greater than 0 and less than "
             + Integer.MAX_VALUE);
+    int restartInterval = acuconf.getCount(Property.TABLE_FILE_BLOCK_RESTART_INTERVAL);
 
     SamplerConfigurationImpl samplerConfig = SamplerConfigurationImpl.newSamplerConfig(acuconf);
     Sampler sampler = null;
@@ -219,6 +220,7 @@ public class RFileOperations extends FileOperations {
 
     BCFile.Writer _cbw = new BCFile.Writer(outputStream, compression, conf, options.cryptoService);
 
-    return new RFile.Writer(_cbw, (int) blockSize, (int) indexBlockSize, samplerConfig, sampler);
+    return new RFile.Writer(_cbw, (int) blockSize, (int) indexBlockSize, restartInterval,
+        samplerConfig, sampler);
   }
 }
@@ -749,6 +749,20 @@ public final class BCFile {
       return createReader(dataIndex.getDefaultCompressionAlgorithm(), region);
     }
 
+    /**
+     * Stream access to a Data Block whose bytes are read from the given stream instead of the file,
+     * for example when the bytes were already read from the file into memory.
+     *
+     * @param fin stream positioned by file offset that holds the bytes of the block
+     */
+    public <StreamT extends InputStream & Seekable> BlockReader getDataBlock(StreamT fin,
+        long offset, long compressedSize, long rawSize) throws IOException {
+      BlockRegion region = new BlockRegion(offset, compressedSize, rawSize);
+      RBlockState rbs =
+          new RBlockState(dataIndex.getDefaultCompressionAlgorithm(), fin, region, conf, decrypter);
+      return new BlockReader(rbs);
+    }
+
     public long getDataBlockRawSize(int blockIndex) {
       if (blockIndex < 0 || blockIndex >= getBlockCount()) {
         throw new IndexOutOfBoundsException(
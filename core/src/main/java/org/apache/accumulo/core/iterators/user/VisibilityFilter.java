@@ -36,6 +36,7 @@ import org.apache.accumulo.core.iterators.Filter;
 import org.apache.accumulo.core.iterators.IteratorEnvironment;
 import org.apache.accumulo.core.iterators.OptionDescriber;
 import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+import org.apache.accumulo.core.iteratorsImpl.system.CompiledVisibilityCache;
 import org.apache.accumulo.core.security.Authorizations;
 import org.apache.commons.collections4.map.LRUMap;
 import org.slf4j.Logger;
@@ -47,10 +48,10 @@ import org.slf4j.LoggerFactory;
 public class VisibilityFilter extends Filter implements OptionDescriber {
 
   private static final Logger log = LoggerFactory.getLogger(VisibilityFilter.class);
-  private static final BytesAccess.BytesEvaluator EMPTY_EVALUATOR =
-      BytesAccess.newEvaluator(Authorizations.EMPTY);
+  private static final BytesAccess.CompiledEvaluator EMPTY_EVALUATOR =
+      CompiledVisibilityCache.getInstance().newEvaluator(Authorizations.EMPTY);
 
-  private BytesAccess.BytesEvaluator accessEvaluator;
+  private BytesAccess.CompiledEvaluator accessEvaluator;
   protected Map<ByteSequence,Boolean> cache;
   private final ArrayByteSequence testVis = new ArrayByteSequence(new byte[0]);
 
@@ -73,7 +74,8 @@ public class VisibilityFilter extends Filter implements OptionDescriber {
       } else if (!auths.startsWith(Authorizations.HEADER)) {
         // the old serialization format does not support multiple auth sets, so treat the whole
         // thing as one set
-        this.accessEvaluator = BytesAccess.newEvaluator(new Authorizations(auths.getBytes(UTF_8)));
+        this.accessEvaluator = CompiledVisibilityCache.getInstance()
+            .newEvaluator(new Authorizations(auths.getBytes(UTF_8)));
       } else {
         String[] authParts = auths.split(Authorizations.HEADER);
         if (authParts.length == 0) {
@@ -90,7 +92,7 @@ public class VisibilityFilter extends Filter implements OptionDescriber {
               authSet.add(new Authorizations(serializedAuthString.getBytes(UTF_8)));
             }
           }
-          this.accessEvaluator = BytesAccess.newEvaluator(authSet);
+          this.accessEvaluator = CompiledVisibilityCache.getInstance().newEvaluator(authSet);
         }
       }
     }
@@ -141,7 +143,7 @@ public class VisibilityFilter extends Filter implements OptionDescriber {
 
       final ArrayByteSequence copy = new ArrayByteSequence(testVis);
       try {
-        boolean bb = accessEvaluator.canAccess(copy.toArray());
+        boolean bb = CompiledVisibilityCache.getInstance().canAccess(accessEvaluator, copy);
         // cache a copy of testVis
         cache.put(copy, bb);
         return bb;
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.iteratorsImpl.system;
+
+import static com.google.common.base.Suppliers.memoize;
+
+import java.util.Collection;
+import java.util.function.Supplier;
+
+import org.apache.accumulo.access.InvalidAccessExpressionException;
+import org.apache.accumulo.core.clientImpl.access.BytesAccess.AuthorizationDictionary;
+import org.apache.accumulo.core.clientImpl.access.BytesAccess.CompiledEvaluator;
+import org.apache.accumulo.core.clientImpl.access.BytesAccess.CompiledExpression;
+import org.apache.accumulo.core.data.ArrayByteSequence;
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.security.Authorizations;
+import org.apache.accumulo.core.util.cache.Caches;
+import org.apache.accumulo.core.util.cache.Caches.CacheName;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+/**
+ * Column visibilities compiled against a dictionary of authorizations, shared by every visibility
+ * filter in the process. A filter that sees a visibility for the first time can evaluate it with a
+ * few bitwise operations when any other filter, with any authorizations, has already compiled it.
+ */
+public class CompiledVisibilityCache {
+
+  private static final int MAX_EXPRESSIONS = 10_000;
+  // bounds the size of the bit sets, each id is one bit
+  private static final int MAX_AUTHORIZATIONS = 1 << 16;
+
+  private static final Supplier<CompiledVisibilityCache> INSTANCE =
+      memoize(() -> new CompiledVisibilityCache(MAX_EXPRESSIONS, MAX_AUTHORIZATIONS));
+
+  public static CompiledVisibilityCache getInstance() {
+    return INSTANCE.get();
+  }
+
+  private final AuthorizationDictionary dictionary;
+  private final Cache<ByteSequence,CompiledExpression> compiled;
+
+  CompiledVisibilityCache(int maxExpressions, int maxAuthorizations) {
+    this.dictionary = new AuthorizationDictionary(maxAuthorizations);
+    this.compiled = Caches.getInstance().createNewBuilder(CacheName.COMPILED_VISIBILITIES, false)
+        .maximumSize(maxExpressions).build();
+  }
+
+  public CompiledEvaluator newEvaluator(Authorizations auths) {
+    return dictionary.newEvaluator(auths);
+  }
+
+  public CompiledEvaluator newEvaluator(Collection<Authorizations> authsSet) {
+    return dictionary.newEvaluator(authsSet);
+  }
+
+  /**
+   * @param expression a column visibility, copied if it needs to be cached
+   * @throws InvalidAccessExpressionException if the column visibility can not be parsed
+   */
+  public boolean canAccess(CompiledEvaluator evaluator, ByteSequence expression) {
+    if (!evaluator.isCompiled()) {
+      return evaluator.canAccess(expression.toArray());
+    }
+    CompiledExpression expr = compiled.getIfPresent(expression);
+    if (expr == null) {
+      byte[] copy = expression.toArray();
+      expr = dictionary.compile(copy);
+      compiled.put(new ArrayByteSequence(copy), expr);
+    }
+    return evaluator.canAccess(expr);
+  }
+}
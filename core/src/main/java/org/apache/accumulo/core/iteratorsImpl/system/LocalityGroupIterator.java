@@ -171,6 +171,14 @@ public class LocalityGroupIterator extends HeapIterator implements Interruptible
     return groups;
   }
 
+  /**
+   * @return the locality groups that a seek with the given column families reads
+   */
+  public static Collection<LocalityGroup> getLocalityGroups(LocalityGroupContext lgContext,
+      Collection<ByteSequence> columnFamilies, boolean inclusive) {
+    return getLocalityGroups(lgContext, inclusive, getCfSet(columnFamilies));
+  }
+
   private static Collection<LocalityGroup> getLocalityGroups(LocalityGroupContext lgContext,
       boolean inclusive, Set<ByteSequence> cfSet) {
 
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.iteratorsImpl.system;
+
+import org.apache.accumulo.access.InvalidAccessExpressionException;
+import org.apache.accumulo.core.clientImpl.access.BytesAccess;
+import org.apache.accumulo.core.data.ArrayByteSequence;
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.security.Authorizations;
+import org.apache.accumulo.core.util.cache.Caches;
+import org.apache.accumulo.core.util.cache.Caches.CacheName;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+/**
+ * Caches whether a set of authorizations can see a column visibility, shared by all the scans on a
+ * server. Scans that use the same authorizations and see the same column visibilities do not each
+ * have to parse and evaluate them again.
+ */
+public class VisibilityEvaluationCache {
+
+  private static final class Decision {
+    private final Authorizations authorizations;
+    private final int authorizationsHash;
+    private final ByteSequence expression;
+
+    private Decision(Authorizations authorizations, int authorizationsHash,
+        ByteSequence expression) {
+      this.authorizations = authorizations;
+      this.authorizationsHash = authorizationsHash;
+      this.expression = expression;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * authorizationsHash + expression.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (o instanceof Decision other) {
+        return authorizationsHash == other.authorizationsHash && expression.equals(other.expression)
+            && (authorizations == other.authorizations
+                || authorizations.equals(other.authorizations));
+      }
+      return false;
+    }
+  }
+
+  /**
+   * The decisions for a single set of authorizations.
+   */
+  public class Evaluator {
+    private final Authorizations authorizations;
+    private final int authorizationsHash;
+    private final BytesAccess.CompiledEvaluator evaluator;
+
+    private Evaluator(Authorizations authorizations) {
+      this.authorizations = authorizations;
+      // computed once because Authorizations does not cache its hash code
+      this.authorizationsHash = authorizations.hashCode();
+      this.evaluator = CompiledVisibilityCache.getInstance().newEvaluator(authorizations);
+    }
+
+    /**
+     * @param expression a column visibility, copied if it needs to be cached
+     * @throws InvalidAccessExpressionException if the column visibility can not be parsed
+     */
+    public boolean canAccess(ByteSequence expression) {
+      Boolean cached =
+          cache.getIfPresent(new Decision(authorizations, authorizationsHash, expression));
+      if (cached != null) {
+        return cached;
+      }
+
+      boolean canAccess = CompiledVisibilityCache.getInstance().canAccess(evaluator, expression);
+      cache.put(new Decision(authorizations, authorizationsHash,
+          new ArrayByteSequence(expression.toArray())), canAccess);
+      return canAccess;
+    }
+  }
+
+  private final Cache<Decision,Boolean> cache;
+
+  /**
+   * @param maxSize the most decisions to keep
+   */
+  public VisibilityEvaluationCache(long maxSize) {
+    this.cache = Caches.getInstance().createNewBuilder(CacheName.VISIBILITY_DECISIONS, false)
+        .maximumSize(maxSize).recordStats().build();
+  }
+
+  public Evaluator forAuthorizations(Authorizations authorizations) {
+    return new Evaluator(authorizations);
+  }
+
+  /**
+   * @return the underlying cache, for reporting metrics
+   */
+  public Cache<?,?> getCache() {
+    return cache;
+  }
+}
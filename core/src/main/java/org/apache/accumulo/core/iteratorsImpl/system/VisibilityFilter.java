@@ -39,29 +39,41 @@ import org.slf4j.LoggerFactory;
  * of the iterator stack in {@link org.apache.accumulo.core.iterators.IteratorUtil}
  * .loadIterators(). For performance reasons, the synchronization was pushed down the stack to this
  * class.
+ * <p>
+ * Each filter keeps a small cache of the column visibilities it has seen. When a
+ * {@link VisibilityEvaluationCache} is given, visibilities that are not in that small cache are
+ * looked up in the shared cache before they are evaluated. Visibilities are evaluated using the
+ * {@link CompiledVisibilityCache}.
  */
 public class VisibilityFilter extends SynchronizedServerFilter {
-  protected final BytesAccess.BytesEvaluator ve;
+  protected final BytesAccess.CompiledEvaluator ve;
   protected final ArrayByteSequence defaultVisibility;
   protected final LRUMap<ByteSequence,Boolean> cache;
   protected final Authorizations authorizations;
+  private final VisibilityEvaluationCache sharedCache;
+  private final VisibilityEvaluationCache.Evaluator sharedEvaluator;
 
   private final ArrayByteSequence testVis = new ArrayByteSequence(new byte[0]);
 
   private static final Logger log = LoggerFactory.getLogger(VisibilityFilter.class);
 
   private VisibilityFilter(SortedKeyValueIterator<Key,Value> iterator,
-      Authorizations authorizations, byte[] defaultVisibility) {
+      Authorizations authorizations, byte[] defaultVisibility,
+      VisibilityEvaluationCache sharedCache) {
     super(iterator);
-    this.ve = BytesAccess.newEvaluator(authorizations);
+    this.ve = CompiledVisibilityCache.getInstance().newEvaluator(authorizations);
     this.authorizations = authorizations;
     this.defaultVisibility = new ArrayByteSequence(defaultVisibility);
     this.cache = new LRUMap<>(1000);
+    this.sharedCache = sharedCache;
+    this.sharedEvaluator =
+        sharedCache == null ? null : sharedCache.forAuthorizations(authorizations);
   }
 
   @Override
   public synchronized SortedKeyValueIterator<Key,Value> deepCopy(IteratorEnvironment env) {
-    return new VisibilityFilter(source.deepCopy(env), authorizations, defaultVisibility.toArray());
+    return new VisibilityFilter(source.deepCopy(env), authorizations, defaultVisibility.toArray(),
+        sharedCache);
   }
 
   @Override
@@ -84,7 +96,9 @@ public class VisibilityFilter extends SynchronizedServerFilter {
     try {
       final ArrayByteSequence safeCopy =
           (testVis.length() == 0) ? defaultVisibility : new ArrayByteSequence(testVis);
-      boolean bb = ve.canAccess(safeCopy.toArray());
+      boolean bb =
+          sharedEvaluator == null ? CompiledVisibilityCache.getInstance().canAccess(ve, safeCopy)
+              : sharedEvaluator.canAccess(safeCopy);
       cache.put(safeCopy, bb);
       return bb;
     } catch (InvalidAccessExpressionException e) {
@@ -112,10 +126,19 @@ public class VisibilityFilter extends SynchronizedServerFilter {
 
   public static SortedKeyValueIterator<Key,Value> wrap(SortedKeyValueIterator<Key,Value> source,
       Authorizations authorizations, byte[] defaultVisibility) {
+    return wrap(source, authorizations, defaultVisibility, null);
+  }
+
+  /**
+   * @param sharedCache a cache of visibility decisions shared with other scans, or null
+   */
+  public static SortedKeyValueIterator<Key,Value> wrap(SortedKeyValueIterator<Key,Value> source,
+      Authorizations authorizations, byte[] defaultVisibility,
+      VisibilityEvaluationCache sharedCache) {
     if (authorizations.isEmpty() && defaultVisibility.length == 0) {
       return new EmptyAuthsVisibilityFilter(source);
     } else {
-      return new VisibilityFilter(source, authorizations, defaultVisibility);
+      return new VisibilityFilter(source, authorizations, defaultVisibility, sharedCache);
     }
   }
 }
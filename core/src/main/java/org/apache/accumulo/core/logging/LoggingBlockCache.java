@@ -68,6 +68,13 @@ public class LoggingBlockCache implements BlockCache {
 
   }
 
+  @Override
+  public boolean containsBlock(String blockName) {
+    var contains = blockCache.containsBlock(blockName);
+    log.trace("{} containsBlock({}) returned {}", type, blockName, contains);
+    return contains;
+  }
+
   private final class LoggingLoader implements Loader {
     private final Loader loader;
 
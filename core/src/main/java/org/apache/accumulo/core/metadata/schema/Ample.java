@@ -146,6 +146,19 @@ public interface Ample {
    */
   TabletMetadata readTablet(KeyExtent extent, ColumnType... colsToFetch);
 
+  /**
+   * Read the metadata of many tablets using one batch scan per metadata table, instead of one scan
+   * per tablet. The columns to fetch are pushed to the scan, so only those columns are read. Unlike
+   * {@link #readTablet(KeyExtent, ColumnType...)}, a tablet is only returned when its prev row
+   * matches the extent.
+   *
+   * @param extents The tablets to read.
+   * @param colsToFetch What tablets columns to fetch. If empty, then everything is fetched.
+   * @return the metadata of the tablets that were found, keyed by extent
+   */
+  Map<KeyExtent,TabletMetadata> readTablets(Collection<KeyExtent> extents,
+      ColumnType... colsToFetch);
+
   /**
    * Entry point for reading multiple tablets' metadata. Generates a TabletsMetadata builder object
    * and assigns the AmpleImpl client to that builder object. This allows readTablets() to be called
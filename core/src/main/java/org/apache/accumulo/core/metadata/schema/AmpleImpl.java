@@ -20,8 +20,12 @@ package org.apache.accumulo.core.metadata.schema;
 
 import static com.google.common.collect.MoreCollectors.onlyElement;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.function.Function;
 
 import org.apache.accumulo.core.client.AccumuloClient;
@@ -59,6 +63,27 @@ public class AmpleImpl implements Ample {
     }
   }
 
+  @Override
+  public Map<KeyExtent,TabletMetadata> readTablets(Collection<KeyExtent> extents,
+      ColumnType... colsToFetch) {
+    if (extents.isEmpty()) {
+      return Map.of();
+    }
+
+    Options builder = newBuilder().forTablets(extents, Optional.empty());
+    if (colsToFetch.length > 0) {
+      builder.fetch(colsToFetch);
+    }
+
+    Map<KeyExtent,TabletMetadata> tablets = new HashMap<>();
+    try (TabletsMetadata tabletsMetadata = builder.build()) {
+      for (TabletMetadata tabletMetadata : tabletsMetadata) {
+        tablets.put(tabletMetadata.getExtent(), tabletMetadata);
+      }
+    }
+    return tablets;
+  }
+
   @Override
   public TabletsMetadata.TableOptions readTablets() {
     return newBuilder();
@@ -33,6 +33,8 @@ import java.util.Set;
 
 import org.apache.accumulo.core.client.admin.servers.ServerId;
 import org.apache.accumulo.core.fate.FateExecutorMetrics;
+import org.apache.accumulo.core.fate.RepoCodec;
+import org.apache.accumulo.core.file.blockfile.cache.tiered.TieredBlockCache;
 
 public enum Metric {
 
@@ -49,6 +51,18 @@ public enum Metric {
   THRIFT_EXECUTE("accumulo.thrift.execute", MetricType.DISTRIBUTION_SUMMARY,
       "Time to execute an RPC request.", MetricDocSection.GENERAL_SERVER, "Thrift Execution Time",
       null, NUMBER),
+  TABLET_LOCATION_CACHE_MISS_TIME("accumulo.tablet.location.cache.miss.time", MetricType.TIMER,
+      "Time spent looking up the location of tablets that were not in the tablet location cache.",
+      MetricDocSection.GENERAL_SERVER, "Tablet Location Cache Miss Time", null, NUMBER),
+  TABLET_LOCATION_CACHE_METADATA_LOOKUPS("accumulo.tablet.location.cache.metadata.lookups",
+      MetricType.FUNCTION_COUNTER,
+      "Number of reads of the metadata table done to find the location of tablets.",
+      MetricDocSection.GENERAL_SERVER, "Tablet Location Metadata Lookups", null, NUMBER),
+  TABLET_LOCATION_CACHE_REFRESHES("accumulo.tablet.location.cache.refreshes",
+      MetricType.FUNCTION_COUNTER,
+      "Number of invalidated tablet locations read again in the background. Only incremented when"
+          + " the tablet.location.cache.refresh client property is enabled.",
+      MetricDocSection.GENERAL_SERVER, "Tablet Location Cache Refreshes", null, NUMBER),
 
   // Compactor Metrics
   COMPACTION_ROOT_SVC_ERRORS("accumulo.compaction.svc.root.misconfigured", MetricType.GAUGE,
@@ -153,6 +167,21 @@ public enum Metric {
           + " tag. The fate instance type can be found in the "
           + FateExecutorMetrics.INSTANCE_TYPE_TAG_KEY + " tag.",
       MetricDocSection.FATE, "Fate Threads Total", null, NUMBER),
+  FATE_REPO_ENCODE_TIME("accumulo.fate.repo.encode.time", MetricType.TIMER,
+      "Time to encode a fate step before it is stored. The step class is in the "
+          + RepoCodec.REPO_TAG_KEY + " tag and the encoding (binary or java) is in the "
+          + RepoCodec.CODEC_TAG_KEY + " tag.",
+      MetricDocSection.FATE, "Fate Repo Encode Time", null, NUMBER),
+  FATE_REPO_DECODE_TIME("accumulo.fate.repo.decode.time", MetricType.TIMER,
+      "Time to decode a fate step that was read from the store. The step class is in the "
+          + RepoCodec.REPO_TAG_KEY + " tag and the encoding (binary or java) is in the "
+          + RepoCodec.CODEC_TAG_KEY + " tag.",
+      MetricDocSection.FATE, "Fate Repo Decode Time", null, NUMBER),
+  FATE_REPO_SIZE("accumulo.fate.repo.size", MetricType.DISTRIBUTION_SUMMARY,
+      "Size in bytes of the encoded fate steps that are stored. The step class is in the "
+          + RepoCodec.REPO_TAG_KEY + " tag and the encoding (binary or java) is in the "
+          + RepoCodec.CODEC_TAG_KEY + " tag.",
+      MetricDocSection.FATE, "Fate Repo Size", null, BYTES),
 
   // Garbage Collection Metrics
   GC_STARTED("accumulo.gc.started", MetricType.GAUGE, "Timestamp GC file collection cycle started.",
@@ -192,6 +221,25 @@ public enum Metric {
   GC_RUN_CYCLE("accumulo.gc.run.cycle", MetricType.GAUGE,
       "Count of gc cycle runs. Value is reset on process start.",
       MetricDocSection.GARBAGE_COLLECTION, "GC Cycle Count", null, NUMBER),
+  GC_REFERENCE_SCANS("accumulo.gc.reference.scans", MetricType.GAUGE,
+      "Number of times all file references were scanned in the last GC file collection cycle. The"
+          + " references are scanned once for each batch of candidates unless "
+          + "gc.reference.scan.single.pass is enabled.",
+      MetricDocSection.GARBAGE_COLLECTION, "GC Reference Scans", null, NUMBER),
+  GC_REFERENCES_SCANNED("accumulo.gc.references.scanned", MetricType.GAUGE,
+      "Number of file references read in the last GC file collection cycle.",
+      MetricDocSection.GARBAGE_COLLECTION, "GC References Scanned", null, NUMBER),
+  GC_REFERENCE_BYTES_SCANNED("accumulo.gc.reference.bytes.scanned", MetricType.GAUGE,
+      "Bytes of file reference paths read in the last GC file collection cycle.",
+      MetricDocSection.GARBAGE_COLLECTION, "GC Reference Bytes Scanned", null, BYTES),
+  GC_SPILL_BYTES("accumulo.gc.spill.bytes", MetricType.GAUGE,
+      "Bytes written to local files to sort candidates and references in the last GC file"
+          + " collection cycle.",
+      MetricDocSection.GARBAGE_COLLECTION, "GC Spilled Bytes", null, BYTES),
+  GC_REFERENCE_SCAN_PARTITION_TIME("accumulo.gc.reference.scan.partition.time", MetricType.TIMER,
+      "Time taken to read the file references in each range of the metadata table when"
+          + " gc.threads.reference.scan is more than one.",
+      MetricDocSection.GARBAGE_COLLECTION, "GC Reference Scan Partition Time", null, NUMBER),
 
   // Tablet Server Metrics
   TSERVER_ENTRIES("accumulo.tserver.entries", MetricType.GAUGE,
@@ -265,6 +313,9 @@ public enum Metric {
       MetricDocSection.SCAN, "Scan Result Count", null, NUMBER),
   SCAN_YIELDS("accumulo.scan.yields", MetricType.DISTRIBUTION_SUMMARY,
       "Counts scans that have yielded.", MetricDocSection.SCAN, "Scan Yield Count", null, NUMBER),
+  SCAN_VISIBILITY_CACHE("accumulo.scan.visibility.cache", MetricType.CACHE,
+      "Metrics for the column visibility decisions cached and shared by all scans on a server.",
+      MetricDocSection.SCAN, "Scan Visibility Cache", null, NUMBER),
   SCAN_START("accumulo.scan.start", MetricType.FUNCTION_COUNTER,
       "Number of calls to start a scan or multiscan.", MetricDocSection.SCAN, "Scan Start Count",
       null, NUMBER),
@@ -333,6 +384,13 @@ public enum Metric {
   UPDATE_WALOG_WRITE("accumulo.updates.walog.write", MetricType.TIMER,
       "Time taken to write a batch of mutations to WAL.", MetricDocSection.TABLET_SERVER,
       "WAL Write Time", null, NUMBER),
+  UPDATE_WALOG_SYNC("accumulo.updates.walog.sync", MetricType.TIMER,
+      "Time taken to sync or flush a group of writes to the WAL.", MetricDocSection.TABLET_SERVER,
+      "WAL Sync Time", null, NUMBER),
+  UPDATE_WALOG_SYNC_GROUP_SIZE("accumulo.updates.walog.sync.group.size",
+      MetricType.DISTRIBUTION_SUMMARY,
+      "Number of WAL writes made durable by a single sync or flush.",
+      MetricDocSection.TABLET_SERVER, "WAL Sync Group Size", null, NUMBER),
   UPDATE_MUTATION_ARRAY_SIZE("accumulo.updates.mutation.arrays.size",
       MetricType.DISTRIBUTION_SUMMARY, "Batch size of mutations from client.",
       MetricDocSection.TABLET_SERVER, "Mutation Batch Size", null, NUMBER),
@@ -355,6 +413,15 @@ public enum Metric {
   BLOCKCACHE_DATA_EVICTIONCOUNT("accumulo.blockcache.data.evictioncount",
       MetricType.FUNCTION_COUNTER, "Data block cache eviction count.", MetricDocSection.BLOCK_CACHE,
       "Data Cache Eviction", null, NUMBER),
+  BLOCKCACHE_DATA_READAHEAD_ISSUED("accumulo.blockcache.data.readahead.issued",
+      MetricType.FUNCTION_COUNTER, "Number of data blocks read ahead of sequential scans.",
+      MetricDocSection.BLOCK_CACHE, "Data Read Ahead", null, NUMBER),
+  BLOCKCACHE_DATA_READAHEAD_HITS("accumulo.blockcache.data.readahead.hits",
+      MetricType.FUNCTION_COUNTER, "Number of data blocks read ahead that a scan then read.",
+      MetricDocSection.BLOCK_CACHE, "Data Read Ahead Hit", null, NUMBER),
+  BLOCKCACHE_DATA_READAHEAD_WASTED("accumulo.blockcache.data.readahead.wasted",
+      MetricType.FUNCTION_COUNTER, "Number of data blocks read ahead that a scan never read.",
+      MetricDocSection.BLOCK_CACHE, "Data Read Ahead Wasted", null, NUMBER),
   BLOCKCACHE_SUMMARY_HITCOUNT("accumulo.blockcache.summary.hitcount", MetricType.FUNCTION_COUNTER,
       "Summary block cache hit count.", MetricDocSection.BLOCK_CACHE,
       "Summary Block Cache Hit Count", null, NUMBER),
@@ -364,6 +431,26 @@ public enum Metric {
   BLOCKCACHE_SUMMARY_EVICTIONCOUNT("accumulo.blockcache.summary.evictioncount",
       MetricType.FUNCTION_COUNTER, "Summary block cache eviction count.",
       MetricDocSection.BLOCK_CACHE, "Summary Block Cache Eviction Count", null, NUMBER),
+  BLOCKCACHE_TIER_HITCOUNT("accumulo.blockcache.tier.hitcount", MetricType.FUNCTION_COUNTER,
+      "Block cache hit count for one tier of a tiered block cache. The cache type can be found in"
+          + " the " + TieredBlockCache.CACHE_TYPE_TAG_KEY + " tag and the tier in the "
+          + TieredBlockCache.TIER_TAG_KEY + " tag.",
+      MetricDocSection.BLOCK_CACHE, "Tier Cache Hit", null, NUMBER),
+  BLOCKCACHE_TIER_REQUESTCOUNT("accumulo.blockcache.tier.requestcount", MetricType.FUNCTION_COUNTER,
+      "Block cache request count for one tier of a tiered block cache. The cache type can be found"
+          + " in the " + TieredBlockCache.CACHE_TYPE_TAG_KEY + " tag and the tier in the "
+          + TieredBlockCache.TIER_TAG_KEY + " tag.",
+      MetricDocSection.BLOCK_CACHE, "Tier Cache Request", null, NUMBER),
+  BLOCKCACHE_TIER_EVICTIONCOUNT("accumulo.blockcache.tier.evictioncount",
+      MetricType.FUNCTION_COUNTER,
+      "Block cache eviction count for one tier of a tiered block cache. The cache type can be found"
+          + " in the " + TieredBlockCache.CACHE_TYPE_TAG_KEY + " tag and the tier in the "
+          + TieredBlockCache.TIER_TAG_KEY + " tag.",
+      MetricDocSection.BLOCK_CACHE, "Tier Cache Eviction", null, NUMBER),
+  BLOCKCACHE_TIER_READ_TIME("accumulo.blockcache.tier.read.time", MetricType.TIMER,
+      "Time spent reading blocks from the local disk tier of a tiered block cache. The cache type"
+          + " can be found in the " + TieredBlockCache.CACHE_TYPE_TAG_KEY + " tag.",
+      MetricDocSection.BLOCK_CACHE, "Tier Cache Read Time", null, NUMBER),
 
   // Manager Metrics
   MANAGER_BALANCER_MIGRATIONS_NEEDED("accumulo.balancer.migrations.needed", MetricType.GAUGE,
@@ -387,6 +474,51 @@ public enum Metric {
   MANAGER_USER_TGW_RECOVERY("accumulo.tabletmgmt.user.recovery", MetricType.GAUGE,
       "Recovery count encountered by the TabletGroupWatcher for the USER data level.",
       MetricDocSection.MANAGER, "User Tablet Watcher Recoveries", null, NUMBER),
+  MANAGER_ROOT_TGW_FULL_SCAN_TIME("accumulo.tabletmgmt.root.scan.full.time", MetricType.TIMER,
+      "Time the TabletGroupWatcher for the ROOT data level spent on full scans of its tablets.",
+      MetricDocSection.MANAGER, "Root Tablet Watcher Full Scan Time", null, NUMBER),
+  MANAGER_ROOT_TGW_RANGE_SCAN_TIME("accumulo.tabletmgmt.root.scan.range.time", MetricType.TIMER,
+      "Time the TabletGroupWatcher for the ROOT data level spent scanning the tablets affected by"
+          + " events between full scans.",
+      MetricDocSection.MANAGER, "Root Tablet Watcher Range Scan Time", null, NUMBER),
+  MANAGER_META_TGW_FULL_SCAN_TIME("accumulo.tabletmgmt.meta.scan.full.time", MetricType.TIMER,
+      "Time the TabletGroupWatcher for the META data level spent on full scans of its tablets.",
+      MetricDocSection.MANAGER, "Meta Tablet Watcher Full Scan Time", null, NUMBER),
+  MANAGER_META_TGW_RANGE_SCAN_TIME("accumulo.tabletmgmt.meta.scan.range.time", MetricType.TIMER,
+      "Time the TabletGroupWatcher for the META data level spent scanning the tablets affected by"
+          + " events between full scans.",
+      MetricDocSection.MANAGER, "Meta Tablet Watcher Range Scan Time", null, NUMBER),
+  MANAGER_USER_TGW_FULL_SCAN_TIME("accumulo.tabletmgmt.user.scan.full.time", MetricType.TIMER,
+      "Time the TabletGroupWatcher for the USER data level spent on full scans of its tablets.",
+      MetricDocSection.MANAGER, "User Tablet Watcher Full Scan Time", null, NUMBER),
+  MANAGER_USER_TGW_RANGE_SCAN_TIME("accumulo.tabletmgmt.user.scan.range.time", MetricType.TIMER,
+      "Time the TabletGroupWatcher for the USER data level spent scanning the tablets affected by"
+          + " events between full scans.",
+      MetricDocSection.MANAGER, "User Tablet Watcher Range Scan Time", null, NUMBER),
+  MANAGER_ROOT_TGW_MIGRATION_READS("accumulo.tabletmgmt.root.migration.reads", MetricType.COUNTER,
+      "Batched metadata reads the TabletGroupWatcher for the ROOT data level made to read the"
+          + " migrations of unassigned tablets.",
+      MetricDocSection.MANAGER, "Root Tablet Watcher Migration Reads", null, NUMBER),
+  MANAGER_ROOT_TGW_MIGRATION_TABLETS_READ("accumulo.tabletmgmt.root.migration.tablets.read",
+      MetricType.COUNTER,
+      "Unassigned tablets whose migration the TabletGroupWatcher for the ROOT data level read.",
+      MetricDocSection.MANAGER, "Root Tablet Watcher Migration Tablets Read", null, NUMBER),
+  MANAGER_META_TGW_MIGRATION_READS("accumulo.tabletmgmt.meta.migration.reads", MetricType.COUNTER,
+      "Batched metadata reads the TabletGroupWatcher for the META data level made to read the"
+          + " migrations of unassigned tablets.",
+      MetricDocSection.MANAGER, "Meta Tablet Watcher Migration Reads", null, NUMBER),
+  MANAGER_META_TGW_MIGRATION_TABLETS_READ("accumulo.tabletmgmt.meta.migration.tablets.read",
+      MetricType.COUNTER,
+      "Unassigned tablets whose migration the TabletGroupWatcher for the META data level read.",
+      MetricDocSection.MANAGER, "Meta Tablet Watcher Migration Tablets Read", null, NUMBER),
+  MANAGER_USER_TGW_MIGRATION_READS("accumulo.tabletmgmt.user.migration.reads", MetricType.COUNTER,
+      "Batched metadata reads the TabletGroupWatcher for the USER data level made to read the"
+          + " migrations of unassigned tablets.",
+      MetricDocSection.MANAGER, "User Tablet Watcher Migration Reads", null, NUMBER),
+  MANAGER_USER_TGW_MIGRATION_TABLETS_READ("accumulo.tabletmgmt.user.migration.tablets.read",
+      MetricType.COUNTER,
+      "Unassigned tablets whose migration the TabletGroupWatcher for the USER data level read.",
+      MetricDocSection.MANAGER, "User Tablet Watcher Migration Tablets Read", null, NUMBER),
   MANAGER_GOAL_STATE("accumulo.manager.goal.state", MetricType.GAUGE,
       "Manager goal state: -1=unknown, 0=CLEAN_STOP, 1=SAFE_MODE, 2=NORMAL.",
       MetricDocSection.MANAGER, "Manager Goal State", null, NUMBER),
@@ -401,6 +533,15 @@ public enum Metric {
   RECOVERIES_SORTS_AVG_PROGRESS("accumulo.recoveries.sorts.avg.progress", MetricType.GAUGE,
       "The average percentage (0.0 - 99.9) of the in progress log sorts.",
       MetricDocSection.GENERAL_SERVER, "Tablet Recovery Avg Percent Complete", null, PERCENT),
+  RECOVERIES_SORTS_READ_TIME("accumulo.recoveries.sorts.read.time", MetricType.TIMER,
+      "Time spent reading and decrypting a buffer of a log being sorted.",
+      MetricDocSection.GENERAL_SERVER, "Log Sort Read Time", null, NUMBER),
+  RECOVERIES_SORTS_SORT_TIME("accumulo.recoveries.sorts.sort.time", MetricType.TIMER,
+      "Time spent sorting a buffer of a log being sorted.", MetricDocSection.GENERAL_SERVER,
+      "Log Sort Sort Time", null, NUMBER),
+  RECOVERIES_SORTS_WRITE_TIME("accumulo.recoveries.sorts.write.time", MetricType.TIMER,
+      "Time spent writing a sorted buffer of a log to a file.", MetricDocSection.GENERAL_SERVER,
+      "Log Sort Write Time", null, NUMBER),
   RECOVERIES_TABLETS_STARTED("accumulo.recoveries.tablets.started", MetricType.GAUGE,
       "The number of tablet recoveries started", MetricDocSection.GENERAL_SERVER,
       "Tablet Recoveries Started", null, NUMBER),
@@ -46,6 +46,20 @@ public interface BlockCache {
    */
   CacheEntry getBlock(String blockName);
 
+  /**
+   * Checks if a block is in the cache, without counting the check as a hit or a miss in the
+   * statistics of the cache or changing how recently the block was used. The default implementation
+   * fetches the block, which does count.
+   *
+   * @param blockName Block name to check.
+   * @return true if the block is in the cache
+   *
+   * @since 4.0.0
+   */
+  default boolean containsBlock(String blockName) {
+    return getBlock(blockName) != null;
+  }
+
   interface Loader {
     /**
      * The cache blocks that this loader depends on. If a loader has no dependencies, then it should
@@ -83,6 +83,11 @@ public class SummaryReader {
       return ce;
     }
 
+    @Override
+    public boolean containsBlock(String blockName) {
+      return summaryCache.containsBlock(blockName) || indexCache.containsBlock(blockName);
+    }
+
     @Override
     public CacheEntry getBlock(String blockName, Loader loader) {
       Loader idxLoader = new Loader() {
@@ -42,6 +42,7 @@ public class Caches implements MetricsProducer {
     COMPACTION_DIR_CACHE,
     COMPACTION_DISPATCHERS,
     COMPACTION_SERVICE_ID,
+    COMPILED_VISIBILITIES,
     COMPRESSION_ALGORITHM,
     CRYPT_PASSWORDS,
     HOST_REGEX_BALANCER_TABLE_REGEX,
@@ -61,6 +62,7 @@ public class Caches implements MetricsProducer {
     TABLE_PARENT_CONFIGS,
     TSRM_FILE_LENGTHS,
     TINYLFU_BLOCK_CACHE,
+    VISIBILITY_DECISIONS,
     VOLUME_HDFS_CONFIGS,
     ZOO_CACHE
   }
@@ -24,7 +24,8 @@ import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * ThreadFactory that sets the name and optionally the priority on a newly created Thread.
+ * ThreadFactory that sets the name and optionally the priority on a newly created Thread. It can
+ * also create virtual threads, which ignore the priority.
  */
 class NamedThreadFactory implements ThreadFactory {
 
@@ -34,15 +35,22 @@ class NamedThreadFactory implements ThreadFactory {
   private final String name;
   private final OptionalInt priority;
   private final UncaughtExceptionHandler handler;
+  private final boolean virtual;
 
   NamedThreadFactory(String name, UncaughtExceptionHandler ueh) {
     this(name, OptionalInt.empty(), ueh);
   }
 
   NamedThreadFactory(String name, OptionalInt priority, UncaughtExceptionHandler ueh) {
+    this(name, priority, ueh, false);
+  }
+
+  NamedThreadFactory(String name, OptionalInt priority, UncaughtExceptionHandler ueh,
+      boolean virtual) {
     this.name = name;
     this.priority = priority;
     this.handler = ueh;
+    this.virtual = virtual;
   }
 
   @Override
@@ -54,6 +62,9 @@ class NamedThreadFactory implements ThreadFactory {
       threadName =
           String.format(FORMAT, name, r.getClass().getSimpleName(), threadNum.getAndIncrement());
     }
+    if (virtual) {
+      return Threads.createVirtualThread(threadName, r, handler);
+    }
     return Threads.createNonCriticalThread(threadName, priority, r, handler);
   }
 }
@@ -23,6 +23,7 @@ public enum ThreadPoolNames {
   ACCUMULO_POOL_PREFIX("accumulo.pool"),
   BATCH_WRITER_SEND_POOL("accumulo.pool.batch.writer.send"),
   BATCH_WRITER_BIN_MUTATIONS_POOL("accumulo.pool.batch.writer.bin.mutations"),
+  BLOCK_CACHE_L2_WRITER_POOL("accumulo.pool.block.cache.l2.writer"),
   BLOOM_LOADER_POOL("accumulo.pool.bloom.loader"),
   BULK_IMPORT_CLIENT_LOAD_POOL("accumulo.pool.bulk.import.client.bulk.load"),
   BULK_IMPORT_CLIENT_BULK_THREADS_POOL("accumulo.pool.bulk.import.client.bulk.threads"),
@@ -30,11 +31,13 @@ public enum ThreadPoolNames {
   COMPACTOR_RUNNING_COMPACTION_IDS_POOL("accumulo.pool.compactor.running.compaction.ids"),
   CONDITIONAL_WRITER_POOL("accumulo.pool.conditional.writer"),
   CONDITIONAL_WRITER_CLEANUP_POOL("accumulo.pool.client.context.conditional.writer.cleanup"),
+  CLIENT_TABLET_CACHE_REFRESH_POOL("accumulo.pool.client.context.tablet.location.cache.refresh"),
   COORDINATOR_RESERVATION_ROOT_POOL("accumulo.pool.compaction.coordinator.reservation.root"),
   COORDINATOR_RESERVATION_META_POOL("accumulo.pool.compaction.coordinator.reservation.meta"),
   COORDINATOR_RESERVATION_USER_POOL("accumulo.pool.compaction.coordinator.reservation.user"),
   GC_DELETE_POOL("accumulo.pool.gc.threads.delete"),
   GC_WAL_DELETE_POOL("accumulo.pool.gc.threads.delete.wal"),
+  GC_REFERENCE_SCAN_POOL("accumulo.pool.gc.threads.reference.scan"),
   GENERAL_SERVER_POOL("accumulo.pool.general.server"),
   SERVICE_LOCK_POOL("accumulo.pool.service.lock"),
   FILE_RENAME_POOL("accumulo.pool.file.rename"),
@@ -44,6 +47,7 @@ public enum ThreadPoolNames {
   USER_DEAD_RESERVATION_CLEANER_POOL("accumulo.pool.manager.fate.user.dead.reservation.cleaner"),
   META_DEAD_RESERVATION_CLEANER_POOL("accumulo.pool.manager.fate.meta.dead.reservation.cleaner"),
   MANAGER_STATUS_POOL("accumulo.pool.manager.status"),
+  MANAGER_TABLET_WATCHER_FLUSH_POOL_PREFIX("accumulo.pool.manager.tablet.watcher.flush."),
   MANAGER_UPGRADE_COORDINATOR_METADATA_POOL("accumulo.pool.manager.upgrade.metadata"),
   METADATA_TABLET_MIGRATION_POOL("accumulo.pool.metadata.tablet.migration"),
   METADATA_TABLET_ASSIGNMENT_POOL("accumulo.pool.metadata.tablet.assignment"),
@@ -58,6 +62,7 @@ public enum ThreadPoolNames {
   TSERVER_ASSIGNMENT_POOL("accumulo.pool.tserver.assignment"),
   TSERVER_MIGRATIONS_POOL("accumulo.pool.tserver.migrations"),
   TSERVER_MINOR_COMPACTOR_POOL("accumulo.pool.tserver.minor.compactor"),
+  TSERVER_SCAN_READ_AHEAD_POOL("accumulo.pool.tserver.scan.readahead"),
   TSERVER_SUMMARY_FILE_RETRIEVER_POOL("accumulo.pool.tserver.summary.file.retriever.pool"),
   TSERVER_SUMMARY_PARTITION_POOL("accumulo.pool.tserver.summary.partition"),
   TSERVER_SUMMARY_REMOTE_POOL("accumulo.pool.tserver.summary.remote"),
@@ -65,6 +70,7 @@ public enum ThreadPoolNames {
   TSERVER_TABLET_MIGRATION_POOL("accumulo.pool.tserver.tablet.migration"),
   TSERVER_WAL_CREATOR_POOL("accumulo.pool.tserver.wal.creator"),
   TSERVER_WAL_SORT_CONCURRENT_POOL("accumulo.pool.tserver.wal.sort.concurrent"),
+  TSERVER_WAL_SORT_WRITE_POOL("accumulo.pool.tserver.wal.sort.write"),
   TSERVER_CONDITIONAL_UPDATE_ROOT_POOL("accumulo.pool.tserver.conditionalupdate.root"),
   TSERVER_CONDITIONAL_UPDATE_META_POOL("accumulo.pool.tserver.conditionalupdate.meta"),
   TSERVER_CONDITIONAL_UPDATE_USER_POOL("accumulo.pool.tserver.conditionalupdate.user"),
@@ -26,6 +26,7 @@ import static org.apache.accumulo.core.util.threads.ThreadPoolNames.COORDINATOR_
 import static org.apache.accumulo.core.util.threads.ThreadPoolNames.COORDINATOR_RESERVATION_ROOT_POOL;
 import static org.apache.accumulo.core.util.threads.ThreadPoolNames.COORDINATOR_RESERVATION_USER_POOL;
 import static org.apache.accumulo.core.util.threads.ThreadPoolNames.GC_DELETE_POOL;
+import static org.apache.accumulo.core.util.threads.ThreadPoolNames.GC_REFERENCE_SCAN_POOL;
 import static org.apache.accumulo.core.util.threads.ThreadPoolNames.GC_WAL_DELETE_POOL;
 import static org.apache.accumulo.core.util.threads.ThreadPoolNames.GENERAL_SERVER_POOL;
 import static org.apache.accumulo.core.util.threads.ThreadPoolNames.MANAGER_STATUS_POOL;
@@ -383,6 +384,8 @@ public class ThreadPools {
         return getPoolBuilder(GC_WAL_DELETE_POOL).numCoreThreads(conf.getCount(p)).build();
       case GC_DELETE_THREADS:
         return getPoolBuilder(GC_DELETE_POOL).numCoreThreads(conf.getCount(p)).build();
+      case GC_REFERENCE_SCAN_THREADS:
+        return getPoolBuilder(GC_REFERENCE_SCAN_POOL).numCoreThreads(conf.getCount(p)).build();
       case COMPACTION_COORDINATOR_RESERVATION_THREADS_ROOT:
         builder = getPoolBuilder(COORDINATOR_RESERVATION_ROOT_POOL).numCoreThreads(conf.getCount(p))
             .withTimeOut(60L, MILLISECONDS);
@@ -446,6 +449,7 @@ public class ThreadPools {
     BlockingQueue<Runnable> queue = new LinkedBlockingQueue<>();
     OptionalInt priority = OptionalInt.empty();
     boolean emitThreadPoolMetrics = false;
+    boolean virtualThreads = false;
 
     /**
      * A fluent-style build to create a ThreadPoolExecutor. The name is used when creating
@@ -468,8 +472,11 @@ public class ThreadPools {
           priority.orElse(1) >= Thread.MIN_PRIORITY && priority.orElse(1) <= Thread.MAX_PRIORITY,
           "invalid thread priority, range must be Thread.MIN_PRIORITY <= priority <= Thread.MAX_PRIORITY");
 
+      Preconditions.checkArgument(!virtualThreads || Threads.virtualThreadsSupported(),
+          "virtual threads are not supported by this JVM");
+
       return createThreadPool(coreThreads, maxThreads, timeOut, units, name, queue, priority,
-          emitThreadPoolMetrics);
+          emitThreadPoolMetrics, virtualThreads);
     }
 
     /**
@@ -556,6 +563,18 @@ public class ThreadPools {
       this.emitThreadPoolMetrics = enable;
       return this;
     }
+
+    /**
+     * Optionally run the tasks of the pool on virtual threads. The pool size then limits how many
+     * tasks run concurrently instead of how many platform threads are created. The priority is
+     * ignored for virtual threads. Requires {@link Threads#virtualThreadsSupported()}.
+     *
+     * @return a fluent-style builder instance
+     */
+    public ThreadPoolExecutorBuilder useVirtualThreads(final boolean virtual) {
+      this.virtualThreads = virtual;
+      return this;
+    }
   }
 
   /**
@@ -574,17 +593,18 @@ public class ThreadPools {
    *        therefore its recommended that this option only be set true for long-lived thread pools.
    *        Creating lots of short-lived thread pools and registering them can lead to out of memory
    *        errors over long time periods.
+   * @param virtualThreads When set to true the pool creates virtual threads
    * @return ThreadPoolExecutor
    */
   private ThreadPoolExecutor createThreadPool(final int coreThreads, final int maxThreads,
       final long timeOut, final TimeUnit units, final String name,
       final BlockingQueue<Runnable> queue, final OptionalInt priority,
-      final boolean emitThreadPoolMetrics) {
+      final boolean emitThreadPoolMetrics, final boolean virtualThreads) {
     LOG.trace(
         "Creating ThreadPoolExecutor for {} with {} core threads and {} max threads {} {} timeout",
         name, coreThreads, maxThreads, timeOut, units);
     var result = new ThreadPoolExecutor(coreThreads, maxThreads, timeOut, units, queue,
-        new NamedThreadFactory(name, priority, handler)) {
+        new NamedThreadFactory(name, priority, handler, virtualThreads)) {
 
       @Override
       public void execute(@NonNull Runnable arg0) {
@@ -19,6 +19,8 @@
 package org.apache.accumulo.core.util.threads;
 
 import java.lang.Thread.UncaughtExceptionHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.util.OptionalInt;
 
 import org.apache.accumulo.core.trace.TraceUtil;
@@ -27,6 +29,37 @@ public class Threads {
 
   public static final UncaughtExceptionHandler UEH = new AccumuloUncaughtExceptionHandler();
 
+  // Virtual threads are only available in Java 21 and later, so they are created using reflection
+  // while the required Java version is lower. These are null when virtual threads are not
+  // available.
+  private static final Method OF_VIRTUAL;
+  private static final Method BUILDER_NAME;
+  private static final Method BUILDER_UEH;
+  private static final Method BUILDER_UNSTARTED;
+
+  static {
+    Method ofVirtual = null;
+    Method builderName = null;
+    Method builderUeh = null;
+    Method builderUnstarted = null;
+    try {
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      ofVirtual = Thread.class.getMethod("ofVirtual");
+      builderName = builderClass.getMethod("name", String.class);
+      builderUeh =
+          builderClass.getMethod("uncaughtExceptionHandler", UncaughtExceptionHandler.class);
+      builderUnstarted = builderClass.getMethod("unstarted", Runnable.class);
+      // in Java 19 and 20 virtual threads are a preview feature that may not be enabled
+      builderUnstarted.invoke(ofVirtual.invoke(null), (Runnable) () -> {});
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      ofVirtual = null;
+    }
+    OF_VIRTUAL = ofVirtual;
+    BUILDER_NAME = builderName;
+    BUILDER_UEH = builderUeh;
+    BUILDER_UNSTARTED = builderUnstarted;
+  }
+
   public static class AccumuloDaemonThread extends Thread {
 
     public AccumuloDaemonThread(Runnable target, String name, UncaughtExceptionHandler ueh) {
@@ -66,6 +99,35 @@ public class Threads {
     return thread;
   }
 
+  /**
+   * @return true if the running JVM can create virtual threads
+   */
+  public static boolean virtualThreadsSupported() {
+    return OF_VIRTUAL != null;
+  }
+
+  /**
+   * Creates an unstarted virtual thread. Virtual threads are always daemon threads and always have
+   * normal priority.
+   *
+   * @throws UnsupportedOperationException if {@link #virtualThreadsSupported()} is false
+   */
+  public static Thread createVirtualThread(String name, Runnable r, UncaughtExceptionHandler ueh) {
+    if (!virtualThreadsSupported()) {
+      throw new UnsupportedOperationException("Virtual threads require Java 21 or later");
+    }
+    try {
+      Object builder = OF_VIRTUAL.invoke(null);
+      BUILDER_NAME.invoke(builder, name);
+      BUILDER_UEH.invoke(builder, ueh);
+      return (Thread) BUILDER_UNSTARTED.invoke(builder, TraceUtil.wrap(r));
+    } catch (InvocationTargetException e) {
+      throw new IllegalStateException("Failed to create virtual thread " + name, e.getCause());
+    } catch (IllegalAccessException e) {
+      throw new IllegalStateException("Failed to create virtual thread " + name, e);
+    }
+  }
+
   public static Thread createCriticalThread(String name, Runnable r) {
     return createCriticalThread(name, OptionalInt.empty(), r);
   }
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.bloomfilter;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.apache.accumulo.core.util.LazySingletons.RANDOM;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.hadoop.util.bloom.Key;
+import org.junit.jupiter.api.Test;
+
+public class XorFilterTest {
+
+  @Test
+  public void testMembership() throws IOException {
+    Set<Long> added = new HashSet<>();
+    long[] hashes = new long[100_000];
+    for (int i = 0; i < hashes.length; i++) {
+      // every key is added twice
+      hashes[i] = i % 2 == 0 ? RANDOM.get().nextLong() : hashes[i - 1];
+      added.add(hashes[i]);
+    }
+    long[] copy = Arrays.copyOf(hashes, hashes.length);
+
+    XorFilter filter = XorFilter.build(hashes, hashes.length);
+    // about 1.23 bytes for each distinct key
+    assertTrue(filter.getSize() < added.size() * 1.25 + 32);
+
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    filter.write(new DataOutputStream(baos));
+    XorFilter read =
+        XorFilter.read(new DataInputStream(new ByteArrayInputStream(baos.toByteArray())));
+
+    for (XorFilter f : new XorFilter[] {filter, read}) {
+      for (long hash : copy) {
+        assertTrue(f.membershipTest(hash));
+      }
+
+      int falsePositives = 0;
+      for (int i = 0; i < 100_000; i++) {
+        long hash = RANDOM.get().nextLong();
+        if (!added.contains(hash) && f.membershipTest(hash)) {
+          falsePositives++;
+        }
+      }
+      // the expected rate is 1/256
+      assertTrue(falsePositives < 600, "false positives " + falsePositives);
+    }
+  }
+
+  @Test
+  public void testKeys() {
+    long[] hashes = new long[3];
+    hashes[0] = XorFilter.hash(new Key("row1".getBytes(UTF_8)));
+    hashes[1] = XorFilter.hash(new Key("row2".getBytes(UTF_8)));
+    hashes[2] = XorFilter.hash(new Key("row3".getBytes(UTF_8)));
+    XorFilter filter = XorFilter.build(hashes, 2);
+
+    assertTrue(filter.membershipTest(new Key("row1".getBytes(UTF_8))));
+    assertTrue(filter.membershipTest(new Key("row2".getBytes(UTF_8))));
+  }
+
+  @Test
+  public void testEmpty() {
+    XorFilter filter = XorFilter.build(new long[0], 0);
+    assertEquals(30, filter.getSize());
+    int found = 0;
+    for (int i = 0; i < 1000; i++) {
+      if (filter.membershipTest(RANDOM.get().nextLong())) {
+        found++;
+      }
+    }
+    assertFalse(found > 20);
+  }
+}
@@ -1460,6 +1460,64 @@ public class ClientTabletCacheImplTest {
     locateTabletTest(tab0TabletCache, "0bbff", ke2, "tserver5");
   }
 
+  @Test
+  public void testPrefetch() throws Exception {
+    KeyExtent mte1 =
+        new KeyExtent(SystemTables.METADATA.tableId(), new Text("0;m"), ROOT_TABLE_EXTENT.endRow());
+    KeyExtent mte2 = new KeyExtent(SystemTables.METADATA.tableId(), null, new Text("0;m"));
+
+    TServers tservers = new TServers();
+    TestCachedTabletObtainer ttlo = new TestCachedTabletObtainer(tservers);
+
+    RootClientTabletCache rtl = new TestRootClientTabletCache();
+    ClientTabletCacheImpl rootTabletCache =
+        new ClientTabletCacheImpl(SystemTables.METADATA.tableId(), rtl, ttlo, new YesLockChecker());
+    ClientTabletCacheMetrics metrics = new ClientTabletCacheMetrics();
+    ClientTabletCacheImpl tab0TabletCache = new ClientTabletCacheImpl(TableId.of("0"),
+        rootTabletCache, ttlo, new YesLockChecker(), metrics, context, Runnable::run);
+
+    setLocation(tservers, "tserver1", ROOT_TABLE_EXTENT, mte1, "tserver2");
+    setLocation(tservers, "tserver1", ROOT_TABLE_EXTENT, mte2, "tserver3");
+
+    // six tablets, three in each metadata tablet
+    List<KeyExtent> extents = new ArrayList<>();
+    String prevEndRow = null;
+    for (String endRow : new String[] {"c", "f", "m", "r", "w", null}) {
+      KeyExtent extent = createNewKeyExtent("0", endRow, prevEndRow);
+      setLocation(tservers, endRow != null && endRow.compareTo("m") <= 0 ? "tserver2" : "tserver3",
+          endRow != null && endRow.compareTo("m") <= 0 ? mte1 : mte2, extent, "tserver4");
+      extents.add(extent);
+      prevEndRow = endRow;
+    }
+
+    // one lookup per metadata tablet reads every tablet
+    tab0TabletCache.prefetch(context, new Range());
+    assertEquals(2, metrics.getMetadataLookupCount());
+    String[] rows = {"a", "d", "g", "n", "s", "x"};
+    for (int i = 0; i < rows.length; i++) {
+      locateTabletTest(tab0TabletCache, rows[i], extents.get(i), "tserver4");
+    }
+    assertEquals(2, metrics.getMetadataLookupCount());
+    assertEquals(0, metrics.getMissCount());
+
+    // prefetching a range only reads the metadata tablets the range overlaps
+    tab0TabletCache.invalidateCache();
+    tab0TabletCache.prefetch(context, createNewRange("a", "e"));
+    assertEquals(3, metrics.getMetadataLookupCount());
+    locateTabletTest(tab0TabletCache, "g", extents.get(2), "tserver4");
+    assertEquals(3, metrics.getMetadataLookupCount());
+    locateTabletTest(tab0TabletCache, "s", extents.get(4), "tserver4");
+    assertEquals(4, metrics.getMetadataLookupCount());
+    assertEquals(1, metrics.getMissCount());
+
+    // an invalidated tablet is read again in the background
+    setLocation(tservers, "tserver3", mte2, extents.get(4), "tserver5");
+    tab0TabletCache.invalidateCache(extents.get(4));
+    assertEquals(1, metrics.getRefreshCount());
+    locateTabletTest(tab0TabletCache, "s", extents.get(4), "tserver5");
+    assertEquals(1, metrics.getMissCount());
+  }
+
   @Test
   public void testBug2() throws Exception {
     // a bug that occurred while running a functional test
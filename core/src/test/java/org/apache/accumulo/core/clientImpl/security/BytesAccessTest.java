@@ -21,12 +21,17 @@ package org.apache.accumulo.core.clientImpl.security;
 import static java.nio.charset.StandardCharsets.ISO_8859_1;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
 import java.util.List;
 
+import org.apache.accumulo.access.InvalidAccessExpressionException;
 import org.apache.accumulo.core.clientImpl.access.BytesAccess;
+import org.apache.accumulo.core.clientImpl.access.BytesAccess.AuthorizationDictionary;
+import org.apache.accumulo.core.security.Authorizations;
 import org.junit.jupiter.api.Test;
 
 public class BytesAccessTest {
@@ -88,4 +93,59 @@ public class BytesAccessTest {
     assertArrayEquals(new byte[] {'A', 'B'}, seenAuths.get(1));
     assertArrayEquals(new byte[] {3, 4, 5}, seenAuths.get(2));
   }
+
+  private static final String[] EXPRESSIONS =
+      {"", "A", "B", "A&B", "A|B", "A&B&C", "A|B|C", "(A|B)&(C|(D&E))", "(A&B)|(C&D)", "Z", "A&Z",
+          "A|Z", "\"b c\"", "A&\"b c\"", "(A|\"b c\")&D", "(A|(B&(C|(D&E))))&(Z|E)"};
+
+  @Test
+  public void testCompiled() {
+    List<Authorizations> authsList = List.of(Authorizations.EMPTY, new Authorizations("A"),
+        new Authorizations("A", "B"), new Authorizations("A", "B", "C"),
+        new Authorizations("C", "D", "E"), new Authorizations("D", "E", "b c"),
+        new Authorizations("A", "B", "C", "D", "E", "b c"));
+
+    var dictionary = new AuthorizationDictionary(100);
+    // add enough authorizations that some ids need more than one long
+    for (int i = 0; i < 70; i++) {
+      dictionary.compile(("L" + i).getBytes(ISO_8859_1));
+    }
+
+    for (Authorizations auths : authsList) {
+      var expected = BytesAccess.newEvaluator(auths);
+      var compiled = dictionary.newEvaluator(auths);
+      assertTrue(compiled.isCompiled());
+      for (String expression : EXPRESSIONS) {
+        byte[] exp = expression.getBytes(ISO_8859_1);
+        assertEquals(expected.canAccess(exp), compiled.canAccess(dictionary.compile(exp)),
+            () -> expression + " " + auths);
+      }
+    }
+
+    // every set of authorizations must be able to see the expression
+    var multi = dictionary.newEvaluator(List.of(authsList.get(2), authsList.get(3)));
+    assertTrue(multi.canAccess(dictionary.compile("A&B".getBytes(ISO_8859_1))));
+    assertFalse(multi.canAccess(dictionary.compile("C".getBytes(ISO_8859_1))));
+
+    assertThrows(InvalidAccessExpressionException.class,
+        () -> dictionary.compile("A&".getBytes(ISO_8859_1)));
+  }
+
+  @Test
+  public void testCompiledFullDictionary() {
+    var dictionary = new AuthorizationDictionary(3);
+    var evaluator = dictionary.newEvaluator(new Authorizations("A", "B"));
+    assertTrue(evaluator.isCompiled());
+
+    // C gets the last id, D does not get an id and is never held by compiled evaluators
+    var expression = dictionary.compile("(A&B)|(C&D)".getBytes(ISO_8859_1));
+    assertTrue(evaluator.canAccess(expression));
+    assertFalse(dictionary.newEvaluator(new Authorizations("C")).canAccess(expression));
+
+    // authorizations that do not fit in the dictionary are evaluated by parsing the expression
+    var fallback = dictionary.newEvaluator(new Authorizations("C", "D"));
+    assertFalse(fallback.isCompiled());
+    assertTrue(fallback.canAccess("(A&B)|(C&D)".getBytes(ISO_8859_1)));
+    assertThrows(IllegalStateException.class, () -> fallback.canAccess(expression));
+  }
 }
@@ -0,0 +1,308 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.fate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.accumulo.core.fate.FateStore.FateTxStore;
+import org.apache.accumulo.core.fate.ReadOnlyFateStore.TStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class AbstractFateStoreTest {
+
+  private static final Set<FatePartition> ALL = Set.of(FatePartition.all(FateInstanceType.USER));
+
+  private static class TestRepo implements Repo<String> {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public long isReady(FateId fateId, String environment) {
+      return 0;
+    }
+
+    @Override
+    public String getName() {
+      return "TestRepo";
+    }
+
+    @Override
+    public Repo<String> call(FateId fateId, String environment) {
+      return null;
+    }
+
+    @Override
+    public void undo(FateId fateId, String environment) {}
+
+    @Override
+    public String getDetails() {
+      return null;
+    }
+
+    @Override
+    public String getReturn() {
+      return null;
+    }
+  }
+
+  private InMemoryFateStore<String> store;
+
+  @BeforeEach
+  public void setup() {
+    store = new InMemoryFateStore<>();
+  }
+
+  private FateId seed() {
+    FateId fateId = store.create();
+    assertTrue(
+        store.seedTransaction(Fate.FateOperation.TABLE_CREATE, fateId, new TestRepo(), false));
+    return fateId;
+  }
+
+  /**
+   * Looks for runnable transactions once, without waiting for any to become runnable.
+   */
+  private Map<FateId,TStatus> runnableOnce(Set<FatePartition> partitions) {
+    AtomicBoolean first = new AtomicBoolean(true);
+    Map<FateId,TStatus> found = new HashMap<>();
+    store.runnable(partitions, () -> first.getAndSet(false),
+        fateIdStatus -> found.put(fateIdStatus.getFateId(), fateIdStatus.getStatus()));
+    return found;
+  }
+
+  @Test
+  public void testRunnableUsesIndex() {
+    FateId fateId1 = seed();
+    FateId fateId2 = seed();
+
+    assertEquals(Map.of(fateId1, TStatus.SUBMITTED, fateId2, TStatus.SUBMITTED), runnableOnce(ALL));
+    assertEquals(1, store.getScanCount());
+
+    // transactions that were handed out but not reserved are still in the index
+    for (int i = 0; i < 3; i++) {
+      assertEquals(Map.of(fateId1, TStatus.SUBMITTED, fateId2, TStatus.SUBMITTED),
+          runnableOnce(ALL));
+    }
+    assertEquals(1, store.getScanCount());
+  }
+
+  @Test
+  public void testSeededScans() {
+    FateId fateId1 = seed();
+    assertEquals(Set.of(fateId1), runnableOnce(ALL).keySet());
+
+    // a transaction that another process made runnable is not in the index
+    FateId fateId2 = store.create();
+    store.setStatus(fateId2, TStatus.SUBMITTED);
+    assertEquals(Set.of(fateId1), runnableOnce(ALL).keySet());
+    assertEquals(1, store.getScanCount());
+
+    store.seeded();
+    assertEquals(Set.of(fateId1, fateId2), runnableOnce(ALL).keySet());
+    assertEquals(2, store.getScanCount());
+    assertEquals(Set.of(fateId1, fateId2), runnableOnce(ALL).keySet());
+    assertEquals(2, store.getScanCount());
+  }
+
+  @Test
+  public void testPartitionChangeScans() {
+    FateId middle = FateId.from(FateInstanceType.USER, new UUID(Long.MIN_VALUE, 0));
+    FatePartition all = FatePartition.all(FateInstanceType.USER);
+    FatePartition lower = new FatePartition(all.start(), middle);
+    FatePartition upper = new FatePartition(middle, all.end());
+
+    // the store creates random ids, so create transactions until there is one in each partition
+    FateId fateId1 = null;
+    FateId fateId2 = null;
+    while (fateId1 == null || fateId2 == null) {
+      FateId fateId = store.create();
+      if (fateId1 == null && lower.contains(fateId)) {
+        fateId1 = fateId;
+      } else if (fateId2 == null && upper.contains(fateId)) {
+        fateId2 = fateId;
+      }
+    }
+    store.setStatus(fateId1, TStatus.SUBMITTED);
+    store.setStatus(fateId2, TStatus.SUBMITTED);
+    var expected = Map.of(fateId1, TStatus.SUBMITTED, fateId2, TStatus.SUBMITTED);
+
+    assertEquals(expected, runnableOnce(ALL));
+    assertEquals(1, store.getScanCount());
+
+    assertEquals(Map.of(fateId1, TStatus.SUBMITTED), runnableOnce(Set.of(lower)));
+    assertEquals(2, store.getScanCount());
+    assertEquals(Map.of(fateId1, TStatus.SUBMITTED), runnableOnce(Set.of(lower)));
+    assertEquals(2, store.getScanCount());
+
+    assertEquals(Map.of(fateId2, TStatus.SUBMITTED), runnableOnce(Set.of(upper)));
+    assertEquals(3, store.getScanCount());
+
+    assertEquals(expected, runnableOnce(ALL));
+    assertEquals(4, store.getScanCount());
+  }
+
+  @Test
+  public void testTimerScans() throws Exception {
+    FateId fateId1 = seed();
+    assertEquals(Set.of(fateId1), runnableOnce(ALL).keySet());
+
+    FateId fateId2 = store.create();
+    store.setStatus(fateId2, TStatus.SUBMITTED);
+    assertEquals(Set.of(fateId1), runnableOnce(ALL).keySet());
+    assertEquals(1, store.getScanCount());
+
+    // the store is scanned periodically to find transactions that were not seen by this instance
+    Thread.sleep(AbstractFateStore.FULL_SCAN_INTERVAL.plusMillis(100).toMillis());
+    assertEquals(Set.of(fateId1, fateId2), runnableOnce(ALL).keySet());
+    assertEquals(2, store.getScanCount());
+  }
+
+  @Test
+  public void testUnreserveRunnable() {
+    FateId fateId1 = seed();
+    FateId fateId2 = seed();
+    assertEquals(Set.of(fateId1, fateId2), runnableOnce(ALL).keySet());
+
+    // reserving a transaction removes it from the index
+    FateTxStore<String> txStore = store.tryReserve(fateId1).orElseThrow();
+    assertEquals(Set.of(fateId2), runnableOnce(ALL).keySet());
+
+    // unreserving it while runnable puts it back with the status it was left in
+    txStore.setStatus(TStatus.IN_PROGRESS);
+    txStore.unreserve(Duration.ZERO);
+    assertEquals(Map.of(fateId1, TStatus.IN_PROGRESS, fateId2, TStatus.SUBMITTED),
+        runnableOnce(ALL));
+
+    txStore = store.tryReserve(fateId1).orElseThrow();
+    txStore.setStatus(TStatus.FAILED_IN_PROGRESS);
+    txStore.unreserve(Duration.ZERO);
+    assertEquals(Map.of(fateId1, TStatus.FAILED_IN_PROGRESS, fateId2, TStatus.SUBMITTED),
+        runnableOnce(ALL));
+
+    assertEquals(1, store.getScanCount());
+  }
+
+  @Test
+  public void testInProgressFirst() {
+    List<FateId> fateIds = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      fateIds.add(seed());
+    }
+    assertEquals(Set.copyOf(fateIds), runnableOnce(ALL).keySet());
+
+    for (int i = 0; i < fateIds.size(); i += 2) {
+      FateTxStore<String> txStore = store.tryReserve(fateIds.get(i)).orElseThrow();
+      txStore.setStatus(TStatus.IN_PROGRESS);
+      txStore.unreserve(Duration.ZERO);
+    }
+
+    // the index hands out the in progress transactions before the others, like a scan does
+    List<TStatus> statuses = new ArrayList<>();
+    AtomicBoolean first = new AtomicBoolean(true);
+    store.runnable(ALL, () -> first.getAndSet(false),
+        fateIdStatus -> statuses.add(fateIdStatus.getStatus()));
+    assertEquals(fateIds.size(), statuses.size());
+    assertEquals(Collections.nCopies(10, TStatus.IN_PROGRESS), statuses.subList(0, 10));
+    assertEquals(Collections.nCopies(10, TStatus.SUBMITTED), statuses.subList(10, 20));
+    assertEquals(1, store.getScanCount());
+  }
+
+  @Test
+  public void testUnreserveNotRunnable() {
+    FateId fateId1 = seed();
+    FateId fateId2 = seed();
+    FateId fateId3 = seed();
+    assertEquals(Set.of(fateId1, fateId2, fateId3), runnableOnce(ALL).keySet());
+
+    FateTxStore<String> txStore = store.tryReserve(fateId1).orElseThrow();
+    txStore.setStatus(TStatus.IN_PROGRESS);
+    txStore.setStatus(TStatus.SUCCESSFUL);
+    txStore.unreserve(Duration.ZERO);
+
+    // the last status seen was runnable, but the transaction no longer exists
+    txStore = store.tryReserve(fateId2).orElseThrow();
+    assertEquals(TStatus.SUBMITTED, txStore.getStatus());
+    txStore.forceDelete();
+    txStore.unreserve(Duration.ZERO);
+
+    assertEquals(Set.of(fateId3), runnableOnce(ALL).keySet());
+    assertEquals(1, store.getScanCount());
+  }
+
+  @Test
+  public void testReserveDuringScan() {
+    FateId fateId1 = seed();
+    FateId fateId2 = seed();
+    assertEquals(Set.of(fateId1, fateId2), runnableOnce(ALL).keySet());
+    store.seeded();
+
+    // reserve a transaction after the scan read it as unreserved, but before the scan put it in
+    // the index again
+    AtomicReference<FateTxStore<String>> reserved = new AtomicReference<>();
+    store.setScanListener(fateId -> {
+      if (fateId.equals(fateId1) && reserved.get() == null) {
+        reserved.set(store.tryReserve(fateId1).orElseThrow());
+      }
+    });
+    assertEquals(Set.of(fateId1, fateId2), runnableOnce(ALL).keySet());
+    store.setScanListener(fateId -> {});
+    FateTxStore<String> txStore = reserved.get();
+    assertNotNull(txStore);
+
+    // the scan put the reserved transaction back in the index after reserving removed it, it is
+    // handed out and can not be reserved
+    assertEquals(Set.of(fateId1, fateId2), runnableOnce(ALL).keySet());
+    assertTrue(store.tryReserve(fateId1).isEmpty());
+
+    // the stale entry is removed when the transaction is unreserved in a state that is not runnable
+    txStore.setStatus(TStatus.IN_PROGRESS);
+    txStore.setStatus(TStatus.SUCCESSFUL);
+    txStore.unreserve(Duration.ZERO);
+    assertEquals(Set.of(fateId2), runnableOnce(ALL).keySet());
+    assertEquals(2, store.getScanCount());
+  }
+
+  @Test
+  public void testScanRemovesStaleEntries() {
+    FateId fateId1 = seed();
+    FateId fateId2 = seed();
+    assertEquals(Set.of(fateId1, fateId2), runnableOnce(ALL).keySet());
+
+    // another process finished the transaction, the next scan drops it from the index
+    store.setStatus(fateId1, TStatus.SUCCESSFUL);
+    assertEquals(Set.of(fateId1, fateId2), runnableOnce(ALL).keySet());
+    store.seeded();
+    assertEquals(Set.of(fateId2), runnableOnce(ALL).keySet());
+    assertEquals(Set.of(fateId2), runnableOnce(ALL).keySet());
+    assertEquals(2, store.getScanCount());
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.fate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.apache.accumulo.core.conf.ConfigurationCopy;
+import org.apache.accumulo.core.conf.Property;
+import org.apache.accumulo.core.fate.ReadOnlyFateStore.TStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+public class FateExecutorTest {
+
+  private static final int NUM_THREADS = 2;
+
+  private static class TestEnv {
+    final Map<FateId,AtomicInteger> calls = new ConcurrentHashMap<>();
+    final AtomicInteger running = new AtomicInteger();
+    final AtomicInteger maxRunning = new AtomicInteger();
+  }
+
+  private static class SlowRepo implements Repo<TestEnv> {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public long isReady(FateId fateId, TestEnv environment) {
+      return 0;
+    }
+
+    @Override
+    public String getName() {
+      return "SlowRepo";
+    }
+
+    @Override
+    public Repo<TestEnv> call(FateId fateId, TestEnv environment) throws Exception {
+      int running = environment.running.incrementAndGet();
+      environment.maxRunning.accumulateAndGet(running, Math::max);
+      try {
+        environment.calls.computeIfAbsent(fateId, k -> new AtomicInteger()).incrementAndGet();
+        // keep the workers busy so the work finder has to wait for one to be idle
+        Thread.sleep(20);
+      } finally {
+        environment.running.decrementAndGet();
+      }
+      return null;
+    }
+
+    @Override
+    public void undo(FateId fateId, TestEnv environment) {}
+
+    @Override
+    public String getDetails() {
+      return null;
+    }
+
+    @Override
+    public String getReturn() {
+      return null;
+    }
+  }
+
+  private static ConfigurationCopy fateConfig() {
+    var config = new ConfigurationCopy();
+    config.set(Property.GENERAL_THREADPOOL_SIZE, "2");
+    config.set(Property.MANAGER_FATE_USER_CONFIG,
+        String
+            .format("{'%s':{'%s': %d}}", "AllFateOps", Fate.FateOperation.getAllUserFateOps()
+                .stream().map(Enum::name).collect(Collectors.joining(",")), NUM_THREADS)
+            .replace("'", "\""));
+    config.set(Property.MANAGER_FATE_META_CONFIG,
+        String
+            .format("{'%s':{'%s': %d}}", "AllFateOps", Fate.FateOperation.getAllMetaFateOps()
+                .stream().map(Enum::name).collect(Collectors.joining(",")), NUM_THREADS)
+            .replace("'", "\""));
+    config.set(Property.MANAGER_FATE_IDLE_CHECK_INTERVAL, "60m");
+    return config;
+  }
+
+  @Test
+  @Timeout(60)
+  public void testHandOff() {
+    var env = new TestEnv();
+    var store = new InMemoryFateStore<TestEnv>();
+    var schedExecutor = new ScheduledThreadPoolExecutor(2);
+    var fate = new Fate<>(env, store, false, r -> r + "", fateConfig(), schedExecutor);
+    try {
+      fate.setPartitions(Set.of(FatePartition.all(store.type())));
+
+      // more transactions than workers, the work finder must keep offering each one until a worker
+      // takes it instead of dropping it when all the workers are busy
+      List<FateId> fateIds = new ArrayList<>();
+      for (int i = 0; i < 20; i++) {
+        FateId fateId = fate.startTransaction();
+        fate.seedTransaction(Fate.FateOperation.TABLE_CREATE, fateId, new SlowRepo(), false,
+            "test");
+        fateIds.add(fateId);
+      }
+
+      for (FateId fateId : fateIds) {
+        assertEquals(TStatus.SUCCESSFUL, fate.waitForCompletion(fateId));
+      }
+
+      // each transaction was handed to exactly one worker
+      assertEquals(Set.copyOf(fateIds), env.calls.keySet());
+      env.calls.forEach((fateId, calls) -> assertEquals(1, calls.get(), fateId::canonical));
+      assertTrue(env.maxRunning.get() <= NUM_THREADS, () -> "max running " + env.maxRunning.get());
+    } finally {
+      fate.shutdown(30, TimeUnit.SECONDS);
+      fate.close();
+      schedExecutor.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,348 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.fate;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.apache.accumulo.core.fate.zookeeper.ZooUtil;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Transient in memory store that keeps the behavior of {@link AbstractFateStore}, like the index of
+ * runnable transactions, so it can be tested without ZooKeeper or an Accumulo table. Scans of the
+ * store are counted, and a test can act on each transaction as a scan reads it.
+ */
+public class InMemoryFateStore<T> extends AbstractFateStore<T> {
+
+  private static final FateInstanceType TYPE = FateInstanceType.USER;
+
+  private static class TxData<T> {
+    TStatus status = TStatus.NEW;
+    FateReservation reservation = null;
+    Fate.FateOperation fateOp = null;
+    final Deque<Repo<T>> stack = new ArrayDeque<>();
+    final Map<Fate.TxInfo,Serializable> txInfo = new EnumMap<>(Fate.TxInfo.class);
+    final long created = System.currentTimeMillis();
+  }
+
+  private final Map<FateId,TxData<T>> transactions = new TreeMap<>();
+  private final AtomicInteger scans = new AtomicInteger();
+  private volatile Consumer<FateId> scanListener = fateId -> {};
+
+  public InMemoryFateStore() {
+    super(new ZooUtil.LockID("/locks", "test", 1), lockID -> true, DEFAULT_MAX_DEFERRED,
+        DEFAULT_FATE_ID_GENERATOR);
+  }
+
+  /**
+   * @return the number of times the runnable transactions in the partitions were scanned
+   */
+  public int getScanCount() {
+    return scans.get();
+  }
+
+  /**
+   * Sets code that runs as each transaction is read by a scan of the runnable transactions, after
+   * its status was read.
+   */
+  public void setScanListener(Consumer<FateId> scanListener) {
+    this.scanListener = scanListener;
+  }
+
+  /**
+   * Changes the status of a transaction without reserving it, like another process would.
+   */
+  public synchronized void setStatus(FateId fateId, TStatus status) {
+    transactions.get(fateId).status = status;
+  }
+
+  @Override
+  public synchronized FateId create() {
+    FateId fateId = fateIdGenerator.newRandomId(TYPE);
+    transactions.put(fateId, new TxData<>());
+    return fateId;
+  }
+
+  @Override
+  public Seeder<T> beginSeeding() {
+    return new Seeder<>() {
+      @Override
+      public CompletableFuture<Optional<FateId>> attemptToSeedTransaction(Fate.FateOperation fateOp,
+          FateKey fateKey, Repo<T> repo, boolean autoCleanUp) {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public void close() {}
+    };
+  }
+
+  @Override
+  public boolean seedTransaction(Fate.FateOperation fateOp, FateId fateId, Repo<T> repo,
+      boolean autoCleanUp) {
+    return tryReserve(fateId).map(txStore -> {
+      try {
+        if (txStore.getStatus() != TStatus.NEW) {
+          return false;
+        }
+        try {
+          txStore.push(repo);
+        } catch (StackOverflowException e) {
+          throw new IllegalStateException(e);
+        }
+        if (autoCleanUp) {
+          txStore.setTransactionInfo(Fate.TxInfo.AUTO_CLEAN, autoCleanUp);
+        }
+        txStore.setTransactionInfo(Fate.TxInfo.FATE_OP, fateOp);
+        synchronized (this) {
+          transactions.get(fateId).fateOp = fateOp;
+        }
+        txStore.setStatus(TStatus.SUBMITTED);
+        return true;
+      } finally {
+        txStore.unreserve(Duration.ZERO);
+      }
+    }).orElse(false);
+  }
+
+  @Override
+  public synchronized Optional<FateTxStore<T>> tryReserve(FateId fateId) {
+    TxData<T> data = transactions.get(fateId);
+    if (data == null || data.reservation != null) {
+      return Optional.empty();
+    }
+    data.reservation = FateReservation.from(lockID, UUID.randomUUID());
+    return Optional.of(new InMemoryFateTxStore(fateId, data.reservation));
+  }
+
+  @Override
+  public void deleteDeadReservations(Set<FatePartition> partitions) {}
+
+  @Override
+  public Stream<FateKey> list(FateKey.FateKeyType type) {
+    return Stream.empty();
+  }
+
+  @Override
+  public FateInstanceType type() {
+    return TYPE;
+  }
+
+  @Override
+  public void close() {}
+
+  @Override
+  protected Stream<FateIdStatus> getTransactions(EnumSet<TStatus> statuses) {
+    return snapshot(Set.of(FatePartition.all(TYPE)), statuses).stream();
+  }
+
+  @Override
+  protected Stream<FateIdStatus> getTransactions(Set<FatePartition> partitions,
+      EnumSet<TStatus> statuses) {
+    if (statuses.contains(TStatus.IN_PROGRESS)) {
+      // runnable() reads the in progress transactions first, so count each scan once
+      scans.incrementAndGet();
+    }
+    var listener = scanListener;
+    return snapshot(partitions, statuses).stream()
+        .peek(status -> listener.accept(status.getFateId()));
+  }
+
+  private synchronized List<FateIdStatus> snapshot(Set<FatePartition> partitions,
+      EnumSet<TStatus> statuses) {
+    List<FateIdStatus> found = new ArrayList<>();
+    transactions.forEach((fateId, data) -> {
+      if (statuses.contains(data.status)
+          && partitions.stream().anyMatch(partition -> partition.contains(fateId))) {
+        var status = data.status;
+        var reservation = Optional.ofNullable(data.reservation);
+        var fateOp = Optional.ofNullable(data.fateOp);
+        found.add(new FateIdStatusBase(fateId) {
+          @Override
+          public TStatus getStatus() {
+            return status;
+          }
+
+          @Override
+          public Optional<FateReservation> getFateReservation() {
+            return reservation;
+          }
+
+          @Override
+          public Optional<Fate.FateOperation> getFateOperation() {
+            return fateOp;
+          }
+        });
+      }
+    });
+    return found;
+  }
+
+  @Override
+  protected synchronized TStatus _getStatus(FateId fateId) {
+    TxData<T> data = transactions.get(fateId);
+    return data == null ? TStatus.UNKNOWN : data.status;
+  }
+
+  @Override
+  protected Optional<FateKey> getKey(FateId fateId) {
+    return Optional.empty();
+  }
+
+  @Override
+  protected FateTxStore<T> newUnreservedFateTxStore(FateId fateId) {
+    return new InMemoryFateTxStore(fateId);
+  }
+
+  private class InMemoryFateTxStore extends AbstractFateTxStoreImpl {
+
+    private InMemoryFateTxStore(FateId fateId) {
+      super(fateId);
+    }
+
+    private InMemoryFateTxStore(FateId fateId, FateReservation reservation) {
+      super(fateId, reservation);
+    }
+
+    private TxData<T> data() {
+      TxData<T> data = transactions.get(fateId);
+      Preconditions.checkState(data != null, "transaction %s does not exist", fateId);
+      return data;
+    }
+
+    @Override
+    public Repo<T> top() {
+      verifyReservedAndNotDeleted(false);
+      synchronized (InMemoryFateStore.this) {
+        return data().stack.peek();
+      }
+    }
+
+    @Override
+    public List<ReadOnlyRepo<T>> getStack() {
+      verifyReservedAndNotDeleted(false);
+      synchronized (InMemoryFateStore.this) {
+        return new ArrayList<>(data().stack);
+      }
+    }
+
+    @Override
+    public void push(Repo<T> repo) throws StackOverflowException {
+      verifyReservedAndNotDeleted(true);
+      synchronized (InMemoryFateStore.this) {
+        var data = data();
+        Preconditions.checkState(REQ_PUSH_STATUS.contains(data.status));
+        if (data.stack.size() >= MAX_REPOS) {
+          throw new StackOverflowException("Repo stack size too large");
+        }
+        data.stack.push(repo);
+      }
+    }
+
+    @Override
+    public void pop() {
+      verifyReservedAndNotDeleted(true);
+      synchronized (InMemoryFateStore.this) {
+        var data = data();
+        Preconditions.checkState(REQ_POP_STATUS.contains(data.status));
+        data.stack.pop();
+      }
+    }
+
+    @Override
+    public void setStatus(TStatus status) {
+      verifyReservedAndNotDeleted(true);
+      synchronized (InMemoryFateStore.this) {
+        data().status = status;
+      }
+      observedStatus = status;
+    }
+
+    @Override
+    public void setTransactionInfo(Fate.TxInfo txInfo, Serializable val) {
+      verifyReservedAndNotDeleted(true);
+      synchronized (InMemoryFateStore.this) {
+        data().txInfo.put(txInfo, val);
+      }
+    }
+
+    @Override
+    public Serializable getTransactionInfo(Fate.TxInfo txInfo) {
+      verifyReservedAndNotDeleted(false);
+      synchronized (InMemoryFateStore.this) {
+        return data().txInfo.get(txInfo);
+      }
+    }
+
+    @Override
+    public long timeCreated() {
+      verifyReservedAndNotDeleted(false);
+      synchronized (InMemoryFateStore.this) {
+        return data().created;
+      }
+    }
+
+    @Override
+    public void delete() {
+      delete(REQ_DELETE_STATUS);
+    }
+
+    @Override
+    public void forceDelete() {
+      delete(REQ_FORCE_DELETE_STATUS);
+    }
+
+    private void delete(Set<TStatus> requiredStatus) {
+      verifyReservedAndNotDeleted(true);
+      synchronized (InMemoryFateStore.this) {
+        Preconditions.checkState(requiredStatus.contains(data().status));
+        transactions.remove(fateId);
+      }
+      deleted = true;
+    }
+
+    @Override
+    protected void unreserve() {
+      synchronized (InMemoryFateStore.this) {
+        TxData<T> data = transactions.get(fateId);
+        if (data != null && reservation.equals(data.reservation)) {
+          data.reservation = null;
+        }
+      }
+      reservation = null;
+    }
+  }
+}
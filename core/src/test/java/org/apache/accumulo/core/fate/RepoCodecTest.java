@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.fate;
+
+import static org.apache.accumulo.core.metrics.Metric.FATE_REPO_DECODE_TIME;
+import static org.apache.accumulo.core.metrics.Metric.FATE_REPO_ENCODE_TIME;
+import static org.apache.accumulo.core.metrics.Metric.FATE_REPO_SIZE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class RepoCodecTest {
+
+  public static class TestRepo implements Repo<Object> {
+    private static final long serialVersionUID = 1L;
+
+    final String name;
+
+    TestRepo(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public long isReady(FateId fateId, Object environment) {
+      return 0;
+    }
+
+    @Override
+    public String getName() {
+      return name;
+    }
+
+    @Override
+    public Repo<Object> call(FateId fateId, Object environment) {
+      return null;
+    }
+
+    @Override
+    public void undo(FateId fateId, Object environment) {}
+
+    @Override
+    public String getReturn() {
+      return null;
+    }
+
+    @Override
+    public String getDetails() {
+      return name;
+    }
+  }
+
+  public static class TestBinaryRepo extends TestRepo implements BinaryRepo {
+    private static final long serialVersionUID = 1L;
+
+    TestBinaryRepo(String name) {
+      super(name);
+    }
+
+    TestBinaryRepo(DataInput in) throws IOException {
+      super(in.readUTF());
+    }
+
+    @Override
+    public void writeTo(DataOutput out) throws IOException {
+      out.writeUTF(name);
+    }
+  }
+
+  public static class NotBinaryRepo extends TestRepo {
+    private static final long serialVersionUID = 1L;
+
+    NotBinaryRepo(DataInput in) throws IOException {
+      super(in.readUTF());
+    }
+  }
+
+  private static final AtomicBoolean INITIALIZED = new AtomicBoolean(false);
+
+  public static class NotARepo {
+    static {
+      INITIALIZED.set(true);
+    }
+  }
+
+  @Test
+  public void testBinary() {
+    byte[] bytes = RepoCodec.encode(new TestBinaryRepo("step1"));
+    byte[] serialized = AbstractFateStore.serialize(new TestBinaryRepo("step1"));
+    assertEquals(1, bytes[0]);
+    assertTrue(bytes.length < serialized.length);
+
+    var decoded = assertInstanceOf(TestBinaryRepo.class, RepoCodec.decode(bytes));
+    assertEquals("step1", decoded.getName());
+
+    // previously stored transactions were written with Java serialization
+    decoded = assertInstanceOf(TestBinaryRepo.class, RepoCodec.decode(serialized));
+    assertEquals("step1", decoded.getName());
+  }
+
+  @Test
+  public void testJavaFallback() {
+    byte[] bytes = RepoCodec.encode(new TestRepo("step2"));
+    assertEquals((byte) 0xAC, bytes[0]);
+    var decoded = assertInstanceOf(TestRepo.class, RepoCodec.decode(bytes));
+    assertEquals("step2", decoded.getName());
+  }
+
+  @Test
+  public void testTraceRepo() {
+    byte[] bytes = RepoCodec.encode(new TraceRepo<>(new TestBinaryRepo("step3")));
+    assertEquals(1, bytes[0]);
+    var decoded = assertInstanceOf(TraceRepo.class, RepoCodec.decode(bytes));
+    var wrapped = assertInstanceOf(TestBinaryRepo.class, decoded.getWrapped());
+    assertEquals("step3", wrapped.getName());
+
+    // a trace repo wrapping a repo that is not binary is written with Java serialization
+    bytes = RepoCodec.encode(new TraceRepo<>(new TestRepo("step4")));
+    assertEquals((byte) 0xAC, bytes[0]);
+    decoded = assertInstanceOf(TraceRepo.class, RepoCodec.decode(bytes));
+    assertEquals("step4", decoded.getWrapped().getName());
+  }
+
+  @Test
+  public void testInvalid() throws IOException {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(baos)) {
+      out.writeByte(1);
+      out.writeUTF(NotBinaryRepo.class.getName());
+      out.writeUTF("step5");
+    }
+    assertThrows(IllegalStateException.class, () -> RepoCodec.decode(baos.toByteArray()));
+    assertThrows(IllegalStateException.class, () -> RepoCodec.decode(new byte[] {5}));
+    assertThrows(IllegalStateException.class, () -> RepoCodec.decode(new byte[0]));
+  }
+
+  @Test
+  public void testClassNotInitialized() throws IOException {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(baos)) {
+      out.writeByte(1);
+      out.writeUTF(NotARepo.class.getName());
+    }
+    // the class named in the encoding is checked before any of its code runs
+    assertThrows(IllegalStateException.class, () -> RepoCodec.decode(baos.toByteArray()));
+    assertFalse(INITIALIZED.get());
+  }
+
+  @Test
+  public void testMetrics() {
+    var metrics = new RepoCodecMetrics();
+    // nothing is recorded until the metrics are registered
+    metrics.recordEncode("TestRepo", "binary", 1000, 5);
+
+    var registry = new SimpleMeterRegistry();
+    metrics.registerMetrics(registry);
+    metrics.recordEncode("TestRepo", "binary", 1000, 5);
+    metrics.recordEncode("TestRepo", "binary", 1000, 7);
+    metrics.recordDecode("TestRepo", "binary", 1000);
+    metrics.recordDecode("TestRepo", "java", 1000);
+
+    assertEquals(2,
+        registry.get(FATE_REPO_ENCODE_TIME.getName())
+            .tags(RepoCodec.REPO_TAG_KEY, "TestRepo", RepoCodec.CODEC_TAG_KEY, "binary").timer()
+            .count());
+    assertEquals(12,
+        registry.get(FATE_REPO_SIZE.getName())
+            .tags(RepoCodec.REPO_TAG_KEY, "TestRepo", RepoCodec.CODEC_TAG_KEY, "binary").summary()
+            .totalAmount());
+    assertEquals(1, registry.get(FATE_REPO_DECODE_TIME.getName())
+        .tags(RepoCodec.REPO_TAG_KEY, "TestRepo", RepoCodec.CODEC_TAG_KEY, "java").timer().count());
+    // the meters for each repo and codec are only created once
+    assertEquals(6, registry.getMeters().size());
+  }
+}
@@ -25,6 +25,8 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
+import java.util.TreeSet;
 
 import org.apache.accumulo.core.WithTestNames;
 import org.apache.accumulo.core.conf.ConfigurationCopy;
@@ -34,9 +36,17 @@ import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.PartialKey;
 import org.apache.accumulo.core.data.Range;
 import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.file.blockfile.cache.impl.BlockCacheConfiguration;
+import org.apache.accumulo.core.file.blockfile.cache.impl.BlockCacheManagerFactory;
+import org.apache.accumulo.core.file.blockfile.cache.tinylfu.TinyLfuBlockCacheManager;
+import org.apache.accumulo.core.file.blockfile.impl.BasicCacheProvider;
+import org.apache.accumulo.core.file.blockfile.impl.CacheProvider;
 import org.apache.accumulo.core.file.keyfunctor.ColumnFamilyFunctor;
 import org.apache.accumulo.core.file.rfile.RFile;
 import org.apache.accumulo.core.metadata.UnreferencedTabletFile;
+import org.apache.accumulo.core.spi.cache.BlockCache;
+import org.apache.accumulo.core.spi.cache.BlockCacheManager;
+import org.apache.accumulo.core.spi.cache.CacheType;
 import org.apache.accumulo.core.spi.crypto.NoCryptoServiceFactory;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FileSystem;
@@ -142,12 +152,109 @@ public class BloomFilterLayerLookupTest extends WithTestNames {
     assertTrue(rate1 > rate2);
   }
 
+  @Test
+  public void testPartitioned() throws Exception {
+    ConfigurationCopy acuconf = new ConfigurationCopy(DefaultConfiguration.getInstance());
+    acuconf.set(Property.TABLE_BLOOM_PARTITION_SIZE, "1000");
+    testLookups(acuconf);
+  }
+
+  @Test
+  public void testXorFilter() throws Exception {
+    ConfigurationCopy acuconf = new ConfigurationCopy(DefaultConfiguration.getInstance());
+    acuconf.set(Property.TABLE_BLOOM_TYPE, "xor");
+    testLookups(acuconf);
+  }
+
+  @Test
+  public void testPartitionedXorFilter() throws Exception {
+    ConfigurationCopy acuconf = new ConfigurationCopy(DefaultConfiguration.getInstance());
+    acuconf.set(Property.TABLE_BLOOM_TYPE, "xor");
+    acuconf.set(Property.TABLE_BLOOM_PARTITION_SIZE, "1000");
+    testLookups(acuconf);
+  }
+
+  private void testLookups(ConfigurationCopy acuconf) throws Exception {
+    TreeSet<Integer> vals = new TreeSet<>();
+    while (vals.size() < 20000) {
+      vals.add(RANDOM.get().nextInt(Integer.MAX_VALUE));
+    }
+
+    acuconf.set(Property.TABLE_BLOOM_ENABLED, "true");
+    acuconf.set(Property.TABLE_BLOOM_KEY_FUNCTOR, ColumnFamilyFunctor.class.getName());
+    acuconf.set(Property.TABLE_FILE_TYPE, RFile.EXTENSION);
+    acuconf.set(Property.TABLE_BLOOM_LOAD_THRESHOLD, "0");
+    acuconf.set(Property.TSERV_BLOOM_LOAD_MAXCONCURRENT, "0");
+    acuconf.set(Property.GENERAL_CACHE_MANAGER_IMPL, TinyLfuBlockCacheManager.class.getName());
+    acuconf.set(Property.TSERV_INDEXCACHE_SIZE, "10M");
+    acuconf.set(Property.TSERV_DATACACHE_SIZE, "10M");
+
+    Configuration conf = new Configuration();
+    FileSystem fs = FileSystem.get(conf);
+
+    String suffix = FileOperations.getNewFileExtension(acuconf);
+    String fname = tempDir.resolve(testName() + "." + suffix).toAbsolutePath().toString();
+    try (FileSKVWriter bmfw = FileOperations.getInstance().newWriterBuilder()
+        .forFile(UnreferencedTabletFile.of(fs, new Path(fname)), fs, conf,
+            NoCryptoServiceFactory.NONE)
+        .withTableConfiguration(acuconf).build()) {
+      bmfw.startDefaultLocalityGroup();
+      for (Integer i : vals) {
+        String fi = String.format("%010d", i);
+        // several entries for each bloom filter key, a partition never splits them
+        for (int ts = 3; ts > 0; ts--) {
+          bmfw.append(new Key(new Text("r" + fi), new Text("cf1"), new Text("cq"), ts),
+              new Value("v" + fi));
+        }
+        bmfw.append(new Key(new Text("r" + fi), new Text("cf2")), new Value("v" + fi));
+      }
+    }
+
+    BlockCacheManager manager = BlockCacheManagerFactory.getInstance(acuconf);
+    manager.start(BlockCacheConfiguration.forTabletServer(acuconf));
+    BlockCache indexCache = manager.getBlockCache(CacheType.INDEX);
+    try {
+      // with an index cache partitions are cached with their meta blocks, without one the reader
+      // keeps the partitions it has read
+      for (CacheProvider cacheProvider : List.of(
+          new BasicCacheProvider(indexCache, manager.getBlockCache(CacheType.DATA)),
+          CacheProvider.NULL_PROVIDER)) {
+        FileSKVIterator bmfr = FileOperations.getInstance().newReaderBuilder()
+            .forFile(UnreferencedTabletFile.of(fs, new Path(fname)), fs, conf,
+                NoCryptoServiceFactory.NONE)
+            .withTableConfiguration(acuconf).withCacheProvider(cacheProvider).build();
+        // loads in the foreground because of the load settings
+        var loader = new BloomFilterLayer.BloomFilterLoader(bmfr, acuconf);
+
+        for (Integer row : vals) {
+          assertTrue(loader.probablyHasKey(range(row)));
+          seek(bmfr, row);
+          assertTrue(bmfr.hasTop());
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 5000; i++) {
+          int row = RANDOM.get().nextInt(Integer.MAX_VALUE);
+          if (!vals.contains(row) && loader.probablyHasKey(range(row))) {
+            falsePositives++;
+          }
+        }
+        assertTrue(falsePositives < 250, "false positives " + falsePositives);
+        bmfr.close();
+      }
+    } finally {
+      manager.stop();
+    }
+  }
+
   private void seek(FileSKVIterator bmfr, int row) throws IOException {
+    bmfr.seek(range(row), new ArrayList<>(), false);
+  }
+
+  private static Range range(int row) {
     String fi = String.format("%010d", row);
-    // bmfr.seek(new Range(new Text("r"+fi)));
     Key k1 = new Key(new Text("r" + fi), new Text("cf1"));
-    bmfr.seek(new Range(k1, true, k1.followingKey(PartialKey.ROW_COLFAM), false), new ArrayList<>(),
-        false);
+    return new Range(k1, true, k1.followingKey(PartialKey.ROW_COLFAM), false);
   }
 
 }
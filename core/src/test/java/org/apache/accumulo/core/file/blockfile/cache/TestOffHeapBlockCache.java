@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.file.blockfile.cache;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import org.apache.accumulo.core.conf.ConfigurationCopy;
+import org.apache.accumulo.core.conf.DefaultConfiguration;
+import org.apache.accumulo.core.conf.Property;
+import org.apache.accumulo.core.file.blockfile.cache.impl.BlockCacheConfiguration;
+import org.apache.accumulo.core.file.blockfile.cache.impl.BlockCacheManagerFactory;
+import org.apache.accumulo.core.file.blockfile.cache.offheap.OffHeapBlockCache;
+import org.apache.accumulo.core.file.blockfile.cache.offheap.OffHeapBlockCacheManager;
+import org.apache.accumulo.core.spi.cache.BlockCache;
+import org.apache.accumulo.core.spi.cache.BlockCacheManager;
+import org.apache.accumulo.core.spi.cache.CacheEntry;
+import org.apache.accumulo.core.spi.cache.CacheEntry.Weighable;
+import org.apache.accumulo.core.spi.cache.CacheType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class TestOffHeapBlockCache {
+
+  private BlockCacheManager manager;
+
+  private OffHeapBlockCache start(long maxSize, String slabSize) throws Exception {
+    ConfigurationCopy cc = new ConfigurationCopy(DefaultConfiguration.getInstance());
+    cc.set(Property.GENERAL_CACHE_MANAGER_IMPL, OffHeapBlockCacheManager.class.getName());
+    cc.set(Property.TSERV_DATACACHE_SIZE, Long.toString(maxSize));
+    cc.set(BlockCacheConfiguration.getFullyQualifiedPropertyPrefix(Property.TSERV_PREFIX,
+        OffHeapBlockCache.PROPERTY_PREFIX) + OffHeapBlockCache.SLAB_SIZE_PROPERTY, slabSize);
+    cc.set(BlockCacheConfiguration.getFullyQualifiedPropertyPrefix(Property.TSERV_PREFIX,
+        OffHeapBlockCache.PROPERTY_PREFIX) + OffHeapBlockCache.INDEX_HEAP_SIZE_PROPERTY, "100");
+    manager = BlockCacheManagerFactory.getInstance(cc);
+    manager.start(BlockCacheConfiguration.forTabletServer(cc));
+    return (OffHeapBlockCache) manager.getBlockCache(CacheType.DATA);
+  }
+
+  @AfterEach
+  public void stop() {
+    if (manager != null) {
+      manager.stop();
+    }
+  }
+
+  private static byte[] block(int size, int value) {
+    byte[] buf = new byte[size];
+    Arrays.fill(buf, (byte) value);
+    return buf;
+  }
+
+  private static class Index implements Weighable {
+    @Override
+    public int weight() {
+      return 60;
+    }
+  }
+
+  @Test
+  public void testCacheAndGet() throws Exception {
+    OffHeapBlockCache cache = start(1 << 20, "64K");
+
+    assertNull(cache.getBlock("b1"));
+    byte[] b1 = block(3000, 1);
+    cache.cacheBlock("b1", b1);
+    cache.cacheBlock("b2", block(40000, 2));
+
+    CacheEntry entry = cache.getBlock("b1");
+    assertNotNull(entry);
+    assertArrayEquals(b1, entry.getBuffer());
+    assertArrayEquals(block(40000, 2), cache.getBlock("b2").getBuffer());
+
+    assertEquals(3, cache.getStats().requestCount());
+    assertEquals(2, cache.getStats().hitCount());
+    assertEquals(2 * 64 * 1024, cache.getDirectMemoryUsed(), "each size class allocates a slab");
+
+    // the loader is not used when the block is cached
+    entry = cache.getBlock("b1", new BlockCache.Loader() {
+      @Override
+      public Map<String,BlockCache.Loader> getDependencies() {
+        return Map.of();
+      }
+
+      @Override
+      public byte[] load(int maxSize, Map<String,byte[]> dependencies) {
+        throw new IllegalStateException();
+      }
+    });
+    assertArrayEquals(b1, entry.getBuffer());
+  }
+
+  @Test
+  public void testTooLarge() throws Exception {
+    OffHeapBlockCache cache = start(1 << 20, "4K");
+    byte[] buf = block(5000, 3);
+    CacheEntry entry = cache.cacheBlock("big", buf);
+    assertSame(buf, entry.getBuffer());
+    assertNull(entry.getIndex(Index::new));
+    assertNull(cache.getBlock("big"));
+    assertEquals(0, cache.getDirectMemoryUsed());
+  }
+
+  @Test
+  public void testEviction() throws Exception {
+    // room for two slabs of four 1K chunks
+    OffHeapBlockCache cache = start(8 * 1024, "4K");
+
+    for (int i = 0; i < 8; i++) {
+      cache.cacheBlock("b" + i, block(1000, i));
+    }
+    assertEquals(0, cache.getStats().evictionCount());
+
+    // b0 is given a second chance, so b1 is evicted
+    assertNotNull(cache.getBlock("b0"));
+    cache.cacheBlock("b8", block(1000, 8));
+    assertEquals(1, cache.getStats().evictionCount());
+    assertNull(cache.getBlock("b1"));
+    assertArrayEquals(block(1000, 0), cache.getBlock("b0").getBuffer());
+    assertArrayEquals(block(1000, 8), cache.getBlock("b8").getBuffer());
+    assertEquals(8 * 1024, cache.getDirectMemoryUsed());
+
+    // a size class with no slab can not take memory from other size classes
+    CacheEntry entry = cache.cacheBlock("b9", block(2000, 9));
+    assertNull(entry.getIndex(Index::new));
+    assertNull(cache.getBlock("b9"));
+  }
+
+  @Test
+  public void testIndex() throws Exception {
+    OffHeapBlockCache cache = start(1 << 20, "4K");
+    cache.cacheBlock("b1", block(100, 1));
+    cache.cacheBlock("b2", block(100, 2));
+    cache.cacheBlock("b3", block(100, 3));
+
+    Index index = cache.getBlock("b1").getIndex(Index::new);
+    assertNotNull(index);
+    assertSame(index, cache.getBlock("b1").getIndex(Index::new));
+    assertNotNull(cache.getBlock("b2").getIndex(Index::new));
+
+    // the index heap limit is reached
+    assertNull(cache.getBlock("b3").getIndex(Index::new));
+    assertTrue(cache.getMaxHeapSize() > 100);
+  }
+}
@@ -0,0 +1,244 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.core.file.blockfile.cache;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.apache.accumulo.core.conf.ConfigurationCopy;
+import org.apache.accumulo.core.conf.DefaultConfiguration;
+import org.apache.accumulo.core.conf.Property;
+import org.apache.accumulo.core.file.blockfile.cache.impl.BlockCacheConfiguration;
+import org.apache.accumulo.core.file.blockfile.cache.impl.BlockCacheManagerFactory;
+import org.apache.accumulo.core.file.blockfile.cache.tiered.TieredBlockCache;
+import org.apache.accumulo.core.file.blockfile.cache.tiered.TieredBlockCacheManager;
+import org.apache.accumulo.core.spi.cache.BlockCache;
+import org.apache.accumulo.core.spi.cache.BlockCacheManager;
+import org.apache.accumulo.core.spi.cache.CacheType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+@SuppressFBWarnings(value = "PATH_TRAVERSAL_IN", justification = "paths provided by test")
+public class TestTieredBlockCache {
+
+  @TempDir
+  private static Path tempDir;
+
+  private BlockCacheManager manager;
+
+  private static class TestLoader implements BlockCache.Loader {
+
+    private final byte[] data;
+    int loads = 0;
+
+    TestLoader(byte[] data) {
+      this.data = data;
+    }
+
+    @Override
+    public Map<String,BlockCache.Loader> getDependencies() {
+      return Map.of();
+    }
+
+    @Override
+    public byte[] load(int maxSize, Map<String,byte[]> dependencies) {
+      loads++;
+      return data;
+    }
+  }
+
+  private static ConfigurationCopy config(Path dir, String admissionFrequency) {
+    ConfigurationCopy cc = new ConfigurationCopy(DefaultConfiguration.getInstance());
+    cc.set(Property.GENERAL_CACHE_MANAGER_IMPL, TieredBlockCacheManager.class.getName());
+    cc.set(Property.TSERV_DATACACHE_SIZE, "1M");
+    String prefix = BlockCacheConfiguration.getFullyQualifiedPropertyPrefix(Property.TSERV_PREFIX,
+        TieredBlockCache.PROPERTY_PREFIX);
+    cc.set(prefix + TieredBlockCache.L2_DIR_PROPERTY, dir.toString());
+    cc.set(prefix + TieredBlockCache.L2_SIZE_PROPERTY, "8K");
+    cc.set(prefix + TieredBlockCache.L2_SEGMENT_SIZE_PROPERTY, "4K");
+    cc.set(prefix + TieredBlockCache.L2_ADMISSION_FREQUENCY_PROPERTY, admissionFrequency);
+    return cc;
+  }
+
+  private TieredBlockCache start(ConfigurationCopy cc) throws Exception {
+    manager = BlockCacheManagerFactory.getInstance(cc);
+    manager.start(BlockCacheConfiguration.forTabletServer(cc));
+    return (TieredBlockCache) manager.getBlockCache(CacheType.DATA);
+  }
+
+  @AfterEach
+  public void stop() {
+    if (manager != null) {
+      manager.stop();
+      manager = null;
+    }
+  }
+
+  private static byte[] block(int value) {
+    byte[] buf = new byte[1000];
+    Arrays.fill(buf, (byte) value);
+    return buf;
+  }
+
+  private static Path dir(String name) {
+    return tempDir.resolve(name);
+  }
+
+  @Test
+  public void testSecondTier() throws Exception {
+    ConfigurationCopy cc = config(dir("secondTier"), "1");
+    TieredBlockCache cache = start(cc);
+
+    TestLoader loader = new TestLoader(block(1));
+    assertArrayEquals(block(1), cache.getBlock("b1", loader).getBuffer());
+    assertArrayEquals(block(1), cache.getBlock("b1", loader).getBuffer());
+    assertEquals(1, loader.loads);
+    assertEquals(2, cache.getStats().requestCount());
+    assertEquals(1, cache.getStats().hitCount());
+    assertEquals(1, cache.getL1Stats().hitCount());
+
+    // stopping waits for the block to be written, starting again only has it in the second tier
+    stop();
+    cache = start(cc);
+    // checking for a block finds it in either tier and is not counted as a request
+    assertTrue(cache.containsBlock("b1"));
+    assertFalse(cache.containsBlock("b2"));
+    assertEquals(0, cache.getStats().requestCount());
+    assertEquals(0, cache.getL2Stats().requestCount());
+    loader = new TestLoader(block(2));
+    assertArrayEquals(block(1), cache.getBlock("b1", loader).getBuffer());
+    assertEquals(0, loader.loads);
+    assertEquals(1, cache.getStats().hitCount());
+    assertEquals(1, cache.getL2Stats().hitCount());
+    assertEquals(1, cache.getL2ReadCount());
+
+    // a block read from the second tier is put in the first tier
+    assertArrayEquals(block(1), cache.getBlock("b1").getBuffer());
+    assertEquals(1, cache.getL2Stats().requestCount());
+  }
+
+  @Test
+  public void testMemoryOnly() throws Exception {
+    ConfigurationCopy cc = config(dir("memoryOnly"), "1");
+    TieredBlockCache cache = start(cc);
+
+    // blocks of encrypted files are cached decrypted, so they are never written to local disk
+    String name = BlockCacheUtil.MEMORY_ONLY_PREFIX + "b1";
+    TestLoader loader = new TestLoader(block(1));
+    assertArrayEquals(block(1), cache.getBlock(name, loader).getBuffer());
+    assertArrayEquals(block(1), cache.getBlock(name, loader).getBuffer());
+    assertArrayEquals(block(1), cache.getBlock(name).getBuffer());
+    cache.cacheBlock(BlockCacheUtil.MEMORY_ONLY_PREFIX + "b2", block(2));
+    assertEquals(1, loader.loads);
+    assertEquals(3, cache.getStats().requestCount());
+    assertEquals(2, cache.getStats().hitCount());
+    stop();
+    assertEquals(0, cache.getL2Size());
+
+    cache = start(cc);
+    assertFalse(cache.containsBlock(name));
+    assertNull(cache.getBlock(name));
+    assertNull(cache.getBlock(BlockCacheUtil.MEMORY_ONLY_PREFIX + "b2"));
+    assertEquals(0, cache.getL2Stats().requestCount());
+  }
+
+  @Test
+  public void testRecoverSegment() throws Exception {
+    Path dir = dir("recover");
+    ConfigurationCopy cc = config(dir, "1");
+    TieredBlockCache cache = start(cc);
+    cache.getBlock("b1", new TestLoader(block(1)));
+    cache.getBlock("b2", new TestLoader(block(2)));
+    stop();
+
+    // without the index the segment is read to find its blocks
+    try (Stream<Path> files = Files.list(dir.resolve("data"))) {
+      files.filter(f -> f.toString().endsWith(".idx")).forEach(f -> {
+        try {
+          Files.delete(f);
+        } catch (IOException e) {
+          throw new IllegalStateException(e);
+        }
+      });
+    }
+
+    cache = start(cc);
+    assertArrayEquals(block(1), cache.getBlock("b1").getBuffer());
+    assertArrayEquals(block(2), cache.getBlock("b2").getBuffer());
+    assertEquals(2, cache.getL2Stats().hitCount());
+  }
+
+  @Test
+  public void testAdmission() throws Exception {
+    ConfigurationCopy cc = config(dir("admission"), "2");
+    TieredBlockCache cache = start(cc);
+
+    // requested once, so not written to the second tier
+    cache.getBlock("b1", new TestLoader(block(1)));
+    // requested twice
+    cache.getBlock("b2", new TestLoader(block(2)));
+    cache.getBlock("b2", new TestLoader(block(2)));
+    stop();
+
+    cache = start(cc);
+    assertNull(cache.getBlock("b1"));
+    assertArrayEquals(block(2), cache.getBlock("b2").getBuffer());
+  }
+
+  @Test
+  public void testEviction() throws Exception {
+    ConfigurationCopy cc = config(dir("eviction"), "1");
+    TieredBlockCache cache = start(cc);
+
+    // four blocks fit in a segment and the second tier holds two segments
+    for (int i = 0; i < 20; i++) {
+      cache.getBlock("b" + i, new TestLoader(block(i)));
+    }
+    stop();
+    assertTrue(cache.getL2Size() <= 8 * 1024);
+    assertTrue(cache.getL2Stats().evictionCount() > 0);
+
+    cache = start(cc);
+    assertNull(cache.getBlock("b0"));
+    assertTrue(cache.getL2Size() <= 8 * 1024);
+  }
+
+  @Test
+  public void testDirectoryInUse() throws Exception {
+    ConfigurationCopy cc = config(dir("inUse"), "1");
+    start(cc);
+    BlockCacheManager other = BlockCacheManagerFactory.getInstance(cc);
+    assertThrows(IllegalStateException.class,
+        () -> other.start(BlockCacheConfiguration.forTabletServer(cc)));
+  }
+}
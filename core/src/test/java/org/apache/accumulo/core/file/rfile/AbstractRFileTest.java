@@ -65,6 +65,7 @@ import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FSDataOutputStream;
 import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.Text;
 
 public abstract class AbstractRFileTest {
@@ -84,6 +85,8 @@ public abstract class AbstractRFileTest {
     protected AccumuloConfiguration accumuloConfiguration;
     public Reader reader;
     public SortedKeyValueIterator<Key,Value> iter;
+    public BlockCache indexCache;
+    public BlockCache dataCache;
     private BlockCacheManager manager;
 
     public TestRFile(AccumuloConfiguration accumuloConfiguration) {
@@ -102,6 +105,12 @@ public abstract class AbstractRFileTest {
     }
 
     public void openWriter(boolean startDLG, int blockSize, int indexBlockSize) throws IOException {
+      openWriter(startDLG, blockSize, indexBlockSize,
+          DefaultConfiguration.getInstance().getCount(Property.TABLE_FILE_BLOCK_RESTART_INTERVAL));
+    }
+
+    public void openWriter(boolean startDLG, int blockSize, int indexBlockSize, int restartInterval)
+        throws IOException {
       baos = new ByteArrayOutputStream();
       dos = new FSDataOutputStream(baos, new FileSystem.Statistics("a"));
       CryptoService cs = CryptoFactoryLoader.getServiceForClient(CryptoEnvironment.Scope.TABLE,
@@ -117,7 +126,8 @@ public abstract class AbstractRFileTest {
         sampler = SamplerFactory.newSampler(samplerConfig, accumuloConfiguration);
       }
 
-      writer = new RFile.Writer(_cbw, blockSize, indexBlockSize, samplerConfig, sampler);
+      writer = new RFile.Writer(_cbw, blockSize, indexBlockSize, restartInterval, samplerConfig,
+          sampler);
 
       if (startDLG) {
         writer.startDefaultLocalityGroup();
@@ -154,13 +164,24 @@ public abstract class AbstractRFileTest {
     }
 
     public void openReader(boolean cfsi, Range fence) throws IOException {
-      int fileLength = 0;
-      byte[] data = null;
-      data = baos.toByteArray();
-
+      byte[] data = baos.toByteArray();
       bais = new SeekableByteArrayInputStream(data);
-      in = new FSDataInputStream(bais);
-      fileLength = data.length;
+      openReader(new FSDataInputStream(bais), data.length, cfsi, fence);
+    }
+
+    /**
+     * Writes the file to the given file system and reads it from there.
+     */
+    public void openReader(FileSystem fs, Path file) throws IOException {
+      try (FSDataOutputStream out = fs.create(file)) {
+        out.write(baos.toByteArray());
+      }
+      openReader(fs.open(file), fs.getFileStatus(file).getLen(), true, null);
+    }
+
+    private void openReader(FSDataInputStream input, long fileLength, boolean cfsi, Range fence)
+        throws IOException {
+      in = input;
 
       DefaultConfiguration dc = DefaultConfiguration.getInstance();
       ConfigurationCopy cc = new ConfigurationCopy(dc);
@@ -174,8 +195,8 @@ public abstract class AbstractRFileTest {
       cc.set(Property.TSERV_DATACACHE_SIZE, Long.toString(100000000));
       cc.set(Property.TSERV_INDEXCACHE_SIZE, Long.toString(100000000));
       manager.start(BlockCacheConfiguration.forTabletServer(cc));
-      BlockCache indexCache = manager.getBlockCache(CacheType.INDEX);
-      BlockCache dataCache = manager.getBlockCache(CacheType.DATA);
+      indexCache = manager.getBlockCache(CacheType.INDEX);
+      dataCache = manager.getBlockCache(CacheType.DATA);
 
       CryptoService cs = CryptoFactoryLoader.getServiceForClient(CryptoEnvironment.Scope.TABLE,
           accumuloConfiguration.getAllCryptoProperties());
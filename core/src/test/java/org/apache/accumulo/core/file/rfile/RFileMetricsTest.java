@@ -539,9 +539,11 @@ public class RFileMetricsTest {
 
     Map<String,Long> expected = new HashMap<>();
     Map<String,Long> expectedBlocks = new HashMap<>();
+    // the keys written in full at restart points fill the data blocks sooner, so there is one more
+    // block in each locality group than without restart points
     for (String v : vis) {
       expected.put(v, 1000L);
-      expectedBlocks.put(v, 71L);
+      expectedBlocks.put(v, 72L);
     }
     assertEquals(expected, vmg.metric.get(null).asMap());
     assertEquals(expectedBlocks, vmg.blocks.get(null).asMap());
@@ -550,8 +552,8 @@ public class RFileMetricsTest {
     expectedBlocks.clear();
     expected.put("A", 1100L);
     expected.put("A|B", 1100L);
-    expectedBlocks.put("A", 32L);
-    expectedBlocks.put("A|B", 32L);
+    expectedBlocks.put("A", 33L);
+    expectedBlocks.put("A|B", 33L);
     assertEquals(expected, vmg.metric.get("lg1").asMap());
     assertEquals(expectedBlocks, vmg.blocks.get("lg1").asMap());
 
@@ -62,11 +62,14 @@ import org.apache.accumulo.core.data.PartialKey;
 import org.apache.accumulo.core.data.Range;
 import org.apache.accumulo.core.data.Value;
 import org.apache.accumulo.core.file.FileSKVIterator;
+import org.apache.accumulo.core.file.blockfile.cache.BlockCacheUtil;
 import org.apache.accumulo.core.file.blockfile.cache.impl.BlockCacheConfiguration;
 import org.apache.accumulo.core.file.blockfile.cache.impl.BlockCacheManagerFactory;
 import org.apache.accumulo.core.file.blockfile.cache.tinylfu.TinyLfuBlockCacheManager;
 import org.apache.accumulo.core.file.blockfile.impl.BasicCacheProvider;
+import org.apache.accumulo.core.file.blockfile.impl.BlockReadAhead;
 import org.apache.accumulo.core.file.blockfile.impl.CachableBlockFile.CachableBuilder;
+import org.apache.accumulo.core.file.blockfile.impl.CacheProvider;
 import org.apache.accumulo.core.file.rfile.RFile.Reader;
 import org.apache.accumulo.core.iterators.IteratorEnvironment;
 import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
@@ -78,12 +81,14 @@ import org.apache.accumulo.core.metadata.schema.MetadataSchema.TabletsSection.Se
 import org.apache.accumulo.core.metadata.schema.MetadataSchema.TabletsSection.TabletColumnFamily;
 import org.apache.accumulo.core.sample.impl.SamplerConfigurationImpl;
 import org.apache.accumulo.core.sample.impl.SamplerFactory;
+import org.apache.accumulo.core.spi.cache.BlockCache;
 import org.apache.accumulo.core.spi.cache.BlockCacheManager;
 import org.apache.accumulo.core.spi.cache.CacheType;
 import org.apache.accumulo.core.spi.crypto.CryptoEnvironment;
 import org.apache.accumulo.core.spi.crypto.CryptoService;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.PositionedReadable;
 import org.apache.hadoop.fs.Seekable;
 import org.apache.hadoop.io.Text;
@@ -376,14 +381,93 @@ public class RFileTest extends AbstractRFileTest {
       }
     }
 
-    // count the number of index entries
+    // count the number of index entries, there is one per data block and the keys written in full
+    // at restart points make one more block than without restart points
     FileSKVIterator iiter = trf.reader.getIndex();
     int count = 0;
     while (iiter.hasTop()) {
       count++;
       iiter.next();
     }
-    assertEquals(20, count);
+    assertEquals(21, count);
+
+    trf.closeReader();
+  }
+
+  @Test
+  public void testRestartPoints() throws IOException {
+    // write everything to a single data block with a restart point every three keys, so seeks
+    // within the cached block start reading at a restart point
+    testSeeksInBlock(3, RFile.RINDEX_VER_9);
+  }
+
+  @Test
+  public void testNoRestartPoints() throws IOException {
+    // without restart points the data blocks have no trailer and the file is written as the
+    // previous version, seeks within the cached block read every key from the start
+    testSeeksInBlock(0, RFile.RINDEX_VER_8);
+  }
+
+  private void testSeeksInBlock(int restartInterval, int expectedVersion) throws IOException {
+    TestRFile trf = new TestRFile(conf);
+    trf.openWriter(true, 1_000_000, 1000, restartInterval);
+
+    List<Key> expectedKeys = new ArrayList<>();
+    List<Value> expectedValues = new ArrayList<>();
+    int val = 0;
+    for (int row = 0; row < 20; row++) {
+      String rowS = formatString("r_", row);
+      for (int cq = 0; cq < 3; cq++) {
+        String cqS = formatString("cq_", cq);
+        // keys that differ only in the timestamp or delete flag share a restart point comparison
+        for (int ts = 3; ts > 0; ts--) {
+          Key k = newKey(rowS, "cf", cqS, "A", ts);
+          k.setDeleted(ts == 2);
+          Value v = newValue("" + val++);
+          trf.writer.append(k, v);
+          expectedKeys.add(k);
+          expectedValues.add(v);
+        }
+      }
+    }
+    trf.closeWriter();
+
+    trf.openReader();
+    assertEquals(expectedVersion, trf.reader.getRFileVersion());
+    int size = expectedKeys.size();
+    // the first pass reads the block into the cache, later seeks use the cached block
+    for (int pass = 0; pass < 2; pass++) {
+      for (int i = 0; i < size; i++) {
+        trf.seek(expectedKeys.get(i));
+        verify(trf, expectedKeys.subList(i, size).iterator(),
+            expectedValues.subList(i, size).iterator());
+
+        // seeking after a key finds the first key after it, deleted keys sort first
+        Key after = expectedKeys.get(i).followingKey(PartialKey.ROW_COLFAM_COLQUAL_COLVIS_TIME);
+        int next = i + 1;
+        while (next < size && expectedKeys.get(next).compareTo(after) < 0) {
+          next++;
+        }
+        trf.seek(after);
+        verify(trf, expectedKeys.subList(next, size).iterator(),
+            expectedValues.subList(next, size).iterator());
+      }
+    }
+
+    // seeking forward within the block skips ahead to a restart point past the current key, when
+    // the block has them
+    for (int stride = 1; stride < 12; stride++) {
+      trf.seek(expectedKeys.get(0));
+      for (int i = stride; i < size; i += stride) {
+        trf.seek(expectedKeys.get(i));
+        assertEquals(expectedKeys.get(i), trf.iter.getTopKey());
+        assertEquals(expectedValues.get(i), trf.iter.getTopValue());
+      }
+    }
+    trf.seek(expectedKeys.get(0));
+    trf.seek(expectedKeys.get(40));
+    verify(trf, expectedKeys.subList(40, size).iterator(),
+        expectedValues.subList(40, size).iterator());
 
     trf.closeReader();
   }
@@ -1643,6 +1727,30 @@ public class RFileTest extends AbstractRFileTest {
     conf = null;
   }
 
+  @Test
+  public void testEncRFileMemoryOnlyBlocks() throws Exception {
+    // blocks of encrypted files are cached decrypted, so their names keep them in memory
+    for (boolean encrypted : new boolean[] {false, true}) {
+      conf = encrypted ? getAccumuloConfig(ConfigMode.CRYPTO_TABLE_ON) : null;
+      TestRFile trf = new TestRFile(conf);
+      trf.openWriter();
+      trf.writer.append(newKey("r1", "cf1", "cq1", "", 5), newValue("v1"));
+      trf.closeWriter();
+
+      trf.openReader();
+      trf.iter.seek(new Range(), EMPTY_COL_FAMS, false);
+      assertTrue(trf.iter.hasTop());
+
+      String rootBlock = "source-1!RootData";
+      String memoryOnlyRootBlock = BlockCacheUtil.MEMORY_ONLY_PREFIX + rootBlock;
+      assertEquals(encrypted, trf.indexCache.getBlock(memoryOnlyRootBlock) != null);
+      assertEquals(!encrypted, trf.indexCache.getBlock(rootBlock) != null);
+      assertTrue(BlockCacheUtil.isMemoryOnly(memoryOnlyRootBlock));
+      trf.closeReader();
+    }
+    conf = null;
+  }
+
   @Test
   public void testEncRFile2() throws Exception {
     conf = getAccumuloConfig(ConfigMode.CRYPTO_TABLE_ON);
@@ -2113,6 +2221,153 @@ public class RFileTest extends AbstractRFileTest {
     }
   }
 
+  @Test
+  public void testReadAhead() throws IOException {
+    TestRFile trf = new TestRFile(conf);
+    // use small blocks so the file has many of them
+    trf.openWriter(true, 100);
+    for (int i = 0; i < 1000; i++) {
+      trf.writer.append(newKey(String.format("r%04d", i), "cf", "cq", "", 1), newValue("v" + i));
+    }
+    trf.closeWriter();
+    trf.openReader();
+
+    // read ahead on the scan thread so the test is deterministic
+    BlockReadAhead readAhead = new BlockReadAhead(Runnable::run, 2, 3);
+    BlockCache indexCache = trf.indexCache;
+    BlockCache dataCache = trf.dataCache;
+    trf.reader.setCacheProvider(new CacheProvider() {
+      @Override
+      public BlockCache getDataCache() {
+        return dataCache;
+      }
+
+      @Override
+      public BlockCache getIndexCache() {
+        return indexCache;
+      }
+
+      @Override
+      public BlockReadAhead getReadAhead() {
+        return readAhead;
+      }
+    });
+
+    trf.iter.seek(new Range(), EMPTY_COL_FAMS, false);
+    int count = 0;
+    while (trf.iter.hasTop()) {
+      assertEquals(newValue("v" + count), trf.iter.getTopValue());
+      count++;
+      trf.iter.next();
+    }
+    assertEquals(1000, count);
+    assertTrue(readAhead.getIssued() > 10);
+    assertEquals(readAhead.getIssued(), readAhead.getHits());
+    assertEquals(0, readAhead.getWasted());
+
+    // reading ahead stops at the end of the range
+    long issued = readAhead.getIssued();
+    trf.iter.seek(new Range("r0100", "r0300"), EMPTY_COL_FAMS, false);
+    while (trf.iter.hasTop()) {
+      trf.iter.next();
+    }
+    assertTrue(readAhead.getIssued() > issued);
+    assertEquals(readAhead.getIssued(), readAhead.getHits());
+
+    // blocks read ahead and then skipped by a seek are wasted
+    trf.iter.seek(new Range("r0100", null), EMPTY_COL_FAMS, false);
+    for (int i = 0; i < 100; i++) {
+      trf.iter.next();
+    }
+    trf.iter.seek(new Range("r0900", null), EMPTY_COL_FAMS, false);
+    assertTrue(trf.iter.hasTop());
+    assertEquals(newValue("v900"), trf.iter.getTopValue());
+    trf.closeReader();
+    assertTrue(readAhead.getWasted() > 0);
+    assertEquals(readAhead.getIssued(), readAhead.getHits() + readAhead.getWasted());
+  }
+
+  private static long cacheMisses(BlockCache cache) {
+    return cache.getStats().requestCount() - cache.getStats().hitCount();
+  }
+
+  @Test
+  public void testLoadEncryptedBlocks() throws IOException {
+    conf = getAccumuloConfig(ConfigMode.CRYPTO_TABLE_ON);
+    testLoadBlocks();
+    conf = null;
+  }
+
+  private static final List<Range> LOAD_RANGES = List.of(new Range("r0010", "r0030"),
+      new Range("r0500"), new Range("r0502", "r0510"), new Range("r0990", null));
+
+  private TestRFile writeLoadBlocksFile() throws IOException {
+    TestRFile trf = new TestRFile(conf);
+    // use small blocks so the file has many of them
+    trf.openWriter(true, 100);
+    for (int i = 0; i < 1000; i++) {
+      trf.writer.append(newKey(String.format("r%04d", i), "cf", "cq", "", 1), newValue("v" + i));
+    }
+    trf.closeWriter();
+    return trf;
+  }
+
+  /**
+   * Loads the blocks of the ranges and verifies that reading the ranges finds the expected data
+   * without any more misses in the data cache.
+   */
+  private static void verifyLoadBlocks(TestRFile trf) throws IOException {
+    long misses = cacheMisses(trf.dataCache);
+    trf.reader.loadBlocks(LOAD_RANGES, EMPTY_COL_FAMS, false, Long.MAX_VALUE, 1024);
+    // checking which blocks are already cached does not count as a miss
+    assertEquals(misses, cacheMisses(trf.dataCache));
+
+    // every block the ranges read was loaded into the cache
+    for (Range range : LOAD_RANGES) {
+      trf.iter.seek(range, EMPTY_COL_FAMS, false);
+      while (trf.iter.hasTop()) {
+        assertTrue(range.contains(trf.iter.getTopKey()));
+        String row = trf.iter.getTopKey().getRow().toString();
+        assertEquals(newValue("v" + Integer.parseInt(row.substring(1))), trf.iter.getTopValue());
+        trf.iter.next();
+      }
+    }
+    assertEquals(misses, cacheMisses(trf.dataCache));
+  }
+
+  @Test
+  public void testLoadBlocksFromChecksummedFile() throws IOException {
+    // the local file system checks checksums, and the buffers it returns from vectored reads are
+    // slices of larger buffers
+    TestRFile trf = writeLoadBlocksFile();
+    FileSystem fs = FileSystem.getLocal(hadoopConf);
+    trf.openReader(fs, new org.apache.hadoop.fs.Path(
+        tempDir.resolve("testLoadBlocksFromChecksummedFile.rf").toUri()));
+    verifyLoadBlocks(trf);
+    trf.closeReader();
+  }
+
+  @Test
+  public void testLoadBlocks() throws IOException {
+    TestRFile trf = writeLoadBlocksFile();
+    trf.openReader();
+    verifyLoadBlocks(trf);
+    trf.closeReader();
+
+    // loading stops once the maximum bytes are read
+    trf.openReader();
+    trf.reader.loadBlocks(LOAD_RANGES, EMPTY_COL_FAMS, false, 200, 1024);
+    long misses = cacheMisses(trf.dataCache);
+    for (Range range : LOAD_RANGES) {
+      trf.iter.seek(range, EMPTY_COL_FAMS, false);
+      while (trf.iter.hasTop()) {
+        trf.iter.next();
+      }
+    }
+    assertTrue(cacheMisses(trf.dataCache) > misses);
+    trf.closeReader();
+  }
+
   @Test
   public void testCryptoDoesntLeakSensitive() throws IOException {
     conf = getAccumuloConfig(ConfigMode.CRYPTO_TABLE_ON);
@@ -34,6 +34,7 @@ import org.apache.accumulo.core.data.Range;
 import org.apache.accumulo.core.data.Value;
 import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
 import org.apache.accumulo.core.iteratorsImpl.system.SortedMapIterator;
+import org.apache.accumulo.core.iteratorsImpl.system.VisibilityEvaluationCache;
 import org.apache.accumulo.core.iteratorsImpl.system.VisibilityFilter;
 import org.apache.accumulo.core.security.Authorizations;
 import org.junit.jupiter.api.Test;
@@ -103,6 +104,54 @@ public class VisibilityFilterTest {
     verify(expected, filter);
   }
 
+  @Test
+  public void testSharedCache() throws IOException {
+    TreeMap<Key,Value> tm = new TreeMap<>();
+
+    tm.put(new Key("r1", "cf1", "cq1", "A&B"), new Value());
+    tm.put(new Key("r1", "cf1", "cq2", "A|C"), new Value());
+    tm.put(new Key("r2", "cf1", "cq1", "C|D"), new Value());
+    tm.put(new Key("r2", "cf1", "cq2", ""), new Value());
+    tm.put(new Key("r3", "cf1", "cq1", "C|(A&D)"), new Value());
+    tm.put(new Key("r3", "cf1", "cq2", "A&"), new Value());
+
+    var sharedCache = new VisibilityEvaluationCache(100);
+
+    TreeSet<Key> expected = new TreeSet<>();
+    expected.add(new Key("r1", "cf1", "cq1", "A&B"));
+    expected.add(new Key("r1", "cf1", "cq2", "A|C"));
+    expected.add(new Key("r2", "cf1", "cq2", ""));
+
+    for (int i = 0; i < 2; i++) {
+      SortedKeyValueIterator<Key,Value> filter = VisibilityFilter.wrap(new SortedMapIterator(tm),
+          new Authorizations("A", "B"), "".getBytes(UTF_8), sharedCache);
+      filter.seek(new Range(), Set.of(), false);
+      TreeSet<Key> actual = new TreeSet<>();
+      while (filter.hasTop()) {
+        actual.add(filter.getTopKey());
+        filter.next();
+      }
+      assertEquals(expected, actual);
+    }
+
+    // the second filter found the decisions the first filter made, the invalid visibility is
+    // never cached
+    var stats = sharedCache.getCache().stats();
+    assertEquals(6, stats.missCount());
+    assertEquals(4, stats.hitCount());
+    assertEquals(4, sharedCache.getCache().estimatedSize());
+
+    // decisions are not shared between different authorizations
+    expected.clear();
+    expected.add(new Key("r1", "cf1", "cq2", "A|C"));
+    expected.add(new Key("r2", "cf1", "cq1", "C|D"));
+    expected.add(new Key("r2", "cf1", "cq2", ""));
+    expected.add(new Key("r3", "cf1", "cq1", "C|(A&D)"));
+    verify(expected, VisibilityFilter.wrap(new SortedMapIterator(tm), new Authorizations("C"),
+        "".getBytes(UTF_8), sharedCache));
+    assertEquals(8, sharedCache.getCache().estimatedSize());
+  }
+
   private static void verify(TreeSet<Key> expected, SortedKeyValueIterator<Key,Value> iter)
       throws IOException {
     for (var filter : List.of(iter, iter.deepCopy(null))) {
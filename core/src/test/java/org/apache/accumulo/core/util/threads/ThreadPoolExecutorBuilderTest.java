@@ -22,6 +22,10 @@ import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.MINUTES;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.concurrent.ExecutionException;
 
 import org.junit.jupiter.api.Test;
 
@@ -76,4 +80,20 @@ public class ThreadPoolExecutorBuilderTest {
     assertEquals(1, p2.getMaximumPoolSize());
     assertEquals(123L, p2.getKeepAliveTime(MILLISECONDS));
   }
+
+  @Test
+  public void builderVirtualThreadsTest() throws InterruptedException, ExecutionException {
+    assumeTrue(Threads.virtualThreadsSupported());
+    var p =
+        serverPool.getPoolBuilder("test1.pool").numCoreThreads(2).useVirtualThreads(true).build();
+    assertEquals(2, p.getMaximumPoolSize());
+    try {
+      // Thread.isVirtual() is not available in Java 17
+      String thread = p.submit(() -> Thread.currentThread().toString()).get();
+      assertTrue(thread.startsWith("VirtualThread"), thread);
+      assertTrue(thread.contains("test1.pool"), thread);
+    } finally {
+      p.shutdownNow();
+    }
+  }
 }
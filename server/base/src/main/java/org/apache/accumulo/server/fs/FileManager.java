@@ -35,7 +35,9 @@ import java.util.stream.Collectors;
 
 import org.apache.accumulo.core.client.SampleNotPresentException;
 import org.apache.accumulo.core.conf.Property;
+import org.apache.accumulo.core.data.ByteSequence;
 import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
 import org.apache.accumulo.core.data.Value;
 import org.apache.accumulo.core.dataImpl.KeyExtent;
 import org.apache.accumulo.core.file.FileOperations;
@@ -536,6 +538,28 @@ public class FileManager {
       return iters;
     }
 
+    /**
+     * Reads the data blocks that a lookup of the given ranges will need from the open files into
+     * the data cache. Does nothing unless {@link Property#TSERV_SCAN_LOOKUP_LOAD_MAX} is set.
+     */
+    public synchronized void loadBlocks(List<Range> ranges, Collection<ByteSequence> columnFamilies,
+        boolean inclusive) {
+      long maxBytes = context.getConfiguration().getAsBytes(Property.TSERV_SCAN_LOOKUP_LOAD_MAX);
+      if (maxBytes <= 0) {
+        return;
+      }
+      long maxGap = context.getConfiguration().getAsBytes(Property.TSERV_SCAN_LOOKUP_LOAD_GAP);
+
+      for (FileSKVIterator reader : tabletReservedReaders) {
+        try {
+          reader.loadBlocks(ranges, columnFamilies, inclusive, maxBytes, maxGap);
+        } catch (IOException e) {
+          // the lookup will read the blocks itself and report any problem
+          log.debug("Failed to load blocks for lookup of tablet {}", tablet, e);
+        }
+      }
+    }
+
     private SourceSwitchingIterator getSsi(StoredTabletFile file, FileSKVIterator source) {
       FileDataSource fds = new FileDataSource(file, source);
       dataSources.add(fds);
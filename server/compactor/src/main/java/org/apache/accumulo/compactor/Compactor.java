@@ -752,6 +752,22 @@ public class Compactor extends AbstractServer implements MetricsProducer, Compac
     return sleepTime;
   }
 
+  /**
+   * When the coordinator holds requests for jobs open, it has already waited for work on this
+   * compactor's behalf, so only wait long enough to keep the minimum time between requests.
+   * Otherwise back off based on the number of compactors.
+   *
+   * @param numCompactors number of compactors in this compactor's group
+   * @param requestTime time in millis spent in the request that returned no job
+   */
+  protected long getWaitTimeAfterEmptyJob(int numCompactors, long requestTime) {
+    if (getConfiguration().getTimeInMillis(Property.COMPACTION_COORDINATOR_JOB_WAIT_TIME) > 0) {
+      long minWait = getConfiguration().getTimeInMillis(Property.COMPACTOR_MIN_JOB_WAIT_TIME);
+      return Math.max(0, minWait - requestTime);
+    }
+    return getWaitTimeBetweenCompactionChecks(numCompactors);
+  }
+
   protected Collection<Tag> getServiceTags(HostAndPort clientAddress) {
     return MetricsInfo.serviceTags(getContext().getInstanceName(), getApplicationName(),
         clientAddress, getResourceGroup());
@@ -865,11 +881,13 @@ public class Compactor extends AbstractServer implements MetricsProducer, Compac
 
         TExternalCompactionJob job;
         try {
+          final Timer nextJobTimer = Timer.startNew();
           TNextCompactionJob next = getNextJob(getNextId());
           job = next.getJob();
           if (!job.isSetExternalCompactionId()) {
             LOG.trace("No external compactions in queue {}", this.getResourceGroup());
-            UtilWaitThread.sleep(getWaitTimeBetweenCompactionChecks(next.getCompactorCount()));
+            UtilWaitThread.sleep(getWaitTimeAfterEmptyJob(next.getCompactorCount(),
+                nextJobTimer.elapsed(TimeUnit.MILLISECONDS)));
             continue;
           }
           if (!job.getExternalCompactionId().equals(currentCompactionId.get().toString())) {
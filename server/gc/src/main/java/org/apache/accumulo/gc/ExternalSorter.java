@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.gc;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Sorts more values than fit in memory. Values are added in runs that fit in memory, each run is
+ * sorted and written to a local file, and the runs are merged when the values are read back.
+ */
+class ExternalSorter<T> implements Closeable {
+
+  interface Codec<T> {
+    void write(DataOutputStream out, T value) throws IOException;
+
+    T read(DataInputStream in) throws IOException;
+  }
+
+  private final Path dir;
+  private final String name;
+  private final Comparator<T> comparator;
+  private final Codec<T> codec;
+  private final List<Path> runs = new ArrayList<>();
+  private final List<DataInputStream> openRuns = new ArrayList<>();
+  private long bytesWritten = 0;
+
+  ExternalSorter(Path dir, String name, Comparator<T> comparator, Codec<T> codec) {
+    this.dir = dir;
+    this.name = name;
+    this.comparator = comparator;
+    this.codec = codec;
+  }
+
+  /**
+   * Sorts the values and writes them to a new run.
+   */
+  void addRun(List<T> values) throws IOException {
+    if (values.isEmpty()) {
+      return;
+    }
+    values.sort(comparator);
+    Files.createDirectories(dir);
+    Path run = Files.createTempFile(dir, name, ".run");
+    runs.add(run);
+    try (DataOutputStream out =
+        new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run)))) {
+      for (T value : values) {
+        codec.write(out, value);
+      }
+      bytesWritten += out.size();
+    }
+  }
+
+  long getBytesWritten() {
+    return bytesWritten;
+  }
+
+  private class Run {
+    private final DataInputStream in;
+    private T head;
+
+    Run(DataInputStream in) {
+      this.in = in;
+    }
+
+    /**
+     * @return false if the run has no more values
+     */
+    boolean advance() {
+      try {
+        head = codec.read(in);
+        return true;
+      } catch (EOFException e) {
+        head = null;
+        return false;
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+  /**
+   * @return all the values added so far in sorted order
+   */
+  Iterator<T> sorted() throws IOException {
+    PriorityQueue<Run> queue =
+        new PriorityQueue<>((r1, r2) -> comparator.compare(r1.head, r2.head));
+    for (Path run : runs) {
+      DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run)));
+      openRuns.add(in);
+      Run reader = new Run(in);
+      if (reader.advance()) {
+        queue.add(reader);
+      }
+    }
+
+    return new Iterator<>() {
+      @Override
+      public boolean hasNext() {
+        return !queue.isEmpty();
+      }
+
+      @Override
+      public T next() {
+        Run run = queue.poll();
+        if (run == null) {
+          throw new NoSuchElementException();
+        }
+        T value = run.head;
+        if (run.advance()) {
+          queue.add(run);
+        }
+        return value;
+      }
+    };
+  }
+
+  /**
+   * Deletes the runs.
+   */
+  @Override
+  public void close() throws IOException {
+    for (DataInputStream in : openRuns) {
+      in.close();
+    }
+    for (Path run : runs) {
+      Files.deleteIfExists(run);
+    }
+  }
+}
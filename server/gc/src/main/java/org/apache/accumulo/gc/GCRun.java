@@ -36,8 +36,10 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Queue;
 import java.util.Set;
 import java.util.SortedMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -48,6 +50,7 @@ import org.apache.accumulo.core.client.IsolatedScanner;
 import org.apache.accumulo.core.client.TableNotFoundException;
 import org.apache.accumulo.core.conf.AccumuloConfiguration;
 import org.apache.accumulo.core.conf.Property;
+import org.apache.accumulo.core.data.Range;
 import org.apache.accumulo.core.data.TableId;
 import org.apache.accumulo.core.fate.zookeeper.ZooReader;
 import org.apache.accumulo.core.fate.zookeeper.ZooUtil;
@@ -97,6 +100,11 @@ public class GCRun implements GarbageCollectionEnvironment {
   private long inUse = 0;
   private long deleted = 0;
   private long errors = 0;
+  private long referenceScans = 0;
+  private long references = 0;
+  private long referenceBytes = 0;
+  private long spilled = 0;
+  private final Queue<Duration> partitionScanTimes = new ConcurrentLinkedQueue<>();
   private AtomicInteger batchCount;
 
   public GCRun(Ample.DataLevel level, ServerContext context) {
@@ -182,6 +190,9 @@ public class GCRun implements GarbageCollectionEnvironment {
     // create a stream of metadata entries read from file, scan and tablet dir columns
     if (level == Ample.DataLevel.ROOT) {
       tabletStream = Stream.of(context.getAmple().readTablet(RootTable.EXTENT, DIR, FILES, SCANS));
+    } else if (level == Ample.DataLevel.USER
+        && config.getCount(Property.GC_REFERENCE_SCAN_THREADS) > 1) {
+      tabletStream = scanPartitions();
     } else {
       tabletStream = TabletsMetadata.builder(context).scanTable(level.metaTable())
           .checkConsistency().fetch(DIR, FILES, SCANS).build().stream();
@@ -226,6 +237,31 @@ public class GCRun implements GarbageCollectionEnvironment {
     return Stream.concat(tabletReferences, scanServerRefs);
   }
 
+  /**
+   * Reads the tablets in the metadata table using multiple threads, each reading a range of whole
+   * tables.
+   */
+  private Stream<TabletMetadata> scanPartitions() {
+    int threads = config.getCount(Property.GC_REFERENCE_SCAN_THREADS);
+    List<Range> partitions;
+    try {
+      // more partitions than threads so a partition with large tables does not hold up the others
+      partitions = PartitionedTabletScanner.partition(getTableIDs().keySet(), threads * 4);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+    log.debug("Reading file references from {} ranges using {} threads", partitions.size(),
+        threads);
+
+    ThreadPoolExecutor pool = ThreadPools.getServerThreadPools().createExecutorService(config,
+        Property.GC_REFERENCE_SCAN_THREADS);
+    return new PartitionedTabletScanner<>(pool, partitions,
+        range -> TabletsMetadata.builder(context).scanTable(level.metaTable()).overRange(range)
+            .checkConsistency().fetch(DIR, FILES, SCANS).build().stream(),
+        partitionScanTimes::add).stream();
+  }
+
   @Override
   public Map<TableId,TableState> getTableIDs() throws InterruptedException {
     final ZooReader zr = context.getZooSession().asReader();
@@ -421,6 +457,32 @@ public class GCRun implements GarbageCollectionEnvironment {
     inUse += i;
   }
 
+  @Override
+  public void incrementReferenceScanStat(long references, long bytes) {
+    this.referenceScans++;
+    this.references += references;
+    this.referenceBytes += bytes;
+  }
+
+  @Override
+  public void incrementSpilledStat(long bytes) {
+    spilled += bytes;
+  }
+
+  @Override
+  public boolean isSinglePassEnabled() {
+    return config.getBoolean(Property.GC_REFERENCE_SCAN_SINGLE_PASS);
+  }
+
+  @Override
+  public java.nio.file.Path getSpillDirectory() {
+    String dir = config.get(Property.GC_SPILL_DIR);
+    if (dir == null || dir.isBlank()) {
+      dir = System.getProperty("java.io.tmpdir");
+    }
+    return java.nio.file.Path.of(dir, "accumulo-gc-" + level.name().toLowerCase());
+  }
+
   @VisibleForTesting
   static void minimizeDeletes(SortedMap<String,GcCandidate> confirmedDeletes,
       List<GcCandidate> processedDeletes, VolumeManager fs, Logger logger,
@@ -539,6 +601,30 @@ public class GCRun implements GarbageCollectionEnvironment {
     return candidates;
   }
 
+  public long getReferenceScansStat() {
+    return referenceScans;
+  }
+
+  public long getReferencesStat() {
+    return references;
+  }
+
+  public long getReferenceBytesStat() {
+    return referenceBytes;
+  }
+
+  public long getSpilledStat() {
+    return spilled;
+  }
+
+  /**
+   * @return the time taken to read each range of the metadata table when it was read by multiple
+   *         threads
+   */
+  public Collection<Duration> getReferenceScanPartitionTimes() {
+    return partitionScanTimes;
+  }
+
   /**
    * Return a set of all TableIDs in the
    * {@link org.apache.accumulo.core.metadata.schema.Ample.DataLevel} for which we are considering
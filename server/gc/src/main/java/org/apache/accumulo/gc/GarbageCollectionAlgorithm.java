@@ -18,13 +18,18 @@
  */
 package org.apache.accumulo.gc;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Arrays.stream;
 import static java.util.function.Predicate.not;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -35,6 +40,7 @@ import java.util.TreeMap;
 import java.util.stream.Stream;
 
 import org.apache.accumulo.core.Constants;
+import org.apache.accumulo.core.bloomfilter.BloomFilter;
 import org.apache.accumulo.core.client.TableNotFoundException;
 import org.apache.accumulo.core.data.TableId;
 import org.apache.accumulo.core.gc.GcCandidate;
@@ -42,10 +48,14 @@ import org.apache.accumulo.core.gc.Reference;
 import org.apache.accumulo.core.metadata.schema.Ample.GcCandidateType;
 import org.apache.accumulo.core.metadata.schema.MetadataSchema.TabletsSection.ServerColumnFamily;
 import org.apache.accumulo.core.trace.TraceUtil;
+import org.apache.hadoop.util.bloom.Key;
+import org.apache.hadoop.util.hash.Hash;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.PeekingIterator;
 
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.context.Scope;
@@ -142,16 +152,15 @@ public class GarbageCollectionAlgorithm {
     List<GcCandidate> candidateEntriesToBeDeleted = new ArrayList<>();
     Set<TableId> tableIdsBefore = gce.getCandidateTableIDs();
     Set<TableId> tableIdsSeen = new HashSet<>(tableIdsBefore.size());
+    long[] referenceCount = new long[2];
     try (Stream<Reference> references = gce.getReferences()) {
       references.forEach(ref -> {
         tableIdsSeen.add(ref.getTableId());
+        referenceCount[0]++;
+        referenceCount[1] += ref.getMetadataPath().length();
 
         if (ref.isDirectory()) {
-          ServerColumnFamily.validateDirCol(ref.getMetadataPath());
-
-          String dir = "/" + ref.getTableId() + "/" + ref.getMetadataPath();
-
-          dir = makeRelative(dir, 2);
+          String dir = relativeDirectory(ref);
 
           GcCandidate gcTemp = candidateMap.remove(dir);
           if (gcTemp != null) {
@@ -160,16 +169,7 @@ public class GarbageCollectionAlgorithm {
             // once.
           }
         } else {
-          String reference = ref.getMetadataPath();
-          if (reference.startsWith("/")) {
-            log.debug("Candidate {} has a relative path, prepend tableId {}", reference,
-                ref.getTableId());
-            reference = "/" + ref.getTableId() + ref.getMetadataPath();
-          } else if (!reference.contains(":") && !reference.startsWith("../")) {
-            throw new RuntimeException("Bad file reference " + reference);
-          }
-
-          String relativePath = makeRelative(reference, 3);
+          String relativePath = relativeFile(ref);
 
           // WARNING: This line is EXTREMELY IMPORTANT.
           // You MUST REMOVE candidates that are still in use
@@ -193,12 +193,36 @@ public class GarbageCollectionAlgorithm {
         }
       });
     }
+    gce.incrementReferenceScanStat(referenceCount[0], referenceCount[1]);
     Set<TableId> tableIdsAfter = gce.getCandidateTableIDs();
     ensureAllTablesChecked(Collections.unmodifiableSet(tableIdsBefore),
         Collections.unmodifiableSet(tableIdsSeen), Collections.unmodifiableSet(tableIdsAfter));
     gce.deleteGcCandidates(candidateEntriesToBeDeleted, GcCandidateType.INUSE);
   }
 
+  /**
+   * @return the relative path of a directory reference, like 4/t0
+   */
+  private String relativeDirectory(Reference ref) {
+    ServerColumnFamily.validateDirCol(ref.getMetadataPath());
+    return makeRelative("/" + ref.getTableId() + "/" + ref.getMetadataPath(), 2);
+  }
+
+  /**
+   * @return the relative path of a file reference, like 4/t0/F000.rf
+   */
+  private String relativeFile(Reference ref) {
+    String reference = ref.getMetadataPath();
+    if (reference.startsWith("/")) {
+      log.debug("Candidate {} has a relative path, prepend tableId {}", reference,
+          ref.getTableId());
+      reference = "/" + ref.getTableId() + ref.getMetadataPath();
+    } else if (!reference.contains(":") && !reference.startsWith("../")) {
+      throw new RuntimeException("Bad file reference " + reference);
+    }
+    return makeRelative(reference, 3);
+  }
+
   private long removeBlipCandidates(GarbageCollectionEnvironment gce,
       SortedMap<String,GcCandidate> candidateMap) throws TableNotFoundException {
     long blipCount = 0;
@@ -347,22 +371,259 @@ public class GarbageCollectionAlgorithm {
     int batchCount = 0;
 
     while (candidatesIter.hasNext()) {
-      List<GcCandidate> batchOfCandidates;
-      Span candidatesSpan = TraceUtil.startSpan(this.getClass(), "getCandidates");
-      try (Scope candidatesScope = candidatesSpan.makeCurrent()) {
-        batchOfCandidates = gce.readCandidatesThatFitInMemory(candidatesIter);
-      } catch (Exception e) {
-        TraceUtil.setException(candidatesSpan, e, true);
-        throw e;
-      } finally {
-        candidatesSpan.end();
-      }
+      List<GcCandidate> batchOfCandidates = readCandidates(gce, candidatesIter);
       batchCount++;
+      if (batchCount == 1 && candidatesIter.hasNext() && gce.isSinglePassEnabled()) {
+        return collectSinglePass(gce, batchOfCandidates, candidatesIter);
+      }
       totalBlips = deleteBatch(gce, batchOfCandidates, batchCount);
     }
     return totalBlips;
   }
 
+  private List<GcCandidate> readCandidates(GarbageCollectionEnvironment gce,
+      Iterator<GcCandidate> candidatesIter) {
+    Span candidatesSpan = TraceUtil.startSpan(this.getClass(), "getCandidates");
+    try (Scope candidatesScope = candidatesSpan.makeCurrent()) {
+      return gce.readCandidatesThatFitInMemory(candidatesIter);
+    } catch (Exception e) {
+      TraceUtil.setException(candidatesSpan, e, true);
+      throw e;
+    } finally {
+      candidatesSpan.end();
+    }
+  }
+
+  private record SortedCandidate(String relativePath, GcCandidate candidate) {
+  }
+
+  private record ReferencedPath(String relativePath, boolean scan) {
+  }
+
+  private static final ExternalSorter.Codec<SortedCandidate> CANDIDATE_CODEC =
+      new ExternalSorter.Codec<>() {
+        @Override
+        public void write(DataOutputStream out, SortedCandidate value) throws IOException {
+          out.writeUTF(value.relativePath());
+          out.writeUTF(value.candidate().getPath());
+          out.writeLong(value.candidate().getUid());
+        }
+
+        @Override
+        public SortedCandidate read(DataInputStream in) throws IOException {
+          String relativePath = in.readUTF();
+          return new SortedCandidate(relativePath, new GcCandidate(in.readUTF(), in.readLong()));
+        }
+      };
+
+  private static final ExternalSorter.Codec<ReferencedPath> REFERENCE_CODEC =
+      new ExternalSorter.Codec<>() {
+        @Override
+        public void write(DataOutputStream out, ReferencedPath value) throws IOException {
+          out.writeUTF(value.relativePath());
+          out.writeBoolean(value.scan());
+        }
+
+        @Override
+        public ReferencedPath read(DataInputStream in) throws IOException {
+          return new ReferencedPath(in.readUTF(), in.readBoolean());
+        }
+      };
+
+  /**
+   * Processes candidates that do not fit in memory while scanning the references only once. All
+   * candidates are read and sorted in a local directory, then the references are scanned and the
+   * ones that may match a candidate, according to a bloom filter of the candidates, are sorted the
+   * same way. Merging the two sorted lists finds the candidates that are in use. The candidates
+   * must all be read before the references are scanned, the same as when processing a batch. The
+   * bloom filter is held in memory for the whole pass and grows with the total number of
+   * candidates, about ten bits for each one, so memory use is not bounded by the candidate batch
+   * size.
+   */
+  private long collectSinglePass(GarbageCollectionEnvironment gce, List<GcCandidate> firstBatch,
+      Iterator<GcCandidate> candidatesIter)
+      throws InterruptedException, TableNotFoundException, IOException {
+    Path spillDir = gce.getSpillDirectory();
+    try (
+        var candidates = new ExternalSorter<>(spillDir, "candidates",
+            Comparator.comparing(SortedCandidate::relativePath), CANDIDATE_CODEC);
+        var references = new ExternalSorter<>(spillDir, "references",
+            Comparator.comparing(ReferencedPath::relativePath), REFERENCE_CODEC)) {
+
+      long candidateCount = 0;
+      int runSize = 1;
+      List<GcCandidate> batch = firstBatch;
+      while (true) {
+        candidateCount += batch.size();
+        SortedMap<String,GcCandidate> relative = makeRelative(batch);
+        List<SortedCandidate> run = new ArrayList<>(relative.size());
+        relative.forEach((path, candidate) -> run.add(new SortedCandidate(path, candidate)));
+        candidates.addRun(run);
+        runSize = Math.max(runSize, run.size());
+        if (!candidatesIter.hasNext()) {
+          break;
+        }
+        batch = readCandidates(gce, candidatesIter);
+      }
+      gce.incrementCandidatesStat(candidateCount);
+      log.info("Sorted {} deletion candidates in {}", candidateCount, spillDir);
+
+      // about ten bits for each candidate and seven hashes gives one percent false positives
+      BloomFilter candidateFilter =
+          new BloomFilter((int) Math.min(Integer.MAX_VALUE - 8, 10 * Math.max(1, candidateCount)),
+              7, Hash.MURMUR_HASH);
+      boolean checkForBulkProcessingFiles = false;
+      for (var iter = candidates.sorted(); iter.hasNext();) {
+        String relativePath = iter.next().relativePath();
+        candidateFilter.add(filterKey(relativePath));
+        checkForBulkProcessingFiles |=
+            relativePath.toLowerCase(Locale.ENGLISH).contains(Constants.BULK_PREFIX);
+      }
+
+      // WARNING: candidates in the same folder as a bulk processing flag MUST NOT be deleted, so
+      // read the flags before the references the same as when processing a batch
+      Set<String> blipPaths = new HashSet<>();
+      if (checkForBulkProcessingFiles) {
+        try (Stream<String> blipStream = gce.getBlipPaths()) {
+          blipStream.forEach(blipPath -> blipPaths.add(makeRelative(blipPath, 2)));
+        }
+      }
+
+      scanReferences(gce, candidateFilter, references, runSize);
+      gce.incrementSpilledStat(candidates.getBytesWritten() + references.getBytesWritten());
+
+      long confirmedCount =
+          deleteUnreferenced(gce, candidates.sorted(), references.sorted(), blipPaths, runSize);
+      gce.incrementInUseStat(candidateCount - confirmedCount);
+      return blipPaths.size();
+    }
+  }
+
+  private static Key filterKey(String relativePath) {
+    return new Key(relativePath.getBytes(UTF_8));
+  }
+
+  /**
+   * Scans the references once, sorting the relative paths of the ones that may be candidates.
+   */
+  private void scanReferences(GarbageCollectionEnvironment gce, BloomFilter candidateFilter,
+      ExternalSorter<ReferencedPath> sorter, int runSize) throws InterruptedException, IOException {
+    Set<TableId> tableIdsBefore = gce.getCandidateTableIDs();
+    Set<TableId> tableIdsSeen = new HashSet<>(tableIdsBefore.size());
+    List<ReferencedPath> run = new ArrayList<>();
+    long referenceCount = 0;
+    long referenceBytes = 0;
+    try (Stream<Reference> references = gce.getReferences()) {
+      for (var iter = references.iterator(); iter.hasNext();) {
+        Reference ref = iter.next();
+        tableIdsSeen.add(ref.getTableId());
+        referenceCount++;
+        referenceBytes += ref.getMetadataPath().length();
+
+        if (ref.isDirectory()) {
+          String dir = relativeDirectory(ref);
+          if (candidateFilter.membershipTest(filterKey(dir))) {
+            run.add(new ReferencedPath(dir, false));
+          }
+        } else {
+          String relativePath = relativeFile(ref);
+          if (candidateFilter.membershipTest(filterKey(relativePath))) {
+            run.add(new ReferencedPath(relativePath, ref.isScan()));
+          }
+          String dir = relativePath.substring(0, relativePath.lastIndexOf('/'));
+          if (candidateFilter.membershipTest(filterKey(dir))) {
+            run.add(new ReferencedPath(dir, false));
+          }
+        }
+
+        if (run.size() >= runSize) {
+          sorter.addRun(run);
+          run = new ArrayList<>();
+        }
+      }
+    }
+    sorter.addRun(run);
+    gce.incrementReferenceScanStat(referenceCount, referenceBytes);
+
+    Set<TableId> tableIdsAfter = gce.getCandidateTableIDs();
+    ensureAllTablesChecked(Collections.unmodifiableSet(tableIdsBefore),
+        Collections.unmodifiableSet(tableIdsSeen), Collections.unmodifiableSet(tableIdsAfter));
+  }
+
+  /**
+   * Merges the sorted candidates and references, deleting the candidates that are not referenced in
+   * batches of at most runSize candidates.
+   *
+   * @return the number of candidates confirmed for deletion
+   */
+  private long deleteUnreferenced(GarbageCollectionEnvironment gce,
+      Iterator<SortedCandidate> candidates, Iterator<ReferencedPath> references,
+      Set<String> blipPaths, int runSize)
+      throws InterruptedException, TableNotFoundException, IOException {
+    PeekingIterator<ReferencedPath> refIter = Iterators.peekingIterator(references);
+    List<GcCandidate> candidateEntriesToBeDeleted = new ArrayList<>();
+    SortedMap<String,GcCandidate> confirmed = new TreeMap<>();
+    long confirmedCount = 0;
+
+    // the last referenced path, kept in case a path is a candidate more than once
+    String referencedPath = null;
+    boolean referencedByScan = false;
+
+    while (candidates.hasNext()) {
+      SortedCandidate candidate = candidates.next();
+      String relativePath = candidate.relativePath();
+
+      while (refIter.hasNext() && refIter.peek().relativePath().compareTo(relativePath) < 0) {
+        refIter.next();
+      }
+      if (refIter.hasNext() && refIter.peek().relativePath().equals(relativePath)) {
+        referencedPath = relativePath;
+        referencedByScan = false;
+        while (refIter.hasNext() && refIter.peek().relativePath().equals(relativePath)) {
+          referencedByScan |= refIter.next().scan();
+        }
+      }
+
+      if (inBulkProcessingFolder(relativePath, blipPaths)) {
+        log.debug("Folder has bulk processing flag: {}", relativePath);
+      } else if (relativePath.equals(referencedPath)) {
+        log.debug("Candidate was still in use: {}", relativePath);
+        // directory candidates are only created once, and candidates in use by scans won't be
+        // recreated once the scan is finished
+        if (!SimpleGarbageCollector.isDir(relativePath) && !referencedByScan) {
+          candidateEntriesToBeDeleted.add(candidate.candidate());
+          if (candidateEntriesToBeDeleted.size() >= runSize) {
+            gce.deleteGcCandidates(candidateEntriesToBeDeleted, GcCandidateType.INUSE);
+            candidateEntriesToBeDeleted = new ArrayList<>();
+          }
+        }
+      } else {
+        confirmed.put(relativePath, candidate.candidate());
+        confirmedCount++;
+        if (confirmed.size() >= runSize) {
+          deleteConfirmedCandidates(gce, confirmed);
+          confirmed = new TreeMap<>();
+        }
+      }
+    }
+
+    gce.deleteGcCandidates(candidateEntriesToBeDeleted, GcCandidateType.INUSE);
+    deleteConfirmedCandidates(gce, confirmed);
+    return confirmedCount;
+  }
+
+  private static boolean inBulkProcessingFolder(String relativePath, Set<String> blipPaths) {
+    if (blipPaths.isEmpty()) {
+      return false;
+    }
+    for (int i = 1; i <= relativePath.length(); i++) {
+      if (blipPaths.contains(relativePath.substring(0, i))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   /**
    * Given a sub-list of possible deletion candidates, process and remove valid deletion candidates.
    */
@@ -19,6 +19,7 @@
 package org.apache.accumulo.gc;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
@@ -129,4 +130,33 @@ public interface GarbageCollectionEnvironment {
    */
   void incrementInUseStat(long i);
 
+  /**
+   * Increment the reference scan stats for the current garbage collection run. Called once for each
+   * scan of all the references.
+   *
+   * @param references the number of references read by the scan
+   * @param bytes the bytes of reference paths read by the scan
+   */
+  void incrementReferenceScanStat(long references, long bytes);
+
+  /**
+   * Increment the bytes written to local files while sorting candidates and references for the
+   * current garbage collection run
+   *
+   * @param bytes Value to increment the spilled bytes by
+   */
+  void incrementSpilledStat(long bytes);
+
+  /**
+   * When the candidates do not fit in memory, determine if they should be sorted in a local
+   * directory so the references are only scanned once, instead of once for each batch of
+   * candidates.
+   */
+  boolean isSinglePassEnabled();
+
+  /**
+   * @return the local directory used to sort candidates and references
+   */
+  Path getSpillDirectory();
+
 }
@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.gc;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.util.Timer;
+
+/**
+ * Reads the metadata table in partitions of whole tables using a pool of threads. Together the
+ * partitions cover the entire metadata table, so tables that are not known when the partitions are
+ * computed are still read. The values read from each partition are passed to the reader in batches
+ * as they are read, so values from different partitions are interleaved.
+ */
+class PartitionedTabletScanner<T> {
+
+  private static final int BATCH_SIZE = 100;
+
+  /**
+   * A batch of values read from a partition, the failure of a partition, or the end of a partition
+   * when both are null.
+   */
+  private record Batch<T>(List<T> values, Throwable failure) {
+  }
+
+  private final ThreadPoolExecutor pool;
+  private final List<Range> partitions;
+  private final Function<Range,Stream<T>> reader;
+  private final Consumer<Duration> partitionTimes;
+
+  /**
+   * @param pool the threads used to read the partitions, shut down when the stream is closed
+   * @param partitions the ranges of the metadata table to read
+   * @param reader reads the values in a range of the metadata table
+   * @param partitionTimes called with the time taken to read each partition
+   */
+  PartitionedTabletScanner(ThreadPoolExecutor pool, List<Range> partitions,
+      Function<Range,Stream<T>> reader, Consumer<Duration> partitionTimes) {
+    this.pool = pool;
+    this.partitions = List.copyOf(partitions);
+    this.reader = reader;
+    this.partitionTimes = partitionTimes;
+  }
+
+  /**
+   * Splits the metadata table into contiguous ranges, each holding about the same number of the
+   * given tables. The first range starts at the beginning of the metadata table and the last range
+   * ends at the end of it.
+   */
+  static List<Range> partition(Collection<TableId> tableIds, int partitions) {
+    List<String> tableStarts = new ArrayList<>(tableIds.size());
+    tableIds.forEach(tableId -> tableStarts.add(tableId.canonical() + ';'));
+    tableStarts.sort(null);
+
+    int count = Math.min(partitions, tableStarts.size());
+    if (count <= 1) {
+      return List.of(new Range());
+    }
+
+    List<Range> ranges = new ArrayList<>(count);
+    Key start = null;
+    for (int i = 1; i < count; i++) {
+      Key end = new Key(tableStarts.get((int) ((long) i * tableStarts.size() / count)));
+      ranges.add(new Range(start, true, end, false));
+      start = end;
+    }
+    ranges.add(new Range(start, true, null, false));
+    return ranges;
+  }
+
+  private void read(Range range, BlockingQueue<Batch<T>> queue) {
+    Throwable failure = null;
+    boolean closed = false;
+    Timer timer = Timer.startNew();
+    try (Stream<T> values = reader.apply(range)) {
+      List<T> batch = new ArrayList<>(BATCH_SIZE);
+      for (var iter = values.iterator(); iter.hasNext();) {
+        batch.add(iter.next());
+        if (batch.size() >= BATCH_SIZE) {
+          queue.put(new Batch<>(batch, null));
+          batch = new ArrayList<>(BATCH_SIZE);
+        }
+      }
+      if (!batch.isEmpty()) {
+        queue.put(new Batch<>(batch, null));
+      }
+      partitionTimes.accept(timer.elapsed());
+    } catch (InterruptedException e) {
+      // the stream was closed, nothing is waiting for the end of this partition
+      Thread.currentThread().interrupt();
+      closed = true;
+    } catch (Throwable t) {
+      failure = t;
+    } finally {
+      // always mark the end of the partition, otherwise the reader of the stream waits forever
+      if (!closed) {
+        try {
+          queue.put(new Batch<>(null, failure));
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    }
+  }
+
+  /**
+   * Starts reading all the partitions. The stream must be closed to stop the threads when it is not
+   * read to the end.
+   */
+  Stream<T> stream() {
+    BlockingQueue<Batch<T>> queue = new ArrayBlockingQueue<>(2 * pool.getMaximumPoolSize());
+    for (Range range : partitions) {
+      pool.execute(() -> read(range, queue));
+    }
+
+    Iterator<T> iter = new Iterator<>() {
+      private int remaining = partitions.size();
+      private Iterator<T> current = null;
+
+      @Override
+      public boolean hasNext() {
+        while (current == null || !current.hasNext()) {
+          if (remaining == 0) {
+            return false;
+          }
+          Batch<T> batch;
+          try {
+            batch = queue.take();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reading the metadata table", e);
+          }
+          if (batch.failure() instanceof RuntimeException e) {
+            throw e;
+          } else if (batch.failure() instanceof Error e) {
+            throw e;
+          } else if (batch.failure() != null) {
+            throw new IllegalStateException("Failed to read the metadata table", batch.failure());
+          } else if (batch.values() == null) {
+            remaining--;
+          } else {
+            current = batch.values().iterator();
+          }
+        }
+        return true;
+      }
+
+      @Override
+      public T next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        return current.next();
+      }
+    };
+
+    return StreamSupport.stream(
+        Spliterators.spliteratorUnknownSize(iter, Spliterator.ORDERED | Spliterator.NONNULL), false)
+        .onClose(pool::shutdownNow);
+  }
+}
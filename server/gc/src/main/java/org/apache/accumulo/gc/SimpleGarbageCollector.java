@@ -27,6 +27,7 @@ import java.net.UnknownHostException;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -246,6 +247,8 @@ public class SimpleGarbageCollector extends AbstractServer implements Iface {
               incrementStatsForRun(userGC);
               logStats();
 
+              gcCycleMetrics.setLastReferenceScan(List.of(rootGC, mdGC, userGC));
+
             } catch (Exception e) {
               TraceUtil.setException(innerSpan, e, false);
               log.error("{}", e.getMessage(), e);
@@ -19,10 +19,15 @@
 package org.apache.accumulo.gc.metrics;
 
 import java.time.Duration;
+import java.util.Collection;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.accumulo.core.gc.thrift.GcCycleStats;
+import org.apache.accumulo.gc.GCRun;
+import org.apache.accumulo.server.metrics.NoopMetrics;
+
+import io.micrometer.core.instrument.Timer;
 
 /**
  * Wrapper class for GcCycleStats so that underlying thrift code in GcCycleStats is not modified.
@@ -37,6 +42,11 @@ public class GcCycleMetrics {
 
   private final AtomicReference<Duration> postOpDuration = new AtomicReference<>(Duration.ZERO);
   private final AtomicLong runCycleCount = new AtomicLong(0);
+  private final AtomicLong referenceScans = new AtomicLong(0);
+  private final AtomicLong referencesScanned = new AtomicLong(0);
+  private final AtomicLong referenceBytesScanned = new AtomicLong(0);
+  private final AtomicLong spilledBytes = new AtomicLong(0);
+  private volatile Timer partitionScanTimer = NoopMetrics.useNoopTimer();
 
   public GcCycleMetrics() {}
 
@@ -111,6 +121,64 @@ public class GcCycleMetrics {
     this.runCycleCount.incrementAndGet();
   }
 
+  /**
+   * Set the reference scan statistics of the last gc run from the runs of each data level.
+   *
+   * @param runs the runs of the last gc cycle
+   */
+  public void setLastReferenceScan(Collection<GCRun> runs) {
+    referenceScans.set(runs.stream().mapToLong(GCRun::getReferenceScansStat).sum());
+    referencesScanned.set(runs.stream().mapToLong(GCRun::getReferencesStat).sum());
+    referenceBytesScanned.set(runs.stream().mapToLong(GCRun::getReferenceBytesStat).sum());
+    spilledBytes.set(runs.stream().mapToLong(GCRun::getSpilledStat).sum());
+    runs.forEach(run -> run.getReferenceScanPartitionTimes().forEach(partitionScanTimer::record));
+  }
+
+  /**
+   * Set the timer that records the time taken to read each range of the metadata table.
+   *
+   * @param partitionScanTimer the registered timer.
+   */
+  void setPartitionScanTimer(Timer partitionScanTimer) {
+    this.partitionScanTimer = partitionScanTimer;
+  }
+
+  /**
+   * The number of times all the references were scanned in the last gc run.
+   *
+   * @return reference scan count.
+   */
+  long getReferenceScans() {
+    return referenceScans.get();
+  }
+
+  /**
+   * The number of references read in the last gc run.
+   *
+   * @return references read.
+   */
+  long getReferencesScanned() {
+    return referencesScanned.get();
+  }
+
+  /**
+   * The bytes of reference paths read in the last gc run.
+   *
+   * @return reference bytes read.
+   */
+  long getReferenceBytesScanned() {
+    return referenceBytesScanned.get();
+  }
+
+  /**
+   * The bytes written to local files to sort candidates and references in the last gc run.
+   *
+   * @return spilled bytes.
+   */
+  long getSpilledBytes() {
+    return spilledBytes.get();
+  }
+
   @Override
   public String toString() {
     final StringBuilder sb = new StringBuilder("GcMetricsValues{");
@@ -24,7 +24,12 @@ import static org.apache.accumulo.core.metrics.Metric.GC_ERRORS;
 import static org.apache.accumulo.core.metrics.Metric.GC_FINISHED;
 import static org.apache.accumulo.core.metrics.Metric.GC_IN_USE;
 import static org.apache.accumulo.core.metrics.Metric.GC_POST_OP_DURATION;
+import static org.apache.accumulo.core.metrics.Metric.GC_REFERENCES_SCANNED;
+import static org.apache.accumulo.core.metrics.Metric.GC_REFERENCE_BYTES_SCANNED;
+import static org.apache.accumulo.core.metrics.Metric.GC_REFERENCE_SCANS;
+import static org.apache.accumulo.core.metrics.Metric.GC_REFERENCE_SCAN_PARTITION_TIME;
 import static org.apache.accumulo.core.metrics.Metric.GC_RUN_CYCLE;
+import static org.apache.accumulo.core.metrics.Metric.GC_SPILL_BYTES;
 import static org.apache.accumulo.core.metrics.Metric.GC_STARTED;
 import static org.apache.accumulo.core.metrics.Metric.GC_WAL_CANDIDATES;
 import static org.apache.accumulo.core.metrics.Metric.GC_WAL_DELETED;
@@ -38,6 +43,7 @@ import org.apache.accumulo.gc.SimpleGarbageCollector;
 
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 public class GcMetrics implements MetricsProducer {
 
@@ -83,6 +89,20 @@ public class GcMetrics implements MetricsProducer {
         .description(GC_POST_OP_DURATION.getDescription()).register(registry);
     Gauge.builder(GC_RUN_CYCLE.getName(), metricValues, GcCycleMetrics::getRunCycleCount)
         .description(GC_RUN_CYCLE.getDescription()).register(registry);
+    Gauge.builder(GC_REFERENCE_SCANS.getName(), metricValues, GcCycleMetrics::getReferenceScans)
+        .description(GC_REFERENCE_SCANS.getDescription()).register(registry);
+    Gauge
+        .builder(GC_REFERENCES_SCANNED.getName(), metricValues,
+            GcCycleMetrics::getReferencesScanned)
+        .description(GC_REFERENCES_SCANNED.getDescription()).register(registry);
+    Gauge
+        .builder(GC_REFERENCE_BYTES_SCANNED.getName(), metricValues,
+            GcCycleMetrics::getReferenceBytesScanned)
+        .description(GC_REFERENCE_BYTES_SCANNED.getDescription()).register(registry);
+    Gauge.builder(GC_SPILL_BYTES.getName(), metricValues, GcCycleMetrics::getSpilledBytes)
+        .description(GC_SPILL_BYTES.getDescription()).register(registry);
+    metricValues.setPartitionScanTimer(Timer.builder(GC_REFERENCE_SCAN_PARTITION_TIME.getName())
+        .description(GC_REFERENCE_SCAN_PARTITION_TIME.getDescription()).register(registry));
 
   }
 
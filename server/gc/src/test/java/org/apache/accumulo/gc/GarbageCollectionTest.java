@@ -22,6 +22,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -47,9 +48,16 @@ import org.apache.accumulo.core.metadata.schema.Ample;
 import org.apache.accumulo.core.metadata.schema.Ample.GcCandidateType;
 import org.apache.hadoop.fs.Path;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+@SuppressFBWarnings(value = "PATH_TRAVERSAL_IN", justification = "paths provided by test")
 public class GarbageCollectionTest {
 
+  @TempDir
+  private static java.nio.file.Path tempDir;
+
   static class TestGCE implements GarbageCollectionEnvironment {
     TreeSet<GcCandidate> candidates = new TreeSet<>();
     TreeMap<GcCandidate,GcCandidateType> deletedCandidates = new TreeMap<>();
@@ -59,6 +67,9 @@ public class GarbageCollectionTest {
 
     ArrayList<GcCandidate> fileDeletions = new ArrayList<>();
     ArrayList<TableId> tablesDirsToDelete = new ArrayList<>();
+    java.nio.file.Path spillDir = null;
+    int referenceScans = 0;
+    long spilled = 0;
     private long timestamp = 0L;
 
     private final Ample.DataLevel level;
@@ -192,6 +203,26 @@ public class GarbageCollectionTest {
     @Override
     public void incrementInUseStat(long i) {}
 
+    @Override
+    public void incrementReferenceScanStat(long references, long bytes) {
+      referenceScans++;
+    }
+
+    @Override
+    public void incrementSpilledStat(long bytes) {
+      spilled += bytes;
+    }
+
+    @Override
+    public boolean isSinglePassEnabled() {
+      return spillDir != null;
+    }
+
+    @Override
+    public java.nio.file.Path getSpillDirectory() {
+      return spillDir;
+    }
+
     @Override
     public Set<TableId> getCandidateTableIDs() {
       if (level == Ample.DataLevel.ROOT) {
@@ -963,6 +994,50 @@ public class GarbageCollectionTest {
     assertEquals(0, gce.candidates.size());
   }
 
+  @Test
+  public void testSinglePass() throws Exception {
+    TestGCE gce = new TestGCE();
+    gce.spillDir = tempDir;
+
+    var candOne = gce.addCandidate("hdfs://foo:6000/accumulo/tables/4/t0/F000.rf");
+    var candTwo = gce.addCandidate("hdfs://foo.com:6000/accumulo/tables/4/t0/F001.rf");
+    var candThree = gce.addCandidate("hdfs://foo.com:6000/accumulo/tables/5/t0/F005.rf");
+    var candFour = gce.addCandidate("/4/t0/F003.rf");
+    var scanCandidate = gce.addCandidate("/4/t0/F010.rf");
+    var dirCandidate = gce.addCandidate("/5/t0");
+    var unusedDir = gce.addCandidate("/6/t1");
+    var blipCandidate = gce.addCandidate("/4/b-0/F002.rf");
+    // a candidate can be added more than once
+    var dupCandidate = gce.addCandidate("hdfs://foo.com:6000/accumulo/tables/4/t0/F001.rf");
+
+    gce.addFileReference("4", null, candTwo.getPath());
+    gce.addFileReference("5", null, candThree.getPath());
+    gce.addScanReference("4", null, "/t0/F010.rf");
+    gce.addDirReference("6", null, "t2");
+    gce.blips.add("/4/b-0");
+
+    GarbageCollectionAlgorithm gca = new GarbageCollectionAlgorithm();
+    gca.collect(gce);
+
+    // the candidates are read in three batches, but the references are only scanned once
+    assertEquals(1, gce.referenceScans);
+    assertTrue(gce.spilled > 0);
+    assertFileDeleted(gce, candOne, candFour, unusedDir);
+    assertCandidateRemoved(gce, GcCandidateType.INUSE, candTwo, candThree, dupCandidate);
+    assertEquals(Set.of(scanCandidate, dirCandidate, blipCandidate), gce.candidates);
+    try (var files = Files.list(tempDir)) {
+      assertEquals(0, files.count());
+    }
+
+    // with the candidates that fit in one batch the references are scanned the same as before
+    gce.blips.clear();
+    gce.removeScanReference("4", null, "/t0/F010.rf");
+    gca.collect(gce);
+    assertEquals(2, gce.referenceScans);
+    assertFileDeleted(gce, scanCandidate, blipCandidate);
+    assertEquals(Set.of(dirCandidate), gce.candidates);
+  }
+
   // below are tests for potential failure conditions of the GC process. Some of these cases were
   // observed on clusters. Some were hypothesis based on observations. The result was that
   // candidate entries were not removed when they should have been and therefore files were
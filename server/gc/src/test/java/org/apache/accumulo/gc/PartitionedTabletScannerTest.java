@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.gc;
+
+import static org.apache.accumulo.core.util.threads.ThreadPoolNames.GC_REFERENCE_SCAN_POOL;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.metadata.schema.MetadataSchema.TabletsSection;
+import org.apache.accumulo.core.util.threads.ThreadPools;
+import org.apache.hadoop.io.Text;
+import org.junit.jupiter.api.Test;
+
+public class PartitionedTabletScannerTest {
+
+  private static final List<TableId> TABLES =
+      IntStream.range(1, 40).mapToObj(i -> TableId.of(Integer.toString(i, 36))).toList();
+
+  // the metadata rows of three tablets for each table
+  private static final List<Text> ROWS = TABLES.stream()
+      .flatMap(tableId -> Stream.of(TabletsSection.encodeRow(tableId, new Text("m")),
+          TabletsSection.encodeRow(tableId, new Text("t")),
+          TabletsSection.encodeRow(tableId, null)))
+      .toList();
+
+  private static ThreadPoolExecutor pool() {
+    return ThreadPools.getServerThreadPools().getPoolBuilder(GC_REFERENCE_SCAN_POOL)
+        .numCoreThreads(3).build();
+  }
+
+  private static Stream<Text> rowsIn(Range range) {
+    return ROWS.stream().filter(row -> range.contains(new Key(row)));
+  }
+
+  @Test
+  public void testPartition() {
+    List<Range> ranges = PartitionedTabletScanner.partition(TABLES, 7);
+    assertEquals(7, ranges.size());
+
+    // every row is in exactly one range and every table is in a single range
+    for (TableId tableId : TABLES) {
+      Range tableRange = TabletsSection.getRange(tableId);
+      List<Range> containing =
+          ranges.stream().filter(range -> range.contains(tableRange.getStartKey())).toList();
+      assertEquals(1, containing.size(), tableId::canonical);
+      assertTrue(rowsIn(tableRange).allMatch(row -> containing.get(0).contains(new Key(row))));
+    }
+    assertEquals(ROWS.size(), ranges.stream().mapToLong(range -> rowsIn(range).count()).sum());
+
+    // tables that are not known are still in a range
+    Key unknown = new Key(TabletsSection.encodeRow(TableId.of("zzz"), null));
+    assertEquals(1, ranges.stream().filter(range -> range.contains(unknown)).count());
+
+    assertEquals(List.of(new Range()), PartitionedTabletScanner.partition(TABLES, 1));
+    assertEquals(List.of(new Range()), PartitionedTabletScanner.partition(Set.of(), 4));
+    assertEquals(TABLES.size(), PartitionedTabletScanner.partition(TABLES, 1000).size());
+  }
+
+  @Test
+  public void testStream() {
+    List<Range> ranges = PartitionedTabletScanner.partition(TABLES, 12);
+    var times = new ConcurrentLinkedQueue<Duration>();
+    Set<Text> seen;
+    try (Stream<Text> rows = new PartitionedTabletScanner<>(pool(), ranges,
+        PartitionedTabletScannerTest::rowsIn, times::add).stream()) {
+      List<Text> read = rows.collect(Collectors.toCollection(ArrayList::new));
+      seen = new TreeSet<>(read);
+      assertEquals(read.size(), seen.size());
+    }
+    assertEquals(new TreeSet<>(ROWS), seen);
+    assertEquals(ranges.size(), times.size());
+  }
+
+  @Test
+  public void testFailure() {
+    List<Range> ranges = PartitionedTabletScanner.partition(TABLES, 4);
+    IllegalStateException failure = new IllegalStateException("incomplete scan");
+    Function<Range,Stream<Text>> reader = range -> {
+      if (range.equals(ranges.get(2))) {
+        return rowsIn(range).map(row -> {
+          throw failure;
+        });
+      }
+      return rowsIn(range);
+    };
+
+    ThreadPoolExecutor pool = pool();
+    try (Stream<Text> rows =
+        new PartitionedTabletScanner<>(pool, ranges, reader, time -> {}).stream()) {
+      assertSame(failure, assertThrows(IllegalStateException.class, rows::count));
+    }
+    assertTrue(pool.isShutdown());
+  }
+
+  @Test
+  public void testError() {
+    List<Range> ranges = PartitionedTabletScanner.partition(TABLES, 4);
+    AssertionError failure = new AssertionError("unexpected metadata");
+    Function<Range,Stream<Text>> reader = range -> {
+      if (range.equals(ranges.get(1))) {
+        return rowsIn(range).map(row -> {
+          throw failure;
+        });
+      }
+      return rowsIn(range);
+    };
+
+    // an error in a reading thread must end the stream instead of leaving it waiting forever
+    ThreadPoolExecutor pool = pool();
+    try (Stream<Text> rows =
+        new PartitionedTabletScanner<>(pool, ranges, reader, time -> {}).stream()) {
+      assertSame(failure, assertTimeoutPreemptively(Duration.ofSeconds(30),
+          () -> assertThrows(AssertionError.class, rows::count)));
+    }
+    assertTrue(pool.isShutdown());
+  }
+}
@@ -24,6 +24,7 @@ import static java.util.concurrent.TimeUnit.MINUTES;
 import static org.apache.accumulo.manager.Manager.ONE_SECOND;
 import static org.apache.accumulo.manager.Manager.WAIT_BETWEEN_ERRORS;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.EnumSet;
@@ -517,6 +518,7 @@ class BalanceManager {
           dataLevel, getTablesForLevel(dataLevel));
       var wait = getBalancer().balance(params);
       long migrationsOutForLevel = 0;
+      List<KeyExtent> migrating = new ArrayList<>();
       try (var tabletsMutator = getContext().getAmple().conditionallyMutateTablets(result -> {})) {
         for (TabletMigration m : checkMigrationSanity(tserverStatusForBalancerLevel.keySet(),
             params.migrationsOut(), dataLevel)) {
@@ -526,6 +528,7 @@ class BalanceManager {
             continue;
           }
           migrationsOutForLevel++;
+          migrating.add(ke);
           var migration = TabletServerIdImpl.toThrift(m.getNewTabletServer());
           tabletsMutator.mutateTablet(ke).requireAbsentOperation()
               .requireCurrentLocationNotEqualTo(migration).putMigration(migration)
@@ -537,8 +540,16 @@ class BalanceManager {
         if (migrationsOutForLevel > 0) {
           // signal the tablet group watcher for this data level that it needs to start working on
           // migrations
-          getManager().nextEvent.event(dataLevel, "%s migrating %d more tablets, %d total",
-              dataLevel, migrationsOutForLevel, migrationsOutForLevel + existingMigrations.size());
+          if (getManager().getConfiguration()
+              .getBoolean(Property.MANAGER_TABLET_GROUP_WATCHER_INCREMENTAL)) {
+            getManager().nextEvent.event(migrating, "%s migrating %d more tablets, %d total",
+                dataLevel, migrationsOutForLevel,
+                migrationsOutForLevel + existingMigrations.size());
+          } else {
+            getManager().nextEvent.event(dataLevel, "%s migrating %d more tablets, %d total",
+                dataLevel, migrationsOutForLevel,
+                migrationsOutForLevel + existingMigrations.size());
+          }
         }
       }
       return wait;
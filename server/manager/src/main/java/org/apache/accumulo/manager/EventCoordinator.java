@@ -183,6 +183,17 @@ public class EventCoordinator implements EventPublisher {
     }
   }
 
+  /**
+   * Wakes up anything waiting for events without passing an event to the listeners. Used for
+   * changes that other threads may be waiting on, but that do not require a tablet group watcher to
+   * scan anything.
+   */
+  public synchronized void notifyWaiters(String msg, Object... args) {
+    log.info(String.format(msg, args));
+    eventCounter++;
+    notifyAll();
+  }
+
   private synchronized void publish(Event event) {
     if (event.getScope() == EventScope.ALL) {
       listeners.values().forEach(listener -> listener.process(event));
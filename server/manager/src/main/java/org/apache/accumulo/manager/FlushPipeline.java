@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.manager;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.accumulo.server.log.WalStateManager.WalMarkerException;
+import org.apache.accumulo.server.manager.state.DistributedStoreException;
+import org.apache.thrift.TException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Applies the chunks of changes found by a single tablet group watcher scan on another thread, so
+ * the scan can keep consuming tablets while a chunk is applied. A chunk is only submitted after the
+ * previous one is applied, so at most one chunk is in flight and the tablet servers see no more
+ * work at once than when the scan applies each chunk itself.
+ */
+class FlushPipeline implements AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(FlushPipeline.class);
+
+  /**
+   * Applies one chunk of changes.
+   */
+  @FunctionalInterface
+  interface Flush {
+    void apply() throws DistributedStoreException, TException, WalMarkerException;
+  }
+
+  private final ExecutorService executor;
+  private final String storeName;
+  private Future<?> pending = null;
+
+  FlushPipeline(ExecutorService executor, String storeName) {
+    this.executor = executor;
+    this.storeName = storeName;
+  }
+
+  /**
+   * Waits for the previous chunk to be applied, rethrowing its failure, and then starts applying
+   * the given chunk.
+   */
+  void submit(Flush flush) throws DistributedStoreException, TException, WalMarkerException {
+    await();
+    pending = executor.submit(() -> {
+      flush.apply();
+      return null;
+    });
+  }
+
+  /**
+   * Waits for the chunk in flight, if any, rethrowing its failure.
+   */
+  void await() throws DistributedStoreException, TException, WalMarkerException {
+    Future<?> flush = pending;
+    pending = null;
+    waitForFlush(flush);
+  }
+
+  /**
+   * Waits for a chunk that is still in flight when the scan ended without calling {@link #await()},
+   * because it failed. The chunk is not cancelled since it may have partially assigned tablets, and
+   * its failure is logged because the scan is already failing with its own exception.
+   */
+  @Override
+  public void close() {
+    if (pending != null) {
+      try {
+        await();
+      } catch (DistributedStoreException | TException | WalMarkerException | RuntimeException e) {
+        log.warn("[{}] Failed to apply changes found by a failed scan", storeName, e);
+      }
+    }
+  }
+
+  static void waitForFlush(Future<?> flush)
+      throws DistributedStoreException, TException, WalMarkerException {
+    if (flush == null) {
+      return;
+    }
+    try {
+      flush.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    } catch (ExecutionException e) {
+      var cause = e.getCause();
+      if (cause instanceof DistributedStoreException dse) {
+        throw dse;
+      } else if (cause instanceof TException te) {
+        throw te;
+      } else if (cause instanceof WalMarkerException wme) {
+        throw wme;
+      } else if (cause instanceof RuntimeException re) {
+        throw re;
+      }
+      throw new IllegalStateException(cause);
+    }
+  }
+}
@@ -27,11 +27,24 @@ import static org.apache.accumulo.core.metrics.Metric.COMPACTION_META_SVC_ERRORS
 import static org.apache.accumulo.core.metrics.Metric.COMPACTION_ROOT_SVC_ERRORS;
 import static org.apache.accumulo.core.metrics.Metric.COMPACTION_USER_SVC_ERRORS;
 import static org.apache.accumulo.core.metrics.Metric.MANAGER_META_TGW_ERRORS;
+import static org.apache.accumulo.core.metrics.Metric.MANAGER_META_TGW_FULL_SCAN_TIME;
+import static org.apache.accumulo.core.metrics.Metric.MANAGER_META_TGW_MIGRATION_READS;
+import static org.apache.accumulo.core.metrics.Metric.MANAGER_META_TGW_MIGRATION_TABLETS_READ;
+import static org.apache.accumulo.core.metrics.Metric.MANAGER_META_TGW_RANGE_SCAN_TIME;
 import static org.apache.accumulo.core.metrics.Metric.MANAGER_META_TGW_RECOVERY;
 import static org.apache.accumulo.core.metrics.Metric.MANAGER_ROOT_TGW_ERRORS;
+import static org.apache.accumulo.core.metrics.Metric.MANAGER_ROOT_TGW_FULL_SCAN_TIME;
+import static org.apache.accumulo.core.metrics.Metric.MANAGER_ROOT_TGW_MIGRATION_READS;
+import static org.apache.accumulo.core.metrics.Metric.MANAGER_ROOT_TGW_MIGRATION_TABLETS_READ;
+import static org.apache.accumulo.core.metrics.Metric.MANAGER_ROOT_TGW_RANGE_SCAN_TIME;
 import static org.apache.accumulo.core.metrics.Metric.MANAGER_ROOT_TGW_RECOVERY;
 import static org.apache.accumulo.core.metrics.Metric.MANAGER_USER_TGW_ERRORS;
+import static org.apache.accumulo.core.metrics.Metric.MANAGER_USER_TGW_FULL_SCAN_TIME;
+import static org.apache.accumulo.core.metrics.Metric.MANAGER_USER_TGW_MIGRATION_READS;
+import static org.apache.accumulo.core.metrics.Metric.MANAGER_USER_TGW_MIGRATION_TABLETS_READ;
+import static org.apache.accumulo.core.metrics.Metric.MANAGER_USER_TGW_RANGE_SCAN_TIME;
 import static org.apache.accumulo.core.metrics.Metric.MANAGER_USER_TGW_RECOVERY;
+import static org.apache.accumulo.core.util.threads.ThreadPoolNames.MANAGER_TABLET_WATCHER_FLUSH_POOL_PREFIX;
 
 import java.io.IOException;
 import java.time.Duration;
@@ -49,7 +62,9 @@ import java.util.Set;
 import java.util.SortedMap;
 import java.util.SortedSet;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
@@ -87,6 +102,7 @@ import org.apache.accumulo.core.metrics.Metric;
 import org.apache.accumulo.core.metrics.MetricsProducer;
 import org.apache.accumulo.core.security.Authorizations;
 import org.apache.accumulo.core.util.Timer;
+import org.apache.accumulo.core.util.threads.ThreadPools;
 import org.apache.accumulo.core.util.threads.Threads;
 import org.apache.accumulo.core.util.threads.Threads.AccumuloDaemonThread;
 import org.apache.accumulo.manager.EventCoordinator.Event;
@@ -117,11 +133,13 @@ import org.apache.zookeeper.KeeperException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableSortedSet;
 import com.google.common.collect.Sets;
 import com.google.common.net.HostAndPort;
 
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 
@@ -139,13 +157,21 @@ abstract class TabletGroupWatcher extends AccumuloDaemonThread {
   private final EventHandler eventHandler;
   private final TabletGroupWatcherMetrics metrics;
   private final WalStateManager walStateManager;
+  private final ThreadPoolExecutor flushPool;
   private volatile Set<TServerInstance> filteredServersToShutdown = Set.of();
+  // tablets whose assignment failed or that the balancer did not place, in incremental mode these
+  // are rescanned after the next full scan instead of starting another full scan
+  private final Set<KeyExtent> assignmentRetries = ConcurrentHashMap.newKeySet();
 
   private static class TabletGroupWatcherMetrics implements MetricsProducer {
     private final AtomicLong errorsGauge = new AtomicLong(0);
     private final AtomicLong recoveryGauge = new AtomicLong(0);
     private final AtomicInteger compactionConfigurationError = new AtomicInteger(0);
     private final Ample.DataLevel level;
+    private volatile io.micrometer.core.instrument.Timer fullScanTimer = null;
+    private volatile io.micrometer.core.instrument.Timer rangeScanTimer = null;
+    private volatile Counter migrationReadsCounter = null;
+    private volatile Counter migrationTabletsReadCounter = null;
 
     private TabletGroupWatcherMetrics(Ample.DataLevel level) {
       this.level = level;
@@ -167,27 +193,66 @@ abstract class TabletGroupWatcher extends AccumuloDaemonThread {
       this.compactionConfigurationError.set(0);
     }
 
+    public void recordFullScan(long millis) {
+      var timer = fullScanTimer;
+      if (timer != null) {
+        timer.record(millis, TimeUnit.MILLISECONDS);
+      }
+    }
+
+    public void recordRangeScan(long millis) {
+      var timer = rangeScanTimer;
+      if (timer != null) {
+        timer.record(millis, TimeUnit.MILLISECONDS);
+      }
+    }
+
+    public void recordMigrationRead(int tablets) {
+      var reads = migrationReadsCounter;
+      var tabletsRead = migrationTabletsReadCounter;
+      if (reads != null && tabletsRead != null) {
+        reads.increment();
+        tabletsRead.increment(tablets);
+      }
+    }
+
     @Override
     public void registerMetrics(MeterRegistry registry) {
 
       Metric errorMetric;
       Metric recoveryMetric;
       Metric svcCfgErrorMetric;
+      Metric fullScanMetric;
+      Metric rangeScanMetric;
+      Metric migrationReadsMetric;
+      Metric migrationTabletsReadMetric;
       switch (level) {
         case USER -> {
           errorMetric = MANAGER_USER_TGW_ERRORS;
           recoveryMetric = MANAGER_USER_TGW_RECOVERY;
           svcCfgErrorMetric = COMPACTION_USER_SVC_ERRORS;
+          fullScanMetric = MANAGER_USER_TGW_FULL_SCAN_TIME;
+          rangeScanMetric = MANAGER_USER_TGW_RANGE_SCAN_TIME;
+          migrationReadsMetric = MANAGER_USER_TGW_MIGRATION_READS;
+          migrationTabletsReadMetric = MANAGER_USER_TGW_MIGRATION_TABLETS_READ;
         }
         case METADATA -> {
           errorMetric = MANAGER_META_TGW_ERRORS;
           recoveryMetric = MANAGER_META_TGW_RECOVERY;
           svcCfgErrorMetric = COMPACTION_META_SVC_ERRORS;
+          fullScanMetric = MANAGER_META_TGW_FULL_SCAN_TIME;
+          rangeScanMetric = MANAGER_META_TGW_RANGE_SCAN_TIME;
+          migrationReadsMetric = MANAGER_META_TGW_MIGRATION_READS;
+          migrationTabletsReadMetric = MANAGER_META_TGW_MIGRATION_TABLETS_READ;
         }
         case ROOT -> {
           errorMetric = MANAGER_ROOT_TGW_ERRORS;
           recoveryMetric = MANAGER_ROOT_TGW_RECOVERY;
           svcCfgErrorMetric = COMPACTION_ROOT_SVC_ERRORS;
+          fullScanMetric = MANAGER_ROOT_TGW_FULL_SCAN_TIME;
+          rangeScanMetric = MANAGER_ROOT_TGW_RANGE_SCAN_TIME;
+          migrationReadsMetric = MANAGER_ROOT_TGW_MIGRATION_READS;
+          migrationTabletsReadMetric = MANAGER_ROOT_TGW_MIGRATION_TABLETS_READ;
         }
         default -> throw new IllegalStateException("Unknown level " + level);
       }
@@ -197,6 +262,14 @@ abstract class TabletGroupWatcher extends AccumuloDaemonThread {
           .description(recoveryMetric.getDescription()).register(registry);
       Gauge.builder(svcCfgErrorMetric.getName(), compactionConfigurationError, AtomicInteger::get)
           .description(svcCfgErrorMetric.getDescription()).register(registry);
+      fullScanTimer = io.micrometer.core.instrument.Timer.builder(fullScanMetric.getName())
+          .description(fullScanMetric.getDescription()).register(registry);
+      rangeScanTimer = io.micrometer.core.instrument.Timer.builder(rangeScanMetric.getName())
+          .description(rangeScanMetric.getDescription()).register(registry);
+      migrationReadsCounter = Counter.builder(migrationReadsMetric.getName())
+          .description(migrationReadsMetric.getDescription()).register(registry);
+      migrationTabletsReadCounter = Counter.builder(migrationTabletsReadMetric.getName())
+          .description(migrationTabletsReadMetric.getDescription()).register(registry);
 
     }
   }
@@ -209,6 +282,11 @@ abstract class TabletGroupWatcher extends AccumuloDaemonThread {
     this.metrics = new TabletGroupWatcherMetrics(store.getLevel());
     this.walStateManager = new WalStateManager(manager.getContext());
     this.eventHandler = new EventHandler();
+    // one thread for the full scan and one for the range processor, idle threads time out
+    this.flushPool = ThreadPools.getServerThreadPools()
+        .getPoolBuilder(MANAGER_TABLET_WATCHER_FLUSH_POOL_PREFIX.poolName
+            + store.getLevel().name().toLowerCase())
+        .numCoreThreads(2).withTimeOut(60, TimeUnit.SECONDS).build();
     manager.getEventCoordinator().addListener(store.getLevel(), eventHandler);
   }
 
@@ -257,6 +335,9 @@ abstract class TabletGroupWatcher extends AccumuloDaemonThread {
     private final List<TabletMetadata> assignedToDeadServers = new ArrayList<>();
     private final List<TabletMetadata> suspendedToGoneServers = new ArrayList<>();
     private final Map<KeyExtent,UnassignedTablet> unassigned = new HashMap<>();
+    // unassigned tablets that may be finishing a migration, their migration column is read for all
+    // of them at once before changes are flushed
+    private final Map<KeyExtent,UnassignedTablet> possibleMigrations = new HashMap<>();
     private final Map<TServerInstance,List<Path>> logsForDeadServers = new TreeMap<>();
     // read only list of tablet servers that are not shutting down
     private final SortedMap<TServerInstance,TabletServerStatus> destinations;
@@ -297,6 +378,7 @@ abstract class TabletGroupWatcher extends AccumuloDaemonThread {
       assignedToDeadServers.clear();
       suspendedToGoneServers.clear();
       unassigned.clear();
+      possibleMigrations.clear();
       volumeReplacements.clear();
     }
   }
@@ -402,6 +484,7 @@ abstract class TabletGroupWatcher extends AccumuloDaemonThread {
       long t1 = System.currentTimeMillis();
       manageTablets(iter, tabletMgmtParams, currentTservers, false);
       long t2 = System.currentTimeMillis();
+      metrics.recordRangeScan(t2 - t1);
       Manager.log.debug(String.format("[%s]: partial scan time %.2f seconds for %,d ranges",
           store.name(), (t2 - t1) / 1000., ranges.size()));
     } catch (Exception e) {
@@ -494,6 +577,14 @@ abstract class TabletGroupWatcher extends AccumuloDaemonThread {
     return tabletMgmtParams;
   }
 
+  private boolean isIncremental() {
+    return manager.getConfiguration().getBoolean(Property.MANAGER_TABLET_GROUP_WATCHER_INCREMENTAL);
+  }
+
+  private boolean isPipelined() {
+    return manager.getConfiguration().getBoolean(Property.MANAGER_TABLET_GROUP_WATCHER_PIPELINE);
+  }
+
   private Set<TServerInstance> getFilteredServersToShutdown() {
     return filteredServersToShutdown;
   }
@@ -503,6 +594,8 @@ abstract class TabletGroupWatcher extends AccumuloDaemonThread {
     private int totalUnloaded;
     private long totalVolumeReplacements;
     private int tabletsWithErrors;
+    private int migrationReads;
+    private int migrationTabletsRead;
   }
 
   private TableMgmtStats manageTablets(Iterator<TabletManagement> iter,
@@ -534,6 +627,7 @@ abstract class TabletGroupWatcher extends AccumuloDaemonThread {
     }
 
     int unloaded = 0;
+    final boolean pipelined = isPipelined();
 
     TabletLists tLists = new TabletLists(currentTServers, tableMgmtParams.getGroupedTServers(),
         tableMgmtParams.getServersToShutdown());
@@ -558,239 +652,252 @@ abstract class TabletGroupWatcher extends AccumuloDaemonThread {
 
     long tabletsNeedingRecovery = 0;
 
-    while (iter.hasNext() && !manager.isShutdownRequested()) {
-      final TabletManagement mti = iter.next();
-      if (mti == null) {
-        throw new IllegalStateException("State store returned a null ManagerTabletInfo object");
-      }
+    // closing the pipeline waits for a chunk still in flight when the scan fails
+    try (FlushPipeline flushes = new FlushPipeline(flushPool, store.name())) {
+      while (iter.hasNext() && !manager.isShutdownRequested()) {
+        final TabletManagement mti = iter.next();
+        if (mti == null) {
+          throw new IllegalStateException("State store returned a null ManagerTabletInfo object");
+        }
 
-      final String mtiError = mti.getErrorMessage();
-      if (mtiError != null) {
-        LOG.warn(
-            "Error on TabletServer trying to get Tablet management information for metadata tablet. Error message: {}",
-            mtiError);
-        this.metrics.incrementTabletGroupWatcherError();
-        tableMgmtStats.tabletsWithErrors++;
-        continue;
-      }
+        final String mtiError = mti.getErrorMessage();
+        if (mtiError != null) {
+          LOG.warn(
+              "Error on TabletServer trying to get Tablet management information for metadata tablet. Error message: {}",
+              mtiError);
+          this.metrics.incrementTabletGroupWatcherError();
+          tableMgmtStats.tabletsWithErrors++;
+          continue;
+        }
 
-      RecoveryManager.RecoverySession recoverySession =
-          manager.recoveryManager.newRecoverySession();
+        RecoveryManager.RecoverySession recoverySession =
+            manager.recoveryManager.newRecoverySession();
 
-      final TabletMetadata tm = mti.getTabletMetadata();
-      final TableId tableId = tm.getTableId();
-      // ignore entries for tables that do not exist in zookeeper
-      if (manager.getTableManager().getTableState(tableId) == TableState.UNKNOWN) {
-        continue;
-      }
+        final TabletMetadata tm = mti.getTabletMetadata();
+        final TableId tableId = tm.getTableId();
+        // ignore entries for tables that do not exist in zookeeper
+        if (manager.getTableManager().getTableState(tableId) == TableState.UNKNOWN) {
+          continue;
+        }
 
-      // Don't overwhelm the tablet servers with work
-      if (tLists.unassigned.size() + unloaded
-          > Manager.MAX_TSERVER_WORK_CHUNK * currentTServers.size()
-          || tLists.volumeReplacements.size() > 1000) {
-        flushChanges(tLists);
-        tLists.reset();
-        unloaded = 0;
-      }
+        // Don't overwhelm the tablet servers with work
+        if (tLists.unassigned.size() + tLists.possibleMigrations.size() + unloaded
+            > Manager.MAX_TSERVER_WORK_CHUNK * currentTServers.size()
+            || tLists.volumeReplacements.size() > 1000) {
+          if (pipelined) {
+            flushAsync(flushes, tLists, tableMgmtStats);
+            tLists = new TabletLists(currentTServers, tableMgmtParams.getGroupedTServers(),
+                tableMgmtParams.getServersToShutdown());
+          } else {
+            readMigrations(tLists, tableMgmtStats);
+            flushChanges(tLists);
+            tLists.reset();
+          }
+          unloaded = 0;
+        }
 
-      final TableConfiguration tableConf = manager.getContext().getTableConfiguration(tableId);
-
-      TabletState state = TabletState.compute(tm, currentTServers.keySet());
-      if (state == TabletState.ASSIGNED_TO_DEAD_SERVER) {
-        /*
-         * This code exists to deal with a race condition caused by two threads running in this
-         * class that compute tablets actions. One thread does full scans and the other reacts to
-         * events and does partial scans. Below is an example of the race condition this is
-         * handling.
-         *
-         * - TGW Thread 1 : reads the set of tablets servers and its empty
-         *
-         * - TGW Thread 2 : reads the set of tablet servers and its [TS1]
-         *
-         * - TGW Thread 2 : Sees tabletX without a location and assigns it to TS1
-         *
-         * - TGW Thread 1 : Sees tabletX assigned to TS1 and assumes it's assigned to a dead tablet
-         * server because its set of live servers is the empty set.
-         *
-         * To deal with this race condition, this code recomputes the tablet state using the latest
-         * tservers when a tablet is seen assigned to a dead tserver.
-         */
-
-        TabletState newState = TabletState.compute(tm, manager.tserversSnapshot().getTservers());
-        if (newState != state) {
-          LOG.debug("Tablet state changed when using latest set of tservers {} {} {}",
-              tm.getExtent(), state, newState);
-          state = newState;
+        final TableConfiguration tableConf = manager.getContext().getTableConfiguration(tableId);
+
+        TabletState state = TabletState.compute(tm, currentTServers.keySet());
+        if (state == TabletState.ASSIGNED_TO_DEAD_SERVER) {
+          /*
+           * This code exists to deal with a race condition caused by two threads running in this
+           * class that compute tablets actions. One thread does full scans and the other reacts to
+           * events and does partial scans. Below is an example of the race condition this is
+           * handling.
+           *
+           * - TGW Thread 1 : reads the set of tablets servers and its empty
+           *
+           * - TGW Thread 2 : reads the set of tablet servers and its [TS1]
+           *
+           * - TGW Thread 2 : Sees tabletX without a location and assigns it to TS1
+           *
+           * - TGW Thread 1 : Sees tabletX assigned to TS1 and assumes it's assigned to a dead
+           * tablet server because its set of live servers is the empty set.
+           *
+           * To deal with this race condition, this code recomputes the tablet state using the
+           * latest tservers when a tablet is seen assigned to a dead tserver.
+           */
+
+          TabletState newState = TabletState.compute(tm, manager.tserversSnapshot().getTservers());
+          if (newState != state) {
+            LOG.debug("Tablet state changed when using latest set of tservers {} {} {}",
+                tm.getExtent(), state, newState);
+            state = newState;
+          }
         }
-      }
-      tableMgmtStats.counts[state.ordinal()]++;
+        tableMgmtStats.counts[state.ordinal()]++;
 
-      // This is final because nothing in this method should change the goal. All computation of the
-      // goal should be done in TabletGoalState.compute() so that all parts of the Accumulo code
-      // will compute a consistent goal.
-      final TabletGoalState goal = TabletGoalState.compute(tm, state,
-          manager.getBalanceManager().getBalancer(), tableMgmtParams);
+        // This is final because nothing in this method should change the goal. All computation
+        // of the goal should be done in TabletGoalState.compute() so that all parts of the
+        // Accumulo code will compute a consistent goal.
+        final TabletGoalState goal = TabletGoalState.compute(tm, state,
+            manager.getBalanceManager().getBalancer(), tableMgmtParams);
 
-      final Set<ManagementAction> actions = mti.getActions();
+        final Set<ManagementAction> actions = mti.getActions();
 
-      if (actions.contains(ManagementAction.NEEDS_RECOVERY) && goal != TabletGoalState.HOSTED) {
-        LOG.warn("Tablet has wals, but goal is not hosted. This is an error. Tablet: {}, goal:{}",
-            tm.getExtent(), goal);
-      }
+        if (actions.contains(ManagementAction.NEEDS_RECOVERY) && goal != TabletGoalState.HOSTED) {
+          LOG.warn("Tablet has wals, but goal is not hosted. This is an error. Tablet: {}, goal:{}",
+              tm.getExtent(), goal);
+        }
 
-      if (actions.contains(ManagementAction.NEEDS_VOLUME_REPLACEMENT)) {
-        tableMgmtStats.totalVolumeReplacements++;
-        if (state == TabletState.UNASSIGNED || state == TabletState.SUSPENDED) {
-          var volRep =
-              VolumeUtil.computeVolumeReplacements(tableMgmtParams.getVolumeReplacements(), tm);
-          if (volRep.logsToRemove.size() + volRep.filesToRemove.size() > 0) {
-            if (tm.getLocation() != null) {
-              // since the totalVolumeReplacements counter was incremented, should try this again
-              // later after its unassigned
-              LOG.debug("Volume replacement needed for {} but it has a location {}.",
-                  tm.getExtent(), tm.getLocation());
-            } else if (tm.getOperationId() != null) {
-              LOG.debug("Volume replacement needed for {} but it has an active operation {}.",
-                  tm.getExtent(), tm.getOperationId());
+        if (actions.contains(ManagementAction.NEEDS_VOLUME_REPLACEMENT)) {
+          tableMgmtStats.totalVolumeReplacements++;
+          if (state == TabletState.UNASSIGNED || state == TabletState.SUSPENDED) {
+            var volRep =
+                VolumeUtil.computeVolumeReplacements(tableMgmtParams.getVolumeReplacements(), tm);
+            if (volRep.logsToRemove.size() + volRep.filesToRemove.size() > 0) {
+              if (tm.getLocation() != null) {
+                // since the totalVolumeReplacements counter was incremented, should try this again
+                // later after its unassigned
+                LOG.debug("Volume replacement needed for {} but it has a location {}.",
+                    tm.getExtent(), tm.getLocation());
+              } else if (tm.getOperationId() != null) {
+                LOG.debug("Volume replacement needed for {} but it has an active operation {}.",
+                    tm.getExtent(), tm.getOperationId());
+              } else {
+                LOG.debug("Volume replacement needed for {}.", tm.getExtent());
+                // buffer replacements so that multiple mutations can be done at once
+                tLists.volumeReplacements.add(volRep);
+              }
             } else {
-              LOG.debug("Volume replacement needed for {}.", tm.getExtent());
-              // buffer replacements so that multiple mutations can be done at once
-              tLists.volumeReplacements.add(volRep);
+              LOG.debug("Volume replacement evaluation for {} returned no changes.",
+                  tm.getExtent());
             }
           } else {
-            LOG.debug("Volume replacement evaluation for {} returned no changes.", tm.getExtent());
+            LOG.debug("Volume replacement needed for {} but its tablet state is {}.",
+                tm.getExtent(), state);
           }
-        } else {
-          LOG.debug("Volume replacement needed for {} but its tablet state is {}.", tm.getExtent(),
-              state);
         }
-      }
 
-      if (actions.contains(ManagementAction.BAD_STATE) && tm.isFutureAndCurrentLocationSet()) {
-        Manager.log.error("{}, saw tablet with multiple locations, which should not happen",
-            tm.getExtent());
-        logIncorrectTabletLocations(tm);
-        // take no further action for this tablet
-        continue;
-      }
-
-      final Location location = tm.getLocation();
-      Location current = null;
-      Location future = null;
-      if (tm.hasCurrent()) {
-        current = tm.getLocation();
-      } else {
-        future = tm.getLocation();
-      }
-      TabletLogger.missassigned(tm.getExtent(), goal.toString(), state.toString(),
-          future != null ? future.getServerInstance() : null,
-          current != null ? current.getServerInstance() : null, tm.getLogs().size());
-
-      if (isFullScan) {
-        stats.update(tableId, state);
-      }
-
-      if (Manager.log.isTraceEnabled()) {
-        Manager.log.trace(
-            "[{}] Shutting down all Tservers: {}, dependentCount: {} Extent: {}, state: {}, goal: {} actions:{} #wals:{}",
-            store.name(), tableMgmtParams.getServersToShutdown().equals(currentTServers.keySet()),
-            dependentWatcher == null ? "null" : dependentWatcher.assignedOrHosted(), tm.getExtent(),
-            state, goal, actions, tm.getLogs().size());
-      }
-
-      final boolean needsSplit = actions.contains(ManagementAction.NEEDS_SPLITTING);
-      if (!currentlyUpgrading && needsSplit) {
-        LOG.debug("{} may need splitting.", tm.getExtent());
-        manager.getSplitter().initiateSplit(tm.getExtent());
-      }
+        if (actions.contains(ManagementAction.BAD_STATE) && tm.isFutureAndCurrentLocationSet()) {
+          Manager.log.error("{}, saw tablet with multiple locations, which should not happen",
+              tm.getExtent());
+          logIncorrectTabletLocations(tm);
+          // take no further action for this tablet
+          continue;
+        }
 
-      if (!currentlyUpgrading && actions.contains(ManagementAction.NEEDS_COMPACTING)
-          && compactionGenerator != null) {
-        // Check if tablet needs splitting, priority should be giving to splits over
-        // compactions because it's best to compact after a split
-        if (!needsSplit) {
-          var jobs = compactionGenerator.generateJobs(tm,
-              TabletManagementIterator.determineCompactionKinds(actions));
-          LOG.debug("{} may need compacting adding {} jobs", tm.getExtent(), jobs.size());
-          manager.getCompactionCoordinator().addJobs(tm, jobs);
+        final Location location = tm.getLocation();
+        Location current = null;
+        Location future = null;
+        if (tm.hasCurrent()) {
+          current = tm.getLocation();
         } else {
-          LOG.trace("skipping compaction job generation because {} may need splitting.",
-              tm.getExtent());
+          future = tm.getLocation();
         }
-      }
+        TabletLogger.missassigned(tm.getExtent(), goal.toString(), state.toString(),
+            future != null ? future.getServerInstance() : null,
+            current != null ? current.getServerInstance() : null, tm.getLogs().size());
 
-      if (actions.contains(ManagementAction.NEEDS_LOCATION_UPDATE)
-          || actions.contains(ManagementAction.NEEDS_RECOVERY)) {
+        if (isFullScan) {
+          stats.update(tableId, state);
+        }
+
+        if (Manager.log.isTraceEnabled()) {
+          Manager.log.trace(
+              "[{}] Shutting down all Tservers: {}, dependentCount: {} Extent: {}, state: {}, goal: {} actions:{} #wals:{}",
+              store.name(), tableMgmtParams.getServersToShutdown().equals(currentTServers.keySet()),
+              dependentWatcher == null ? "null" : dependentWatcher.assignedOrHosted(),
+              tm.getExtent(), state, goal, actions, tm.getLogs().size());
+        }
 
-        if (tm.getLocation() != null) {
-          filteredServersToShutdown.remove(tm.getLocation().getServerInstance());
+        final boolean needsSplit = actions.contains(ManagementAction.NEEDS_SPLITTING);
+        if (!currentlyUpgrading && needsSplit) {
+          LOG.debug("{} may need splitting.", tm.getExtent());
+          manager.getSplitter().initiateSplit(tm.getExtent());
         }
 
-        if (goal == TabletGoalState.HOSTED) {
-
-          // RecoveryManager.recoverLogs will return false when all of the logs
-          // have been sorted so that recovery can occur. Delay the hosting of
-          // the Tablet until the sorting is finished.
-          if ((state != TabletState.HOSTED && actions.contains(ManagementAction.NEEDS_RECOVERY))
-              && recoverySession.recoverLogs(tm.getLogs())) {
-            LOG.debug("Not hosting {} as it needs recovery, logs: {}", tm.getExtent(),
-                tm.getLogs().size());
-            tabletsNeedingRecovery++;
-            continue;
+        if (!currentlyUpgrading && actions.contains(ManagementAction.NEEDS_COMPACTING)
+            && compactionGenerator != null) {
+          // Check if tablet needs splitting, priority should be giving to splits over
+          // compactions because it's best to compact after a split
+          if (!needsSplit) {
+            var jobs = compactionGenerator.generateJobs(tm,
+                TabletManagementIterator.determineCompactionKinds(actions));
+            LOG.debug("{} may need compacting adding {} jobs", tm.getExtent(), jobs.size());
+            manager.getCompactionCoordinator().addJobs(tm, jobs);
+          } else {
+            LOG.trace("skipping compaction job generation because {} may need splitting.",
+                tm.getExtent());
           }
-          switch (state) {
-            case ASSIGNED_TO_DEAD_SERVER:
-              hostDeadTablet(tLists, tm, location);
-              break;
-            case SUSPENDED:
-              hostSuspendedTablet(tLists, tm, location, tableConf);
-              break;
-            case UNASSIGNED:
-              hostUnassignedTablet(tLists, tm.getExtent(),
-                  new UnassignedTablet(location, tm.getLast()));
-              break;
-            case ASSIGNED:
-              // Send another reminder
-              tLists.assigned.add(new Assignment(tm.getExtent(),
-                  future != null ? future.getServerInstance() : null, tm.getLast()));
-              break;
-            case HOSTED:
-              break;
+        }
+
+        if (actions.contains(ManagementAction.NEEDS_LOCATION_UPDATE)
+            || actions.contains(ManagementAction.NEEDS_RECOVERY)) {
+
+          if (tm.getLocation() != null) {
+            filteredServersToShutdown.remove(tm.getLocation().getServerInstance());
           }
-        } else {
-          switch (state) {
-            case SUSPENDED:
-              // Request a move to UNASSIGNED, so as to allow balancing to continue.
-              tLists.suspendedToGoneServers.add(tm);
-              break;
-            case ASSIGNED_TO_DEAD_SERVER:
-              unassignDeadTablet(tLists, tm);
-              break;
-            case HOSTED:
-              TServerConnection client =
-                  manager.tserverSet.getConnection(location.getServerInstance());
-              if (client != null) {
-                TABLET_UNLOAD_LOGGER.trace("[{}] Requesting TabletServer {} unload {} {}",
-                    store.name(), location.getServerInstance(), tm.getExtent(), goal.howUnload());
-                client.unloadTablet(manager.primaryManagerLock, tm.getExtent(), goal.howUnload(),
-                    manager.getSteadyTime().getMillis());
-                tableMgmtStats.totalUnloaded++;
-                unloaded++;
-              } else {
-                Manager.log.warn("Could not connect to server {}", location);
-              }
-              break;
-            case ASSIGNED:
-            case UNASSIGNED:
-              break;
+
+          if (goal == TabletGoalState.HOSTED) {
+
+            // RecoveryManager.recoverLogs will return false when all of the logs
+            // have been sorted so that recovery can occur. Delay the hosting of
+            // the Tablet until the sorting is finished.
+            if ((state != TabletState.HOSTED && actions.contains(ManagementAction.NEEDS_RECOVERY))
+                && recoverySession.recoverLogs(tm.getLogs())) {
+              LOG.debug("Not hosting {} as it needs recovery, logs: {}", tm.getExtent(),
+                  tm.getLogs().size());
+              tabletsNeedingRecovery++;
+              continue;
+            }
+            switch (state) {
+              case ASSIGNED_TO_DEAD_SERVER:
+                hostDeadTablet(tLists, tm, location);
+                break;
+              case SUSPENDED:
+                hostSuspendedTablet(tLists, tm, location, tableConf);
+                break;
+              case UNASSIGNED:
+                hostUnassignedTablet(tLists, tm.getExtent(),
+                    new UnassignedTablet(location, tm.getLast()));
+                break;
+              case ASSIGNED:
+                // Send another reminder
+                tLists.assigned.add(new Assignment(tm.getExtent(),
+                    future != null ? future.getServerInstance() : null, tm.getLast()));
+                break;
+              case HOSTED:
+                break;
+            }
+          } else {
+            switch (state) {
+              case SUSPENDED:
+                // Request a move to UNASSIGNED, so as to allow balancing to continue.
+                tLists.suspendedToGoneServers.add(tm);
+                break;
+              case ASSIGNED_TO_DEAD_SERVER:
+                unassignDeadTablet(tLists, tm);
+                break;
+              case HOSTED:
+                TServerConnection client =
+                    manager.tserverSet.getConnection(location.getServerInstance());
+                if (client != null) {
+                  TABLET_UNLOAD_LOGGER.trace("[{}] Requesting TabletServer {} unload {} {}",
+                      store.name(), location.getServerInstance(), tm.getExtent(), goal.howUnload());
+                  client.unloadTablet(manager.primaryManagerLock, tm.getExtent(), goal.howUnload(),
+                      manager.getSteadyTime().getMillis());
+                  tableMgmtStats.totalUnloaded++;
+                  unloaded++;
+                } else {
+                  Manager.log.warn("Could not connect to server {}", location);
+                }
+                break;
+              case ASSIGNED:
+              case UNASSIGNED:
+                break;
+            }
           }
         }
       }
-    }
 
-    this.metrics.setTabletGroupWatcherRecovery(tabletsNeedingRecovery);
+      this.metrics.setTabletGroupWatcherRecovery(tabletsNeedingRecovery);
 
-    flushChanges(tLists);
+      flushes.await();
+      readMigrations(tLists, tableMgmtStats);
+      flushChanges(tLists);
+    }
 
     if (isFullScan) {
       this.filteredServersToShutdown = Set.copyOf(filteredServersToShutdown);
@@ -870,22 +977,46 @@ abstract class TabletGroupWatcher extends AccumuloDaemonThread {
 
         // provide stats after flushing changes to avoid race conditions w/ delete table
         stats.end(managerState);
+        metrics.recordFullScan(stats.getScanTime());
+        final boolean incremental = isIncremental();
         Manager.log.trace("[{}] End stats collection: {}", store.name(), stats);
+        if (tabletMgmtStats.migrationReads > 0) {
+          Manager.log.debug("[{}] read migrations for {} unassigned tablets with {} metadata reads",
+              store.name(), tabletMgmtStats.migrationTabletsRead, tabletMgmtStats.migrationReads);
+        }
 
         // Report changes
         for (TabletState state : TabletState.values()) {
           int i = state.ordinal();
           if (tabletMgmtStats.counts[i] > 0 && tabletMgmtStats.counts[i] != oldCounts[i]) {
-            manager.nextEvent.event(store.getLevel(), "[%s]: %d tablets are %s", store.name(),
-                tabletMgmtStats.counts[i], state.name());
+            if (incremental) {
+              // the tablets that changed were handled by this scan, tablets whose assignment
+              // failed are rescanned below, so only wake up anything waiting on them
+              manager.nextEvent.notifyWaiters("[%s]: %d tablets are %s", store.name(),
+                  tabletMgmtStats.counts[i], state.name());
+            } else {
+              manager.nextEvent.event(store.getLevel(), "[%s]: %d tablets are %s", store.name(),
+                  tabletMgmtStats.counts[i], state.name());
+            }
           }
         }
         Manager.log.debug(String.format("[%s]: full scan time %.2f seconds", store.name(),
             stats.getScanTime() / 1000.));
         oldCounts = tabletMgmtStats.counts;
+        if (incremental) {
+          publishAssignmentRetries();
+        } else {
+          // the level events above start another full scan that retries them
+          assignmentRetries.clear();
+        }
         if (tabletMgmtStats.totalUnloaded > 0) {
-          manager.nextEvent.event(store.getLevel(), "[%s]: %d tablets unloaded", store.name(),
-              tabletMgmtStats.totalUnloaded);
+          if (incremental) {
+            manager.nextEvent.notifyWaiters("[%s]: %d tablets unloaded", store.name(),
+                tabletMgmtStats.totalUnloaded);
+          } else {
+            manager.nextEvent.event(store.getLevel(), "[%s]: %d tablets unloaded", store.name(),
+                tabletMgmtStats.totalUnloaded);
+          }
         }
 
         synchronized (this) {
@@ -924,19 +1055,51 @@ abstract class TabletGroupWatcher extends AccumuloDaemonThread {
 
   private void hostUnassignedTablet(TabletLists tLists, KeyExtent tablet,
       UnassignedTablet unassignedTablet) {
-    // maybe it's a finishing migration
-    TServerInstance dest =
-        manager.getContext().getAmple().readTablet(tablet, MIGRATION).getMigration();
-    if (dest != null) {
+    // maybe it's a finishing migration, which is checked for all the tablets at once
+    tLists.possibleMigrations.put(tablet, unassignedTablet);
+  }
+
+  /**
+   * Reads the migration column of all the unassigned tablets with one batched metadata read,
+   * instead of a read per tablet, and then assigns the tablets that are finishing a migration.
+   */
+  private void readMigrations(TabletLists tLists, TableMgmtStats tableMgmtStats) {
+    if (tLists.possibleMigrations.isEmpty()) {
+      return;
+    }
+
+    Timer timer = Timer.startNew();
+    int tablets = tLists.possibleMigrations.size();
+    readMigrations(manager.getContext().getAmple(), tLists.possibleMigrations, tLists.destinations,
+        tLists.assignments, tLists.unassigned);
+    tableMgmtStats.migrationReads++;
+    tableMgmtStats.migrationTabletsRead += tablets;
+    metrics.recordMigrationRead(tablets);
+    Manager.log.trace("[{}] read migrations for {} tablets in {} ms", store.name(), tablets,
+        timer.elapsed(TimeUnit.MILLISECONDS));
+  }
+
+  /**
+   * Reads the migration column of all the possible migrations with one batched read. Tablets whose
+   * migration destination is still a current tablet server are assigned to it, the rest are left
+   * for the balancer to assign.
+   */
+  @VisibleForTesting
+  static void readMigrations(Ample ample, Map<KeyExtent,UnassignedTablet> possibleMigrations,
+      Map<TServerInstance,?> destinations, List<Assignment> assignments,
+      Map<KeyExtent,UnassignedTablet> unassigned) {
+    var tablets = ample.readTablets(possibleMigrations.keySet(), MIGRATION);
+    possibleMigrations.forEach((tablet, unassignedTablet) -> {
+      TabletMetadata tm = tablets.get(tablet);
+      TServerInstance dest = tm == null ? null : tm.getMigration();
       // if destination is still good, assign it
-      if (tLists.destinations.containsKey(dest)) {
-        tLists.assignments.add(new Assignment(tablet, dest, unassignedTablet.getLastLocation()));
+      if (dest != null && destinations.containsKey(dest)) {
+        assignments.add(new Assignment(tablet, dest, unassignedTablet.getLastLocation()));
       } else {
-        tLists.unassigned.put(tablet, unassignedTablet);
+        unassigned.put(tablet, unassignedTablet);
       }
-    } else {
-      tLists.unassigned.put(tablet, unassignedTablet);
-    }
+    });
+    possibleMigrations.clear();
   }
 
   static TServerInstance findServerIgnoringSession(SortedMap<TServerInstance,?> servers,
@@ -1062,9 +1225,16 @@ abstract class TabletGroupWatcher extends AccumuloDaemonThread {
         store.unassign(deadTablets, deadLogs);
       }
       markDeadServerLogsAsClosed(walStateManager, deadLogs);
-      manager.nextEvent.event(store.getLevel(),
-          "Marked %d tablets as suspended because they don't have current servers",
-          deadTablets.size());
+      if (isIncremental()) {
+        // only the tablets that were on dead servers need to be scanned again to assign them
+        manager.nextEvent.event(deadTablets.stream().map(TabletMetadata::getExtent).toList(),
+            "Marked %d tablets as suspended because they don't have current servers",
+            deadTablets.size());
+      } else {
+        manager.nextEvent.event(store.getLevel(),
+            "Marked %d tablets as suspended because they don't have current servers",
+            deadTablets.size());
+      }
     }
     if (!tLists.suspendedToGoneServers.isEmpty()) {
       int maxServersToShow = min(deadTablets.size(), 100);
@@ -1107,6 +1277,38 @@ abstract class TabletGroupWatcher extends AccumuloDaemonThread {
     }
   }
 
+  void retryAssignments(Collection<KeyExtent> extents) {
+    assignmentRetries.addAll(extents);
+  }
+
+  /**
+   * Publishes range events for the tablets whose assignment failed or that the balancer did not
+   * place since the last full scan, so they are rescanned and assigned again. This is only done
+   * after full scans so tablets that keep failing are retried once per full scan, like a full scan
+   * triggered by the changed tablet counts would, instead of as fast as range events are processed.
+   */
+  void publishAssignmentRetries() {
+    if (assignmentRetries.isEmpty()) {
+      return;
+    }
+    List<KeyExtent> retries = new ArrayList<>(assignmentRetries);
+    assignmentRetries.removeAll(retries);
+    manager.getEventCoordinator().event(retries, "[%s]: retrying assignment of %d tablets",
+        store.name(), retries.size());
+  }
+
+  /**
+   * Applies a chunk of changes on the flush pool so that the caller can keep consuming scan results
+   * while it runs.
+   */
+  private void flushAsync(FlushPipeline flushes, TabletLists tLists, TableMgmtStats tableMgmtStats)
+      throws DistributedStoreException, TException, WalMarkerException {
+    flushes.submit(() -> {
+      readMigrations(tLists, tableMgmtStats);
+      flushChanges(tLists);
+    });
+  }
+
   private final Lock flushLock = new ReentrantLock();
 
   private void flushChanges(TabletLists tLists)
@@ -1130,6 +1332,12 @@ abstract class TabletGroupWatcher extends AccumuloDaemonThread {
         Manager.log.debug("[{}] requested assignments for {} tablets and got {} in {} ms",
             store.name(), unassigned.size(), tLists.assignments.size() - beforeSize,
             timer.elapsed(TimeUnit.MILLISECONDS));
+        if (unassigned.size() > tLists.assignments.size() - beforeSize) {
+          Set<KeyExtent> unplaced = new HashSet<>(unassigned.keySet());
+          tLists.assignments.subList(beforeSize, tLists.assignments.size())
+              .forEach(a -> unplaced.remove(a.tablet));
+          retryAssignments(unplaced);
+        }
       }
     } finally {
       flushLock.unlock();
@@ -1139,6 +1347,7 @@ abstract class TabletGroupWatcher extends AccumuloDaemonThread {
     if (!tLists.assignments.isEmpty()) {
       Manager.log.info("Assigning {} tablets", tLists.assignments.size());
       failedFuture = store.setFutureLocations(tLists.assignments);
+      retryAssignments(failedFuture);
     }
     tLists.assignments.addAll(tLists.assigned);
     timer.restart();
@@ -1155,10 +1364,12 @@ abstract class TabletGroupWatcher extends AccumuloDaemonThread {
         } else {
           Manager.log.warn("Could not connect to server {} for assignment of {}", a.server,
               a.tablet);
+          retryAssignments(Set.of(a.tablet));
         }
       } catch (TException tException) {
         Manager.log.warn("Could not connect to server {} for assignment of {}", a.server, a.tablet,
             tException);
+        retryAssignments(Set.of(a.tablet));
       }
     }
     if (!tLists.assignments.isEmpty()) {
@@ -46,11 +46,13 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -102,6 +104,7 @@ import org.apache.accumulo.core.tabletserver.thrift.IteratorConfig;
 import org.apache.accumulo.core.tabletserver.thrift.TCompactionKind;
 import org.apache.accumulo.core.tabletserver.thrift.TCompactionStats;
 import org.apache.accumulo.core.tabletserver.thrift.TExternalCompactionJob;
+import org.apache.accumulo.core.util.Timer;
 import org.apache.accumulo.core.util.cache.Caches.CacheName;
 import org.apache.accumulo.core.util.compaction.ExternalCompactionUtil;
 import org.apache.accumulo.core.util.threads.ThreadPools;
@@ -260,6 +263,8 @@ public class CompactionCoordinator
 
   public void shutdown() {
     shutdown.countDown();
+    // release any compactor requests waiting for jobs
+    jobQueues.releaseWaiters();
 
     reservationPools.values().forEach(ExecutorService::shutdownNow);
 
@@ -342,6 +347,63 @@ public class CompactionCoordinator
     ResourceGroupId groupId = ResourceGroupId.of(groupName);
     LOG.trace("getCompactionJob called for group {} by compactor {}", groupId, compactorAddress);
 
+    final long maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(getCompactionJobWaitTime());
+    final Timer waitTimer = Timer.startNew();
+
+    TExternalCompactionJob result = null;
+
+    while (true) {
+      // Get the future before polling, a job queued after the poll will complete it
+      CompletableFuture<Void> jobAvailable =
+          maxWaitNanos > 0 ? jobQueues.getJobAvailableFuture(groupId) : null;
+
+      result = reserveNextCompactionJob(groupId, compactorAddress, externalCompactionId);
+
+      long remainingNanos = maxWaitNanos - waitTimer.elapsed(TimeUnit.NANOSECONDS);
+      if (result != null || jobAvailable == null || remainingNanos <= 0
+          || shutdown.getCount() == 0) {
+        break;
+      }
+
+      LOG.trace("No jobs found for group {}, waiting up to {}ms for compactor {}", groupId,
+          TimeUnit.NANOSECONDS.toMillis(remainingNanos), compactorAddress);
+      try {
+        jobAvailable.get(remainingNanos, TimeUnit.NANOSECONDS);
+      } catch (TimeoutException e) {
+        break;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      } catch (ExecutionException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+
+    if (result == null) {
+      LOG.trace("No jobs found for group {}, returning empty job to compactor {}", groupName,
+          compactorAddress);
+      result = new TExternalCompactionJob();
+    }
+
+    return new TNextCompactionJob(result, compactorCounts.get(groupId));
+  }
+
+  /**
+   * @return the maximum amount of time in millis to hold a request for a job when the group has no
+   *         queued jobs, capped so that the compactor's RPC will not time out while waiting
+   */
+  protected long getCompactionJobWaitTime() {
+    long waitTime =
+        ctx.getConfiguration().getTimeInMillis(Property.COMPACTION_COORDINATOR_JOB_WAIT_TIME);
+    if (waitTime <= 0) {
+      return 0;
+    }
+    return Math.min(waitTime, ctx.getClientTimeoutInMillis() / 2);
+  }
+
+  private TExternalCompactionJob reserveNextCompactionJob(ResourceGroupId groupId,
+      String compactorAddress, String externalCompactionId) {
+
     TExternalCompactionJob result = null;
 
     ResolvedCompactionJob rcJob = (ResolvedCompactionJob) jobQueues.poll(groupId);
@@ -372,22 +434,16 @@ public class CompactionCoordinator
       } else {
         LOG.debug(
             "Unable to reserve compaction job for {}, pulling another off the queue for group {}",
-            rcJob.getExtent(), groupName);
-        rcJob = (ResolvedCompactionJob) jobQueues.poll(ResourceGroupId.of(groupName));
+            rcJob.getExtent(), groupId);
+        rcJob = (ResolvedCompactionJob) jobQueues.poll(groupId);
       }
     }
 
     if (rcJob == null) {
-      LOG.trace("No jobs found in group {} ", groupName);
+      LOG.trace("No jobs found in group {} ", groupId);
     }
 
-    if (result == null) {
-      LOG.trace("No jobs found for group {}, returning empty job to compactor {}", groupName,
-          compactorAddress);
-      result = new TExternalCompactionJob();
-    }
-
-    return new TNextCompactionJob(result, compactorCounts.get(groupId));
+    return result;
   }
 
   private void checkTabletDir(KeyExtent extent, Path path) {
@@ -26,6 +26,9 @@ import static org.apache.accumulo.core.metadata.schema.TabletMetadata.ColumnType
 import static org.apache.accumulo.core.metadata.schema.TabletMetadata.ColumnType.SELECTED;
 import static org.apache.accumulo.core.util.LazySingletons.GSON;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.time.Duration;
 import java.util.HashSet;
 import java.util.Optional;
@@ -33,6 +36,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.apache.accumulo.core.dataImpl.KeyExtent;
+import org.apache.accumulo.core.fate.BinaryRepo;
 import org.apache.accumulo.core.fate.FateId;
 import org.apache.accumulo.core.fate.Repo;
 import org.apache.accumulo.core.logging.TabletLogger;
@@ -52,6 +56,7 @@ import org.apache.accumulo.manager.tableOps.AbstractFateOperation;
 import org.apache.accumulo.manager.tableOps.FateEnv;
 import org.apache.accumulo.server.ServerContext;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.WritableUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -59,7 +64,7 @@ import com.google.common.base.Preconditions;
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 
-public class CommitCompaction extends AbstractFateOperation {
+public class CommitCompaction extends AbstractFateOperation implements BinaryRepo {
   private static final long serialVersionUID = 1L;
   private static final Logger LOG = LoggerFactory.getLogger(CommitCompaction.class);
   private final CompactionCommitData commitData;
@@ -70,6 +75,17 @@ public class CommitCompaction extends AbstractFateOperation {
     this.newDatafile = newDatafile;
   }
 
+  CommitCompaction(DataInput in) throws IOException {
+    this.commitData = CompactionCommitData.readFrom(in);
+    this.newDatafile = WritableUtils.readString(in);
+  }
+
+  @Override
+  public void writeTo(DataOutput out) throws IOException {
+    commitData.writeTo(out);
+    WritableUtils.writeString(out, newDatafile);
+  }
+
   @Override
   public Repo<FateEnv> call(FateId fateId, FateEnv env) throws Exception {
     var ecid = ExternalCompactionId.of(commitData.ecid);
@@ -18,6 +18,9 @@
  */
 package org.apache.accumulo.manager.compaction.coordinator.commit;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.io.Serializable;
 import java.lang.reflect.Type;
 import java.util.HashSet;
@@ -33,6 +36,7 @@ import org.apache.accumulo.core.metadata.schema.ExternalCompactionId;
 import org.apache.accumulo.core.spi.compaction.CompactionKind;
 import org.apache.accumulo.core.tabletserver.thrift.TCompactionStats;
 import org.apache.accumulo.manager.compaction.coordinator.commit.CompactionCommitData.CompactionCommitDataSerializer;
+import org.apache.hadoop.io.WritableUtils;
 
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
@@ -84,6 +88,38 @@ public class CompactionCommitData implements Serializable {
     this.stats = stats;
   }
 
+  private CompactionCommitData(DataInput in) throws IOException {
+    this.kind = CompactionKind.valueOf(WritableUtils.readString(in));
+    int count = WritableUtils.readVInt(in);
+    this.inputPaths = new HashSet<>(count);
+    for (int i = 0; i < count; i++) {
+      inputPaths.add(WritableUtils.readString(in));
+    }
+    this.outputTmpPath = WritableUtils.readString(in);
+    this.ecid = WritableUtils.readString(in);
+    this.textent = KeyExtent.readFrom(in).toThrift();
+    this.stats = new TCompactionStats(WritableUtils.readVLong(in), WritableUtils.readVLong(in),
+        WritableUtils.readVLong(in));
+  }
+
+  void writeTo(DataOutput out) throws IOException {
+    WritableUtils.writeString(out, kind.name());
+    WritableUtils.writeVInt(out, inputPaths.size());
+    for (String inputPath : inputPaths) {
+      WritableUtils.writeString(out, inputPath);
+    }
+    WritableUtils.writeString(out, outputTmpPath);
+    WritableUtils.writeString(out, ecid);
+    KeyExtent.fromThrift(textent).writeTo(out);
+    WritableUtils.writeVLong(out, stats.getEntriesRead());
+    WritableUtils.writeVLong(out, stats.getEntriesWritten());
+    WritableUtils.writeVLong(out, stats.getFileSize());
+  }
+
+  static CompactionCommitData readFrom(DataInput in) throws IOException {
+    return new CompactionCommitData(in);
+  }
+
   public TableId getTableId() {
     return KeyExtent.fromThrift(textent).tableId();
   }
@@ -20,15 +20,21 @@ package org.apache.accumulo.manager.compaction.coordinator.commit;
 
 import static org.apache.accumulo.core.util.LazySingletons.GSON;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import org.apache.accumulo.core.fate.BinaryRepo;
 import org.apache.accumulo.core.fate.FateId;
 import org.apache.accumulo.core.fate.Repo;
 import org.apache.accumulo.manager.tableOps.AbstractFateOperation;
 import org.apache.accumulo.manager.tableOps.FateEnv;
+import org.apache.hadoop.io.WritableUtils;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 
-public class PutGcCandidates extends AbstractFateOperation {
+public class PutGcCandidates extends AbstractFateOperation implements BinaryRepo {
   private static final long serialVersionUID = 1L;
   private final CompactionCommitData commitData;
   private final String refreshLocation;
@@ -38,6 +44,17 @@ public class PutGcCandidates extends AbstractFateOperation {
     this.refreshLocation = refreshLocation;
   }
 
+  PutGcCandidates(DataInput in) throws IOException {
+    this.commitData = CompactionCommitData.readFrom(in);
+    this.refreshLocation = WritableUtils.readString(in);
+  }
+
+  @Override
+  public void writeTo(DataOutput out) throws IOException {
+    commitData.writeTo(out);
+    WritableUtils.writeString(out, refreshLocation);
+  }
+
   @Override
   public Repo<FateEnv> call(FateId fateId, FateEnv env) throws Exception {
 
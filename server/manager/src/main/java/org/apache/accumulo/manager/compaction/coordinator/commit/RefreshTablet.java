@@ -20,12 +20,16 @@ package org.apache.accumulo.manager.compaction.coordinator.commit;
 
 import static org.apache.accumulo.core.util.LazySingletons.GSON;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 
 import org.apache.accumulo.core.dataImpl.KeyExtent;
 import org.apache.accumulo.core.dataImpl.thrift.TKeyExtent;
+import org.apache.accumulo.core.fate.BinaryRepo;
 import org.apache.accumulo.core.fate.FateId;
 import org.apache.accumulo.core.fate.Repo;
 import org.apache.accumulo.core.metadata.TServerInstance;
@@ -33,11 +37,12 @@ import org.apache.accumulo.core.metadata.schema.TabletMetadata;
 import org.apache.accumulo.manager.tableOps.AbstractFateOperation;
 import org.apache.accumulo.manager.tableOps.FateEnv;
 import org.apache.accumulo.manager.tableOps.bulkVer2.TabletRefresher;
+import org.apache.hadoop.io.WritableUtils;
 
 import com.google.common.util.concurrent.MoreExecutors;
 import com.google.gson.JsonObject;
 
-public class RefreshTablet extends AbstractFateOperation {
+public class RefreshTablet extends AbstractFateOperation implements BinaryRepo {
   private static final long serialVersionUID = 1L;
   private final TKeyExtent extent;
   private final String tserverInstance;
@@ -47,6 +52,17 @@ public class RefreshTablet extends AbstractFateOperation {
     this.tserverInstance = tserverInstance;
   }
 
+  RefreshTablet(DataInput in) throws IOException {
+    this.extent = KeyExtent.readFrom(in).toThrift();
+    this.tserverInstance = WritableUtils.readString(in);
+  }
+
+  @Override
+  public void writeTo(DataOutput out) throws IOException {
+    KeyExtent.fromThrift(extent).writeTo(out);
+    WritableUtils.writeString(out, tserverInstance);
+  }
+
   @Override
   public Repo<FateEnv> call(FateId fateId, FateEnv env) throws Exception {
 
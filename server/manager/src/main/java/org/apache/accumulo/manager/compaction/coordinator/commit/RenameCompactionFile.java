@@ -20,9 +20,12 @@ package org.apache.accumulo.manager.compaction.coordinator.commit;
 
 import static org.apache.accumulo.core.util.LazySingletons.GSON;
 
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.IOException;
 
 import org.apache.accumulo.core.dataImpl.KeyExtent;
+import org.apache.accumulo.core.fate.BinaryRepo;
 import org.apache.accumulo.core.fate.FateId;
 import org.apache.accumulo.core.fate.Repo;
 import org.apache.accumulo.core.logging.TabletLogger;
@@ -35,7 +38,7 @@ import org.apache.hadoop.fs.Path;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class RenameCompactionFile extends AbstractFateOperation {
+public class RenameCompactionFile extends AbstractFateOperation implements BinaryRepo {
   private static final Logger log = LoggerFactory.getLogger(RenameCompactionFile.class);
   private static final long serialVersionUID = 1L;
   private final CompactionCommitData commitData;
@@ -44,6 +47,15 @@ public class RenameCompactionFile extends AbstractFateOperation {
     this.commitData = commitData;
   }
 
+  RenameCompactionFile(DataInput in) throws IOException {
+    this.commitData = CompactionCommitData.readFrom(in);
+  }
+
+  @Override
+  public void writeTo(DataOutput out) throws IOException {
+    commitData.writeTo(out);
+  }
+
   @Override
   public Repo<FateEnv> call(FateId fateId, FateEnv env) throws Exception {
     ReferencedTabletFile newDatafile = null;
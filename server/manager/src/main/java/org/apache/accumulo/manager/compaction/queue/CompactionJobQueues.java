@@ -22,6 +22,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentHashMap.KeySetView;
 import java.util.concurrent.atomic.AtomicLong;
@@ -47,6 +48,11 @@ public class CompactionJobQueues {
   private final ConcurrentHashMap<ResourceGroupId,CompactionJobPriorityQueue> priorityQueues =
       new ConcurrentHashMap<>();
 
+  // Futures that compactors waiting on an empty group block on. A group's future is removed and
+  // completed when jobs are added to the group, so the next waiter will create a new one.
+  private final ConcurrentHashMap<ResourceGroupId,CompletableFuture<Void>> jobAvailable =
+      new ConcurrentHashMap<>();
+
   private volatile long queueSize;
 
   private final Map<DataLevel,AtomicLong> currentGenerations;
@@ -128,6 +134,30 @@ public class CompactionJobQueues {
     return prioQ.poll();
   }
 
+  /**
+   * Returns a future that completes the next time jobs are added to the given group. Callers that
+   * intend to wait for work must obtain the future before polling the group, otherwise a job added
+   * between the poll and obtaining the future would not be noticed until the wait times out.
+   */
+  public CompletableFuture<Void> getJobAvailableFuture(ResourceGroupId groupId) {
+    return jobAvailable.computeIfAbsent(groupId, gid -> new CompletableFuture<>());
+  }
+
+  /**
+   * Completes all futures returned by {@link #getJobAvailableFuture(ResourceGroupId)}, releasing
+   * anything waiting on them.
+   */
+  public void releaseWaiters() {
+    jobAvailable.keySet().forEach(this::notifyJobAvailable);
+  }
+
+  private void notifyJobAvailable(ResourceGroupId groupId) {
+    var future = jobAvailable.remove(groupId);
+    if (future != null) {
+      future.complete(null);
+    }
+  }
+
   private void add(KeyExtent extent, ResourceGroupId groupId, Collection<CompactionJob> jobs) {
 
     if (log.isTraceEnabled()) {
@@ -138,7 +168,9 @@ public class CompactionJobQueues {
 
     var pq = priorityQueues.computeIfAbsent(groupId,
         gid -> new CompactionJobPriorityQueue(gid, queueSize, ResolvedCompactionJob.WEIGHER));
-    pq.add(extent, jobs, currentGenerations.get(DataLevel.of(extent.tableId())).get());
+    if (pq.add(extent, jobs, currentGenerations.get(DataLevel.of(extent.tableId())).get()) > 0) {
+      notifyJobAvailable(groupId);
+    }
   }
 
   public void resetMaxSize(long size) {
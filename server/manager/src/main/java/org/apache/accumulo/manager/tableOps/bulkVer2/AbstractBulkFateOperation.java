@@ -20,14 +20,18 @@ package org.apache.accumulo.manager.tableOps.bulkVer2;
 
 import static org.apache.accumulo.core.util.LazySingletons.GSON;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.time.Instant;
 
 import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.fate.BinaryRepo;
 import org.apache.accumulo.manager.tableOps.AbstractFateOperation;
 import org.apache.accumulo.server.util.bulkCommand.BulkFateOperation;
 
 public abstract class AbstractBulkFateOperation extends AbstractFateOperation
-    implements BulkFateOperation {
+    implements BulkFateOperation, BinaryRepo {
 
   private static final long serialVersionUID = 1L;
 
@@ -39,6 +43,18 @@ public abstract class AbstractBulkFateOperation extends AbstractFateOperation
     this.creation = Instant.now();
   }
 
+  AbstractBulkFateOperation(DataInput in) throws IOException {
+    this.bulkInfo = BulkInfo.readFrom(in);
+    this.creation = Instant.ofEpochSecond(in.readLong(), in.readInt());
+  }
+
+  @Override
+  public void writeTo(DataOutput out) throws IOException {
+    bulkInfo.writeTo(out);
+    out.writeLong(creation.getEpochSecond());
+    out.writeInt(creation.getNano());
+  }
+
   @Override
   public TableId getTableId() {
     return bulkInfo.tableId;
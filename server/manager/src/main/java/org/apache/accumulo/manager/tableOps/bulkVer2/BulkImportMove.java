@@ -18,6 +18,7 @@
  */
 package org.apache.accumulo.manager.tableOps.bulkVer2;
 
+import java.io.DataInput;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
@@ -62,6 +63,10 @@ class BulkImportMove extends AbstractBulkFateOperation {
     super(bulkInfo);
   }
 
+  BulkImportMove(DataInput in) throws IOException {
+    super(in);
+  }
+
   @Override
   public Repo<FateEnv> call(FateId fateId, FateEnv env) throws Exception {
     final Path bulkDir = new Path(bulkInfo.bulkDir);
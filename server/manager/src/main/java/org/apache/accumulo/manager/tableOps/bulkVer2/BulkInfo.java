@@ -18,12 +18,16 @@
  */
 package org.apache.accumulo.manager.tableOps.bulkVer2;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.io.Serializable;
 import java.lang.reflect.Type;
 
 import org.apache.accumulo.core.data.TableId;
 import org.apache.accumulo.manager.tableOps.bulkVer2.BulkInfo.BulkInfoSerializer;
 import org.apache.hadoop.io.Text;
+import org.apache.hadoop.io.WritableUtils;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
@@ -31,6 +35,8 @@ import com.google.gson.JsonSerializationContext;
 import com.google.gson.JsonSerializer;
 import com.google.gson.annotations.JsonAdapter;
 
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
 /**
  * Package private class to hold all the information used for bulk import2
  */
@@ -75,4 +81,45 @@ class BulkInfo implements Serializable {
     info.setTime = setTime;
     return info;
   }
+
+  void writeTo(DataOutput out) throws IOException {
+    WritableUtils.writeString(out, tableId.canonical());
+    WritableUtils.writeString(out, sourceDir);
+    WritableUtils.writeString(out, bulkDir);
+    out.writeBoolean(setTime);
+    writeBytes(out, firstSplit);
+    writeBytes(out, lastSplit);
+  }
+
+  static BulkInfo readFrom(DataInput in) throws IOException {
+    BulkInfo info = new BulkInfo();
+    info.tableId = TableId.of(WritableUtils.readString(in));
+    info.sourceDir = WritableUtils.readString(in);
+    info.bulkDir = WritableUtils.readString(in);
+    info.setTime = in.readBoolean();
+    info.firstSplit = readBytes(in);
+    info.lastSplit = readBytes(in);
+    return info;
+  }
+
+  private static void writeBytes(DataOutput out, byte[] bytes) throws IOException {
+    if (bytes == null) {
+      WritableUtils.writeVInt(out, -1);
+    } else {
+      WritableUtils.writeVInt(out, bytes.length);
+      out.write(bytes);
+    }
+  }
+
+  @SuppressFBWarnings(value = "PZLA_PREFER_ZERO_LENGTH_ARRAYS",
+      justification = "null is a split that was not set")
+  private static byte[] readBytes(DataInput in) throws IOException {
+    int length = WritableUtils.readVInt(in);
+    if (length < 0) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return bytes;
+  }
 }
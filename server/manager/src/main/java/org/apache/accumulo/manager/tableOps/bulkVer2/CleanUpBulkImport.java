@@ -18,6 +18,7 @@
  */
 package org.apache.accumulo.manager.tableOps.bulkVer2;
 
+import java.io.DataInput;
 import java.io.IOException;
 import java.time.Duration;
 import java.util.Collections;
@@ -56,6 +57,10 @@ public class CleanUpBulkImport extends AbstractBulkFateOperation {
     super(info);
   }
 
+  CleanUpBulkImport(DataInput in) throws IOException {
+    super(in);
+  }
+
   @Override
   public Repo<FateEnv> call(FateId fateId, FateEnv env) throws Exception {
     log.debug("{} removing the bulkDir processing flag file in {}", fateId, bulkInfo.bulkDir);
@@ -18,6 +18,8 @@
  */
 package org.apache.accumulo.manager.tableOps.bulkVer2;
 
+import java.io.DataInput;
+import java.io.IOException;
 import java.util.Optional;
 
 import org.apache.accumulo.core.clientImpl.bulk.BulkSerialize;
@@ -43,6 +45,10 @@ public class ComputeBulkRange extends AbstractBulkFateOperation {
     super(BulkInfo.create(tableId, sourceDir, setTime));
   }
 
+  ComputeBulkRange(DataInput in) throws IOException {
+    super(in);
+  }
+
   @Override
   public Repo<FateEnv> call(FateId fateId, FateEnv env) throws Exception {
 
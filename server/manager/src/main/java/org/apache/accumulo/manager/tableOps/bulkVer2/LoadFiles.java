@@ -25,6 +25,8 @@ import static org.apache.accumulo.core.metadata.schema.TabletMetadata.ColumnType
 import static org.apache.accumulo.core.metadata.schema.TabletMetadata.ColumnType.TIME;
 import static org.apache.accumulo.core.metadata.schema.TabletMetadata.LocationType.CURRENT;
 
+import java.io.DataInput;
+import java.io.IOException;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -99,6 +101,10 @@ class LoadFiles extends AbstractBulkFateOperation {
     super(bulkInfo);
   }
 
+  LoadFiles(DataInput in) throws IOException {
+    super(in);
+  }
+
   @Override
   public long isReady(FateId fateId, FateEnv env) throws Exception {
     log.trace("Starting for {} (tid = {})", bulkInfo.sourceDir, fateId);
@@ -21,6 +21,7 @@ package org.apache.accumulo.manager.tableOps.bulkVer2;
 import static com.google.common.util.concurrent.Uninterruptibles.sleepUninterruptibly;
 import static org.apache.accumulo.core.metadata.schema.TabletMetadata.ColumnType.PREV_ROW;
 
+import java.io.DataInput;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -85,6 +86,10 @@ public class PrepBulkImport extends AbstractBulkFateOperation {
     super(info);
   }
 
+  PrepBulkImport(DataInput in) throws IOException {
+    super(in);
+  }
+
   @Override
   public long isReady(FateId fateId, FateEnv env) throws Exception {
     long wait = Utils.reserveTable(env.getContext(), bulkInfo.tableId, fateId,
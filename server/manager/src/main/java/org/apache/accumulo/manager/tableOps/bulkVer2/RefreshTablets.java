@@ -18,6 +18,9 @@
  */
 package org.apache.accumulo.manager.tableOps.bulkVer2;
 
+import java.io.DataInput;
+import java.io.IOException;
+
 import org.apache.accumulo.core.fate.FateId;
 import org.apache.accumulo.core.fate.Repo;
 import org.apache.accumulo.manager.tableOps.FateEnv;
@@ -38,6 +41,10 @@ public class RefreshTablets extends AbstractBulkFateOperation {
     super(bulkInfo);
   }
 
+  RefreshTablets(DataInput in) throws IOException {
+    super(in);
+  }
+
   @Override
   public long isReady(FateId fateId, FateEnv env) throws Exception {
     return 0;
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.manager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.dataImpl.KeyExtent;
+import org.apache.accumulo.core.metadata.schema.Ample.DataLevel;
+import org.apache.accumulo.manager.EventCoordinator.Event;
+import org.apache.accumulo.manager.EventCoordinator.EventScope;
+import org.apache.hadoop.io.Text;
+import org.junit.jupiter.api.Test;
+
+public class EventCoordinatorTest {
+
+  @Test
+  public void testEvents() {
+    EventCoordinator coordinator = new EventCoordinator();
+    List<Event> userEvents = new ArrayList<>();
+    List<Event> metaEvents = new ArrayList<>();
+    coordinator.addListener(DataLevel.USER, userEvents::add);
+    coordinator.addListener(DataLevel.METADATA, metaEvents::add);
+
+    var extent1 = new KeyExtent(TableId.of("1"), new Text("m"), null);
+    var extent2 = new KeyExtent(TableId.of("1"), null, new Text("m"));
+
+    var tracker = coordinator.getTracker();
+    long lastEvent = tracker.lastEvent;
+    coordinator.event(List.of(extent1, extent2), "migrating %d tablets", 2);
+    tracker.waitForEvents(0);
+    assertNotEquals(lastEvent, tracker.lastEvent);
+    assertEquals(2, userEvents.size());
+    assertEquals(EventScope.TABLE_RANGE, userEvents.get(0).getScope());
+    assertEquals(extent1, userEvents.get(0).getExtent());
+    assertEquals(extent2, userEvents.get(1).getExtent());
+
+    // waiters are woken up, but the listeners do not see anything
+    lastEvent = tracker.lastEvent;
+    coordinator.notifyWaiters("%d tablets unloaded", 5);
+    tracker.waitForEvents(0);
+    assertNotEquals(lastEvent, tracker.lastEvent);
+    assertEquals(2, userEvents.size());
+    assertEquals(0, metaEvents.size());
+
+    coordinator.event("everything changed");
+    assertEquals(3, userEvents.size());
+    assertEquals(1, metaEvents.size());
+    assertEquals(EventScope.ALL, metaEvents.get(0).getScope());
+  }
+}
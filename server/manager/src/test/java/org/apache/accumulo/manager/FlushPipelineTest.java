@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.manager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.accumulo.server.manager.state.DistributedStoreException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class FlushPipelineTest {
+
+  private ExecutorService executor;
+
+  @BeforeEach
+  public void setup() {
+    executor = Executors.newFixedThreadPool(2);
+  }
+
+  @AfterEach
+  public void teardown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testWaitForFlush() throws Exception {
+    // nothing pending
+    FlushPipeline.waitForFlush(null);
+    FlushPipeline.waitForFlush(CompletableFuture.completedFuture(null));
+
+    // failures from the flush thread surface as the exception flushChanges would have thrown
+    var dse = new DistributedStoreException("failed to set future locations");
+    assertSame(dse, assertThrows(DistributedStoreException.class,
+        () -> FlushPipeline.waitForFlush(CompletableFuture.failedFuture(dse))));
+    var re = new IllegalArgumentException("bad assignment");
+    assertSame(re, assertThrows(IllegalArgumentException.class,
+        () -> FlushPipeline.waitForFlush(CompletableFuture.failedFuture(re))));
+    var ioe = new IOException("unexpected");
+    assertSame(ioe, assertThrows(IllegalStateException.class,
+        () -> FlushPipeline.waitForFlush(CompletableFuture.failedFuture(ioe))).getCause());
+  }
+
+  @Test
+  public void testOverlap() {
+    assertTimeoutPreemptively(Duration.ofSeconds(60), () -> {
+      List<Integer> applied = Collections.synchronizedList(new ArrayList<>());
+      CountDownLatch chunkStarted = new CountDownLatch(1);
+      CountDownLatch releaseChunk = new CountDownLatch(1);
+      List<Integer> consumed = new ArrayList<>();
+
+      try (FlushPipeline flushes = new FlushPipeline(executor, "test")) {
+        // the first chunk blocks on the flush thread
+        flushes.submit(() -> {
+          chunkStarted.countDown();
+          try {
+            releaseChunk.await();
+          } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+          }
+          applied.add(1);
+        });
+        chunkStarted.await();
+
+        // the scan keeps consuming tablets while the chunk is applied
+        for (int i = 0; i < 100; i++) {
+          consumed.add(i);
+        }
+        assertEquals(100, consumed.size());
+        assertTrue(applied.isEmpty());
+
+        // the next chunk is not submitted until the first one is applied
+        AtomicBoolean submitted = new AtomicBoolean(false);
+        Thread scan = new Thread(() -> {
+          try {
+            flushes.submit(() -> applied.add(2));
+            submitted.set(true);
+          } catch (Exception e) {
+            throw new IllegalStateException(e);
+          }
+        });
+        scan.start();
+        scan.join(100);
+        assertFalse(submitted.get());
+        releaseChunk.countDown();
+        scan.join();
+        assertTrue(submitted.get());
+
+        flushes.await();
+        assertEquals(List.of(1, 2), applied);
+      }
+    });
+  }
+
+  @Test
+  public void testFailureSurfacesOnNextChunk() throws Exception {
+    var dse = new DistributedStoreException("failed to set future locations");
+    List<Integer> applied = Collections.synchronizedList(new ArrayList<>());
+    try (FlushPipeline flushes = new FlushPipeline(executor, "test")) {
+      flushes.submit(() -> {
+        throw dse;
+      });
+      assertSame(dse, assertThrows(DistributedStoreException.class,
+          () -> flushes.submit(() -> applied.add(2))));
+      // the failed chunk was consumed, so nothing is left to wait for
+      flushes.await();
+    }
+    assertTrue(applied.isEmpty());
+  }
+
+  @Test
+  public void testCloseWaitsForChunkAfterScanFailure() {
+    assertTimeoutPreemptively(Duration.ofSeconds(60), () -> {
+      CountDownLatch releaseChunk = new CountDownLatch(1);
+      AtomicBoolean applied = new AtomicBoolean(false);
+      var scanFailure = new IllegalStateException("scan failed");
+
+      var thrown = assertThrows(IllegalStateException.class, () -> {
+        try (FlushPipeline flushes = new FlushPipeline(executor, "test")) {
+          flushes.submit(() -> {
+            try {
+              assertTrue(releaseChunk.await(60, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+              throw new IllegalStateException(e);
+            }
+            applied.set(true);
+          });
+          // release the chunk after the scan fails, close must still wait for it
+          executor.execute(() -> {
+            try {
+              Thread.sleep(100);
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            releaseChunk.countDown();
+          });
+          throw scanFailure;
+        }
+      });
+      assertSame(scanFailure, thrown);
+      assertTrue(applied.get());
+    });
+  }
+
+  @Test
+  public void testCloseLogsChunkFailureAfterScanFailure() {
+    var scanFailure = new IllegalStateException("scan failed");
+    var thrown = assertThrows(IllegalStateException.class, () -> {
+      try (FlushPipeline flushes = new FlushPipeline(executor, "test")) {
+        flushes.submit(() -> {
+          throw new DistributedStoreException("failed to set future locations");
+        });
+        throw scanFailure;
+      }
+    });
+    // the chunk failure is logged and does not mask the scan failure
+    assertSame(scanFailure, thrown);
+    assertEquals(0, thrown.getSuppressed().length);
+  }
+}
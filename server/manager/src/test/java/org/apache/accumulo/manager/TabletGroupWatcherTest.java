@@ -18,13 +18,37 @@
  */
 package org.apache.accumulo.manager;
 
+import static org.apache.accumulo.core.metadata.schema.TabletMetadata.ColumnType.MIGRATION;
 import static org.apache.accumulo.manager.TabletGroupWatcher.findServerIgnoringSession;
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
 
+import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.dataImpl.KeyExtent;
 import org.apache.accumulo.core.metadata.TServerInstance;
+import org.apache.accumulo.core.metadata.schema.Ample;
+import org.apache.accumulo.core.metadata.schema.Ample.DataLevel;
+import org.apache.accumulo.core.metadata.schema.TabletMetadata;
+import org.apache.accumulo.core.zookeeper.ZooSession;
+import org.apache.accumulo.server.ServerContext;
+import org.apache.accumulo.server.manager.state.Assignment;
+import org.apache.accumulo.server.manager.state.TabletStateStore;
+import org.apache.accumulo.server.manager.state.UnassignedTablet;
+import org.apache.hadoop.io.Text;
 import org.junit.jupiter.api.Test;
 
 import com.google.common.net.HostAndPort;
@@ -52,4 +76,100 @@ public class TabletGroupWatcherTest {
     assertEquals(new TServerInstance("192.168.1.4:9997", -90L),
         findServerIgnoringSession(servers, HostAndPort.fromString("192.168.1.4:9997")));
   }
+
+  @Test
+  public void testAssignmentRetries() {
+    // the watcher listens for its own events, so record the range events it publishes
+    List<KeyExtent> events = new ArrayList<>();
+    EventCoordinator coordinator = new EventCoordinator() {
+      @Override
+      public void event(Collection<KeyExtent> extents, String msg, Object... args) {
+        events.addAll(extents);
+        super.event(extents, msg, args);
+      }
+    };
+
+    ZooSession zk = createMock(ZooSession.class);
+    ServerContext context = createMock(ServerContext.class);
+    Manager manager = createMock(Manager.class);
+    TabletStateStore store = createMock(TabletStateStore.class);
+    expect(zk.asReaderWriter()).andReturn(null);
+    expect(context.getZooSession()).andReturn(zk);
+    expect(manager.getContext()).andReturn(context);
+    expect(manager.getEventCoordinator()).andReturn(coordinator).anyTimes();
+    // stops the watcher's range event processing thread
+    expect(manager.stillManager()).andReturn(false).anyTimes();
+    expect(store.name()).andReturn("Normal Tablets").anyTimes();
+    expect(store.getLevel()).andReturn(DataLevel.USER).anyTimes();
+    replay(zk, context, manager, store);
+
+    TabletGroupWatcher watcher = new TabletGroupWatcher(manager, store, null) {
+      @Override
+      boolean canSuspendTablets() {
+        return true;
+      }
+    };
+
+    // nothing failed, so nothing is rescanned
+    watcher.publishAssignmentRetries();
+    assertEquals(List.of(), events);
+
+    // a tablet whose future location could not be set, one whose tablet server could not be
+    // reached and one the balancer did not place, reported by different flushes
+    var extent1 = new KeyExtent(TableId.of("1"), new Text("g"), null);
+    var extent2 = new KeyExtent(TableId.of("1"), new Text("m"), new Text("g"));
+    var extent3 = new KeyExtent(TableId.of("1"), null, new Text("m"));
+    watcher.retryAssignments(Set.of(extent1));
+    watcher.retryAssignments(Set.of(extent2, extent1));
+    watcher.retryAssignments(List.of(extent3));
+
+    // each tablet is rescanned once with a range event instead of a full scan of the level
+    watcher.publishAssignmentRetries();
+    assertEquals(3, events.size());
+    assertEquals(Set.of(extent1, extent2, extent3), new HashSet<>(events));
+
+    // published retries are not repeated by the next full scan
+    watcher.publishAssignmentRetries();
+    assertEquals(3, events.size());
+
+    verify(zk, context, manager, store);
+  }
+
+  @Test
+  public void testReadMigrations() {
+    var extent1 = new KeyExtent(TableId.of("1"), new Text("g"), null);
+    var extent2 = new KeyExtent(TableId.of("1"), new Text("m"), new Text("g"));
+    var extent3 = new KeyExtent(TableId.of("1"), new Text("t"), new Text("m"));
+    var extent4 = new KeyExtent(TableId.of("1"), null, new Text("t"));
+    var server1 = new TServerInstance("192.168.1.2:9997", 50L);
+    var server2 = new TServerInstance("192.168.1.3:9997", 60L);
+
+    Map<KeyExtent,UnassignedTablet> possibleMigrations = new HashMap<>();
+    for (var extent : List.of(extent1, extent2, extent3, extent4)) {
+      possibleMigrations.put(extent, new UnassignedTablet(null, null));
+    }
+
+    // extent1 is migrating to a current server, extent2 to a server that is gone, extent3 is not
+    // migrating and extent4 no longer exists, like after a merge
+    Ample ample = createMock(Ample.class);
+    expect(ample.readTablets(Set.of(extent1, extent2, extent3, extent4), MIGRATION))
+        .andReturn(Map.of(extent1, TabletMetadata.builder(extent1).putMigration(server1).build(),
+            extent2, TabletMetadata.builder(extent2).putMigration(server2).build(), extent3,
+            TabletMetadata.builder(extent3).build(MIGRATION)))
+        .once();
+    replay(ample);
+
+    List<Assignment> assignments = new ArrayList<>();
+    Map<KeyExtent,UnassignedTablet> unassigned = new HashMap<>();
+    TabletGroupWatcher.readMigrations(ample, possibleMigrations, Map.of(server1, "tserver1"),
+        assignments, unassigned);
+
+    // all tablets were read with a single batched read
+    verify(ample);
+    assertEquals(1, assignments.size());
+    assertEquals(extent1, assignments.get(0).tablet);
+    assertEquals(server1, assignments.get(0).server);
+    assertEquals(Set.of(extent2, extent3, extent4), unassigned.keySet());
+    assertTrue(possibleMigrations.isEmpty());
+  }
 }
@@ -22,11 +22,14 @@ import static org.apache.accumulo.core.metadata.schema.TabletMetadata.ColumnType
 import static org.apache.accumulo.core.metadata.schema.TabletMetadata.ColumnType.OPID;
 import static org.apache.accumulo.core.metadata.schema.TabletMetadata.ColumnType.SELECTED;
 import static org.apache.accumulo.manager.compaction.coordinator.commit.CommitCompaction.canCommitCompaction;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.net.URI;
 import java.time.Duration;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
@@ -35,6 +38,7 @@ import org.apache.accumulo.core.data.TableId;
 import org.apache.accumulo.core.dataImpl.KeyExtent;
 import org.apache.accumulo.core.fate.FateId;
 import org.apache.accumulo.core.fate.FateInstanceType;
+import org.apache.accumulo.core.fate.RepoCodec;
 import org.apache.accumulo.core.metadata.ReferencedTabletFile;
 import org.apache.accumulo.core.metadata.StoredTabletFile;
 import org.apache.accumulo.core.metadata.schema.CompactionMetadata;
@@ -45,8 +49,10 @@ import org.apache.accumulo.core.metadata.schema.TabletMetadata;
 import org.apache.accumulo.core.metadata.schema.TabletOperationId;
 import org.apache.accumulo.core.metadata.schema.TabletOperationType;
 import org.apache.accumulo.core.spi.compaction.CompactionKind;
+import org.apache.accumulo.core.tabletserver.thrift.TCompactionStats;
 import org.apache.accumulo.core.util.time.SteadyTime;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.Text;
 import org.junit.jupiter.api.Test;
 
 public class CommitCompactionTest {
@@ -141,4 +147,28 @@ public class CommitCompactionTest {
     // the files in the compaction metadata are not a subset of the selected files so can not commit
     assertFalse(canCommitCompaction(cid1, tm));
   }
+
+  @Test
+  public void testEncoding() throws Exception {
+    var extent = new KeyExtent(TableId.of("4"), new Text("m"), null);
+    var ecid = ExternalCompactionId.generate(UUID.randomUUID());
+    ReferencedTabletFile tmpFile =
+        ReferencedTabletFile.of(new Path("file:///accumulo/tables/t-0/b-0/c1.rf"));
+    var file1 = StoredTabletFile.of(new URI("file:///accumulo/tables/1/default_tablet/F00001.rf"));
+    var compactionMetadata = new CompactionMetadata(Set.of(file1), tmpFile, "cid1",
+        CompactionKind.SYSTEM, (short) 3, ResourceGroupId.of("Q1"), true, null);
+    var commitData = new CompactionCommitData(ecid, extent, compactionMetadata,
+        new TCompactionStats(1000, 900, 12345));
+
+    for (var repo : List.of(new CommitCompaction(commitData, null),
+        new CommitCompaction(commitData, tmpFile.getNormalizedPathStr()),
+        new RenameCompactionFile(commitData), new PutGcCandidates(commitData, null),
+        new PutGcCandidates(commitData, "localhost:9997[abc]"),
+        new RefreshTablet(extent.toThrift(), "localhost:9997[abc]"))) {
+      byte[] bytes = RepoCodec.encode(repo);
+      assertEquals(1, bytes[0]);
+      var decoded = assertInstanceOf(repo.getClass(), RepoCodec.decode(bytes));
+      assertEquals(repo.getDetails(), decoded.getDetails());
+    }
+  }
 }
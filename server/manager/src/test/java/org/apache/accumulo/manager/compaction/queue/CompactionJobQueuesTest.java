@@ -19,7 +19,11 @@
 package org.apache.accumulo.manager.compaction.queue;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -349,4 +353,35 @@ public class CompactionJobQueuesTest {
     assertEquals(500000, jobQueues.getQueueMaxSize(cg1));
     assertEquals(500000, jobQueues.getQueueMaxSize(cg2));
   }
+
+  @Test
+  public void testJobAvailableFuture() throws Exception {
+    CompactionJobQueues jobQueues = new CompactionJobQueues(1000000);
+
+    var tid = TableId.of("1");
+    var extent1 = new KeyExtent(tid, new Text("z"), new Text("q"));
+
+    var cg1 = ResourceGroupId.of("CG1");
+    var cg2 = ResourceGroupId.of("CG2");
+
+    var future1 = jobQueues.getJobAvailableFuture(cg1);
+    var future2 = jobQueues.getJobAvailableFuture(cg2);
+    assertSame(future1, jobQueues.getJobAvailableFuture(cg1));
+
+    // adding jobs to another group should not complete the future
+    jobQueues.add(extent1, List.of(newJob((short) 1, 5, cg2)));
+    assertFalse(future1.isDone());
+    assertTrue(future2.isDone());
+
+    jobQueues.add(extent1, List.of(newJob((short) 1, 5, cg1)));
+    assertTrue(future1.isDone());
+
+    // once completed a new future should be handed out
+    var future3 = jobQueues.getJobAvailableFuture(cg1);
+    assertNotSame(future1, future3);
+    assertFalse(future3.isDone());
+
+    jobQueues.releaseWaiters();
+    assertTrue(future3.isDone());
+  }
 }
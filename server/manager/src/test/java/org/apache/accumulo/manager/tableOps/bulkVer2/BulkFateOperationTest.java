@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.manager.tableOps.bulkVer2;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+import java.util.List;
+
+import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.fate.RepoCodec;
+import org.apache.accumulo.core.fate.TraceRepo;
+import org.junit.jupiter.api.Test;
+
+public class BulkFateOperationTest {
+
+  @Test
+  public void testEncoding() {
+    var info = BulkInfo.create(TableId.of("5"), "hdfs://nn/tmp/bulk", true);
+    var info2 = BulkInfo.create(TableId.of("5"), "hdfs://nn/tmp/bulk", false);
+    info2.bulkDir = "hdfs://nn/accumulo/tables/5/b-0000001";
+    info2.firstSplit = "a".getBytes(UTF_8);
+    info2.lastSplit = new byte[0];
+
+    for (AbstractBulkFateOperation repo : List.of(
+        new ComputeBulkRange(TableId.of("5"), "hdfs://nn/tmp/bulk", true), new PrepBulkImport(info),
+        new PrepBulkImport(info2), new BulkImportMove(info2), new LoadFiles(info2),
+        new RefreshTablets(info2), new CleanUpBulkImport(info2))) {
+      byte[] bytes = RepoCodec.encode(new TraceRepo<>(repo));
+      assertEquals(1, bytes[0]);
+      var decoded = assertInstanceOf(repo.getClass(),
+          assertInstanceOf(TraceRepo.class, RepoCodec.decode(bytes)).getWrapped());
+      assertEquals(repo.getDetails(), decoded.getDetails());
+      assertEquals(repo.getCreationTime(), decoded.getCreationTime());
+    }
+  }
+}
@@ -18,8 +18,13 @@
  */
 package org.apache.accumulo.tserver;
 
+import static org.apache.accumulo.core.file.blockfile.cache.tiered.TieredBlockCache.CACHE_TYPE_TAG_KEY;
+import static org.apache.accumulo.core.file.blockfile.cache.tiered.TieredBlockCache.TIER_TAG_KEY;
 import static org.apache.accumulo.core.metrics.Metric.BLOCKCACHE_DATA_EVICTIONCOUNT;
 import static org.apache.accumulo.core.metrics.Metric.BLOCKCACHE_DATA_HITCOUNT;
+import static org.apache.accumulo.core.metrics.Metric.BLOCKCACHE_DATA_READAHEAD_HITS;
+import static org.apache.accumulo.core.metrics.Metric.BLOCKCACHE_DATA_READAHEAD_ISSUED;
+import static org.apache.accumulo.core.metrics.Metric.BLOCKCACHE_DATA_READAHEAD_WASTED;
 import static org.apache.accumulo.core.metrics.Metric.BLOCKCACHE_DATA_REQUESTCOUNT;
 import static org.apache.accumulo.core.metrics.Metric.BLOCKCACHE_INDEX_EVICTIONCOUNT;
 import static org.apache.accumulo.core.metrics.Metric.BLOCKCACHE_INDEX_HITCOUNT;
@@ -27,13 +32,24 @@ import static org.apache.accumulo.core.metrics.Metric.BLOCKCACHE_INDEX_REQUESTCO
 import static org.apache.accumulo.core.metrics.Metric.BLOCKCACHE_SUMMARY_EVICTIONCOUNT;
 import static org.apache.accumulo.core.metrics.Metric.BLOCKCACHE_SUMMARY_HITCOUNT;
 import static org.apache.accumulo.core.metrics.Metric.BLOCKCACHE_SUMMARY_REQUESTCOUNT;
+import static org.apache.accumulo.core.metrics.Metric.BLOCKCACHE_TIER_EVICTIONCOUNT;
+import static org.apache.accumulo.core.metrics.Metric.BLOCKCACHE_TIER_HITCOUNT;
+import static org.apache.accumulo.core.metrics.Metric.BLOCKCACHE_TIER_READ_TIME;
+import static org.apache.accumulo.core.metrics.Metric.BLOCKCACHE_TIER_REQUESTCOUNT;
 
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.function.ToDoubleFunction;
 
+import org.apache.accumulo.core.file.blockfile.cache.tiered.TieredBlockCache;
+import org.apache.accumulo.core.file.blockfile.impl.BlockReadAhead;
 import org.apache.accumulo.core.metrics.MetricsProducer;
 import org.apache.accumulo.core.spi.cache.BlockCache;
+import org.apache.accumulo.core.spi.cache.BlockCache.Stats;
+import org.apache.accumulo.core.spi.cache.CacheType;
 
 import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
 import io.micrometer.core.instrument.MeterRegistry;
 
 public class BlockCacheMetrics implements MetricsProducer {
@@ -41,11 +57,14 @@ public class BlockCacheMetrics implements MetricsProducer {
   final BlockCache indexCache;
   final BlockCache dataCache;
   final BlockCache summaryCache;
+  final BlockReadAhead readAhead;
 
-  public BlockCacheMetrics(BlockCache indexCache, BlockCache dataCache, BlockCache summaryCache) {
+  public BlockCacheMetrics(BlockCache indexCache, BlockCache dataCache, BlockCache summaryCache,
+      BlockReadAhead readAhead) {
     this.indexCache = indexCache;
     this.dataCache = dataCache;
     this.summaryCache = summaryCache;
+    this.readAhead = readAhead;
   }
 
   @Override
@@ -67,6 +86,15 @@ public class BlockCacheMetrics implements MetricsProducer {
         .description(BLOCKCACHE_DATA_REQUESTCOUNT.getDescription()).register(registry);
     FunctionCounter.builder(BLOCKCACHE_DATA_EVICTIONCOUNT.getName(), dataCache, getEvictionCount)
         .description(BLOCKCACHE_DATA_EVICTIONCOUNT.getDescription()).register(registry);
+    FunctionCounter
+        .builder(BLOCKCACHE_DATA_READAHEAD_ISSUED.getName(), readAhead, BlockReadAhead::getIssued)
+        .description(BLOCKCACHE_DATA_READAHEAD_ISSUED.getDescription()).register(registry);
+    FunctionCounter
+        .builder(BLOCKCACHE_DATA_READAHEAD_HITS.getName(), readAhead, BlockReadAhead::getHits)
+        .description(BLOCKCACHE_DATA_READAHEAD_HITS.getDescription()).register(registry);
+    FunctionCounter
+        .builder(BLOCKCACHE_DATA_READAHEAD_WASTED.getName(), readAhead, BlockReadAhead::getWasted)
+        .description(BLOCKCACHE_DATA_READAHEAD_WASTED.getDescription()).register(registry);
 
     FunctionCounter.builder(BLOCKCACHE_SUMMARY_HITCOUNT.getName(), summaryCache, getHitCount)
         .description(BLOCKCACHE_SUMMARY_HITCOUNT.getDescription()).register(registry);
@@ -76,5 +104,43 @@ public class BlockCacheMetrics implements MetricsProducer {
     FunctionCounter
         .builder(BLOCKCACHE_SUMMARY_EVICTIONCOUNT.getName(), summaryCache, getEvictionCount)
         .description(BLOCKCACHE_SUMMARY_EVICTIONCOUNT.getDescription()).register(registry);
+
+    registerTierMetrics(registry, CacheType.INDEX, indexCache);
+    registerTierMetrics(registry, CacheType.DATA, dataCache);
+    registerTierMetrics(registry, CacheType.SUMMARY, summaryCache);
+  }
+
+  private static void registerTierMetrics(MeterRegistry registry, CacheType type,
+      BlockCache cache) {
+    if (!(cache instanceof TieredBlockCache tiered)) {
+      return;
+    }
+
+    String cacheType = type.name().toLowerCase();
+    registerTierMetrics(registry, cacheType, "l1", tiered, TieredBlockCache::getL1Stats);
+    registerTierMetrics(registry, cacheType, "l2", tiered, TieredBlockCache::getL2Stats);
+
+    FunctionTimer
+        .builder(BLOCKCACHE_TIER_READ_TIME.getName(), tiered, TieredBlockCache::getL2ReadCount,
+            TieredBlockCache::getL2ReadTimeNanos, TimeUnit.NANOSECONDS)
+        .description(BLOCKCACHE_TIER_READ_TIME.getDescription())
+        .tags(CACHE_TYPE_TAG_KEY, cacheType, TIER_TAG_KEY, "l2").register(registry);
+  }
+
+  private static void registerTierMetrics(MeterRegistry registry, String cacheType, String tier,
+      TieredBlockCache cache, Function<TieredBlockCache,Stats> stats) {
+    FunctionCounter
+        .builder(BLOCKCACHE_TIER_HITCOUNT.getName(), cache, c -> stats.apply(c).hitCount())
+        .description(BLOCKCACHE_TIER_HITCOUNT.getDescription())
+        .tags(CACHE_TYPE_TAG_KEY, cacheType, TIER_TAG_KEY, tier).register(registry);
+    FunctionCounter
+        .builder(BLOCKCACHE_TIER_REQUESTCOUNT.getName(), cache, c -> stats.apply(c).requestCount())
+        .description(BLOCKCACHE_TIER_REQUESTCOUNT.getDescription())
+        .tags(CACHE_TYPE_TAG_KEY, cacheType, TIER_TAG_KEY, tier).register(registry);
+    FunctionCounter
+        .builder(BLOCKCACHE_TIER_EVICTIONCOUNT.getName(), cache,
+            c -> stats.apply(c).evictionCount())
+        .description(BLOCKCACHE_TIER_EVICTIONCOUNT.getDescription())
+        .tags(CACHE_TYPE_TAG_KEY, cacheType, TIER_TAG_KEY, tier).register(registry);
   }
 }
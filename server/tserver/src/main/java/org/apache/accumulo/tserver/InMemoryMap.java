@@ -36,6 +36,9 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.accumulo.core.client.SampleNotPresentException;
 import org.apache.accumulo.core.client.sample.Sampler;
@@ -109,12 +112,16 @@ public class InMemoryMap {
   public static final String TYPE_DEFAULT_MAP = "DefaultMap";
   public static final String TYPE_LOCALITY_GROUP_MAP = "LocalityGroupMap";
   public static final String TYPE_LOCALITY_GROUP_MAP_NATIVE = "LocalityGroupMap with native";
+  public static final String TYPE_OFF_HEAP_MAP_WRAPPER = "OffHeapMapWrapper";
+  public static final String TYPE_LOCALITY_GROUP_MAP_OFF_HEAP = "LocalityGroupMap with off heap";
 
   private final AtomicReference<Pair<SamplerConfigurationImpl,Sampler>> samplerRef =
       new AtomicReference<>(null);
 
   private final AccumuloConfiguration config;
 
+  private final boolean concurrentWrites;
+
   // defer creating sampler until first write. This was done because an empty sample map configured
   // with no sampler will not flush after a user changes sample
   // config.
@@ -133,6 +140,8 @@ public class InMemoryMap {
   public InMemoryMap(AccumuloConfiguration config, ServerContext context, TableId tableId) {
 
     boolean useNativeMap = config.getBoolean(Property.TSERV_NATIVEMAP_ENABLED);
+    boolean useOffHeapMap = config.getBoolean(Property.TSERV_OFFHEAP_MAP_ENABLED);
+    this.concurrentWrites = config.getBoolean(Property.TSERV_MEMORY_MAP_CONCURRENT_WRITES);
 
     this.memDumpDir = config.get(Property.TSERV_MEMDUMP_DIR);
     this.lggroups = LocalityGroupUtil.getLocalityGroupsIgnoringErrors(config, tableId);
@@ -145,19 +154,21 @@ public class InMemoryMap {
     SimpleMap sampleMap;
 
     if (lggroups.isEmpty()) {
-      allMap = newMap(useNativeMap);
-      sampleMap = newMap(useNativeMap);
-      mapType = useNativeMap ? TYPE_NATIVE_MAP_WRAPPER : TYPE_DEFAULT_MAP;
+      allMap = newMap(useNativeMap, useOffHeapMap);
+      sampleMap = newMap(useNativeMap, useOffHeapMap);
+      mapType = useNativeMap ? TYPE_NATIVE_MAP_WRAPPER : useOffHeapMap ? TYPE_OFF_HEAP_MAP_WRAPPER
+          : TYPE_DEFAULT_MAP;
     } else {
-      allMap = new LocalityGroupMap(lggroups, useNativeMap);
-      sampleMap = new LocalityGroupMap(lggroups, useNativeMap);
-      mapType = useNativeMap ? TYPE_LOCALITY_GROUP_MAP_NATIVE : TYPE_LOCALITY_GROUP_MAP;
+      allMap = new LocalityGroupMap(lggroups, useNativeMap, useOffHeapMap, concurrentWrites);
+      sampleMap = new LocalityGroupMap(lggroups, useNativeMap, useOffHeapMap, concurrentWrites);
+      mapType = useNativeMap ? TYPE_LOCALITY_GROUP_MAP_NATIVE
+          : useOffHeapMap ? TYPE_LOCALITY_GROUP_MAP_OFF_HEAP : TYPE_LOCALITY_GROUP_MAP;
     }
 
     map = new SampleMap(allMap, sampleMap);
   }
 
-  private static SimpleMap newMap(boolean useNativeMap) {
+  private static SimpleMap newMap(boolean useNativeMap, boolean useOffHeapMap) {
     if (useNativeMap) {
       try {
         return new NativeMapWrapper();
@@ -166,16 +177,22 @@ public class InMemoryMap {
       }
     }
 
+    if (useOffHeapMap) {
+      return new OffHeapMapWrapper();
+    }
+
     return new DefaultMap();
   }
 
   /**
    * Description of the type of SimpleMap that is created.
    * <p>
-   * If no locality groups are present, the SimpleMap is either TYPE_DEFAULT_MAP or
-   * TYPE_NATIVE_MAP_WRAPPER. If there is one more locality groups, then the InMemoryMap has an
-   * array for simple maps that either contain either TYPE_LOCALITY_GROUP_MAP which contains
-   * DefaultMaps or TYPE_LOCALITY_GROUP_MAP_NATIVE which contains NativeMapWrappers.
+   * If no locality groups are present, the SimpleMap is either TYPE_DEFAULT_MAP,
+   * TYPE_NATIVE_MAP_WRAPPER or TYPE_OFF_HEAP_MAP_WRAPPER. If there is one more locality groups,
+   * then the InMemoryMap has an array for simple maps that either contain either
+   * TYPE_LOCALITY_GROUP_MAP which contains DefaultMaps, TYPE_LOCALITY_GROUP_MAP_NATIVE which
+   * contains NativeMapWrappers or TYPE_LOCALITY_GROUP_MAP_OFF_HEAP which contains
+   * OffHeapMapWrappers.
    *
    * @return String that describes the Map type
    */
@@ -286,14 +303,17 @@ public class InMemoryMap {
     private final SimpleMap[] maps;
     private final Partitioner partitioner;
     private final List<List<Mutation>> partitioned;
+    private final boolean concurrentWrites;
 
-    LocalityGroupMap(Map<String,Set<ByteSequence>> groups, boolean useNativeMap) {
+    LocalityGroupMap(Map<String,Set<ByteSequence>> groups, boolean useNativeMap,
+        boolean useOffHeapMap, boolean concurrentWrites) {
       this.groupFams = PreallocatedList.create(groups.size());
       this.maps = new SimpleMap[groups.size() + 1];
       this.partitioned = PreallocatedList.create(groups.size() + 1);
+      this.concurrentWrites = concurrentWrites;
 
       for (int i = 0; i < maps.length; i++) {
-        maps[i] = newMap(useNativeMap);
+        maps[i] = newMap(useNativeMap, useOffHeapMap);
       }
 
       int count = 0;
@@ -356,25 +376,38 @@ public class InMemoryMap {
     }
 
     @Override
-    public synchronized void mutate(List<Mutation> mutations, int kvCount) {
-      // this method is synchronized because it reuses objects to avoid allocation,
-      // currently, the method that calls this is synchronized so there is no
-      // loss in parallelism.... synchronization was added here for future proofing
+    public void mutate(List<Mutation> mutations, int kvCount) {
+      if (concurrentWrites) {
+        // allocate per call so that concurrent writers do not share the partition lists
+        List<List<Mutation>> parts = PreallocatedList.create(maps.length);
+        for (int i = 0; i < parts.size(); i++) {
+          parts.set(i, new ArrayList<>());
+        }
+        mutate(mutations, kvCount, parts);
+      } else {
+        // synchronized because it reuses objects to avoid allocation, when concurrent writes are
+        // disabled the method that calls this is synchronized so there is no loss in parallelism
+        synchronized (this) {
+          mutate(mutations, kvCount, partitioned);
+        }
+      }
+    }
 
+    private void mutate(List<Mutation> mutations, int kvCount, List<List<Mutation>> parts) {
       try {
-        partitioner.partition(mutations, partitioned);
+        partitioner.partition(mutations, parts);
 
-        for (int i = 0; i < partitioned.size(); i++) {
-          if (!partitioned.get(i).isEmpty()) {
-            maps[i].mutate(partitioned.get(i), kvCount);
-            for (Mutation m : partitioned.get(i)) {
+        for (int i = 0; i < parts.size(); i++) {
+          if (!parts.get(i).isEmpty()) {
+            maps[i].mutate(parts.get(i), kvCount);
+            for (Mutation m : parts.get(i)) {
               kvCount += m.getUpdates().size();
             }
           }
         }
       } finally {
         // clear immediately so mutations can be garbage collected
-        for (List<Mutation> list : partitioned) {
+        for (List<Mutation> list : parts) {
           list.clear();
         }
       }
@@ -483,16 +516,58 @@ public class InMemoryMap {
     }
   }
 
+  private static class OffHeapMapWrapper implements SimpleMap {
+    private final OffHeapMap offHeapMap = new OffHeapMap();
+
+    @Override
+    public int size() {
+      return offHeapMap.size();
+    }
+
+    @Override
+    public InterruptibleIterator skvIterator(SamplerConfigurationImpl samplerConfig) {
+      if (samplerConfig != null) {
+        throw new SampleNotPresentException();
+      }
+      return offHeapMap.skvIterator();
+    }
+
+    @Override
+    public void delete() {
+      offHeapMap.delete();
+    }
+
+    @Override
+    public long getMemoryUsed() {
+      return offHeapMap.getMemoryUsed();
+    }
+
+    @Override
+    public void mutate(List<Mutation> mutations, int kvCount) {
+      offHeapMap.mutate(mutations, kvCount);
+    }
+  }
+
   private final AtomicInteger nextKVCount = new AtomicInteger(1);
   private final AtomicInteger kvCount = new AtomicInteger(0);
 
   private final Object writeSerializer = new Object();
 
+  // concurrent writers that stopped spinning and are waiting on this for earlier writers to publish
+  private final Lock publishLock = new ReentrantLock();
+  private final Condition publishedCondition = publishLock.newCondition();
+  private final AtomicInteger publishWaiters = new AtomicInteger(0);
+
   /**
    * Applies changes to a row in the InMemoryMap
    *
    */
   public void mutate(List<Mutation> mutations, int numKVs) {
+    if (concurrentWrites) {
+      mutateConcurrently(mutations, numKVs);
+      return;
+    }
+
     // Can not update mutationCount while writes that started before
     // are in progress, this would cause partial mutations to be seen.
     // Also, can not continue until mutation count is updated, because
@@ -510,6 +585,68 @@ public class InMemoryMap {
     }
   }
 
+  /**
+   * Applies changes without serializing writers. Each writer reserves a range of kv counts up front
+   * and inserts into the map in parallel with other writers. Readers only see entries whose kv
+   * count is at or below {@link #kvCount}, so a writer publishes its range only after every writer
+   * that reserved an earlier range has published. This keeps partial mutations from being seen and
+   * ensures a read started after a write returns will see that write.
+   */
+  private void mutateConcurrently(List<Mutation> mutations, int numKVs) {
+    if (numKVs <= 0) {
+      // nothing to publish, reserving an empty range would give this writer the same predecessor
+      // as the next writer
+      return;
+    }
+
+    int kv = nextKVCount.getAndAdd(numKVs);
+    try {
+      map.mutate(mutations, kv);
+    } finally {
+      // wait for writers that reserved earlier ranges, they are applying their changes in parallel
+      // with this writer so this wait is usually short
+      int spins = 0;
+      while (kvCount.get() != kv - 1 && spins++ < 100) {
+        Thread.onSpinWait();
+      }
+      if (kvCount.get() != kv - 1) {
+        awaitPublished(kv - 1);
+      }
+      kvCount.set(kv + numKVs - 1);
+      // the waiter count is read after publishing and a waiter checks kvCount after counting
+      // itself, so a waiter either sees this publish or is woken up by it
+      if (publishWaiters.get() > 0) {
+        publishLock.lock();
+        try {
+          publishedCondition.signalAll();
+        } finally {
+          publishLock.unlock();
+        }
+      }
+    }
+  }
+
+  /**
+   * Parks a writer until all kv counts up to the given one are published, instead of spinning while
+   * a slow writer ahead of it finishes. The wait is not interruptible because this writer has
+   * already inserted its changes and every writer after it waits for it to publish.
+   */
+  private void awaitPublished(int published) {
+    publishWaiters.incrementAndGet();
+    try {
+      publishLock.lock();
+      try {
+        while (kvCount.get() != published) {
+          publishedCondition.awaitUninterruptibly();
+        }
+      } finally {
+        publishLock.unlock();
+      }
+    } finally {
+      publishWaiters.decrementAndGet();
+    }
+  }
+
   /**
    * Returns a long representing the size of the InMemoryMap
    *
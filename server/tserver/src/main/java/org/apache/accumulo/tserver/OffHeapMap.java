@@ -0,0 +1,549 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.tserver;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.accumulo.core.client.SampleNotPresentException;
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.ColumnUpdate;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Mutation;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.IteratorEnvironment;
+import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+import org.apache.accumulo.core.iteratorsImpl.system.InterruptibleIterator;
+import org.apache.accumulo.core.iteratorsImpl.system.IterationInterruptedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+
+/**
+ * This class stores data in direct memory outside of the Java heap. Like {@link NativeMap} this
+ * allows more data to be held in memory without Java GC pauses, but it is implemented in Java and
+ * needs no native library.
+ * <p>
+ * Keys and values are copied into large direct buffers. The entries are kept sorted with a skip
+ * list whose nodes live in the same buffers and point to each other using primitive addresses, so
+ * no Java objects are created per entry. Entries are never removed, when the map is no longer
+ * needed {@link #delete()} drops all of the buffers at once.
+ * <p>
+ * The map allows a single writer and many readers. Readers copy a small batch of entries to the
+ * heap while holding the read lock. Because nodes are never moved, an iterator can continue from
+ * the last entry it read after writes were made to the map.
+ */
+public class OffHeapMap {
+
+  private static final Logger log = LoggerFactory.getLogger(OffHeapMap.class);
+
+  private static final int MAX_LEVEL = 16;
+
+  // address of the list head, which is kept on the heap in headNext
+  private static final long HEAD = -2;
+  // address used to mark the end of a list
+  private static final long NIL = -1;
+
+  // node layout: level, row length, family length, qualifier length, visibility length, value
+  // length, timestamp, kv count, deleted flag, then the next pointers and the data
+  private static final int LEVEL_OFFSET = 0;
+  private static final int ROW_LEN_OFFSET = 4;
+  private static final int CF_LEN_OFFSET = 8;
+  private static final int CQ_LEN_OFFSET = 12;
+  private static final int CV_LEN_OFFSET = 16;
+  private static final int VAL_LEN_OFFSET = 20;
+  private static final int TS_OFFSET = 24;
+  private static final int KV_COUNT_OFFSET = 32;
+  private static final int DELETED_OFFSET = 36;
+  private static final int NEXT_OFFSET = 40;
+
+  private static final int MIN_CHUNK_SIZE = 1 << 16;
+  private static final int MAX_CHUNK_SIZE = 1 << 22;
+
+  private final ReadWriteLock rwLock;
+  private final Lock rlock;
+  private final Lock wlock;
+
+  private final List<ByteBuffer> chunks = new ArrayList<>();
+  private ByteBuffer currentChunk = null;
+  private int nextChunkSize = MIN_CHUNK_SIZE;
+
+  private final long[] headNext = new long[MAX_LEVEL];
+  private final long[] preds = new long[MAX_LEVEL];
+  private int levels = 1;
+
+  private int size = 0;
+  private volatile long memoryUsed = 0;
+  private boolean deleted = false;
+
+  public OffHeapMap() {
+    Arrays.fill(headNext, NIL);
+    rwLock = new ReentrantReadWriteLock();
+    rlock = rwLock.readLock();
+    wlock = rwLock.writeLock();
+  }
+
+  private void checkDeleted() {
+    if (deleted) {
+      throw new IllegalStateException("Off heap map deleted");
+    }
+  }
+
+  private ByteBuffer chunk(long address) {
+    return chunks.get((int) (address >>> 32));
+  }
+
+  private static int offset(long address) {
+    return (int) address;
+  }
+
+  private long nextNode(long node, int level) {
+    if (node == HEAD) {
+      return headNext[level];
+    }
+    return chunk(node).getLong(offset(node) + NEXT_OFFSET + level * 8);
+  }
+
+  private void setNextNode(long node, int level, long next) {
+    if (node == HEAD) {
+      headNext[level] = next;
+    } else {
+      chunk(node).putLong(offset(node) + NEXT_OFFSET + level * 8, next);
+    }
+  }
+
+  // assumes wlock
+  private long allocate(int length) {
+    // keep nodes 8 byte aligned
+    int padded = (length + 7) & ~7;
+    if (currentChunk == null || currentChunk.remaining() < padded) {
+      int chunkSize = Math.max(padded, nextChunkSize);
+      nextChunkSize = Math.min(nextChunkSize * 2, MAX_CHUNK_SIZE);
+      currentChunk = ByteBuffer.allocateDirect(chunkSize);
+      chunks.add(currentChunk);
+      memoryUsed += chunkSize;
+    }
+    int pos = currentChunk.position();
+    currentChunk.position(pos + padded);
+    return ((long) (chunks.size() - 1) << 32) | pos;
+  }
+
+  private static int compareBytes(ByteBuffer buffer, int pos, int len, ByteSequence bs) {
+    byte[] data = bs.getBackingArray();
+    int off = bs.offset();
+    int minLen = Math.min(len, bs.length());
+    for (int i = 0; i < minLen; i++) {
+      int cmp = (buffer.get(pos + i) & 0xff) - (data[off + i] & 0xff);
+      if (cmp != 0) {
+        return cmp;
+      }
+    }
+    return len - bs.length();
+  }
+
+  /**
+   * Compares the key stored at a node with the given key using the same order as
+   * {@link MemKeyComparator}, newer kv counts sort first.
+   */
+  private int compare(long node, Key key, int kvCount) {
+    ByteBuffer buffer = chunk(node);
+    int pos = offset(node);
+    int rowLen = buffer.getInt(pos + ROW_LEN_OFFSET);
+    int cfLen = buffer.getInt(pos + CF_LEN_OFFSET);
+    int cqLen = buffer.getInt(pos + CQ_LEN_OFFSET);
+    int cvLen = buffer.getInt(pos + CV_LEN_OFFSET);
+    int data = pos + NEXT_OFFSET + buffer.getInt(pos + LEVEL_OFFSET) * 8;
+
+    int cmp = compareBytes(buffer, data, rowLen, key.getRowData());
+    if (cmp != 0) {
+      return cmp;
+    }
+    data += rowLen;
+    cmp = compareBytes(buffer, data, cfLen, key.getColumnFamilyData());
+    if (cmp != 0) {
+      return cmp;
+    }
+    data += cfLen;
+    cmp = compareBytes(buffer, data, cqLen, key.getColumnQualifierData());
+    if (cmp != 0) {
+      return cmp;
+    }
+    data += cqLen;
+    cmp = compareBytes(buffer, data, cvLen, key.getColumnVisibilityData());
+    if (cmp != 0) {
+      return cmp;
+    }
+    cmp = Long.compare(key.getTimestamp(), buffer.getLong(pos + TS_OFFSET));
+    if (cmp != 0) {
+      return cmp;
+    }
+    boolean nodeDeleted = buffer.get(pos + DELETED_OFFSET) != 0;
+    if (nodeDeleted != key.isDeleted()) {
+      return nodeDeleted ? -1 : 1;
+    }
+    return Integer.compare(kvCount, buffer.getInt(pos + KV_COUNT_OFFSET));
+  }
+
+  /**
+   * Finds the first node that is greater than or equal to the given key. When preds is not null it
+   * is filled with the last node before the key on each level.
+   */
+  private long findGreaterOrEqual(Key key, int kvCount, long[] preds) {
+    long pred = HEAD;
+    long next = NIL;
+    for (int level = levels - 1; level >= 0; level--) {
+      next = nextNode(pred, level);
+      while (next != NIL && compare(next, key, kvCount) < 0) {
+        pred = next;
+        next = nextNode(pred, level);
+      }
+      if (preds != null) {
+        preds[level] = pred;
+      }
+    }
+    return next;
+  }
+
+  private static int randomLevel() {
+    int bits = ThreadLocalRandom.current().nextInt();
+    int level = 1;
+    // each level has a quarter of the nodes of the level below it
+    while ((bits & 3) == 0 && level < MAX_LEVEL) {
+      level++;
+      bits >>>= 2;
+    }
+    return level;
+  }
+
+  // assumes wlock
+  private void _put(byte[] row, byte[] cf, byte[] cq, byte[] cv, long ts, boolean del, byte[] value,
+      int kvCount) {
+    Key key = new Key(row, cf, cq, cv, ts, del, false);
+
+    Arrays.fill(preds, HEAD);
+    long existing = findGreaterOrEqual(key, kvCount, preds);
+    if (existing != NIL && compare(existing, key, kvCount) == 0) {
+      // replace the existing node by unlinking it, its space is reclaimed when the map is deleted
+      int existingLevel = chunk(existing).getInt(offset(existing) + LEVEL_OFFSET);
+      for (int i = 0; i < existingLevel; i++) {
+        setNextNode(preds[i], i, nextNode(existing, i));
+      }
+      size--;
+    }
+
+    int level = randomLevel();
+    int dataOffset = NEXT_OFFSET + level * 8;
+    long node =
+        allocate(dataOffset + row.length + cf.length + cq.length + cv.length + value.length);
+
+    ByteBuffer buffer = chunk(node);
+    int pos = offset(node);
+    buffer.putInt(pos + LEVEL_OFFSET, level);
+    buffer.putInt(pos + ROW_LEN_OFFSET, row.length);
+    buffer.putInt(pos + CF_LEN_OFFSET, cf.length);
+    buffer.putInt(pos + CQ_LEN_OFFSET, cq.length);
+    buffer.putInt(pos + CV_LEN_OFFSET, cv.length);
+    buffer.putInt(pos + VAL_LEN_OFFSET, value.length);
+    buffer.putLong(pos + TS_OFFSET, ts);
+    buffer.putInt(pos + KV_COUNT_OFFSET, kvCount);
+    buffer.put(pos + DELETED_OFFSET, (byte) (del ? 1 : 0));
+    int data = pos + dataOffset;
+    buffer.put(data, row);
+    data += row.length;
+    buffer.put(data, cf);
+    data += cf.length;
+    buffer.put(data, cq);
+    data += cq.length;
+    buffer.put(data, cv);
+    data += cv.length;
+    buffer.put(data, value);
+
+    // link the node in from the bottom up, readers hold the read lock so the order does not matter
+    for (int i = 0; i < level; i++) {
+      setNextNode(node, i, nextNode(preds[i], i));
+      setNextNode(preds[i], i, node);
+    }
+    levels = Math.max(levels, level);
+    size++;
+  }
+
+  void mutate(List<Mutation> mutations, int kvCount) {
+    var iter = mutations.iterator();
+
+    while (iter.hasNext()) {
+      // release the lock periodically so that readers are not blocked by large batches
+      wlock.lock();
+      try {
+        checkDeleted();
+
+        int count = 0;
+        while (iter.hasNext() && count < 10) {
+          Mutation mutation = iter.next();
+          for (ColumnUpdate update : mutation.getUpdates()) {
+            _put(mutation.getRow(), update.getColumnFamily(), update.getColumnQualifier(),
+                update.getColumnVisibility(), update.getTimestamp(), update.isDeleted(),
+                update.getValue(), kvCount++);
+          }
+          count += mutation.size();
+        }
+      } finally {
+        wlock.unlock();
+      }
+    }
+  }
+
+  @VisibleForTesting
+  public void put(Key key, Value value) {
+    wlock.lock();
+    try {
+      checkDeleted();
+      int kvCount = key instanceof MemKey ? ((MemKey) key).getKVCount() : 0;
+      _put(key.getRowData().toArray(), key.getColumnFamilyData().toArray(),
+          key.getColumnQualifierData().toArray(), key.getColumnVisibilityData().toArray(),
+          key.getTimestamp(), key.isDeleted(), value.get(), kvCount);
+    } finally {
+      wlock.unlock();
+    }
+  }
+
+  public int size() {
+    rlock.lock();
+    try {
+      checkDeleted();
+      return size;
+    } finally {
+      rlock.unlock();
+    }
+  }
+
+  /**
+   * @return the number of bytes of direct memory allocated by this map
+   */
+  public long getMemoryUsed() {
+    return memoryUsed;
+  }
+
+  public void delete() {
+    wlock.lock();
+    try {
+      checkDeleted();
+      deleted = true;
+      log.trace("Releasing {} bytes of direct memory from off heap map", memoryUsed);
+      // drop the only references to the buffers so their memory is released in one go
+      chunks.clear();
+      currentChunk = null;
+    } finally {
+      wlock.unlock();
+    }
+  }
+
+  private static byte[] read(ByteBuffer buffer, int pos, int len) {
+    byte[] data = new byte[len];
+    buffer.get(pos, data);
+    return data;
+  }
+
+  private class OffHeapIterator implements InterruptibleIterator {
+
+    // same read ahead as the native map, reading a batch of entries while the read lock is held
+    // keeps readers from contending on the lock and lessens the impact of concurrent writes
+    private static final int MAX_READ_AHEAD_ENTRIES = 16;
+    private static final int READ_AHEAD_BYTES = 4096;
+
+    private final Key[] keys = new Key[MAX_READ_AHEAD_ENTRIES];
+    private final Value[] values = new Value[MAX_READ_AHEAD_ENTRIES];
+    private int readAhead = 1;
+    private int index;
+    private int end;
+
+    // the last node copied into the read ahead buffer
+    private long lastNode = NIL;
+
+    private Range range;
+    private AtomicBoolean interruptFlag;
+    private int interruptCheckCount = 0;
+    private boolean seeked = false;
+
+    private OffHeapIterator(AtomicBoolean interruptFlag) {
+      this.interruptFlag = interruptFlag;
+    }
+
+    // assumes rlock
+    private void fill(long node) {
+      index = 0;
+      end = 0;
+      int amountRead = 0;
+      while (node != NIL && end < readAhead && amountRead <= READ_AHEAD_BYTES) {
+        ByteBuffer buffer = chunk(node);
+        int pos = offset(node);
+        int rowLen = buffer.getInt(pos + ROW_LEN_OFFSET);
+        int cfLen = buffer.getInt(pos + CF_LEN_OFFSET);
+        int cqLen = buffer.getInt(pos + CQ_LEN_OFFSET);
+        int cvLen = buffer.getInt(pos + CV_LEN_OFFSET);
+        int valLen = buffer.getInt(pos + VAL_LEN_OFFSET);
+        int data = pos + NEXT_OFFSET + buffer.getInt(pos + LEVEL_OFFSET) * 8;
+
+        byte[] row = read(buffer, data, rowLen);
+        data += rowLen;
+        byte[] cf = read(buffer, data, cfLen);
+        data += cfLen;
+        byte[] cq = read(buffer, data, cqLen);
+        data += cqLen;
+        byte[] cv = read(buffer, data, cvLen);
+        data += cvLen;
+
+        keys[end] = new MemKey(row, cf, cq, cv, buffer.getLong(pos + TS_OFFSET),
+            buffer.get(pos + DELETED_OFFSET) != 0, false, buffer.getInt(pos + KV_COUNT_OFFSET));
+        values[end] = new Value(read(buffer, data, valLen));
+        end++;
+        amountRead += rowLen + cfLen + cqLen + cvLen + valLen;
+
+        lastNode = node;
+        node = nextNode(node, 0);
+      }
+
+      // as we keep filling, increase the read ahead buffer
+      readAhead = Math.min(readAhead * 2, MAX_READ_AHEAD_ENTRIES);
+    }
+
+    private void fillAfterLast() {
+      rlock.lock();
+      try {
+        checkDeleted();
+        fill(nextNode(lastNode, 0));
+      } finally {
+        rlock.unlock();
+      }
+    }
+
+    private boolean afterEnd() {
+      return index < end && range.afterEndKey(keys[index]);
+    }
+
+    @Override
+    public Key getTopKey() {
+      return keys[index];
+    }
+
+    @Override
+    public Value getTopValue() {
+      return values[index];
+    }
+
+    @Override
+    public boolean hasTop() {
+      Preconditions.checkState(seeked, "seek() was never called");
+      return index < end;
+    }
+
+    @Override
+    public void next() {
+      if (index >= end) {
+        throw new NoSuchElementException();
+      }
+
+      // checking the interrupt flag for every call to next had bad a bad performance impact
+      // so check it every 100th time
+      if (interruptFlag != null && interruptCheckCount++ % 100 == 0 && interruptFlag.get()) {
+        throw new IterationInterruptedException();
+      }
+
+      keys[index] = null;
+      values[index] = null;
+      index++;
+      if (index == end) {
+        fillAfterLast();
+      }
+      if (afterEnd()) {
+        index = end;
+      }
+    }
+
+    @Override
+    public void seek(Range range, Collection<ByteSequence> columnFamilies, boolean inclusive) {
+
+      if (interruptFlag != null && interruptFlag.get()) {
+        throw new IterationInterruptedException();
+      }
+
+      this.range = range;
+
+      Key key = range.getStartKey();
+
+      readAhead = 1;
+      rlock.lock();
+      try {
+        checkDeleted();
+        if (key == null) {
+          fill(headNext[0]);
+        } else {
+          // a key without a kv count sorts before all entries with the same key
+          int kvCount = key instanceof MemKey ? ((MemKey) key).getKVCount() : Integer.MAX_VALUE;
+          fill(findGreaterOrEqual(key, kvCount, null));
+        }
+      } finally {
+        rlock.unlock();
+      }
+
+      seeked = true;
+      if (afterEnd()) {
+        index = end;
+      }
+      while (hasTop() && range.beforeStartKey(getTopKey())) {
+        next();
+      }
+    }
+
+    @Override
+    public void init(SortedKeyValueIterator<Key,Value> source, Map<String,String> options,
+        IteratorEnvironment env) {
+      throw new UnsupportedOperationException("init");
+    }
+
+    @Override
+    public SortedKeyValueIterator<Key,Value> deepCopy(IteratorEnvironment env) {
+      if (env != null && env.isSamplingEnabled()) {
+        throw new SampleNotPresentException();
+      }
+      return new OffHeapIterator(interruptFlag);
+    }
+
+    @Override
+    public void setInterruptFlag(AtomicBoolean flag) {
+      this.interruptFlag = flag;
+    }
+  }
+
+  public InterruptibleIterator skvIterator() {
+    return new OffHeapIterator(null);
+  }
+}
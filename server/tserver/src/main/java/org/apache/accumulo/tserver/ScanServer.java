@@ -380,11 +380,13 @@ public class ScanServer extends AbstractServer
 
     MetricsInfo metricsInfo = getContext().getMetricsInfo();
 
-    scanMetrics = new TabletServerScanMetrics(resourceManager::getOpenFiles);
+    scanMetrics = new TabletServerScanMetrics(resourceManager::getOpenFiles,
+        resourceManager.getVisibilityEvaluationCache());
     sessionManager.setZombieCountConsumer(scanMetrics::setZombieScanThreads);
     scanServerMetrics = new ScanServerMetrics(tabletMetadataCache);
-    blockCacheMetrics = new BlockCacheMetrics(resourceManager.getIndexCache(),
-        resourceManager.getDataCache(), resourceManager.getSummaryCache());
+    blockCacheMetrics =
+        new BlockCacheMetrics(resourceManager.getIndexCache(), resourceManager.getDataCache(),
+            resourceManager.getSummaryCache(), resourceManager.getReadAhead());
 
     metricsInfo.addMetricsProducers(this, scanMetrics, scanServerMetrics, blockCacheMetrics);
 
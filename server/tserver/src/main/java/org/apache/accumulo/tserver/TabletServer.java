@@ -188,6 +188,10 @@ public class TabletServer extends AbstractServer implements TabletHostingServer
     return recoveryMetrics;
   }
 
+  public TabletServerUpdateMetrics getUpdateMetrics() {
+    return updateMetrics;
+  }
+
   private final LogSorter logSorter;
   final TabletStatsKeeper statsKeeper;
   private final AtomicInteger logIdGenerator = new AtomicInteger();
@@ -559,12 +563,14 @@ public class TabletServer extends AbstractServer implements TabletHostingServer
 
     metrics = new TabletServerMetrics(this);
     updateMetrics = new TabletServerUpdateMetrics();
-    scanMetrics = new TabletServerScanMetrics(this.resourceManager::getOpenFiles);
+    scanMetrics = new TabletServerScanMetrics(this.resourceManager::getOpenFiles,
+        this.resourceManager.getVisibilityEvaluationCache());
     sessionManager.setZombieCountConsumer(scanMetrics::setZombieScanThreads);
     mincMetrics = new TabletServerMinCMetrics();
     pausedMetrics = new PausedCompactionMetrics();
     blockCacheMetrics = new BlockCacheMetrics(this.resourceManager.getIndexCache(),
-        this.resourceManager.getDataCache(), this.resourceManager.getSummaryCache());
+        this.resourceManager.getDataCache(), this.resourceManager.getSummaryCache(),
+        this.resourceManager.getReadAhead());
     recoveryMetrics = new TabletServerRecoveryMetrics();
 
     metricsInfo.addMetricsProducers(this, metrics, updateMetrics, scanMetrics, mincMetrics,
@@ -31,6 +31,7 @@ import static org.apache.accumulo.core.util.threads.ThreadPoolNames.TSERVER_COND
 import static org.apache.accumulo.core.util.threads.ThreadPoolNames.TSERVER_CONDITIONAL_UPDATE_ROOT_POOL;
 import static org.apache.accumulo.core.util.threads.ThreadPoolNames.TSERVER_CONDITIONAL_UPDATE_USER_POOL;
 import static org.apache.accumulo.core.util.threads.ThreadPoolNames.TSERVER_MINOR_COMPACTOR_POOL;
+import static org.apache.accumulo.core.util.threads.ThreadPoolNames.TSERVER_SCAN_READ_AHEAD_POOL;
 import static org.apache.accumulo.core.util.threads.ThreadPoolNames.TSERVER_SUMMARY_FILE_RETRIEVER_POOL;
 import static org.apache.accumulo.core.util.threads.ThreadPoolNames.TSERVER_SUMMARY_PARTITION_POOL;
 import static org.apache.accumulo.core.util.threads.ThreadPoolNames.TSERVER_SUMMARY_REMOTE_POOL;
@@ -48,6 +49,7 @@ import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.OptionalInt;
 import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
@@ -70,7 +72,9 @@ import org.apache.accumulo.core.conf.Property;
 import org.apache.accumulo.core.data.TableId;
 import org.apache.accumulo.core.dataImpl.KeyExtent;
 import org.apache.accumulo.core.file.blockfile.cache.impl.BlockCacheManagerFactory;
+import org.apache.accumulo.core.file.blockfile.impl.BlockReadAhead;
 import org.apache.accumulo.core.file.blockfile.impl.ScanCacheProvider;
+import org.apache.accumulo.core.iteratorsImpl.system.VisibilityEvaluationCache;
 import org.apache.accumulo.core.metadata.schema.Ample;
 import org.apache.accumulo.core.spi.cache.BlockCache;
 import org.apache.accumulo.core.spi.cache.BlockCacheManager;
@@ -139,9 +143,11 @@ public class TabletServerResourceManager {
   private final BlockCache _dCache;
   private final BlockCache _iCache;
   private final BlockCache _sCache;
+  private final BlockReadAhead readAhead;
   private final ServerContext context;
 
   private Cache<String,Long> fileLenCache;
+  private final VisibilityEvaluationCache visibilityCache;
 
   /**
    * This method creates a task that changes the number of core and maximum threads on the thread
@@ -277,6 +283,8 @@ public class TabletServerResourceManager {
     if (usingNativeMap) {
       NativeMapLoader.load();
     }
+    // the native and off heap maps keep their data outside of the java heap
+    boolean mapsOffHeap = usingNativeMap || acuConf.getBoolean(Property.TSERV_OFFHEAP_MAP_ENABLED);
 
     long totalQueueSize = acuConf.getAsBytes(Property.TSERV_TOTAL_MUTATION_QUEUE_MAX);
 
@@ -292,13 +300,23 @@ public class TabletServerResourceManager {
     _dCache = cacheManager.getBlockCache(CacheType.DATA);
     _sCache = cacheManager.getBlockCache(CacheType.SUMMARY);
 
+    int readAheadThreads = acuConf.getCount(Property.TSERV_SCAN_READ_AHEAD_THREADS);
+    // reading ahead is optional, so reject work instead of queueing it when the pool falls behind
+    readAhead = new BlockReadAhead(
+        ThreadPools.getServerThreadPools().getPoolBuilder(TSERVER_SCAN_READ_AHEAD_POOL)
+            .numCoreThreads(readAheadThreads).withTimeOut(60L, SECONDS)
+            .withQueue(new ArrayBlockingQueue<>(Math.max(1, readAheadThreads) * 4))
+            .enableThreadPoolMetrics(enableMetrics).build(),
+        acuConf.getCount(Property.TSERV_SCAN_READ_AHEAD_THRESHOLD),
+        acuConf.getCount(Property.TSERV_SCAN_READ_AHEAD_BLOCKS));
+
     long dCacheSize = _dCache == null ? 0 : _dCache.getMaxHeapSize();
     long iCacheSize = _iCache == null ? 0 : _iCache.getMaxHeapSize();
     long sCacheSize = _sCache == null ? 0 : _sCache.getMaxHeapSize();
 
     Runtime runtime = Runtime.getRuntime();
-    if (usingNativeMap) {
-      // Still check block cache sizes when using native maps.
+    if (mapsOffHeap) {
+      // Still check block cache sizes when using native or off heap maps.
       if (dCacheSize + iCacheSize + sCacheSize + totalQueueSize > runtime.maxMemory()) {
         throw new IllegalArgumentException(String.format(
             "Block cache sizes %,d and mutation queue size %,d is too large for this JVM"
@@ -317,7 +335,7 @@ public class TabletServerResourceManager {
 
     // totalMemory - freeMemory = memory in use
     // maxMemory - memory in use = max available memory
-    if (!usingNativeMap
+    if (!mapsOffHeap
         && maxMemory > runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory())) {
       log.warn("In-memory map may not fit into local memory space.");
     }
@@ -389,6 +407,10 @@ public class TabletServerResourceManager {
 
     fileManager = new FileManager(context, maxOpenFiles, fileLenCache);
 
+    long visibilityCacheSize = acuConf.getCount(Property.TSERV_SCAN_VISIBILITY_CACHE_SIZE);
+    visibilityCache =
+        visibilityCacheSize > 0 ? new VisibilityEvaluationCache(visibilityCacheSize) : null;
+
     memoryManager = new LargestFirstMemoryManager();
     memoryManager.init(context);
     memMgmt = new MemoryManagementFramework();
@@ -708,11 +730,18 @@ public class TabletServerResourceManager {
       }
 
       return fileManager.newScanFileManager(extent,
-          new ScanCacheProvider(tableConf, scanDispatch, _iCache, _dCache));
+          new ScanCacheProvider(tableConf, scanDispatch, _iCache, _dCache, readAhead));
     }
 
     // END methods that Tablets call to manage their set of open data files
 
+    /**
+     * @return the cache of visibility decisions shared by all scans, or null if it is disabled
+     */
+    public VisibilityEvaluationCache getVisibilityEvaluationCache() {
+      return visibilityCache;
+    }
+
     // BEGIN methods that Tablets call to manage memory
 
     private final AtomicLong lastReportedSize = new AtomicLong();
@@ -885,10 +914,18 @@ public class TabletServerResourceManager {
     return _sCache;
   }
 
+  public BlockReadAhead getReadAhead() {
+    return readAhead;
+  }
+
   public Cache<String,Long> getFileLenCache() {
     return fileLenCache;
   }
 
+  public VisibilityEvaluationCache getVisibilityEvaluationCache() {
+    return visibilityCache;
+  }
+
   public ExecutorService getSummaryRetrievalExecutor() {
     return summaryRetrievalPool;
   }
@@ -209,8 +209,11 @@ public class ThriftScanClientHandler implements TabletScanClientService.Iface {
         columnSet, ssiList, ssio, isolated, SamplerConfigurationImpl.fromThrift(tSamplerConfig),
         batchTimeOut, contextArg);
 
+    // the root tablet is read in the client handler thread, so it is never read far ahead
+    int readaheadDepth = extent.isRootTablet() ? 1
+        : server.getConfiguration().getCount(Property.TSERV_SCAN_RESULTS_READ_AHEAD);
     final SingleScanSession scanSession = new SingleScanSession(credentials, extent, scanParams,
-        readaheadThreshold, executionHints, tabletResolver);
+        readaheadThreshold, readaheadDepth, executionHints, tabletResolver);
     scanSession.scanner =
         tablet.createScanner(new Range(range), scanParams, scanSession.interruptFlag);
 
@@ -315,9 +318,13 @@ public class ThriftScanClientHandler implements TabletScanClientService.Iface {
     if (scanResult.isMore() && scanSession.batchCount > scanSession.readaheadThreshold) {
       // start reading next batch while current batch is transmitted
       // to client
-      scanSession.setScanTask(new NextBatchTask(server, scanID, scanSession.interruptFlag));
-      server.getResourceManager().executeReadAhead(scanSession.extent,
-          getScanDispatcher(scanSession.extent), scanSession, scanSession.getScanTask());
+      ScanDispatcher dispatcher = getScanDispatcher(scanSession.extent);
+      scanSession.startReadahead(() -> {
+        var task = new NextBatchTask(server, scanID, scanSession.interruptFlag);
+        server.getResourceManager().executeReadAhead(scanSession.extent, dispatcher, scanSession,
+            task);
+        return task;
+      });
     }
 
     if (!scanResult.isMore()) {
@@ -20,7 +20,9 @@ package org.apache.accumulo.tserver.log;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static org.apache.accumulo.tserver.logger.LogEvents.COMPACTION_FINISH;
 import static org.apache.accumulo.tserver.logger.LogEvents.COMPACTION_START;
 import static org.apache.accumulo.tserver.logger.LogEvents.DEFINE_TABLET;
@@ -69,6 +71,7 @@ import org.apache.accumulo.server.fs.VolumeManager;
 import org.apache.accumulo.tserver.TabletMutations;
 import org.apache.accumulo.tserver.logger.LogFileKey;
 import org.apache.accumulo.tserver.logger.LogFileValue;
+import org.apache.accumulo.tserver.metrics.TabletServerUpdateMetrics;
 import org.apache.accumulo.tserver.tablet.CommitSession;
 import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FSDataOutputStream;
@@ -135,17 +138,23 @@ public final class DfsLogger implements Comparable<DfsLogger> {
     private final AtomicLong syncCounter;
     private final AtomicLong flushCounter;
     private final Duration slowFlushDuration;
+    private final GroupCommitPolicy groupCommitPolicy;
+    private final TabletServerUpdateMetrics updateMetrics;
 
-    LogSyncingTask(AtomicLong syncCounter, AtomicLong flushCounter, Duration slowFlushDuration) {
+    LogSyncingTask(AtomicLong syncCounter, AtomicLong flushCounter, Duration slowFlushDuration,
+        GroupCommitPolicy groupCommitPolicy, TabletServerUpdateMetrics updateMetrics) {
       this.syncCounter = syncCounter;
       this.flushCounter = flushCounter;
       this.slowFlushDuration = slowFlushDuration;
+      this.groupCommitPolicy = groupCommitPolicy;
+      this.updateMetrics = updateMetrics;
     }
 
     @Override
     public void run() {
       ArrayList<LogWork> work = new ArrayList<>();
       boolean sawClosedMarker = false;
+      long syncedBytes = 0;
       while (!sawClosedMarker) {
         work.clear();
 
@@ -157,6 +166,10 @@ public final class DfsLogger implements Comparable<DfsLogger> {
         }
         work.ensureCapacity(work.size() + workQueue.size());
         workQueue.drainTo(work);
+        waitForMoreWork(work, syncedBytes);
+        // everything in the work list was written before it was queued, so this sync covers at
+        // least these bytes
+        syncedBytes = bytesWritten.get();
 
         Optional<Boolean> shouldHSync = Optional.empty();
         loop: for (LogWork logWork : work) {
@@ -191,6 +204,13 @@ public final class DfsLogger implements Comparable<DfsLogger> {
         } catch (IOException | RuntimeException ex) {
           fail(work, ex, "synching");
         }
+        if (shouldHSync.isPresent()) {
+          long syncNanos = timer.elapsed(NANOSECONDS);
+          int groupSize = isClosed(work) ? work.size() - 1 : work.size();
+          groupCommitPolicy.syncCompleted(syncNanos, groupSize);
+          updateMetrics.addWalogSyncTime(syncNanos, NANOSECONDS);
+          updateMetrics.addWalogSyncGroupSize(groupSize);
+        }
         if (timer.hasElapsed(slowFlushDuration)) {
           log.info("Slow sync cost: {} ms, current pipeline: {}", timer.elapsed(MILLISECONDS),
               Arrays.toString(getPipeLine()));
@@ -228,6 +248,43 @@ public final class DfsLogger implements Comparable<DfsLogger> {
       }
     }
 
+    /**
+     * Waits a short time for more writes to arrive so they can share the coming sync, as decided by
+     * the {@link GroupCommitPolicy}. Stops waiting early once enough data is pending or the log is
+     * closed.
+     */
+    private void waitForMoreWork(ArrayList<LogWork> work, long syncedBytes) {
+      long waitNanos = groupCommitPolicy.waitNanos(work.size());
+      if (waitNanos <= 0) {
+        return;
+      }
+      long deadline = System.nanoTime() + waitNanos;
+      while (!isClosed(work)
+          && !groupCommitPolicy.hasEnoughBytes(bytesWritten.get() - syncedBytes)) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+          return;
+        }
+        LogWork next;
+        try {
+          next = workQueue.poll(remaining, NANOSECONDS);
+        } catch (InterruptedException ex) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+        if (next == null) {
+          return;
+        }
+        work.add(next);
+        workQueue.drainTo(work);
+      }
+    }
+
+    private boolean isClosed(ArrayList<LogWork> work) {
+      // nothing is queued after the closed marker
+      return work.get(work.size() - 1) == CLOSED_MARKER;
+    }
+
     private void fail(ArrayList<LogWork> work, Exception ex, String why) {
       log.warn("Exception {} {}", why, ex, ex);
       for (LogWork logWork : work) {
@@ -308,12 +365,14 @@ public final class DfsLogger implements Comparable<DfsLogger> {
   private Thread syncThread;
 
   private long writes = 0;
+  private final AtomicLong bytesWritten = new AtomicLong();
 
   /**
    * Create a new DfsLogger with the provided characteristics.
    */
   public static DfsLogger createNew(ServerContext context, AtomicLong syncCounter,
-      AtomicLong flushCounter, String address) throws IOException {
+      AtomicLong flushCounter, TabletServerUpdateMetrics updateMetrics, String address)
+      throws IOException {
 
     String filename = UUID.randomUUID().toString();
     String addressForFilename = address.replace(':', '+');
@@ -326,9 +385,14 @@ public final class DfsLogger implements Comparable<DfsLogger> {
 
     LogEntry log = LogEntry.fromPath(logPath);
     DfsLogger dfsLogger = new DfsLogger(log);
-    long slowFlushMillis =
-        context.getConfiguration().getTimeInMillis(Property.TSERV_SLOW_FLUSH_MILLIS);
-    dfsLogger.open(context, logPath, filename, address, syncCounter, flushCounter, slowFlushMillis);
+    AccumuloConfiguration conf = context.getConfiguration();
+    long slowFlushMillis = conf.getTimeInMillis(Property.TSERV_SLOW_FLUSH_MILLIS);
+    var groupCommitPolicy = new GroupCommitPolicy(
+        MICROSECONDS.toNanos(conf.getCount(Property.TSERV_WAL_GROUP_COMMIT_WAIT_MAX)),
+        conf.getAsBytes(Property.TSERV_WAL_GROUP_COMMIT_BYTES_MIN));
+    var syncingTask = dfsLogger.new LogSyncingTask(syncCounter, flushCounter,
+        Duration.ofMillis(slowFlushMillis), groupCommitPolicy, updateMetrics);
+    dfsLogger.open(context, logPath, filename, address, syncingTask);
     return dfsLogger;
   }
 
@@ -401,8 +465,7 @@ public final class DfsLogger implements Comparable<DfsLogger> {
    * @param address The address of the host using this WAL
    */
   private synchronized void open(ServerContext context, String logPath, String filename,
-      String address, AtomicLong syncCounter, AtomicLong flushCounter, long slowFlushMillis)
-      throws IOException {
+      String address, LogSyncingTask syncingTask) throws IOException {
     log.debug("Address is {}", address);
 
     log.debug("DfsLogger.open() begin");
@@ -476,8 +539,7 @@ public final class DfsLogger implements Comparable<DfsLogger> {
       throw new IOException(ex);
     }
 
-    syncThread = Threads.createCriticalThread("Accumulo WALog thread " + this,
-        new LogSyncingTask(syncCounter, flushCounter, Duration.ofMillis(slowFlushMillis)));
+    syncThread = Threads.createCriticalThread("Accumulo WALog thread " + this, syncingTask);
     syncThread.start();
     op.await();
     log.debug("Got new write-ahead log: {}", this);
@@ -561,10 +623,12 @@ public final class DfsLogger implements Comparable<DfsLogger> {
   }
 
   private synchronized void write(LogFileKey key, LogFileValue value) throws IOException {
+    long startPos = logFile.getPos();
     key.write(encryptingLogFile);
     value.write(encryptingLogFile);
     encryptingLogFile.flush();
     writes++;
+    bytesWritten.addAndGet(logFile.getPos() - startPos);
   }
 
   private LoggerOperation logKeyData(LogFileKey key, Durability d) throws IOException {
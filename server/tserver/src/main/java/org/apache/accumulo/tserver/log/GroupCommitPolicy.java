@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.tserver.log;
+
+/**
+ * Decides how long the WAL syncing thread should wait for more writes before it syncs, so that
+ * concurrent writers can share a single sync. The wait is a fraction of the recently observed sync
+ * latency, capped by a configured maximum. No wait happens unless writes are arriving concurrently,
+ * so a single writer never pays extra latency. Only used by the syncing thread, so it is not thread
+ * safe.
+ */
+class GroupCommitPolicy {
+
+  // weight given to the latest sync when averaging sync latency
+  private static final double SYNC_TIME_WEIGHT = 0.2;
+
+  private final long maxWaitNanos;
+  private final long minBytes;
+
+  private double avgSyncNanos = 0;
+  private int lastGroupSize = 0;
+
+  GroupCommitPolicy(long maxWaitNanos, long minBytes) {
+    this.maxWaitNanos = maxWaitNanos;
+    this.minBytes = minBytes;
+  }
+
+  /**
+   * @param groupSize the number of writes currently waiting to be synced
+   * @return the number of nanoseconds to wait for more writes, zero if the sync should happen now
+   */
+  long waitNanos(int groupSize) {
+    if (maxWaitNanos <= 0 || (groupSize <= 1 && lastGroupSize <= 1)) {
+      return 0;
+    }
+    return Math.min(maxWaitNanos, (long) (avgSyncNanos / 2));
+  }
+
+  /**
+   * @return true if enough data is waiting to be synced that there is no reason to wait for more
+   */
+  boolean hasEnoughBytes(long pendingBytes) {
+    return minBytes > 0 && pendingBytes >= minBytes;
+  }
+
+  void syncCompleted(long syncNanos, int groupSize) {
+    if (avgSyncNanos == 0) {
+      avgSyncNanos = syncNanos;
+    } else {
+      avgSyncNanos = SYNC_TIME_WEIGHT * syncNanos + (1 - SYNC_TIME_WEIGHT) * avgSyncNanos;
+    }
+    lastGroupSize = groupSize;
+  }
+}
@@ -19,14 +19,20 @@
 package org.apache.accumulo.tserver.log;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static org.apache.accumulo.core.metrics.Metric.RECOVERIES_SORTS_AVG_PROGRESS;
 import static org.apache.accumulo.core.metrics.Metric.RECOVERIES_SORTS_IN_PROGRESS;
 import static org.apache.accumulo.core.metrics.Metric.RECOVERIES_SORTS_LONGEST_RUNTIME;
+import static org.apache.accumulo.core.metrics.Metric.RECOVERIES_SORTS_READ_TIME;
+import static org.apache.accumulo.core.metrics.Metric.RECOVERIES_SORTS_SORT_TIME;
+import static org.apache.accumulo.core.metrics.Metric.RECOVERIES_SORTS_WRITE_TIME;
 import static org.apache.accumulo.core.util.threads.ThreadPoolNames.TSERVER_WAL_SORT_CONCURRENT_POOL;
+import static org.apache.accumulo.core.util.threads.ThreadPoolNames.TSERVER_WAL_SORT_WRITE_POOL;
 
 import java.io.DataInputStream;
 import java.io.EOFException;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -34,6 +40,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
@@ -57,6 +66,7 @@ import org.apache.accumulo.server.AbstractServer;
 import org.apache.accumulo.server.ServerContext;
 import org.apache.accumulo.server.fs.VolumeManager;
 import org.apache.accumulo.server.log.SortedLogState;
+import org.apache.accumulo.server.metrics.NoopMetrics;
 import org.apache.accumulo.server.zookeeper.DistributedWorkQueue;
 import org.apache.accumulo.server.zookeeper.DistributedWorkQueue.Processor;
 import org.apache.accumulo.tserver.log.DfsLogger.LogHeaderIncompleteException;
@@ -75,6 +85,7 @@ import com.google.common.util.concurrent.MoreExecutors;
 
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 public class LogSorter implements MetricsProducer {
 
@@ -183,23 +194,17 @@ public class LogSorter implements MetricsProducer {
       @SuppressWarnings("deprecation")
       final long bufferSize = sortedLogConf.getAsBytes(sortedLogConf.resolve(
           Property.GENERAL_SERVER_WAL_SORT_BUFFER_SIZE, Property.TSERV_WAL_SORT_BUFFER_SIZE));
+      final int writeThreads =
+          sortedLogConf.getCount(Property.GENERAL_SERVER_WAL_SORT_WRITE_THREADS);
       Thread.currentThread().setName("Sorting " + name + " for recovery");
-      while (true) {
-        final ArrayList<Pair<LogFileKey,LogFileValue>> buffer = new ArrayList<>(512);
-        try {
-          long start = input.getPos();
-          while (input.getPos() - start < bufferSize) {
-            LogFileKey key = new LogFileKey();
-            LogFileValue value = new LogFileValue();
-            key.readFields(decryptingInput);
-            value.readFields(decryptingInput);
-            buffer.add(new Pair<>(key, value));
-          }
-          writeBuffer(destPath, buffer, part++);
-          buffer.clear();
-        } catch (EOFException ex) {
+      if (writeThreads > 0) {
+        part = sortPipelined(destPath, bufferSize, writeThreads, part);
+      } else {
+        boolean eof = false;
+        while (!eof) {
+          final ArrayList<Pair<LogFileKey,LogFileValue>> buffer = new ArrayList<>(512);
+          eof = readBuffer(buffer, bufferSize);
           writeBuffer(destPath, buffer, part++);
-          break;
         }
       }
       fs.create(new Path(destPath, "finished")).close();
@@ -207,6 +212,100 @@ public class LogSorter implements MetricsProducer {
           getSortTime());
     }
 
+    /**
+     * Reads the log into buffers in this thread while other threads sort and write the buffers
+     * already read. Parts are numbered in the order they are read, so the output is the same as
+     * sorting serially.
+     *
+     * @return the next part number
+     */
+    private int sortPipelined(String destPath, long bufferSize, int writeThreads, int part)
+        throws IOException {
+      // Each permit is a buffer that has been read and not yet written. Limiting these bounds the
+      // memory used by a sort to writeThreads buffers plus the one being read.
+      final Semaphore permits = new Semaphore(writeThreads);
+      final List<Future<?>> writes = new ArrayList<>();
+      final ThreadPoolExecutor writePool = ThreadPools.getServerThreadPools()
+          .getPoolBuilder(TSERVER_WAL_SORT_WRITE_POOL).numCoreThreads(writeThreads).build();
+      try {
+        boolean eof = false;
+        while (!eof) {
+          final ArrayList<Pair<LogFileKey,LogFileValue>> buffer = new ArrayList<>(512);
+          eof = readBuffer(buffer, bufferSize);
+
+          // stop reading as soon as any write fails
+          for (Future<?> write : writes) {
+            if (write.isDone()) {
+              waitForWrite(write);
+            }
+          }
+
+          try {
+            permits.acquire();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting to write sorted log part");
+          }
+
+          final int bufferPart = part++;
+          writes.add(writePool.submit(() -> {
+            try {
+              writeBuffer(destPath, buffer, bufferPart);
+            } finally {
+              permits.release();
+            }
+            return null;
+          }));
+        }
+
+        for (Future<?> write : writes) {
+          waitForWrite(write);
+        }
+      } finally {
+        writePool.shutdownNow();
+      }
+      return part;
+    }
+
+    private void waitForWrite(Future<?> write) throws IOException {
+      try {
+        write.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted waiting for sorted log part to be written");
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof IOException) {
+          throw (IOException) e.getCause();
+        }
+        throw new IOException("Failed to write sorted log part", e.getCause());
+      }
+    }
+
+    /**
+     * Reads entries from the log into the buffer until the buffer size is reached.
+     *
+     * @return true if the end of the log was reached
+     */
+    private boolean readBuffer(List<Pair<LogFileKey,LogFileValue>> buffer, long bufferSize)
+        throws IOException {
+      final long readStart = System.nanoTime();
+      try {
+        long start = input.getPos();
+        while (input.getPos() - start < bufferSize) {
+          LogFileKey key = new LogFileKey();
+          LogFileValue value = new LogFileValue();
+          key.readFields(decryptingInput);
+          value.readFields(decryptingInput);
+          buffer.add(new Pair<>(key, value));
+        }
+        return false;
+      } catch (EOFException ex) {
+        return true;
+      } finally {
+        readTimer.record(System.nanoTime() - readStart, NANOSECONDS);
+      }
+    }
+
     synchronized void close() throws IOException {
       // If we receive an empty or malformed-header WAL, we won't
       // have input streams that need closing. Avoid the NPE.
@@ -244,6 +343,9 @@ public class LogSorter implements MetricsProducer {
   private final AtomicLong recoveriesInProgress = new AtomicLong(0);
   private final AtomicLong recoveryRuntime = new AtomicLong(0);
   private final AtomicDouble recoveryAvgProgress = new AtomicDouble(0.0D);
+  private Timer readTimer = NoopMetrics.useNoopTimer();
+  private Timer sortTimer = NoopMetrics.useNoopTimer();
+  private Timer writeTimer = NoopMetrics.useNoopTimer();
 
   public LogSorter(AbstractServer server) {
     this.server = server;
@@ -287,6 +389,7 @@ public class LogSorter implements MetricsProducer {
     Path fullPath = fs.makeQualified(path);
 
     // convert the LogFileKeys to Keys, sort and collect the mutations
+    final long sortStart = System.nanoTime();
     Map<Key,List<Mutation>> keyListMap = new TreeMap<>();
     for (Pair<LogFileKey,LogFileValue> pair : buffer) {
       var logFileKey = pair.getFirst();
@@ -295,6 +398,8 @@ public class LogSorter implements MetricsProducer {
       keyListMap.computeIfAbsent(k, (key) -> new ArrayList<>(logFileValue.getMutations().size()))
           .addAll(logFileValue.getMutations());
     }
+    final long writeStart = System.nanoTime();
+    sortTimer.record(writeStart - sortStart, NANOSECONDS);
 
     try (var writer = FileOperations.getInstance().newWriterBuilder()
         .forFile(UnreferencedTabletFile.of(fs, fullPath), fs, fs.getConf(), cryptoService)
@@ -306,6 +411,7 @@ public class LogSorter implements MetricsProducer {
         writer.append(entry.getKey(), val.toValue());
       }
     }
+    writeTimer.record(System.nanoTime() - writeStart, NANOSECONDS);
   }
 
   /**
@@ -389,5 +495,11 @@ public class LogSorter implements MetricsProducer {
         .description(RECOVERIES_SORTS_LONGEST_RUNTIME.getDescription()).register(registry);
     Gauge.builder(RECOVERIES_SORTS_AVG_PROGRESS.getName(), recoveryAvgProgress, AtomicDouble::get)
         .description(RECOVERIES_SORTS_AVG_PROGRESS.getDescription()).register(registry);
+    readTimer = Timer.builder(RECOVERIES_SORTS_READ_TIME.getName())
+        .description(RECOVERIES_SORTS_READ_TIME.getDescription()).register(registry);
+    sortTimer = Timer.builder(RECOVERIES_SORTS_SORT_TIME.getName())
+        .description(RECOVERIES_SORTS_SORT_TIME.getDescription()).register(registry);
+    writeTimer = Timer.builder(RECOVERIES_SORTS_WRITE_TIME.getName())
+        .description(RECOVERIES_SORTS_WRITE_TIME.getDescription()).register(registry);
   }
 }
@@ -32,6 +32,7 @@ import static org.apache.accumulo.core.metrics.Metric.SCAN_RETURN_FOR_MEM;
 import static org.apache.accumulo.core.metrics.Metric.SCAN_SCANNED_ENTRIES;
 import static org.apache.accumulo.core.metrics.Metric.SCAN_START;
 import static org.apache.accumulo.core.metrics.Metric.SCAN_TIMES;
+import static org.apache.accumulo.core.metrics.Metric.SCAN_VISIBILITY_CACHE;
 import static org.apache.accumulo.core.metrics.Metric.SCAN_YIELDS;
 import static org.apache.accumulo.core.metrics.Metric.SCAN_ZOMBIE_THREADS;
 
@@ -40,6 +41,7 @@ import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.LongAdder;
 import java.util.function.IntSupplier;
 
+import org.apache.accumulo.core.iteratorsImpl.system.VisibilityEvaluationCache;
 import org.apache.accumulo.core.metrics.MetricsProducer;
 import org.apache.accumulo.server.metrics.NoopMetrics;
 
@@ -48,10 +50,12 @@ import io.micrometer.core.instrument.FunctionCounter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 
 public class TabletServerScanMetrics implements MetricsProducer {
 
   private final IntSupplier openFiles;
+  private final VisibilityEvaluationCache visibilityCache;
   private Timer scans = NoopMetrics.useNoopTimer();
   private DistributionSummary resultsPerScan = NoopMetrics.useNoopDistributionSummary();
   private DistributionSummary yields = NoopMetrics.useNoopDistributionSummary();
@@ -132,8 +136,10 @@ public class TabletServerScanMetrics implements MetricsProducer {
     scanErrorCount.increment();
   }
 
-  public TabletServerScanMetrics(IntSupplier openFileSupplier) {
+  public TabletServerScanMetrics(IntSupplier openFileSupplier,
+      VisibilityEvaluationCache visibilityCache) {
     openFiles = openFileSupplier;
+    this.visibilityCache = visibilityCache;
   }
 
   @Override
@@ -176,6 +182,10 @@ public class TabletServerScanMetrics implements MetricsProducer {
         .description(SCAN_ZOMBIE_THREADS.getDescription()).register(registry);
     FunctionCounter.builder(SCAN_ERRORS.getName(), this.scanErrorCount, LongAdder::sum)
         .description(SCAN_ERRORS.getDescription()).register(registry);
+    if (visibilityCache != null) {
+      CaffeineCacheMetrics.monitor(registry, visibilityCache.getCache(),
+          SCAN_VISIBILITY_CACHE.getName());
+    }
   }
 
 }
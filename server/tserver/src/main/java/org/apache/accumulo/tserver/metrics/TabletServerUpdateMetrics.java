@@ -24,6 +24,8 @@ import static org.apache.accumulo.core.metrics.Metric.UPDATE_COMMIT_PREP;
 import static org.apache.accumulo.core.metrics.Metric.UPDATE_ERRORS;
 import static org.apache.accumulo.core.metrics.Metric.UPDATE_LOCK;
 import static org.apache.accumulo.core.metrics.Metric.UPDATE_MUTATION_ARRAY_SIZE;
+import static org.apache.accumulo.core.metrics.Metric.UPDATE_WALOG_SYNC;
+import static org.apache.accumulo.core.metrics.Metric.UPDATE_WALOG_SYNC_GROUP_SIZE;
 import static org.apache.accumulo.core.metrics.Metric.UPDATE_WALOG_WRITE;
 
 import java.util.concurrent.TimeUnit;
@@ -44,6 +46,8 @@ public class TabletServerUpdateMetrics implements MetricsProducer {
   private final AtomicLong constraintViolationsCount = new AtomicLong();
   private Timer commitPrepStat = NoopMetrics.useNoopTimer();
   private Timer walogWriteTimeStat = NoopMetrics.useNoopTimer();
+  private Timer walogSyncTimeStat = NoopMetrics.useNoopTimer();
+  private DistributionSummary walogSyncGroupSizeStat = NoopMetrics.useNoopDistributionSummary();
   private Timer commitTimeStat = NoopMetrics.useNoopTimer();
   private Timer checkTimeStat = NoopMetrics.useNoopTimer();
   private Timer lockTimeStat = NoopMetrics.useNoopTimer();
@@ -69,6 +73,14 @@ public class TabletServerUpdateMetrics implements MetricsProducer {
     walogWriteTimeStat.record(value, TimeUnit.MILLISECONDS);
   }
 
+  public void addWalogSyncTime(long value, TimeUnit unit) {
+    walogSyncTimeStat.record(value, unit);
+  }
+
+  public void addWalogSyncGroupSize(long value) {
+    walogSyncGroupSizeStat.record(value);
+  }
+
   public void addCommitTime(long value) {
     commitTimeStat.record(value, TimeUnit.MILLISECONDS);
   }
@@ -99,6 +111,10 @@ public class TabletServerUpdateMetrics implements MetricsProducer {
         .description(UPDATE_COMMIT_PREP.getDescription()).register(registry);
     walogWriteTimeStat = Timer.builder(UPDATE_WALOG_WRITE.getName())
         .description(UPDATE_WALOG_WRITE.getDescription()).register(registry);
+    walogSyncTimeStat = Timer.builder(UPDATE_WALOG_SYNC.getName())
+        .description(UPDATE_WALOG_SYNC.getDescription()).register(registry);
+    walogSyncGroupSizeStat = DistributionSummary.builder(UPDATE_WALOG_SYNC_GROUP_SIZE.getName())
+        .description(UPDATE_WALOG_SYNC_GROUP_SIZE.getDescription()).register(registry);
     commitTimeStat = Timer.builder(UPDATE_COMMIT.getName())
         .description(UPDATE_COMMIT.getDescription()).register(registry);
     mutationArraySizeStat = DistributionSummary.builder(UPDATE_MUTATION_ARRAY_SIZE.getName())
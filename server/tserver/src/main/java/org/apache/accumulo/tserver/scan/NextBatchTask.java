@@ -84,6 +84,8 @@ public class NextBatchTask extends ScanTask<ScanBatch> {
       // capacity it means there is code
       // problem somewhere
       addResult(batch);
+
+      scanSession.readaheadCompleted(this, batch.isMore());
     } catch (TabletClosedException e) {
       addResult(new org.apache.accumulo.core.tabletserver.thrift.NotServingTabletException(
           scanSession.extent.toThrift()));
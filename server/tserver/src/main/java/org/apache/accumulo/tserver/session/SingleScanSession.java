@@ -18,12 +18,15 @@
  */
 package org.apache.accumulo.tserver.session;
 
+import java.util.ArrayDeque;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 import org.apache.accumulo.core.data.TableId;
 import org.apache.accumulo.core.dataImpl.KeyExtent;
 import org.apache.accumulo.core.securityImpl.thrift.TCredentials;
+import org.apache.accumulo.tserver.scan.NextBatchTask;
 import org.apache.accumulo.tserver.scan.ScanParameters;
 import org.apache.accumulo.tserver.tablet.ScanBatch;
 import org.apache.accumulo.tserver.tablet.Scanner;
@@ -36,12 +39,68 @@ public class SingleScanSession extends ScanSession<ScanBatch> {
 
   public Scanner scanner;
   public final long readaheadThreshold;
+  public final int readaheadDepth;
 
+  // tasks started after the scan task to read batches ahead of the client, in the order their
+  // batches will be returned
+  private final ArrayDeque<NextBatchTask> readaheadTasks = new ArrayDeque<>();
+  private Supplier<NextBatchTask> readaheadStarter = null;
+  // set when the last task read a batch and there was no room to read another one
+  private boolean readaheadPaused = false;
+
+  /**
+   * @param readaheadDepth the most batches to read ahead of the client once the scan has returned
+   *        more than readaheadThreshold batches
+   */
   public SingleScanSession(TCredentials credentials, KeyExtent extent, ScanParameters scanParams,
-      long readaheadThreshold, Map<String,String> executionHints, TabletResolver tabletResolver) {
+      long readaheadThreshold, int readaheadDepth, Map<String,String> executionHints,
+      TabletResolver tabletResolver) {
     super(credentials, scanParams, executionHints, tabletResolver);
     this.extent = extent;
     this.readaheadThreshold = readaheadThreshold;
+    this.readaheadDepth = Math.max(1, readaheadDepth);
+  }
+
+  /**
+   * Makes the task reading the next batch the scan task, starting one if no batch is being read
+   * ahead. When the read ahead depth is more than one, each task that reads a batch starts the task
+   * that reads the following batch, until that many batches are read ahead of the client. Only one
+   * task reads from the scanner at a time, so batches are read in order.
+   *
+   * @param starter creates and runs a task that reads the next batch
+   */
+  public synchronized void startReadahead(Supplier<NextBatchTask> starter) {
+    readaheadStarter = starter;
+    NextBatchTask next = readaheadTasks.poll();
+    if (next == null) {
+      readaheadPaused = false;
+      setScanTask(starter.get());
+    } else {
+      setScanTask(next);
+      if (readaheadPaused) {
+        readaheadPaused = false;
+        readaheadTasks.add(starter.get());
+      }
+    }
+  }
+
+  /**
+   * Called by a task after it has read a batch, to keep reading ahead of the client.
+   */
+  public synchronized void readaheadCompleted(NextBatchTask task, boolean more) {
+    if (!more || readaheadStarter == null || interruptFlag.get()) {
+      return;
+    }
+    var last = readaheadTasks.isEmpty() ? getScanTask() : readaheadTasks.getLast();
+    if (task != last) {
+      // not started by startReadahead, or the client already has its batch
+      return;
+    }
+    if (readaheadTasks.size() + 1 < readaheadDepth) {
+      readaheadTasks.add(readaheadStarter.get());
+    } else {
+      readaheadPaused = true;
+    }
   }
 
   @Override
@@ -63,6 +122,11 @@ public class SingleScanSession extends ScanSession<ScanBatch> {
       if (localScanTask != null) {
         localScanTask.cancel(true);
       }
+      synchronized (this) {
+        readaheadStarter = null;
+        readaheadTasks.forEach(task -> task.cancel(true));
+        readaheadTasks.clear();
+      }
     } finally {
       if (scanner != null) {
         ret = scanner.close();
@@ -24,6 +24,7 @@ import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -31,6 +32,7 @@ import org.apache.accumulo.core.client.AccumuloException;
 import org.apache.accumulo.core.client.IteratorSetting;
 import org.apache.accumulo.core.conf.Property;
 import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
 import org.apache.accumulo.core.data.Value;
 import org.apache.accumulo.core.dataImpl.thrift.IterInfo;
 import org.apache.accumulo.core.iterators.IteratorEnvironment;
@@ -50,6 +52,7 @@ import org.apache.accumulo.core.metadata.StoredTabletFile;
 import org.apache.accumulo.core.metadata.schema.DataFileValue;
 import org.apache.accumulo.core.sample.impl.SamplerConfigurationImpl;
 import org.apache.accumulo.core.trace.TraceAttributes;
+import org.apache.accumulo.core.util.LocalityGroupUtil;
 import org.apache.accumulo.core.util.Pair;
 import org.apache.accumulo.server.conf.TableConfiguration.ParsedIteratorConfig;
 import org.apache.accumulo.server.fs.FileManager.ScanFileManager;
@@ -89,6 +92,8 @@ class ScanDataSource implements DataSource {
   private final AtomicLong scanSeekCounter;
   private final AtomicLong scanCounter;
 
+  private List<Range> lookupRanges = null;
+
   ScanDataSource(TabletBase tablet, ScanParameters scanParams, boolean loadIters,
       AtomicBoolean interruptFlag) {
     this.tablet = tablet;
@@ -104,6 +109,14 @@ class ScanDataSource implements DataSource {
         this.scanDataSourceId, this.tablet, this.scanParams, this.loadIters);
   }
 
+  /**
+   * Sets the ranges of a lookup, so that the data blocks they need can be read from the files
+   * before the lookup starts.
+   */
+  void setLookupRanges(List<Range> ranges) {
+    this.lookupRanges = ranges;
+  }
+
   @Override
   public DataSource getNewDataSource() {
     if (!isCurrent()) {
@@ -199,6 +212,17 @@ class ScanDataSource implements DataSource {
     List<InterruptibleIterator> datafiles =
         fileManager.openFiles(files, scanParams.isIsolated(), samplerConfig);
 
+    if (lookupRanges != null && samplerConfig == null) {
+      if (scanParams.getColumnSet().isEmpty()) {
+        fileManager.loadBlocks(lookupRanges, Set.of(), false);
+      } else {
+        fileManager.loadBlocks(lookupRanges, LocalityGroupUtil.families(scanParams.getColumnSet()),
+            true);
+      }
+      // when switching files partway through the lookup, just read the blocks as needed
+      lookupRanges = null;
+    }
+
     List.of(datafiles, memIters).forEach(c -> c.forEach(ii -> ii.setInterruptFlag(interruptFlag)));
 
     List<SortedKeyValueIterator<Key,Value>> iters =
@@ -227,9 +251,9 @@ class ScanDataSource implements DataSource {
     statsIterator = new StatsIterator(multiIter, scanSeekCounter, TabletServer.seekCount,
         scanCounter, tablet.getScannedCounter(), tablet.getScanMetrics().getScannedCounter());
 
-    SortedKeyValueIterator<Key,Value> visFilter =
-        SystemIteratorUtil.setupSystemScanIterators(statsIterator, scanParams.getColumnSet(),
-            scanParams.getAuthorizations(), defaultLabels, tablet.getTableConfiguration());
+    SortedKeyValueIterator<Key,Value> visFilter = SystemIteratorUtil.setupSystemScanIterators(
+        statsIterator, scanParams.getColumnSet(), scanParams.getAuthorizations(), defaultLabels,
+        tablet.getTableConfiguration(), tablet.getTabletResources().getVisibilityEvaluationCache());
 
     if (loadIters) {
       List<IterInfo> iterInfos;
@@ -217,6 +217,9 @@ public abstract class TabletBase {
     }
 
     ScanDataSource dataSource = createDataSource(scanParams, true, interruptFlag);
+    if (ranges.size() > 1) {
+      dataSource.setLookupRanges(ranges);
+    }
 
     Tablet.LookupResult result = null;
 
@@ -18,6 +18,7 @@
  */
 package org.apache.accumulo.tserver;
 
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -30,10 +31,14 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.accumulo.core.client.SampleNotPresentException;
@@ -473,7 +478,17 @@ public class InMemoryMapTest extends WithTestNames {
 
   @Test
   public void testLocalityGroups() throws Exception {
+    testLocalityGroups(false);
+  }
+
+  @Test
+  public void testLocalityGroupsOffHeap() throws Exception {
+    testLocalityGroups(true);
+  }
+
+  private void testLocalityGroups(boolean useOffHeap) throws Exception {
     ConfigurationCopy config = newConfig(uniqueDirPaths(1)[0]);
+    config.set(Property.TSERV_OFFHEAP_MAP_ENABLED, "" + useOffHeap);
     config.set(Property.TABLE_LOCALITY_GROUP_PREFIX + "lg1",
         LocalityGroupUtil.encodeColumnFamilies(toTextSet("cf1", "cf2")));
     config.set(Property.TABLE_LOCALITY_GROUP_PREFIX + "lg2",
@@ -481,6 +496,8 @@ public class InMemoryMapTest extends WithTestNames {
     config.set(Property.TABLE_LOCALITY_GROUPS.getKey(), "lg1,lg2");
 
     InMemoryMap imm = new InMemoryMap(config, getServerContext(), TableId.of("--TEST--"));
+    assertEquals(useOffHeap ? InMemoryMap.TYPE_LOCALITY_GROUP_MAP_OFF_HEAP
+        : InMemoryMap.TYPE_LOCALITY_GROUP_MAP, imm.getMapType());
 
     Mutation m1 = new Mutation("r1");
     m1.put("cf1", "x", 2, "1");
@@ -523,6 +540,114 @@ public class InMemoryMapTest extends WithTestNames {
     seekLocalityGroups(iter1.deepCopy(null));
   }
 
+  @Test
+  public void testOffHeapMap() throws Exception {
+    ConfigurationCopy config = newConfig(uniqueDirPaths(1)[0]);
+    config.set(Property.TSERV_OFFHEAP_MAP_ENABLED, "true");
+    InMemoryMap imm = new InMemoryMap(config, getServerContext(), TableId.of("--TEST--"));
+    assertEquals(InMemoryMap.TYPE_OFF_HEAP_MAP_WRAPPER, imm.getMapType());
+
+    mutate(imm, "r1", "foo:cq1", 3, "bar1");
+    mutate(imm, "r1", "foo:cq1", 3, "bar2");
+    MemoryIterator ski1 = imm.skvIterator(null);
+    mutate(imm, "r1", "foo:cq1", 3, "bar3");
+    mutate(imm, "r2", "foo:cq1", 3, "bar4");
+
+    MemoryIterator ski2 = imm.skvIterator(null);
+
+    ski1.seek(new Range(), Set.of(), false);
+    testAndCallNext(ski1, "r1", "foo:cq1", 3, "bar2");
+    testAndCallNext(ski1, "r1", "foo:cq1", 3, "bar1");
+    assertFalse(ski1.hasTop());
+
+    ski2.seek(new Range(new Text("r1")), Set.of(), false);
+    testAndCallNext(ski2, "r1", "foo:cq1", 3, "bar3");
+    testAndCallNext(ski2, "r1", "foo:cq1", 3, "bar2");
+    testAndCallNext(ski2, "r1", "foo:cq1", 3, "bar1");
+    assertFalse(ski2.hasTop());
+
+    assertEquals(4, imm.getNumEntries());
+    assertTrue(imm.estimatedSizeInBytes() > 0);
+
+    // switches the open iterators to a dump of the map before releasing its memory
+    imm.delete(0);
+
+    ski2.seek(new Range(new Text("r2")), Set.of(), false);
+    testAndCallNext(ski2, "r2", "foo:cq1", 3, "bar4");
+    assertFalse(ski2.hasTop());
+
+    ski1.close();
+    ski2.close();
+  }
+
+  @Test
+  public void testConcurrentWrites() throws Exception {
+    runConcurrentWrites(8, 500);
+  }
+
+  @Test
+  public void testConcurrentWritesMoreWritersThanCores() throws Exception {
+    // with more writers than cores, writers waiting to publish stop spinning and wait to be woken
+    runConcurrentWrites(4 * Runtime.getRuntime().availableProcessors(), 100);
+  }
+
+  private void runConcurrentWrites(int numWriters, int numBatches) throws Exception {
+    ConfigurationCopy config = newConfig(uniqueDirPaths(1)[0]);
+    config.set(Property.TSERV_MEMORY_MAP_CONCURRENT_WRITES, "true");
+    config.set(Property.TABLE_LOCALITY_GROUP_PREFIX + "lg1",
+        LocalityGroupUtil.encodeColumnFamilies(toTextSet("cf1")));
+    config.set(Property.TABLE_LOCALITY_GROUPS.getKey(), "lg1");
+
+    InMemoryMap imm = new InMemoryMap(config, getServerContext(), TableId.of("--TEST--"));
+
+    ExecutorService executor = Executors.newFixedThreadPool(numWriters);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < numWriters; t++) {
+        final int writer = t;
+        futures.add(executor.submit(() -> {
+          for (int b = 0; b < numBatches; b++) {
+            List<Mutation> batch = new ArrayList<>();
+            for (int r = 0; r < 2; r++) {
+              Mutation m = new Mutation(String.format("w%d_%05d_%d", writer, b, r));
+              m.put("cf1", "x", 1, "1");
+              m.put("cf1", "y", 1, "2");
+              m.put("foo", "z", 1, "3");
+              batch.add(m);
+            }
+            imm.mutate(batch, 6);
+          }
+        }));
+      }
+
+      // a batch must be entirely visible or not visible at all
+      boolean done = false;
+      while (!done) {
+        done = futures.stream().allMatch(Future::isDone);
+        MemoryIterator iter = imm.skvIterator(null);
+        iter.seek(new Range(), Set.of(), false);
+        Map<String,Integer> batchCounts = new TreeMap<>();
+        while (iter.hasTop()) {
+          String row = iter.getTopKey().getRowData().toString();
+          batchCounts.merge(row.substring(0, row.lastIndexOf('_')), 1, Integer::sum);
+          iter.next();
+        }
+        batchCounts.forEach((batch, count) -> assertEquals(6, count, batch));
+        iter.close();
+      }
+
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertEquals(numWriters * numBatches * 6, imm.getNumEntries());
+    // delete throws an IllegalStateException when a reserved kv count was never published
+    assertDoesNotThrow(() -> imm.delete(0));
+  }
+
   @Test
   public void testSample() throws Exception {
 
@@ -0,0 +1,248 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.tserver;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.apache.accumulo.core.util.LazySingletons.RANDOM;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Mutation;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+import org.apache.accumulo.core.iteratorsImpl.system.InterruptibleIterator;
+import org.apache.accumulo.core.iteratorsImpl.system.IterationInterruptedException;
+import org.junit.jupiter.api.Test;
+
+public class OffHeapMapTest {
+
+  private static Key newKey(int row, int col, long ts, boolean del, int kvCount) {
+    return new MemKey(String.format("r%06d", row).getBytes(UTF_8), ("cf" + col % 3).getBytes(UTF_8),
+        ("cq" + col).getBytes(UTF_8), (col % 2 == 0 ? "" : "A&B").getBytes(UTF_8), ts, del, false,
+        kvCount);
+  }
+
+  private static List<Entry<Key,Value>> read(SortedKeyValueIterator<Key,Value> iter)
+      throws Exception {
+    List<Entry<Key,Value>> entries = new ArrayList<>();
+    while (iter.hasTop()) {
+      entries.add(new TreeMap.SimpleImmutableEntry<>(iter.getTopKey(), iter.getTopValue()));
+      iter.next();
+    }
+    return entries;
+  }
+
+  private static void assertEntries(NavigableMap<Key,Value> expected,
+      List<Entry<Key,Value>> actual) {
+    assertEquals(expected.size(), actual.size());
+    int i = 0;
+    for (Entry<Key,Value> entry : expected.entrySet()) {
+      Key actualKey = actual.get(i).getKey();
+      assertEquals(entry.getKey(), actualKey);
+      assertEquals(((MemKey) entry.getKey()).getKVCount(), ((MemKey) actualKey).getKVCount());
+      assertEquals(entry.getValue(), actual.get(i).getValue());
+      i++;
+    }
+  }
+
+  @Test
+  public void testRandomPutsAndSeeks() throws Exception {
+    OffHeapMap map = new OffHeapMap();
+    TreeMap<Key,Value> expected = new TreeMap<>(new MemKeyComparator());
+
+    for (int i = 0; i < 5000; i++) {
+      Key k = newKey(RANDOM.get().nextInt(500), RANDOM.get().nextInt(5), RANDOM.get().nextInt(3),
+          RANDOM.get().nextInt(10) == 0, i);
+      byte[] val = new byte[RANDOM.get().nextInt(100)];
+      RANDOM.get().nextBytes(val);
+      map.put(k, new Value(val));
+      expected.put(k, new Value(val));
+    }
+
+    assertEquals(expected.size(), map.size());
+    assertTrue(map.getMemoryUsed() > 0);
+
+    InterruptibleIterator iter = map.skvIterator();
+    iter.seek(new Range(), Set.of(), false);
+    assertEntries(expected, read(iter));
+
+    for (int i = 0; i < 100; i++) {
+      int r1 = RANDOM.get().nextInt(500);
+      Key start = newKey(r1, RANDOM.get().nextInt(5), 1, false, 0);
+      Key end = newKey(r1 + 1 + RANDOM.get().nextInt(20), RANDOM.get().nextInt(5), 1, false, 0);
+      boolean startInclusive = RANDOM.get().nextBoolean();
+      boolean endInclusive = RANDOM.get().nextBoolean();
+      Range range = new Range(new Key(start), startInclusive, new Key(end), endInclusive);
+
+      TreeMap<Key,Value> expectedRange = new TreeMap<>(new MemKeyComparator());
+      expected.forEach((k, v) -> {
+        if (range.contains(k)) {
+          expectedRange.put(k, v);
+        }
+      });
+
+      // reuse the iterator to check that seeking resets it
+      iter.seek(range, Set.of(), false);
+      assertEntries(expectedRange, read(iter));
+      assertEntries(expectedRange, read(deepCopyAndSeek(iter, range)));
+    }
+  }
+
+  private static SortedKeyValueIterator<Key,Value> deepCopyAndSeek(InterruptibleIterator iter,
+      Range range) throws Exception {
+    SortedKeyValueIterator<Key,Value> copy = iter.deepCopy(null);
+    copy.seek(range, Set.of(), false);
+    return copy;
+  }
+
+  @Test
+  public void testMutate() throws Exception {
+    OffHeapMap map = new OffHeapMap();
+
+    Mutation m1 = new Mutation("r1");
+    m1.put("cf", "cq1", 5, "v1");
+    m1.put("cf", "cq1", 5, "v2");
+    m1.putDelete("cf", "cq2", 5);
+    Mutation m2 = new Mutation("r0");
+    m2.put("cf", "cq1", "v3");
+    map.mutate(List.of(m1, m2), 10);
+
+    assertEquals(4, map.size());
+
+    InterruptibleIterator iter = map.skvIterator();
+    iter.seek(new Range(), Set.of(), false);
+    List<Entry<Key,Value>> entries = read(iter);
+    assertEquals(4, entries.size());
+    assertEquals("r0", entries.get(0).getKey().getRow().toString());
+    assertEquals(13, ((MemKey) entries.get(0).getKey()).getKVCount());
+    // the newer update to the same key sorts first
+    assertEquals(new Value("v2"), entries.get(1).getValue());
+    assertEquals(11, ((MemKey) entries.get(1).getKey()).getKVCount());
+    assertEquals(new Value("v1"), entries.get(2).getValue());
+    assertTrue(entries.get(3).getKey().isDeleted());
+  }
+
+  @Test
+  public void testReplaceSameKey() throws Exception {
+    OffHeapMap map = new OffHeapMap();
+    Key k = newKey(1, 1, 1, false, 7);
+    map.put(k, new Value("v1"));
+    map.put(k, new Value("v2"));
+    assertEquals(1, map.size());
+
+    InterruptibleIterator iter = map.skvIterator();
+    iter.seek(new Range(), Set.of(), false);
+    List<Entry<Key,Value>> entries = read(iter);
+    assertEquals(1, entries.size());
+    assertEquals(new Value("v2"), entries.get(0).getValue());
+  }
+
+  @Test
+  public void testWritesDuringIteration() throws Exception {
+    OffHeapMap map = new OffHeapMap();
+    for (int i = 0; i < 1000; i += 2) {
+      map.put(newKey(i, 0, 1, false, i), new Value("v" + i));
+    }
+
+    InterruptibleIterator iter = map.skvIterator();
+    iter.seek(new Range(), Set.of(), false);
+    int count = 0;
+    int lastRow = -1;
+    while (iter.hasTop()) {
+      int row = Integer.parseInt(iter.getTopKey().getRow().toString().substring(1));
+      assertTrue(row > lastRow);
+      lastRow = row;
+      count++;
+      if (row % 2 == 0) {
+        map.put(newKey(row + 1, 0, 1, false, 10_000 + row), new Value("new"));
+      }
+      iter.next();
+    }
+    // the iterator continues in order after writes, entries written after the current position
+    // are seen unless they fall before entries the iterator already read ahead
+    assertTrue(count >= 500);
+    assertEquals(999, lastRow);
+    assertEquals(1000, map.size());
+
+    iter.seek(new Range(), Set.of(), false);
+    assertEquals(1000, read(iter).size());
+  }
+
+  @Test
+  public void testLargeValues() throws Exception {
+    OffHeapMap map = new OffHeapMap();
+    TreeMap<Key,Value> expected = new TreeMap<>(new MemKeyComparator());
+    for (int i = 0; i < 20; i++) {
+      // larger than the chunks the map allocates
+      byte[] val = new byte[(1 << 20) + RANDOM.get().nextInt(1 << 20)];
+      RANDOM.get().nextBytes(val);
+      Key k = newKey(i, 0, 1, false, i);
+      map.put(k, new Value(val));
+      expected.put(k, new Value(val));
+    }
+
+    assertTrue(map.getMemoryUsed() > 20L << 20);
+    InterruptibleIterator iter = map.skvIterator();
+    iter.seek(new Range(), Set.of(), false);
+    assertEntries(expected, read(iter));
+  }
+
+  @Test
+  public void testInterrupt() throws Exception {
+    OffHeapMap map = new OffHeapMap();
+    for (int i = 0; i < 1000; i++) {
+      map.put(newKey(i, 0, 1, false, i), new Value("v"));
+    }
+    InterruptibleIterator iter = map.skvIterator();
+    AtomicBoolean interrupted = new AtomicBoolean(false);
+    iter.setInterruptFlag(interrupted);
+    iter.seek(new Range(), Set.of(), false);
+    iter.next();
+    interrupted.set(true);
+    assertThrows(IterationInterruptedException.class, () -> {
+      while (iter.hasTop()) {
+        iter.next();
+      }
+    });
+  }
+
+  @Test
+  public void testDelete() throws Exception {
+    OffHeapMap map = new OffHeapMap();
+    map.put(newKey(1, 1, 1, false, 1), new Value("v"));
+    InterruptibleIterator iter = map.skvIterator();
+    map.delete();
+    assertThrows(IllegalStateException.class, map::size);
+    assertThrows(IllegalStateException.class, map::delete);
+    assertThrows(IllegalStateException.class,
+        () -> map.put(newKey(1, 1, 1, false, 2), new Value("v")));
+    assertThrows(IllegalStateException.class, () -> iter.seek(new Range(), Set.of(), false));
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.tserver.log;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class GroupCommitPolicyTest {
+
+  @Test
+  public void testDisabled() {
+    GroupCommitPolicy policy = new GroupCommitPolicy(0, 0);
+    policy.syncCompleted(1_000_000, 10);
+    assertEquals(0, policy.waitNanos(10));
+  }
+
+  @Test
+  public void testNoWaitWithoutConcurrentWriters() {
+    GroupCommitPolicy policy = new GroupCommitPolicy(1_000_000, 0);
+    policy.syncCompleted(1_000_000, 1);
+    assertEquals(0, policy.waitNanos(1));
+    // concurrent writers in the current group or the last one trigger a wait
+    assertEquals(500_000, policy.waitNanos(2));
+    policy.syncCompleted(1_000_000, 3);
+    assertEquals(500_000, policy.waitNanos(1));
+  }
+
+  @Test
+  public void testWaitFollowsSyncLatency() {
+    GroupCommitPolicy policy = new GroupCommitPolicy(2_000_000, 0);
+    policy.syncCompleted(1_000_000, 2);
+    assertEquals(500_000, policy.waitNanos(2));
+
+    // slower syncs raise the wait, but never above the maximum
+    for (int i = 0; i < 100; i++) {
+      policy.syncCompleted(10_000_000, 2);
+    }
+    assertEquals(2_000_000, policy.waitNanos(2));
+
+    // faster syncs bring it back down
+    for (int i = 0; i < 100; i++) {
+      policy.syncCompleted(200_000, 2);
+    }
+    long wait = policy.waitNanos(2);
+    assertTrue(wait >= 100_000 && wait < 110_000, "unexpected wait " + wait);
+  }
+
+  @Test
+  public void testEnoughBytes() {
+    assertFalse(new GroupCommitPolicy(1_000, 0).hasEnoughBytes(Long.MAX_VALUE));
+    GroupCommitPolicy policy = new GroupCommitPolicy(1_000, 1024);
+    assertFalse(policy.hasEnoughBytes(1023));
+    assertTrue(policy.hasEnoughBytes(1024));
+  }
+}
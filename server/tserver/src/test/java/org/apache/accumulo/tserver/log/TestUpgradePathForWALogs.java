@@ -23,6 +23,7 @@ import static org.easymock.EasyMock.createMock;
 import static org.easymock.EasyMock.expect;
 import static org.easymock.EasyMock.replay;
 import static org.easymock.EasyMock.verify;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -31,16 +32,27 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Files;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 
+import org.apache.accumulo.core.client.rfile.RFile;
+import org.apache.accumulo.core.conf.ConfigurationCopy;
 import org.apache.accumulo.core.conf.DefaultConfiguration;
+import org.apache.accumulo.core.conf.Property;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
 import org.apache.accumulo.core.spi.crypto.GenericCryptoServiceFactory;
 import org.apache.accumulo.server.ServerContext;
 import org.apache.accumulo.server.fs.VolumeManager;
 import org.apache.accumulo.server.fs.VolumeManagerImpl;
 import org.apache.accumulo.tserver.TabletServer;
 import org.apache.accumulo.tserver.WithTestNames;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
@@ -65,6 +77,7 @@ public class TestUpgradePathForWALogs extends WithTestNames {
 
   private ServerContext context;
   private TabletServer server;
+  private ConfigurationCopy conf;
 
   @TempDir
   private static java.nio.file.Path tempDir;
@@ -87,7 +100,8 @@ public class TestUpgradePathForWALogs extends WithTestNames {
     VolumeManager fs = VolumeManagerImpl.getLocalForTesting(path);
 
     expect(server.getContext()).andReturn(context).anyTimes();
-    expect(context.getConfiguration()).andReturn(DefaultConfiguration.getInstance()).anyTimes();
+    conf = new ConfigurationCopy(DefaultConfiguration.getInstance());
+    expect(context.getConfiguration()).andReturn(conf).anyTimes();
     expect(context.getCryptoFactory()).andReturn(new GenericCryptoServiceFactory()).anyTimes();
     expect(context.getVolumeManager()).andReturn(fs).anyTimes();
     expect(context.getScheduledExecutor()).andReturn(EXECUTOR).anyTimes();
@@ -155,6 +169,49 @@ public class TestUpgradePathForWALogs extends WithTestNames {
     assertTrue(context.getVolumeManager().exists(getFinishedMarkerPath(destPath)));
   }
 
+  @Test
+  public void testPipelinedSort() throws IOException {
+    String walogToTest = WALOG_FROM_16;
+    java.nio.file.Path testPath = perTestTempSubDir.toAbsolutePath();
+    String serialDest = testPath.toUri() + "serial";
+    String pipelinedDest = testPath.toUri() + "pipelined";
+    copyWalogToTestDir(walogToTest);
+
+    // use a small buffer so the log is sorted into many parts
+    conf.set(Property.GENERAL_SERVER_WAL_SORT_BUFFER_SIZE, "1K");
+
+    LogSorter serialSorter = new LogSorter(server);
+    serialSorter.new LogProcessor().sort(context.getVolumeManager(), "/" + walogToTest,
+        new Path(testPath.toUri() + walogToTest), serialDest);
+
+    conf.set(Property.GENERAL_SERVER_WAL_SORT_WRITE_THREADS, "2");
+
+    LogSorter pipelinedSorter = new LogSorter(server);
+    pipelinedSorter.new LogProcessor().sort(context.getVolumeManager(), "/" + walogToTest,
+        new Path(testPath.toUri() + walogToTest), pipelinedDest);
+
+    assertTrue(context.getVolumeManager().exists(getFinishedMarkerPath(pipelinedDest)));
+
+    List<List<Entry<Key,Value>>> serialParts = readParts(serialDest);
+    assertTrue(serialParts.size() > 1);
+    assertEquals(serialParts, readParts(pipelinedDest));
+  }
+
+  private List<List<Entry<Key,Value>>> readParts(String dest) throws IOException {
+    FileSystem fs = context.getVolumeManager().getFileSystemByPath(new Path(dest));
+    List<List<Entry<Key,Value>>> parts = new ArrayList<>();
+    for (FileStatus file : fs.listStatus(new Path(dest), p -> p.getName().endsWith(".rf"))) {
+      List<Entry<Key,Value>> entries = new ArrayList<>();
+      try (var scanner =
+          RFile.newScanner().from(file.getPath().toString()).withFileSystem(fs).build()) {
+        scanner.forEach(e -> entries
+            .add(new SimpleImmutableEntry<>(new Key(e.getKey()), new Value(e.getValue()))));
+      }
+      parts.add(entries);
+    }
+    return parts;
+  }
+
   private void copyWalogToTestDir(String walogToTest) throws IOException {
     var walogPath = perTestTempSubDir.resolve(walogToTest);
     Files.createDirectories(Objects.requireNonNull(walogPath.getParent()));
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.tserver.session;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.dataImpl.KeyExtent;
+import org.apache.accumulo.tserver.scan.NextBatchTask;
+import org.apache.accumulo.tserver.tablet.TabletBase;
+import org.junit.jupiter.api.Test;
+
+public class SingleScanSessionTest {
+
+  private static class Resolver implements ScanSession.TabletResolver {
+    @Override
+    public TabletBase getTablet(KeyExtent extent) {
+      return null;
+    }
+
+    @Override
+    public void close() {}
+  }
+
+  @Test
+  public void testReadahead() {
+    var session = new SingleScanSession(null, new KeyExtent(TableId.of("1"), null, null), null, 1,
+        3, null, new Resolver());
+
+    // the tasks are never run, the test completes them by calling readaheadCompleted
+    List<NextBatchTask> started = new ArrayList<>();
+    Supplier<NextBatchTask> starter = () -> {
+      var task = new NextBatchTask(null, 1, session.interruptFlag);
+      started.add(task);
+      return task;
+    };
+
+    session.startReadahead(starter);
+    assertEquals(1, started.size());
+    assertSame(started.get(0), session.getScanTask());
+
+    // each task starts the next one until three batches are read ahead
+    session.readaheadCompleted(started.get(0), true);
+    session.readaheadCompleted(started.get(1), true);
+    assertEquals(3, started.size());
+    session.readaheadCompleted(started.get(2), true);
+    assertEquals(3, started.size());
+
+    // the client takes a batch, which makes room to read another one
+    session.clearScanTask();
+    session.startReadahead(starter);
+    assertSame(started.get(1), session.getScanTask());
+    assertEquals(4, started.size());
+
+    // only the last task starts another one, and not when the scan has no more batches
+    session.readaheadCompleted(started.get(1), true);
+    session.readaheadCompleted(started.get(3), false);
+    assertEquals(4, started.size());
+
+    // the tasks the client has not taken a batch from are canceled
+    session.cleanup();
+    assertTrue(started.subList(1, 4).stream().allMatch(NextBatchTask::isCancelled));
+  }
+
+  @Test
+  public void testNoReadahead() {
+    var session = new SingleScanSession(null, new KeyExtent(TableId.of("1"), null, null), null, 1,
+        1, null, new Resolver());
+
+    List<NextBatchTask> started = new ArrayList<>();
+    Supplier<NextBatchTask> starter = () -> {
+      var task = new NextBatchTask(null, 1, session.interruptFlag);
+      started.add(task);
+      return task;
+    };
+
+    // a batch is only read when the client takes the batch before it
+    session.startReadahead(starter);
+    session.readaheadCompleted(started.get(0), true);
+    assertEquals(1, started.size());
+    session.clearScanTask();
+    session.startReadahead(starter);
+    assertEquals(2, started.size());
+    assertSame(started.get(1), session.getScanTask());
+  }
+}
@@ -19,11 +19,16 @@
 package org.apache.accumulo.test;
 
 import static java.util.stream.Collectors.toSet;
+import static org.apache.accumulo.core.metadata.schema.TabletMetadata.ColumnType.AVAILABILITY;
+import static org.apache.accumulo.core.metadata.schema.TabletMetadata.ColumnType.PREV_ROW;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.SortedSet;
@@ -32,6 +37,7 @@ import java.util.TreeSet;
 import org.apache.accumulo.core.client.Accumulo;
 import org.apache.accumulo.core.client.AccumuloClient;
 import org.apache.accumulo.core.client.admin.NewTableConfiguration;
+import org.apache.accumulo.core.client.admin.TabletAvailability;
 import org.apache.accumulo.core.data.TableId;
 import org.apache.accumulo.core.dataImpl.KeyExtent;
 import org.apache.accumulo.core.metadata.schema.Ample;
@@ -103,4 +109,50 @@ public class AmpleIT extends AccumuloClusterHarness {
       }
     }
   }
+
+  @Test
+  public void testReadTablets() throws Exception {
+    String table = getUniqueNames(1)[0];
+    try (AccumuloClient c = Accumulo.newClient().from(getClientProps()).build()) {
+      SortedSet<Text> splits = new TreeSet<>(List.of(new Text("c"), new Text("f"), new Text("v")));
+      c.tableOperations().create(table, new NewTableConfiguration().withSplits(splits));
+
+      var tableId = TableId.of(c.tableOperations().tableIdMap().get(table));
+
+      // extents that exist in the metadata table
+      KeyExtent ke1 = new KeyExtent(tableId, new Text("c"), null);
+      KeyExtent ke2 = new KeyExtent(tableId, new Text("f"), new Text("c"));
+      KeyExtent ke4 = new KeyExtent(tableId, null, new Text("v"));
+
+      // extents that do not exist in the metadata table, ne1 has the end row of an existing tablet
+      // with a different prev row
+      KeyExtent ne1 = new KeyExtent(tableId, new Text("f"), null);
+      KeyExtent ne2 = new KeyExtent(tableId, new Text("e"), new Text("c"));
+      KeyExtent ne3 = new KeyExtent(TableId.of(tableId.canonical() + "not"), new Text("c"), null);
+
+      var ample = getServerContext().getAmple();
+
+      assertEquals(Map.of(), ample.readTablets(List.of()));
+
+      // missing tablets are left out of the result
+      var tablets = ample.readTablets(List.of(ke1, ne1, ke2, ne2, ke4, ne3));
+      assertEquals(Set.of(ke1, ke2, ke4), tablets.keySet());
+      tablets.forEach((extent, tm) -> {
+        assertEquals(extent, tm.getExtent());
+        // all columns were fetched
+        assertDoesNotThrow(tm::getLocation);
+        assertDoesNotThrow(tm::getFiles);
+        assertEquals(TabletAvailability.ONDEMAND, tm.getTabletAvailability());
+      });
+
+      // only the requested columns are fetched
+      tablets = ample.readTablets(List.of(ke1, ke2, ne2), AVAILABILITY, PREV_ROW);
+      assertEquals(Set.of(ke1, ke2), tablets.keySet());
+      for (TabletMetadata tm : tablets.values()) {
+        assertEquals(TabletAvailability.ONDEMAND, tm.getTabletAvailability());
+        assertThrows(IllegalStateException.class, tm::getLocation);
+        assertThrows(IllegalStateException.class, tm::getFiles);
+      }
+    }
+  }
 }
@@ -19,9 +19,11 @@
 package org.apache.accumulo.test.fate;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -35,6 +37,7 @@ import org.apache.accumulo.core.fate.FateInstanceType;
 import org.apache.accumulo.core.fate.FatePartition;
 import org.apache.accumulo.core.fate.FateStore;
 import org.apache.accumulo.core.fate.Repo;
+import org.apache.accumulo.core.util.threads.Threads;
 import org.apache.accumulo.server.ServerContext;
 import org.apache.accumulo.test.harness.SharedMiniClusterBase;
 import org.apache.accumulo.test.util.Wait;
@@ -694,6 +697,59 @@ public abstract class FatePoolsWatcherITBase extends SharedMiniClusterBase
     }
   }
 
+  @Test
+  public void testVirtualThreads() throws Exception {
+    executeTest(this::testVirtualThreads);
+  }
+
+  protected void testVirtualThreads(FateStore<PoolResizeTestEnv> store, ServerContext sctx)
+      throws Exception {
+    // tests that enabling virtual threads will cause the fate executor to be shutdown and a new one
+    // using virtual threads to be started
+    assumeTrue(Threads.virtualThreadsSupported());
+
+    final var env = new PoolResizeTestEnv();
+    final int poolSize = 3;
+    final var config =
+        FateTestUtil.updateFateConfig(new ConfigurationCopy(), poolSize, "AllFateOps");
+    final Fate<PoolResizeTestEnv> fate = new FastFate<>(env, store, false, r -> r + "", config);
+    fate.setPartitions(Set.of(FatePartition.all(store.type())));
+
+    try {
+      fate.seedTransaction(FateTestUtil.TEST_FATE_OP, fate.startTransaction(),
+          new PoolResizeTestRepo(), true, "testing");
+      Wait.waitFor(() -> env.numWorkers.get() == 1);
+      Wait.waitFor(() -> fate.getTotalTxRunnersActive() == poolSize);
+
+      config.set(Property.MANAGER_FATE_VIRTUAL_THREADS_ENABLED, "true");
+
+      // poolSize for the new fate executor and 1 for the old fate executor that has begun but not
+      // finished shutdown
+      Wait.waitFor(() -> fate.getTotalTxRunnersActive() == poolSize + 1);
+
+      // only the new fate executor can pick up this transaction
+      fate.seedTransaction(FateTestUtil.TEST_FATE_OP, fate.startTransaction(),
+          new PoolResizeTestRepo(), true, "testing");
+      Wait.waitFor(() -> env.numWorkers.get() == 2);
+
+      env.isReadyLatch.countDown();
+      Wait.waitFor(() -> fate.getTotalTxRunnersActive() == poolSize);
+
+      // Thread.isVirtual() is not available in Java 17
+      assertEquals(1, env.threads.stream().filter(t -> t.startsWith("VirtualThread")).count(),
+          env.threads::toString);
+      assertEquals(2, env.threads.size());
+    } catch (Throwable e) {
+      // If the finally block throws an exception then this exception will never be seen so log it
+      // just in case.
+      log.error("Failure in test", e);
+      throw e;
+    } finally {
+      fate.shutdown(30, TimeUnit.SECONDS);
+      assertEquals(0, fate.getTotalTxRunnersActive());
+    }
+  }
+
   private ConfigurationCopy initConfigIncTest1() {
     // SET1: {<half the FATE ops>: 4}
     // SET2: {<other half>: 5}
@@ -782,6 +838,7 @@ public abstract class FatePoolsWatcherITBase extends SharedMiniClusterBase
     @Override
     public long isReady(FateId fateId, PoolResizeTestEnv environment) throws Exception {
       environment.numWorkers.incrementAndGet();
+      environment.threads.add(Thread.currentThread().toString());
       if (!environment.isReadyLatch.await(2, TimeUnit.MINUTES)) {
         throw new IllegalStateException("Timed out waiting for env latch to be ready.");
       }
@@ -819,5 +876,6 @@ public abstract class FatePoolsWatcherITBase extends SharedMiniClusterBase
   public static class PoolResizeTestEnv extends FateTestRunner.TestEnv {
     private final AtomicInteger numWorkers = new AtomicInteger(0);
     private final CountDownLatch isReadyLatch = new CountDownLatch(1);
+    private final Set<String> threads = ConcurrentHashMap.newKeySet();
   }
 }
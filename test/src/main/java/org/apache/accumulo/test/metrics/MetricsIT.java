@@ -18,6 +18,10 @@
  */
 package org.apache.accumulo.test.metrics;
 
+import static org.apache.accumulo.core.metrics.Metric.BLOCKCACHE_TIER_EVICTIONCOUNT;
+import static org.apache.accumulo.core.metrics.Metric.BLOCKCACHE_TIER_HITCOUNT;
+import static org.apache.accumulo.core.metrics.Metric.BLOCKCACHE_TIER_READ_TIME;
+import static org.apache.accumulo.core.metrics.Metric.BLOCKCACHE_TIER_REQUESTCOUNT;
 import static org.apache.accumulo.core.metrics.Metric.COMPACTOR_MAJC_CANCELLED;
 import static org.apache.accumulo.core.metrics.Metric.COMPACTOR_MAJC_FAILED;
 import static org.apache.accumulo.core.metrics.Metric.COMPACTOR_MAJC_FAILURES_CONSECUTIVE;
@@ -27,15 +31,35 @@ import static org.apache.accumulo.core.metrics.Metric.EXECUTOR_COMPLETED;
 import static org.apache.accumulo.core.metrics.Metric.EXECUTOR_QUEUED;
 import static org.apache.accumulo.core.metrics.Metric.FATE_OPS_THREADS_INACTIVE;
 import static org.apache.accumulo.core.metrics.Metric.FATE_OPS_THREADS_TOTAL;
+import static org.apache.accumulo.core.metrics.Metric.FATE_REPO_DECODE_TIME;
+import static org.apache.accumulo.core.metrics.Metric.FATE_REPO_ENCODE_TIME;
+import static org.apache.accumulo.core.metrics.Metric.FATE_REPO_SIZE;
 import static org.apache.accumulo.core.metrics.Metric.FATE_TYPE_IN_PROGRESS;
+import static org.apache.accumulo.core.metrics.Metric.GC_REFERENCE_SCAN_PARTITION_TIME;
 import static org.apache.accumulo.core.metrics.Metric.MANAGER_BALANCER_MIGRATIONS_NEEDED;
+import static org.apache.accumulo.core.metrics.Metric.MANAGER_META_TGW_MIGRATION_READS;
+import static org.apache.accumulo.core.metrics.Metric.MANAGER_META_TGW_MIGRATION_TABLETS_READ;
+import static org.apache.accumulo.core.metrics.Metric.MANAGER_META_TGW_RANGE_SCAN_TIME;
+import static org.apache.accumulo.core.metrics.Metric.MANAGER_ROOT_TGW_MIGRATION_READS;
+import static org.apache.accumulo.core.metrics.Metric.MANAGER_ROOT_TGW_MIGRATION_TABLETS_READ;
+import static org.apache.accumulo.core.metrics.Metric.MANAGER_ROOT_TGW_RANGE_SCAN_TIME;
+import static org.apache.accumulo.core.metrics.Metric.MANAGER_USER_TGW_MIGRATION_READS;
+import static org.apache.accumulo.core.metrics.Metric.MANAGER_USER_TGW_MIGRATION_TABLETS_READ;
+import static org.apache.accumulo.core.metrics.Metric.MANAGER_USER_TGW_RANGE_SCAN_TIME;
+import static org.apache.accumulo.core.metrics.Metric.RECOVERIES_SORTS_READ_TIME;
+import static org.apache.accumulo.core.metrics.Metric.RECOVERIES_SORTS_SORT_TIME;
+import static org.apache.accumulo.core.metrics.Metric.RECOVERIES_SORTS_WRITE_TIME;
 import static org.apache.accumulo.core.metrics.Metric.SCAN_BUSY_TIMEOUT_COUNT;
 import static org.apache.accumulo.core.metrics.Metric.SCAN_RESERVATION_CONFLICT_COUNTER;
 import static org.apache.accumulo.core.metrics.Metric.SCAN_RESERVATION_TOTAL_TIMER;
 import static org.apache.accumulo.core.metrics.Metric.SCAN_RESERVATION_WRITEOUT_TIMER;
 import static org.apache.accumulo.core.metrics.Metric.SCAN_TABLET_METADATA_CACHE;
+import static org.apache.accumulo.core.metrics.Metric.SCAN_VISIBILITY_CACHE;
 import static org.apache.accumulo.core.metrics.Metric.SCAN_YIELDS;
 import static org.apache.accumulo.core.metrics.Metric.SERVER_IDLE;
+import static org.apache.accumulo.core.metrics.Metric.TABLET_LOCATION_CACHE_METADATA_LOOKUPS;
+import static org.apache.accumulo.core.metrics.Metric.TABLET_LOCATION_CACHE_MISS_TIME;
+import static org.apache.accumulo.core.metrics.Metric.TABLET_LOCATION_CACHE_REFRESHES;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
@@ -154,10 +178,15 @@ public class MetricsIT extends ConfigurableMacBase implements MetricsProducer {
     // @formatter:off
     Set<Metric> unexpectedMetrics = Set.of(
             SCAN_YIELDS,
+            BLOCKCACHE_TIER_EVICTIONCOUNT,
+            BLOCKCACHE_TIER_HITCOUNT,
+            BLOCKCACHE_TIER_READ_TIME,
+            BLOCKCACHE_TIER_REQUESTCOUNT,
             COMPACTOR_MAJC_CANCELLED,
             COMPACTOR_MAJC_FAILED,
             COMPACTOR_MAJC_FAILURES_CONSECUTIVE,
-            COMPACTOR_MAJC_FAILURES_TERMINATION
+            COMPACTOR_MAJC_FAILURES_TERMINATION,
+            GC_REFERENCE_SCAN_PARTITION_TIME
     );
 
     // add sserver as flaky until scan server included in mini tests.
@@ -165,14 +194,33 @@ public class MetricsIT extends ConfigurableMacBase implements MetricsProducer {
             COMPACTOR_MAJC_STUCK,
             EXECUTOR_COMPLETED,
             EXECUTOR_QUEUED,
+            FATE_REPO_DECODE_TIME,
+            FATE_REPO_ENCODE_TIME,
+            FATE_REPO_SIZE,
             FATE_TYPE_IN_PROGRESS,
             MANAGER_BALANCER_MIGRATIONS_NEEDED,
+            MANAGER_META_TGW_MIGRATION_READS,
+            MANAGER_META_TGW_MIGRATION_TABLETS_READ,
+            MANAGER_META_TGW_RANGE_SCAN_TIME,
+            MANAGER_ROOT_TGW_MIGRATION_READS,
+            MANAGER_ROOT_TGW_MIGRATION_TABLETS_READ,
+            MANAGER_ROOT_TGW_RANGE_SCAN_TIME,
+            MANAGER_USER_TGW_MIGRATION_READS,
+            MANAGER_USER_TGW_MIGRATION_TABLETS_READ,
+            MANAGER_USER_TGW_RANGE_SCAN_TIME,
+            RECOVERIES_SORTS_READ_TIME,
+            RECOVERIES_SORTS_SORT_TIME,
+            RECOVERIES_SORTS_WRITE_TIME,
             SCAN_BUSY_TIMEOUT_COUNT,
             SCAN_RESERVATION_CONFLICT_COUNTER,
             SCAN_RESERVATION_TOTAL_TIMER,
             SCAN_RESERVATION_WRITEOUT_TIMER,
             SCAN_TABLET_METADATA_CACHE,
-            SERVER_IDLE
+            SCAN_VISIBILITY_CACHE,
+            SERVER_IDLE,
+            TABLET_LOCATION_CACHE_METADATA_LOOKUPS,
+            TABLET_LOCATION_CACHE_MISS_TIME,
+            TABLET_LOCATION_CACHE_REFRESHES
     );
     // @formatter:on
 
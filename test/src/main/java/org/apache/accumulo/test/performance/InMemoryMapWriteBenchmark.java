@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.accumulo.test.performance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.accumulo.core.cli.Help;
+import org.apache.accumulo.core.conf.ConfigurationCopy;
+import org.apache.accumulo.core.conf.DefaultConfiguration;
+import org.apache.accumulo.core.conf.Property;
+import org.apache.accumulo.core.data.Mutation;
+import org.apache.accumulo.core.data.TableId;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.util.Timer;
+import org.apache.accumulo.tserver.InMemoryMap;
+
+import com.beust.jcommander.Parameter;
+
+/**
+ * Measures the rate at which many threads can write to a single {@link InMemoryMap}, which is what
+ * a single hot tablet sees. Runs each thread count with serialized and concurrent writes so the two
+ * can be compared.
+ */
+public class InMemoryMapWriteBenchmark {
+
+  static class Opts extends Help {
+    @Parameter(names = "--threads", description = "comma-separated list of writer thread counts")
+    List<Integer> threads = List.of(1, 2, 4, 8, 16);
+    @Parameter(names = "--batches", description = "batches written by each thread")
+    int batches = 20_000;
+    @Parameter(names = "--batchSize", description = "mutations per batch")
+    int batchSize = 10;
+    @Parameter(names = "--columns", description = "columns per mutation")
+    int columns = 4;
+    @Parameter(names = "--native", description = "use the native map")
+    boolean useNative = false;
+  }
+
+  public static void main(String[] args) throws Exception {
+    Opts opts = new Opts();
+    opts.parseArgs(InMemoryMapWriteBenchmark.class.getName(), args);
+
+    System.out.printf("%8s %12s %16s%n", "threads", "concurrent", "entries/sec");
+    for (int numThreads : opts.threads) {
+      for (boolean concurrent : new boolean[] {false, true}) {
+        double rate = run(opts, numThreads, concurrent);
+        System.out.printf("%8d %12s %,16.0f%n", numThreads, concurrent, rate);
+      }
+    }
+  }
+
+  private static double run(Opts opts, int numThreads, boolean concurrent) throws Exception {
+    ConfigurationCopy config = new ConfigurationCopy(DefaultConfiguration.getInstance());
+    config.set(Property.TSERV_NATIVEMAP_ENABLED, "" + opts.useNative);
+    config.set(Property.TSERV_MEMORY_MAP_CONCURRENT_WRITES, "" + concurrent);
+    // the context is only used when dumping the map to a file, which this does not do
+    InMemoryMap imm = new InMemoryMap(config, null, TableId.of("bench"));
+
+    ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+    try {
+      Timer timer = Timer.startNew();
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < numThreads; t++) {
+        final int writer = t;
+        futures.add(executor.submit(() -> write(imm, opts, writer)));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+      long elapsed = Math.max(1, timer.elapsed(TimeUnit.MILLISECONDS));
+      return imm.getNumEntries() * 1000.0 / elapsed;
+    } finally {
+      executor.shutdownNow();
+      imm.delete(0);
+    }
+  }
+
+  private static void write(InMemoryMap imm, Opts opts, int writer) {
+    Value value = new Value(new byte[50]);
+    for (int b = 0; b < opts.batches; b++) {
+      List<Mutation> batch = new ArrayList<>(opts.batchSize);
+      for (int m = 0; m < opts.batchSize; m++) {
+        Mutation mutation = new Mutation(String.format("%03d_%08d_%04d", writer, b, m));
+        for (int c = 0; c < opts.columns; c++) {
+          mutation.put("cf", "cq" + c, value);
+        }
+        batch.add(mutation);
+      }
+      imm.mutate(batch, opts.batchSize * opts.columns);
+    }
+  }
+}